@@ -3,7 +3,11 @@ package com.deadside.bot.bot;
 import com.deadside.bot.commands.CommandManager;
 import com.deadside.bot.config.Config;
 import com.deadside.bot.db.models.GameServer;
+import com.deadside.bot.faction.FactionStatsSync;
+import com.deadside.bot.faction.FactionXpAccumulator;
+import com.deadside.bot.history.HistoricalImportService;
 import com.deadside.bot.isolation.IsolationBootstrap;
+import com.deadside.bot.leaderboard.LeaderboardStore;
 import com.deadside.bot.bot.AutoStartupCleanup;
 import com.deadside.bot.bot.ParserFixIntegration;
 import com.deadside.bot.listeners.ButtonListener;
@@ -14,11 +18,15 @@ import com.deadside.bot.parsers.DeadsideCsvParser;
 import com.deadside.bot.parsers.DeadsideLogParser;
 import com.deadside.bot.premium.PremiumManager;
 import com.deadside.bot.premium.Tip4servWebhookController;
+import com.deadside.bot.search.PlayerNameIndex;
 import com.deadside.bot.schedulers.KillfeedScheduler;
 import com.deadside.bot.schedulers.PlayerCountVoiceChannelUpdater;
+import com.deadside.bot.killfeed.KillfeedPublisher;
+import com.deadside.bot.sessions.OnlineSessionTracker;
 import com.deadside.bot.db.repositories.GameServerRepository;
 import com.deadside.bot.db.repositories.PlayerRepository;
 import com.deadside.bot.sftp.SftpConnector;
+import com.deadside.bot.sftp.SftpSessionPool;
 import com.deadside.bot.utils.GuildIsolationManager;
 import com.deadside.bot.utils.DataIsolationMigration;
 
@@ -131,6 +139,9 @@ public class DeadsideBot {
             // Start schedulers
             startSchedulers();
             
+            // Resume historical imports interrupted by the last shutdown
+            HistoricalImportService.getInstance().initialize(jda);
+            
             // Initialize and start premium feature components
             initializePremiumSystem();
             
@@ -305,6 +316,21 @@ public class DeadsideBot {
             Thread.currentThread().interrupt();
         }
         
+        if (killfeedScheduler != null) {
+            killfeedScheduler.shutdown();
+        }
+        
+        HistoricalImportService.getInstance().shutdown();
+        
+        logger.info("Closing pooled SFTP sessions...");
+        SftpSessionPool.getInstance().shutdown();
+        LeaderboardStore.getInstance().shutdown();
+        PlayerNameIndex.getInstance().shutdown();
+        OnlineSessionTracker.getInstance().shutdown();
+        FactionXpAccumulator.getInstance().shutdown();
+        FactionStatsSync.getInstance().shutdown();
+        KillfeedPublisher.getInstance().shutdown();
+        
         logger.info("Shutting down JDA...");
         if (jda != null) {
             jda.shutdown();
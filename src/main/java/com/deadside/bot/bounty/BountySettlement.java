@@ -0,0 +1,176 @@
+package com.deadside.bot.bounty;
+
+import com.deadside.bot.config.Config;
+import com.deadside.bot.db.models.Bounty;
+import com.deadside.bot.db.models.KillRecord;
+import com.deadside.bot.db.models.LinkedPlayer;
+import com.deadside.bot.db.repositories.BountyRepository;
+import com.deadside.bot.db.repositories.CurrencyRepository;
+import com.deadside.bot.db.repositories.LinkedPlayerRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Settles bounties from ingested kills
+ * Keeps the IDs of players with an active bounty per guild and server in memory, so kills
+ * on anyone else never touch the database. Kills on a target claim its bounties atomically
+ * and the rewards for a batch are paid out with one bulk write.
+ */
+public class BountySettlement {
+    private static final Logger logger = LoggerFactory.getLogger(BountySettlement.class);
+    private static BountySettlement instance;
+
+    private final Map<String, TargetSet> targets = new ConcurrentHashMap<>();
+    private final BountyRepository bountyRepository;
+    private final CurrencyRepository currencyRepository;
+    private final LinkedPlayerRepository linkedPlayerRepository;
+    private final long refreshInterval;
+
+    private BountySettlement() {
+        this.bountyRepository = new BountyRepository();
+        this.currencyRepository = new CurrencyRepository();
+        this.linkedPlayerRepository = new LinkedPlayerRepository();
+        this.refreshInterval = Config.getInstance().getBountyTargetsRefreshInterval();
+    }
+
+    /**
+     * Get the singleton instance
+     */
+    public static synchronized BountySettlement getInstance() {
+        if (instance == null) {
+            instance = new BountySettlement();
+        }
+        return instance;
+    }
+
+    /**
+     * Whether a player currently has an active bounty on a server (in-memory check)
+     */
+    public boolean isTarget(long guildId, String serverId, String playerId) {
+        if (guildId <= 0 || serverId == null || serverId.isEmpty() || playerId == null) {
+            return false;
+        }
+        return getTargets(guildId, serverId).ids.contains(playerId);
+    }
+
+    /**
+     * Claim the bounties on the victims of a batch of kills and pay the killers
+     * Kills on players without an active bounty are skipped without a database call.
+     * @param kills Kills in log order
+     * @return The bounties claimed
+     */
+    public List<Bounty> settle(long guildId, String serverId, List<KillRecord> kills) {
+        List<Bounty> claimed = new ArrayList<>();
+        for (KillRecord kill : kills) {
+            if (kill.isSuicide() || !isTarget(guildId, serverId, kill.getVictimId())) {
+                continue;
+            }
+
+            Bounty bounty;
+            while ((bounty = bountyRepository.claimNextByTargetId(kill.getVictimId(), kill.getKillerId(),
+                    kill.getKiller(), kill.getTimestamp(), guildId, serverId)) != null) {
+                claimed.add(bounty);
+            }
+        }
+
+        if (claimed.isEmpty()) {
+            return claimed;
+        }
+
+        // Claimed targets may have no bounties left; reload the set on next use
+        invalidate(guildId, serverId);
+        payOut(guildId, serverId, claimed);
+        return claimed;
+    }
+
+    /**
+     * Add a newly placed bounty's target to the in-memory set
+     */
+    public void onBountyPlaced(Bounty bounty) {
+        TargetSet current = targets.get(key(bounty.getGuildId(), bounty.getServerId()));
+        if (current != null && bounty.isActive() && bounty.getTargetId() != null) {
+            current.ids.add(bounty.getTargetId());
+        }
+    }
+
+    /**
+     * Drop a server's target set so it is reloaded on next use
+     */
+    public void invalidate(long guildId, String serverId) {
+        targets.remove(key(guildId, serverId));
+    }
+
+    private void payOut(long guildId, String serverId, List<Bounty> claimed) {
+        Map<String, Long> discordIds = new HashMap<>();
+        Map<Long, Long> rewards = new HashMap<>();
+        for (Bounty bounty : claimed) {
+            Long discordId = discordIds.computeIfAbsent(bounty.getClaimerId(), claimerId -> {
+                LinkedPlayer link = linkedPlayerRepository.findByPlayerIdAndGuildIdAndServerId(claimerId, guildId, serverId);
+                return link != null && link.getDiscordId() != null ? link.getDiscordId() : 0L;
+            });
+
+            if (discordId > 0) {
+                rewards.merge(discordId, bounty.getAmount(), Long::sum);
+                logger.info("Bounty of {} coins on {} claimed by {} (Guild={}, Server={})",
+                    bounty.getAmount(), bounty.getTargetName(), bounty.getClaimerName(), guildId, serverId);
+            } else {
+                logger.info("Bounty on {} claimed by unlinked player {} - no reward paid (Guild={}, Server={})",
+                    bounty.getTargetName(), bounty.getClaimerName(), guildId, serverId);
+            }
+        }
+        currencyRepository.addCoins(rewards, "bounty", guildId, serverId);
+    }
+
+    /**
+     * A server's target set, reloaded once it expires
+     * The query runs outside the map so it never blocks lookups for other servers. A reload is
+     * only published if the set it replaces is still there, so an invalidation during the
+     * query is not undone by the older result.
+     */
+    private TargetSet getTargets(long guildId, String serverId) {
+        String key = key(guildId, serverId);
+        TargetSet current = targets.get(key);
+        if (current != null && !current.isExpired()) {
+            return current;
+        }
+        TargetSet loaded = load(guildId, serverId);
+        if (current != null) {
+            targets.replace(key, current, loaded);
+        } else {
+            targets.putIfAbsent(key, loaded);
+        }
+        return loaded;
+    }
+
+    private TargetSet load(long guildId, String serverId) {
+        Set<String> ids = ConcurrentHashMap.newKeySet();
+        ids.addAll(bountyRepository.findActiveTargetIds(guildId, serverId));
+        logger.debug("Loaded {} active bounty targets for guild {} server {}", ids.size(), guildId, serverId);
+        return new TargetSet(ids, System.currentTimeMillis() + refreshInterval);
+    }
+
+    private static String key(long guildId, String serverId) {
+        return guildId + ":" + serverId;
+    }
+
+    private static class TargetSet {
+        final Set<String> ids;
+        final long expiresAt;
+
+        TargetSet(Set<String> ids, long expiresAt) {
+            this.ids = ids;
+            this.expiresAt = expiresAt;
+        }
+
+        boolean isExpired() {
+            return System.currentTimeMillis() >= expiresAt;
+        }
+    }
+}
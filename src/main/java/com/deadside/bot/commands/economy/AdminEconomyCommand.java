@@ -160,10 +160,7 @@ public class AdminEconomyCommand implements ICommand {
         
         // Add coins
         long oldBalance = player.getCurrency().getCoins();
-        player.getCurrency().addCoins(amount);
-        
-        // Save player
-        playerRepository.save(player);
+        playerRepository.creditCoins(player, amount);
         
         // Log transaction
         logger.info("Admin {} gave {} coins to {} ({}). Reason: {}", 
@@ -232,11 +229,14 @@ public class AdminEconomyCommand implements ICommand {
             return;
         }
         
-        // Remove coins
-        player.getCurrency().removeCoins(amount);
-        
-        // Save player
-        playerRepository.save(player);
+        // Remove coins; the balance may have changed since it was checked
+        if (!playerRepository.debitCoins(player, amount)) {
+            event.getHook().sendMessageEmbeds(EmbedUtils.errorEmbed("Insufficient Funds", 
+                    String.format("%s no longer has %,d coins.", targetUser.getAsMention(), amount)))
+                    .setEphemeral(true)
+                    .queue();
+            return;
+        }
         
         // Log transaction
         logger.info("Admin {} took {} coins from {} ({}). Reason: {}", 
@@ -298,10 +298,7 @@ public class AdminEconomyCommand implements ICommand {
         long oldBalance = player.getCurrency().getCoins();
         
         // Set coins
-        player.getCurrency().setCoins(amount);
-        
-        // Save player
-        playerRepository.save(player);
+        playerRepository.setCoins(player, amount);
         
         // Log transaction
         logger.info("Admin {} set {} coins for {} ({}). Reason: {}", 
@@ -361,10 +358,7 @@ public class AdminEconomyCommand implements ICommand {
         }
         
         // Reset economy data
-        player.setCurrency(new com.deadside.bot.db.models.Currency());
-        
-        // Save player
-        playerRepository.save(player);
+        playerRepository.resetWallet(player);
         
         // Log action
         logger.info("Admin {} reset economy data for {} ({})", 
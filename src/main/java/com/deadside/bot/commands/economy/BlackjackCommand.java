@@ -35,16 +35,15 @@ public class BlackjackCommand implements ICommand {
     private final PlayerRepository playerRepository = new PlayerRepository();
     private final Random random = new Random();
     
-    // Game sessions
-    private final Map<Long, BlackjackGame> activeGames = new HashMap<>();
-    
     // Card symbols
     private static final String[] SUITS = {"♠️", "♥️", "♦️", "♣️"};
     private static final String[] RANKS = {"A", "2", "3", "4", "5", "6", "7", "8", "9", "10", "J", "Q", "K"};
     
-    // Cooldown tracking
-    private final Map<Long, Long> lastUsage = new HashMap<>();
+    // Game sessions and cooldown tracking
     private static final long COOLDOWN_SECONDS = 3; // 3 second cooldown
+    private final GameSessionStore<BlackjackGame> games = new GameSessionStore<>("blackjack",
+            TimeUnit.SECONDS.toMillis(COOLDOWN_SECONDS),
+            (userId, game) -> logger.info("Blackjack game for user {} expired due to inactivity", userId));
     
     @Override
     public String getName() {
@@ -64,10 +63,10 @@ public class BlackjackCommand implements ICommand {
     @Override
     public void execute(SlashCommandInteractionEvent event) {
         try {
-            // Check cooldown
+            // Check and set cooldown
             long userId = event.getUser().getIdLong();
-            if (isOnCooldown(userId)) {
-                long timeLeft = getRemainingCooldown(userId);
+            if (!games.tryAcquireCooldown(userId)) {
+                long timeLeft = games.getRemainingCooldownSeconds(userId);
                 event.reply("You need to wait " + timeLeft + " more seconds before playing again.").setEphemeral(true).queue();
                 return;
             }
@@ -75,9 +74,6 @@ public class BlackjackCommand implements ICommand {
             // Defer reply to give us time to process
             event.deferReply().queue();
             
-            // Set cooldown
-            setCooldown(userId);
-            
             // Get bet amount
             int betAmount = event.getOption("bet", 0, OptionMapping::getAsInt);
             
@@ -123,7 +119,7 @@ public class BlackjackCommand implements ICommand {
             }
             
             // Check if player already has an active game
-            if (activeGames.containsKey(userId)) {
+            if (games.has(userId)) {
                 event.getHook().sendMessageEmbeds(
                         EmbedUtils.warningEmbed("Game In Progress", 
                                 "You already have a blackjack game in progress. Finish that game first.")
@@ -150,19 +146,29 @@ public class BlackjackCommand implements ICommand {
      * Start a new blackjack game
      */
     private void startBlackjackGame(SlashCommandInteractionEvent event, Player player, int betAmount) {
-        // Take the bet
-        player.getCurrency().removeCoins(betAmount);
-        playerRepository.save(player);
-        
-        // Create a new game
+        // Create and store a new game
         BlackjackGame game = new BlackjackGame(betAmount, player);
+        if (!games.start(event.getUser().getIdLong(), game)) {
+            event.getHook().sendMessageEmbeds(
+                    EmbedUtils.warningEmbed("Game In Progress", 
+                            "You already have a blackjack game in progress, or the tables are full. Try again shortly.")
+            ).queue();
+            return;
+        }
+        
+        // Take the bet; the balance may have changed since it was checked
+        if (!playerRepository.debitCoins(player, betAmount)) {
+            games.end(event.getUser().getIdLong());
+            event.getHook().sendMessageEmbeds(
+                    EmbedUtils.errorEmbed("Insufficient Funds", 
+                            "You don't have enough coins to place this bet.")
+            ).queue();
+            return;
+        }
         
         // Deal initial cards
         game.dealInitialCards();
         
-        // Store the game
-        activeGames.put(event.getUser().getIdLong(), game);
-        
         // Create buttons
         Button hitButton = Button.success("blackjack:hit:" + event.getUser().getId(), "Hit")
                 .withEmoji(Emoji.fromUnicode("🎯"));
@@ -196,11 +202,10 @@ public class BlackjackCommand implements ICommand {
             
             // End game and give payout (blackjack pays 3:2)
             int payout = (int) (betAmount * 2.5);
-            player.getCurrency().addCoins(payout);
-            playerRepository.save(player);
+            playerRepository.creditCoins(player, payout);
             
             // Remove the game
-            activeGames.remove(event.getUser().getIdLong());
+            games.end(event.getUser().getIdLong());
             
             logger.info("User {} got blackjack and won {} coins", event.getUser().getName(), payout - betAmount);
             
@@ -216,19 +221,6 @@ public class BlackjackCommand implements ICommand {
         ).addActionRow(hitButton, standButton, doubleDownButton).queue();
         
         logger.info("User {} started a blackjack game with {} coin bet", event.getUser().getName(), betAmount);
-        
-        // Set a timer to auto-end the game after 5 minutes of inactivity
-        new Timer().schedule(new TimerTask() {
-            @Override
-            public void run() {
-                BlackjackGame expiredGame = activeGames.get(event.getUser().getIdLong());
-                if (expiredGame != null && expiredGame.getStartTime() == game.getStartTime()) {
-                    // Game still exists and hasn't been updated - expire it
-                    activeGames.remove(event.getUser().getIdLong());
-                    logger.info("Blackjack game for user {} expired due to inactivity", event.getUser().getName());
-                }
-            }
-        }, 5 * 60 * 1000); // 5 minutes
     }
     
     /**
@@ -252,7 +244,7 @@ public class BlackjackCommand implements ICommand {
         }
         
         // Get the user's game
-        BlackjackGame game = activeGames.get(event.getUser().getIdLong());
+        BlackjackGame game = games.get(event.getUser().getIdLong());
         
         // If there's no active game but this is a command to start a new one
         if (game == null && (action.equals("playAgain") || action.equals("newDouble") || action.equals("newHalf"))) {
@@ -313,7 +305,7 @@ public class BlackjackCommand implements ICommand {
             ).setActionRow(halfButton, playAgainButton, doubleButton).queue();
             
             // Remove the game
-            activeGames.remove(event.getUser().getIdLong());
+            games.end(event.getUser().getIdLong());
             
             logger.info("User {} busted in blackjack and lost {} coins", event.getUser().getName(), game.getBetAmount());
             
@@ -385,8 +377,7 @@ public class BlackjackCommand implements ICommand {
         
         // Add payout to player's balance
         if (payout > 0) {
-            game.getPlayer().getCurrency().addCoins(payout);
-            playerRepository.save(game.getPlayer());
+            playerRepository.creditCoins(game.getPlayer(), payout);
         }
         
         // Add result details to the message
@@ -421,7 +412,7 @@ public class BlackjackCommand implements ICommand {
         ).setActionRow(halfButton, playAgainButton, doubleButton).queue();
         
         // Remove the game
-        activeGames.remove(event.getUser().getIdLong());
+        games.end(event.getUser().getIdLong());
         
         // Log the result
         logger.info("User {} finished blackjack game with result: {}", event.getUser().getName(), result);
@@ -441,8 +432,10 @@ public class BlackjackCommand implements ICommand {
         event.deferEdit().queue();
         
         // Double the bet
-        game.getPlayer().getCurrency().removeCoins(game.getBetAmount());
-        playerRepository.save(game.getPlayer());
+        if (!playerRepository.debitCoins(game.getPlayer(), game.getBetAmount())) {
+            event.getHook().sendMessage("You don't have enough coins to double down.").setEphemeral(true).queue();
+            return;
+        }
         game.doubleBet();
         
         // Deal one card to player
@@ -486,8 +479,7 @@ public class BlackjackCommand implements ICommand {
         
         // Add payout to player's balance
         if (payout > 0) {
-            game.getPlayer().getCurrency().addCoins(payout);
-            playerRepository.save(game.getPlayer());
+            playerRepository.creditCoins(game.getPlayer(), payout);
         }
         
         // Add result details to the message
@@ -523,7 +515,7 @@ public class BlackjackCommand implements ICommand {
         ).setActionRow(halfButton, playAgainButton, doubleButton).queue();
         
         // Remove the game
-        activeGames.remove(event.getUser().getIdLong());
+        games.end(event.getUser().getIdLong());
         
         // Log the result
         logger.info("User {} double down in blackjack with result: {}", event.getUser().getName(), result);
@@ -566,16 +558,13 @@ public class BlackjackCommand implements ICommand {
             return;
         }
         
-        // Check cooldown
-        if (isOnCooldown(event.getUser().getIdLong())) {
-            long timeLeft = getRemainingCooldown(event.getUser().getIdLong());
+        // Check and set cooldown
+        if (!games.tryAcquireCooldown(event.getUser().getIdLong())) {
+            long timeLeft = games.getRemainingCooldownSeconds(event.getUser().getIdLong());
             event.reply("You need to wait " + timeLeft + " more seconds before playing again.").setEphemeral(true).queue();
             return;
         }
         
-        // Set cooldown
-        setCooldown(event.getUser().getIdLong());
-        
         // Check if player has enough balance
         if (player.getCurrency().getCoins() < betAmount) {
             event.reply("You don't have enough coins for this bet. Your current balance is " + 
@@ -595,19 +584,29 @@ public class BlackjackCommand implements ICommand {
      * Start a new blackjack game from button interaction
      */
     private void startNewBlackjackGame(ButtonInteractionEvent event, Player player, int betAmount) {
-        // Take the bet
-        player.getCurrency().removeCoins(betAmount);
-        playerRepository.save(player);
-        
-        // Create a new game
+        // Create and store a new game
         BlackjackGame game = new BlackjackGame(betAmount, player);
+        if (!games.start(event.getUser().getIdLong(), game)) {
+            event.getHook().sendMessageEmbeds(
+                    EmbedUtils.warningEmbed("Game In Progress", 
+                            "You already have a blackjack game in progress, or the tables are full. Try again shortly.")
+            ).queue();
+            return;
+        }
+        
+        // Take the bet; the balance may have changed since it was checked
+        if (!playerRepository.debitCoins(player, betAmount)) {
+            games.end(event.getUser().getIdLong());
+            event.getHook().sendMessageEmbeds(
+                    EmbedUtils.errorEmbed("Insufficient Funds", 
+                            "You don't have enough coins to place this bet.")
+            ).queue();
+            return;
+        }
         
         // Deal initial cards
         game.dealInitialCards();
         
-        // Store the game
-        activeGames.put(event.getUser().getIdLong(), game);
-        
         // Create buttons
         Button hitButton = Button.success("blackjack:hit:" + event.getUser().getId(), "Hit")
                 .withEmoji(Emoji.fromUnicode("🎯"));
@@ -641,11 +640,10 @@ public class BlackjackCommand implements ICommand {
             
             // End game and give payout (blackjack pays 3:2)
             int payout = (int) (betAmount * 2.5);
-            player.getCurrency().addCoins(payout);
-            playerRepository.save(player);
+            playerRepository.creditCoins(player, payout);
             
             // Remove the game
-            activeGames.remove(event.getUser().getIdLong());
+            games.end(event.getUser().getIdLong());
             
             logger.info("User {} got blackjack and won {} coins", event.getUser().getName(), payout - betAmount);
             
@@ -661,19 +659,6 @@ public class BlackjackCommand implements ICommand {
         ).setActionRow(hitButton, standButton, doubleDownButton).queue();
         
         logger.info("User {} started a new blackjack game with {} coin bet", event.getUser().getName(), betAmount);
-        
-        // Set a timer to auto-end the game after 5 minutes of inactivity
-        new Timer().schedule(new TimerTask() {
-            @Override
-            public void run() {
-                BlackjackGame expiredGame = activeGames.get(event.getUser().getIdLong());
-                if (expiredGame != null && expiredGame.getStartTime() == game.getStartTime()) {
-                    // Game still exists and hasn't been updated - expire it
-                    activeGames.remove(event.getUser().getIdLong());
-                    logger.info("Blackjack game for user {} expired due to inactivity", event.getUser().getName());
-                }
-            }
-        }, 5 * 60 * 1000); // 5 minutes
     }
     
     /**
@@ -740,42 +725,6 @@ public class BlackjackCommand implements ICommand {
         return display.toString();
     }
     
-    /**
-     * Check if user is on cooldown
-     */
-    private boolean isOnCooldown(long userId) {
-        if (!lastUsage.containsKey(userId)) {
-            return false;
-        }
-        
-        long lastUsed = lastUsage.get(userId);
-        long currentTime = System.currentTimeMillis();
-        return (currentTime - lastUsed) < (COOLDOWN_SECONDS * 1000);
-    }
-    
-    /**
-     * Set cooldown for user
-     */
-    private void setCooldown(long userId) {
-        lastUsage.put(userId, System.currentTimeMillis());
-    }
-    
-    /**
-     * Get remaining cooldown time in seconds
-     */
-    private long getRemainingCooldown(long userId) {
-        if (!lastUsage.containsKey(userId)) {
-            return 0;
-        }
-        
-        long lastUsed = lastUsage.get(userId);
-        long currentTime = System.currentTimeMillis();
-        long elapsed = currentTime - lastUsed;
-        long remaining = (COOLDOWN_SECONDS * 1000) - elapsed;
-        
-        return TimeUnit.MILLISECONDS.toSeconds(remaining) + 1; // +1 to round up
-    }
-    
     /**
      * Format a currency amount with commas
      */
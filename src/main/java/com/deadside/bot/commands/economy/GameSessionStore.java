@@ -0,0 +1,272 @@
+package com.deadside.bot.commands.economy;
+
+import com.deadside.bot.config.Config;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+
+/**
+ * Thread-safe game sessions and cooldowns for one economy game, keyed by Discord user ID
+ * JDA dispatches interactions on several threads, so all state lives in concurrent maps
+ * and cooldowns are checked and set in one atomic step. Idle sessions and spent cooldowns
+ * are expired by a timer wheel shared by all games, so the maps stay bounded.
+ *
+ * @param <S> The game's session type
+ */
+class GameSessionStore<S> {
+    private static final Logger logger = LoggerFactory.getLogger(GameSessionStore.class);
+
+    private static final long TICK_MILLIS = 1000;
+    private static final int WHEEL_SIZE = 512;
+    private static final long METRICS_LOG_TICKS = 300;
+
+    private static final List<GameSessionStore<?>> STORES = new CopyOnWriteArrayList<>();
+    private static final ScheduledExecutorService TIMER = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "game-session-timer");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private static final AtomicLong ticks = new AtomicLong();
+
+    static {
+        TIMER.scheduleAtFixedRate(GameSessionStore::tickAll, TICK_MILLIS, TICK_MILLIS, TimeUnit.MILLISECONDS);
+    }
+
+    private final String game;
+    private final long sessionTimeout;
+    private final int maxSessions;
+    private final long cooldownMillis;
+    private final BiConsumer<Long, S> onExpire;
+
+    private final Map<Long, Session<S>> sessions = new ConcurrentHashMap<>();
+    private final Map<Long, Long> cooldowns = new ConcurrentHashMap<>();
+    private final Wheel<Session<S>> sessionWheel = new Wheel<>();
+    private final Wheel<Long> cooldownWheel = new Wheel<>();
+
+    private final AtomicLong expiredSessions = new AtomicLong();
+    private final AtomicLong rejectedSessions = new AtomicLong();
+
+    /**
+     * @param game Game name for logging
+     * @param cooldownMillis Minimum time between two plays by the same user
+     * @param onExpire Called with the user ID and session when a session times out, or null
+     */
+    GameSessionStore(String game, long cooldownMillis, BiConsumer<Long, S> onExpire) {
+        this.game = game;
+        this.cooldownMillis = cooldownMillis;
+        this.onExpire = onExpire;
+        this.sessionTimeout = Config.getInstance().getEconomyGameSessionTimeout();
+        this.maxSessions = Config.getInstance().getEconomyGameMaxSessions();
+        STORES.add(this);
+    }
+
+    /**
+     * Start a session for a user
+     * @return False if the user already has a session or the store is full
+     */
+    boolean start(long userId, S session) {
+        if (sessions.size() >= maxSessions) {
+            rejectedSessions.incrementAndGet();
+            logger.warn("Too many active {} games ({}), not starting another", game, maxSessions);
+            return false;
+        }
+
+        Session<S> entry = new Session<>(userId, session, System.currentTimeMillis() + sessionTimeout);
+        if (sessions.putIfAbsent(userId, entry) != null) {
+            return false;
+        }
+        sessionWheel.schedule(entry, entry.expiresAt);
+        return true;
+    }
+
+    /**
+     * Get a user's session and keep it alive for another timeout period
+     * @return The session, or null if the user has none
+     */
+    S get(long userId) {
+        Session<S> entry = sessions.get(userId);
+        if (entry == null) {
+            return null;
+        }
+        entry.expiresAt = System.currentTimeMillis() + sessionTimeout;
+        return entry.session;
+    }
+
+    /**
+     * Whether a user has a session
+     */
+    boolean has(long userId) {
+        return sessions.containsKey(userId);
+    }
+
+    /**
+     * End a user's session
+     */
+    void end(long userId) {
+        sessions.remove(userId);
+    }
+
+    /**
+     * Put the user on cooldown unless they already are
+     * @return True if the user may play now; false if they are still on cooldown
+     */
+    boolean tryAcquireCooldown(long userId) {
+        long now = System.currentTimeMillis();
+        long until = now + cooldownMillis;
+        boolean[] acquired = {false};
+        cooldowns.compute(userId, (id, current) -> {
+            if (current != null && current > now) {
+                return current;
+            }
+            acquired[0] = true;
+            return until;
+        });
+        if (acquired[0]) {
+            // Always schedule: the tick may be dropping an expired entry's wheel item right now,
+            // and it skips items whose deadline has moved, so a duplicate is harmless
+            cooldownWheel.schedule(userId, until);
+        }
+        return acquired[0];
+    }
+
+    /**
+     * Get remaining cooldown time in seconds, rounded up
+     */
+    long getRemainingCooldownSeconds(long userId) {
+        Long until = cooldowns.get(userId);
+        if (until == null) {
+            return 0;
+        }
+        long remaining = until - System.currentTimeMillis();
+        return remaining > 0 ? TimeUnit.MILLISECONDS.toSeconds(remaining) + 1 : 0;
+    }
+
+    int getActiveSessions() {
+        return sessions.size();
+    }
+
+    long getExpiredSessions() {
+        return expiredSessions.get();
+    }
+
+    long getRejectedSessions() {
+        return rejectedSessions.get();
+    }
+
+    private static void tickAll() {
+        long now = System.currentTimeMillis();
+        for (GameSessionStore<?> store : STORES) {
+            try {
+                store.tick(now);
+            } catch (Exception e) {
+                logger.error("Error expiring {} game sessions", store.game, e);
+            }
+        }
+
+        if (ticks.incrementAndGet() % METRICS_LOG_TICKS == 0) {
+            for (GameSessionStore<?> store : STORES) {
+                logger.debug("{} games: {} active, {} expired, {} rejected, {} cooldowns",
+                    store.game, store.getActiveSessions(), store.getExpiredSessions(),
+                    store.getRejectedSessions(), store.cooldowns.size());
+            }
+        }
+    }
+
+    private void tick(long now) {
+        sessionWheel.advance(now, entry -> {
+            if (sessions.get(entry.userId) != entry) {
+                // Ended, or replaced by a newer session with its own wheel entry
+                return;
+            }
+            if (entry.expiresAt > now) {
+                // Touched since it was scheduled
+                sessionWheel.schedule(entry, entry.expiresAt);
+            } else if (sessions.remove(entry.userId, entry)) {
+                expiredSessions.incrementAndGet();
+                if (onExpire != null) {
+                    onExpire.accept(entry.userId, entry.session);
+                }
+            }
+        });
+
+        cooldownWheel.advance(now, userId -> {
+            Long until = cooldowns.get(userId);
+            if (until == null) {
+                return;
+            }
+            if (until > now) {
+                cooldownWheel.schedule(userId, until);
+            } else {
+                cooldowns.remove(userId, until);
+            }
+        });
+    }
+
+    private static class Session<S> {
+        final long userId;
+        final S session;
+        volatile long expiresAt;
+
+        Session(long userId, S session, long expiresAt) {
+            this.userId = userId;
+            this.session = session;
+            this.expiresAt = expiresAt;
+        }
+    }
+
+    /**
+     * Hashed timer wheel with one-second slots
+     * Deadlines beyond one rotation land in an earlier slot and are rescheduled when it comes up.
+     */
+    private static class Wheel<T> {
+        private final Queue<T>[] slots;
+        private volatile long lastTick = System.currentTimeMillis() / TICK_MILLIS;
+
+        @SuppressWarnings("unchecked")
+        Wheel() {
+            slots = (Queue<T>[]) new Queue<?>[WHEEL_SIZE];
+            for (int i = 0; i < WHEEL_SIZE; i++) {
+                slots[i] = new ConcurrentLinkedQueue<>();
+            }
+        }
+
+        void schedule(T item, long deadline) {
+            // Never schedule into a slot that has already been passed
+            long tick = Math.max(deadline / TICK_MILLIS, lastTick + 1);
+            slots[(int) (tick % WHEEL_SIZE)].add(item);
+        }
+
+        /**
+         * Drain every slot up to now, including any skipped while the timer ran late
+         */
+        void advance(long now, Consumer<T> due) {
+            long current = now / TICK_MILLIS;
+            long from = Math.max(lastTick + 1, current - WHEEL_SIZE + 1);
+            // Move the cursor first so entries rescheduled while draining land in future slots
+            lastTick = current;
+            for (long tick = from; tick <= current; tick++) {
+                Queue<T> slot = slots[(int) (tick % WHEEL_SIZE)];
+                int pending = slot.size();
+                for (int i = 0; i < pending; i++) {
+                    T item = slot.poll();
+                    if (item == null) {
+                        break;
+                    }
+                    due.accept(item);
+                }
+            }
+        }
+    }
+}
@@ -31,8 +31,6 @@ import java.security.SecureRandom;
 import java.time.Duration;
 import java.util.*;
 import java.util.List;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.ScheduledThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
@@ -46,7 +44,7 @@ public class RouletteCommand implements ICommand {
     private final LinkedPlayerRepository linkedPlayerRepository = new LinkedPlayerRepository();
     private final PlayerRepository playerRepository = new PlayerRepository();
     private final SecureRandom random = new SecureRandom();
-    private final ConcurrentHashMap<String, RouletteGame> activeGames = new ConcurrentHashMap<>();
+    private final GameSessionStore<RouletteGame> games = new GameSessionStore<>("roulette", 0, this::refundExpiredGame);
     private final ScheduledThreadPoolExecutor scheduler = new ScheduledThreadPoolExecutor(2);
     
     // Roulette wheel has 37 slots: 0-36 (0 is green, 1-36 are red/black alternating)
@@ -75,7 +73,6 @@ public class RouletteCommand implements ICommand {
         private boolean isSpinning = false;
         private int winningNumber;
         private long winAmount;
-        private ScheduledFuture<?> timeoutFuture;
         
         public RouletteGame(String userId, long bet) {
             this.userId = userId;
@@ -101,9 +98,6 @@ public class RouletteCommand implements ICommand {
         
         public void end() {
             this.isActive = false;
-            if (timeoutFuture != null && !timeoutFuture.isDone()) {
-                timeoutFuture.cancel(true);
-            }
         }
         
         // Getters
@@ -138,10 +132,6 @@ public class RouletteCommand implements ICommand {
         public long getWinAmount() {
             return winAmount;
         }
-        
-        public void setTimeoutFuture(ScheduledFuture<?> timeoutFuture) {
-            this.timeoutFuture = timeoutFuture;
-        }
     }
     
     @Override
@@ -170,7 +160,7 @@ public class RouletteCommand implements ICommand {
         }
         
         // Check if user already has an active game
-        if (activeGames.containsKey(userId)) {
+        if (games.has(event.getUser().getIdLong())) {
             EmbedSender.replyEmbed(event, EmbedUtils.errorEmbed("Error", "You already have an active roulette game"), true);
             return;
         }
@@ -204,38 +194,20 @@ public class RouletteCommand implements ICommand {
             return;
         }
         
-        // Deduct bet amount
-        player.getCurrency().removeCoins(bet);
-        playerRepository.save(player);
-        
         // Create new game
         RouletteGame game = new RouletteGame(userId, bet);
-        activeGames.put(userId, game);
-        
-        // Set timeout for the game (5 minutes)
-        ScheduledFuture<?> timeoutFuture = scheduler.schedule(() -> {
-            if (activeGames.containsKey(userId)) {
-                RouletteGame expiredGame = activeGames.get(userId);
-                if (expiredGame.isActive() && !expiredGame.isSpinning()) {
-                    activeGames.remove(userId);
-                    // Refund bet amount - get the player again in case data changed
-                    try {
-                        LinkedPlayer lp = linkedPlayerRepository.findByDiscordId(Long.parseLong(userId));
-                        if (lp != null) {
-                            Player p = playerRepository.findByPlayerId(lp.getMainPlayerId());
-                            if (p != null) {
-                                p.getCurrency().addCoins(bet);
-                                playerRepository.save(p);
-                                logger.info("Roulette game for user {} timed out and bet was refunded", userId);
-                            }
-                        }
-                    } catch (Exception e) {
-                        logger.error("Error refunding bet for timed out roulette game", e);
-                    }
-                }
-            }
-        }, 5, TimeUnit.MINUTES);
-        game.setTimeoutFuture(timeoutFuture);
+        if (!games.start(event.getUser().getIdLong(), game)) {
+            EmbedSender.sendEmbed(event.getHook(), EmbedUtils.errorEmbed("Error", "You already have an active roulette game"));
+            return;
+        }
+        
+        // Deduct bet amount; the balance may have changed since it was checked
+        if (!playerRepository.debitCoins(player, bet)) {
+            games.end(event.getUser().getIdLong());
+            EmbedSender.sendEmbed(event.getHook(), EmbedUtils.errorEmbed("Insufficient Funds", 
+                             "You don't have enough coins for this bet."));
+            return;
+        }
         
         // Create embed with roulette table and betting options
         EmbedBuilder embed = new EmbedBuilder()
@@ -306,7 +278,7 @@ public class RouletteCommand implements ICommand {
             return;
         }
         
-        RouletteGame game = activeGames.get(userId);
+        RouletteGame game = games.get(Long.parseLong(userId));
         if (game == null || !game.isActive()) {
             event.getHook().sendMessage("This game has expired or does not exist.").setEphemeral(true).queue();
             return;
@@ -342,7 +314,7 @@ public class RouletteCommand implements ICommand {
             return;
         }
         
-        RouletteGame game = activeGames.get(userId);
+        RouletteGame game = games.get(Long.parseLong(userId));
         if (game == null || !game.isActive()) {
             event.getHook().sendMessage("This game has expired or does not exist.").setEphemeral(true).queue();
             return;
@@ -557,8 +529,7 @@ public class RouletteCommand implements ICommand {
                 if (linkedPlayer != null) {
                     Player player = playerRepository.findByPlayerId(linkedPlayer.getMainPlayerId());
                     if (player != null) {
-                        player.getCurrency().addCoins(winAmount);
-                        playerRepository.save(player);
+                        playerRepository.creditCoins(player, winAmount);
                     }
                 }
             }
@@ -619,7 +590,7 @@ public class RouletteCommand implements ICommand {
             
             // Game is complete, remove from active games
             game.end();
-            activeGames.remove(game.getUserId());
+            games.end(Long.parseLong(game.getUserId()));
             
         }, 3, TimeUnit.SECONDS);
     }
@@ -638,8 +609,7 @@ public class RouletteCommand implements ICommand {
         if (linkedPlayer != null) {
             Player player = playerRepository.findByPlayerId(linkedPlayer.getMainPlayerId());
             if (player != null) {
-                player.getCurrency().addCoins(game.getBet());
-                playerRepository.save(player);
+                playerRepository.creditCoins(player, game.getBet());
             }
         }
         
@@ -654,7 +624,33 @@ public class RouletteCommand implements ICommand {
         
         // End the game
         game.end();
-        activeGames.remove(game.getUserId());
+        games.end(Long.parseLong(game.getUserId()));
+    }
+    
+    /**
+     * Refund the bet of a game that timed out before the wheel was spun
+     * @param userId Discord user ID of the game owner
+     * @param game The expired game
+     */
+    private void refundExpiredGame(long userId, RouletteGame game) {
+        if (!game.isActive() || game.isSpinning()) {
+            return;
+        }
+        game.end();
+        
+        // Refund bet amount - get the player again in case data changed
+        try {
+            LinkedPlayer lp = linkedPlayerRepository.findByDiscordId(userId);
+            if (lp != null) {
+                Player p = playerRepository.findByPlayerId(lp.getMainPlayerId());
+                if (p != null) {
+                    playerRepository.creditCoins(p, game.getBet());
+                    logger.info("Roulette game for user {} timed out and bet was refunded", userId);
+                }
+            }
+        } catch (Exception e) {
+            logger.error("Error refunding bet for timed out roulette game", e);
+        }
     }
     
     /**
@@ -671,7 +667,7 @@ public class RouletteCommand implements ICommand {
         event.deferReply().queue();
         
         // Make sure they're not already in a game
-        if (activeGames.containsKey(userId)) {
+        if (games.has(Long.parseLong(userId))) {
             event.getHook().sendMessage("You already have an active roulette game").setEphemeral(true).queue();
             return;
         }
@@ -702,38 +698,19 @@ public class RouletteCommand implements ICommand {
             return;
         }
         
-        // Deduct bet amount
-        player.getCurrency().removeCoins(bet);
-        playerRepository.save(player);
-        
         // Create new game
         RouletteGame newGame = new RouletteGame(userId, bet);
-        activeGames.put(userId, newGame);
-        
-        // Set timeout for the game (5 minutes)
-        ScheduledFuture<?> timeoutFuture = scheduler.schedule(() -> {
-            if (activeGames.containsKey(userId)) {
-                RouletteGame expiredGame = activeGames.get(userId);
-                if (expiredGame.isActive() && !expiredGame.isSpinning()) {
-                    activeGames.remove(userId);
-                    // Refund bet amount - get the player again in case data changed
-                    try {
-                        LinkedPlayer lp = linkedPlayerRepository.findByDiscordId(Long.parseLong(userId));
-                        if (lp != null) {
-                            Player p = playerRepository.findByPlayerId(lp.getMainPlayerId());
-                            if (p != null) {
-                                p.getCurrency().addCoins(bet);
-                                playerRepository.save(p);
-                                logger.info("Roulette game for user {} timed out and bet was refunded", userId);
-                            }
-                        }
-                    } catch (Exception e) {
-                        logger.error("Error refunding bet for timed out roulette game", e);
-                    }
-                }
-            }
-        }, 5, TimeUnit.MINUTES);
-        newGame.setTimeoutFuture(timeoutFuture);
+        if (!games.start(Long.parseLong(userId), newGame)) {
+            event.getHook().sendMessage("You already have an active roulette game").setEphemeral(true).queue();
+            return;
+        }
+        
+        // Deduct bet amount; the balance may have changed since it was checked
+        if (!playerRepository.debitCoins(player, bet)) {
+            games.end(Long.parseLong(userId));
+            event.getHook().sendMessage("You don't have enough coins for this bet.").setEphemeral(true).queue();
+            return;
+        }
         
         // Create embed with roulette table and betting options
         EmbedBuilder embed = new EmbedBuilder()
@@ -21,9 +21,7 @@ import org.slf4j.LoggerFactory;
 
 import java.awt.Color;
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
 import java.util.Random;
 import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
@@ -50,9 +48,10 @@ public class SlotCommand implements ICommand {
     // Total weight for random selection
     private static final int TOTAL_WEIGHT = computeTotalWeight();
     
-    // Cooldown tracking
-    private final Map<Long, Long> lastUsage = new HashMap<>();
+    // Cooldown tracking (spins are instant, so no sessions are started)
     private static final long COOLDOWN_SECONDS = 5; // 5 second cooldown
+    private final GameSessionStore<Void> spins = new GameSessionStore<>("slot",
+            TimeUnit.SECONDS.toMillis(COOLDOWN_SECONDS), null);
     
     @Override
     public String getName() {
@@ -72,17 +71,14 @@ public class SlotCommand implements ICommand {
     @Override
     public void execute(SlashCommandInteractionEvent event) {
         try {
-            // Check cooldown
+            // Check and set cooldown
             long userId = event.getUser().getIdLong();
-            if (isOnCooldown(userId)) {
-                long timeLeft = getRemainingCooldown(userId);
+            if (!spins.tryAcquireCooldown(userId)) {
+                long timeLeft = spins.getRemainingCooldownSeconds(userId);
                 event.reply("You need to wait " + timeLeft + " more seconds before playing again.").setEphemeral(true).queue();
                 return;
             }
             
-            // Set cooldown
-            setCooldown(userId);
-            
             // Defer reply to give us time to process
             event.deferReply().queue();
             
@@ -149,8 +145,14 @@ public class SlotCommand implements ICommand {
      * Play the slot machine with animations
      */
     private void playSlots(SlashCommandInteractionEvent event, Player player, int betAmount) {
-        // First, take the bet
-        player.getCurrency().removeCoins(betAmount);
+        // First, take the bet; the balance may have changed since it was checked
+        if (!playerRepository.debitCoins(player, betAmount)) {
+            event.getHook().sendMessageEmbeds(
+                    EmbedUtils.errorEmbed("Insufficient Funds", 
+                            "You don't have enough coins to place this bet.")
+            ).queue();
+            return;
+        }
         
         // Animation phases
         final String[] spinningSymbols = {"🎰", "💫", "✨", "🎲", "🎯"};
@@ -214,12 +216,9 @@ public class SlotCommand implements ICommand {
         
         // If win, add to player's balance
         if (isWin) {
-            player.getCurrency().addCoins(winAmount);
+            playerRepository.creditCoins(player, winAmount);
         }
         
-        // Save player data
-        playerRepository.save(player);
-        
         // Create a thread to update the message multiple times for animation
         new Thread(() -> {
             try {
@@ -419,42 +418,6 @@ public class SlotCommand implements ICommand {
         return total;
     }
     
-    /**
-     * Check if user is on cooldown
-     */
-    private boolean isOnCooldown(long userId) {
-        if (!lastUsage.containsKey(userId)) {
-            return false;
-        }
-        
-        long lastUsed = lastUsage.get(userId);
-        long currentTime = System.currentTimeMillis();
-        return (currentTime - lastUsed) < (COOLDOWN_SECONDS * 1000);
-    }
-    
-    /**
-     * Set cooldown for user
-     */
-    private void setCooldown(long userId) {
-        lastUsage.put(userId, System.currentTimeMillis());
-    }
-    
-    /**
-     * Get remaining cooldown time in seconds
-     */
-    private long getRemainingCooldown(long userId) {
-        if (!lastUsage.containsKey(userId)) {
-            return 0;
-        }
-        
-        long lastUsed = lastUsage.get(userId);
-        long currentTime = System.currentTimeMillis();
-        long elapsed = currentTime - lastUsed;
-        long remaining = (COOLDOWN_SECONDS * 1000) - elapsed;
-        
-        return TimeUnit.MILLISECONDS.toSeconds(remaining) + 1; // +1 to round up
-    }
-    
     /**
      * Format a currency amount with commas
      */
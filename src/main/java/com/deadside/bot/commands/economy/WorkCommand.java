@@ -124,8 +124,7 @@ public class WorkCommand implements ICommand {
         String workTask = WORK_TASKS[random.nextInt(WORK_TASKS.length)];
         
         // Add coins to player
-        player.getCurrency().addCoins(reward);
-        playerRepository.save(player);
+        playerRepository.creditCoins(player, reward);
         
         // Set cooldown
         setWorkCooldown(userId);
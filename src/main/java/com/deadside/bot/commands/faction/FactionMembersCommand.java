@@ -6,6 +6,7 @@ import com.deadside.bot.db.models.Player;
 import com.deadside.bot.db.repositories.FactionRepository;
 import com.deadside.bot.db.repositories.PlayerRepository;
 import com.deadside.bot.faction.FactionStatsSync;
+import com.deadside.bot.faction.FactionXpAccumulator;
 import com.deadside.bot.utils.EmbedUtils;
 import com.deadside.bot.utils.EmbedSender;
 import net.dv8tion.jda.api.EmbedBuilder;
@@ -38,7 +39,7 @@ public class FactionMembersCommand implements Command {
     public FactionMembersCommand(FactionRepository factionRepository, PlayerRepository playerRepository) {
         this.factionRepository = factionRepository;
         this.playerRepository = playerRepository;
-        this.factionStatsSync = new FactionStatsSync();
+        this.factionStatsSync = FactionStatsSync.getInstance();
     }
 
     @Override
@@ -238,6 +239,7 @@ public class FactionMembersCommand implements Command {
         player.setFactionId(faction.getId());
         player.setFactionJoinDate(Instant.now());
         playerRepository.save(player);
+        FactionXpAccumulator.getInstance().invalidate(player.getGuildId(), player.getServerId());
 
         // Update faction stats
         factionStatsSync.updateFaction(faction.getId());
@@ -270,6 +272,7 @@ public class FactionMembersCommand implements Command {
             player.setFactionId(null);
             player.setFactionJoinDate(null);
             playerRepository.save(player);
+            FactionXpAccumulator.getInstance().invalidate(player.getGuildId(), player.getServerId());
             event.reply("You have left your faction.").queue();
             return;
         }
@@ -289,6 +292,7 @@ public class FactionMembersCommand implements Command {
             player.setFactionLeader(false);
             player.setFactionOfficer(false);
             playerRepository.save(player);
+            FactionXpAccumulator.getInstance().invalidate(player.getGuildId(), player.getServerId());
             
             event.reply("You have left and disbanded the faction: " + faction.getName()).queue();
             return;
@@ -299,6 +303,7 @@ public class FactionMembersCommand implements Command {
         player.setFactionJoinDate(null);
         player.setFactionOfficer(false);
         playerRepository.save(player);
+        FactionXpAccumulator.getInstance().invalidate(player.getGuildId(), player.getServerId());
 
         // Update faction stats
         factionStatsSync.updateFaction(faction.getId());
@@ -366,6 +371,7 @@ public class FactionMembersCommand implements Command {
         target.setFactionId(faction.getId());
         target.setFactionJoinDate(Instant.now());
         playerRepository.save(target);
+        FactionXpAccumulator.getInstance().invalidate(target.getGuildId(), target.getServerId());
 
         // Update faction stats
         factionStatsSync.updateFaction(faction.getId());
@@ -446,6 +452,7 @@ public class FactionMembersCommand implements Command {
         target.setFactionLeader(false);
         target.setFactionOfficer(false);
         playerRepository.save(target);
+        FactionXpAccumulator.getInstance().invalidate(target.getGuildId(), target.getServerId());
 
         // Update faction stats
         factionStatsSync.updateFaction(faction.getId());
@@ -31,7 +31,7 @@ public class FactionStatsCommand implements Command {
 
     public FactionStatsCommand(FactionRepository factionRepository) {
         this.factionRepository = factionRepository;
-        this.factionStatsSync = new FactionStatsSync();
+        this.factionStatsSync = FactionStatsSync.getInstance();
     }
 
     @Override
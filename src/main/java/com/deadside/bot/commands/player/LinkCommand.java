@@ -5,6 +5,7 @@ import com.deadside.bot.db.models.LinkedPlayer;
 import com.deadside.bot.db.models.Player;
 import com.deadside.bot.db.repositories.LinkedPlayerRepository;
 import com.deadside.bot.db.repositories.PlayerRepository;
+import com.deadside.bot.search.PlayerNameIndex;
 import com.deadside.bot.utils.EmbedUtils;
 import com.deadside.bot.utils.EmbedSender;
 import net.dv8tion.jda.api.entities.User;
@@ -30,6 +31,7 @@ public class LinkCommand implements ICommand {
     private static final Logger logger = LoggerFactory.getLogger(LinkCommand.class);
     private final LinkedPlayerRepository linkedPlayerRepository = new LinkedPlayerRepository();
     private final PlayerRepository playerRepository = new PlayerRepository();
+    private final PlayerNameIndex nameIndex = PlayerNameIndex.getInstance();
     
     @Override
     public String getName() {
@@ -67,6 +69,11 @@ public class LinkCommand implements ICommand {
             return;
         }
         
+        if (event.getGuild() == null) {
+            event.reply("This command can only be used in a server.").setEphemeral(true).queue();
+            return;
+        }
+        
         String subCommand = event.getSubcommandName();
         if (subCommand == null) {
             event.reply("Invalid command usage.").setEphemeral(true).queue();
@@ -106,10 +113,10 @@ public class LinkCommand implements ICommand {
             return;
         }
         
-        // Search for the player in the database
-        List<Player> matchingPlayers = playerRepository.findByNameLike(playerName);
+        // Search for the player in the guild's name index (exact matches first)
+        Player bestMatch = nameIndex.findPlayerInGuild(event.getGuild().getIdLong(), playerName);
         
-        if (matchingPlayers.isEmpty()) {
+        if (bestMatch == null) {
             event.getHook().sendMessageEmbeds(
                     EmbedUtils.errorEmbed("Player Not Found", 
                             "Could not find a player with name: **" + playerName + "**\n" +
@@ -118,20 +125,6 @@ public class LinkCommand implements ICommand {
             return;
         }
         
-        // If we found multiple matches, use the best match (exact match or first result)
-        Player bestMatch = null;
-        for (Player player : matchingPlayers) {
-            if (player.getName().equalsIgnoreCase(playerName)) {
-                bestMatch = player;
-                break;
-            }
-        }
-        
-        // If no exact match, just use the first result
-        if (bestMatch == null) {
-            bestMatch = matchingPlayers.get(0);
-        }
-        
         // Check if player is already linked to another Discord user
         LinkedPlayer existingPlayerLink = linkedPlayerRepository.findByPlayerId(bestMatch.getPlayerId());
         if (existingPlayerLink != null) {
@@ -173,10 +166,10 @@ public class LinkCommand implements ICommand {
             return;
         }
         
-        // Search for the player in the database
-        List<Player> matchingPlayers = playerRepository.findByNameLike(playerName);
+        // Search for the player in the guild's name index (exact matches first)
+        Player bestMatch = nameIndex.findPlayerInGuild(event.getGuild().getIdLong(), playerName);
         
-        if (matchingPlayers.isEmpty()) {
+        if (bestMatch == null) {
             event.getHook().sendMessageEmbeds(
                     EmbedUtils.errorEmbed("Player Not Found", 
                             "Could not find a player with name: **" + playerName + "**\n" +
@@ -185,20 +178,6 @@ public class LinkCommand implements ICommand {
             return;
         }
         
-        // If we found multiple matches, use the best match (exact match or first result)
-        Player bestMatch = null;
-        for (Player player : matchingPlayers) {
-            if (player.getName().equalsIgnoreCase(playerName)) {
-                bestMatch = player;
-                break;
-            }
-        }
-        
-        // If no exact match, just use the first result
-        if (bestMatch == null) {
-            bestMatch = matchingPlayers.get(0);
-        }
-        
         // Check if player is already linked to another Discord user
         LinkedPlayer existingPlayerLink = linkedPlayerRepository.findByPlayerId(bestMatch.getPlayerId());
         if (existingPlayerLink != null && existingPlayerLink.getDiscordId() != user.getIdLong()) {
@@ -248,10 +227,10 @@ public class LinkCommand implements ICommand {
             return;
         }
         
-        // Search for the player
-        List<Player> matchingPlayers = playerRepository.findByNameLike(playerName);
+        // Search for the player in the guild's name index (exact matches first)
+        Player bestMatch = nameIndex.findPlayerInGuild(event.getGuild().getIdLong(), playerName);
         
-        if (matchingPlayers.isEmpty()) {
+        if (bestMatch == null) {
             event.getHook().sendMessageEmbeds(
                     EmbedUtils.errorEmbed("Player Not Found", 
                             "Could not find a player with name: **" + playerName + "**")
@@ -259,19 +238,6 @@ public class LinkCommand implements ICommand {
             return;
         }
         
-        // Find best match
-        Player bestMatch = null;
-        for (Player player : matchingPlayers) {
-            if (player.getName().equalsIgnoreCase(playerName)) {
-                bestMatch = player;
-                break;
-            }
-        }
-        
-        if (bestMatch == null) {
-            bestMatch = matchingPlayers.get(0);
-        }
-        
         // Check if this is the main player
         if (existingLink.getMainPlayerId().equals(bestMatch.getPlayerId())) {
             event.getHook().sendMessageEmbeds(
@@ -367,6 +333,8 @@ public class LinkCommand implements ICommand {
     
     @Override
     public List<Choice> handleAutoComplete(CommandAutoCompleteInteractionEvent event) {
+        if (event.getGuild() == null) return List.of();
+        
         String subcommand = event.getSubcommandName();
         String focusedOption = event.getFocusedOption().getName();
         
@@ -390,11 +358,8 @@ public class LinkCommand implements ICommand {
                 return List.of(); // No alts to remove
             } else {
                 // For main and add, show all existing players matching the input
-                List<Player> matchingPlayers = playerRepository.findByNameLike(currentInput);
-                
-                return matchingPlayers.stream()
-                    .map(player -> new Choice(player.getName(), player.getName()))
-                    .limit(25) // Discord has a max of 25 choices
+                return nameIndex.searchGuild(event.getGuild().getIdLong(), currentInput, PlayerNameIndex.MAX_CHOICES).stream()
+                    .map(match -> new Choice(match.getName(), match.getName()))
                     .collect(Collectors.toList());
             }
         }
@@ -1,9 +1,12 @@
 package com.deadside.bot.commands.stats;
 
 import com.deadside.bot.commands.ICommand;
-import com.deadside.bot.db.models.Player;
+import com.deadside.bot.db.models.LeaderboardEntry;
+import com.deadside.bot.db.models.WeaponStats;
 import com.deadside.bot.db.repositories.LeaderboardChannelRepository;
-import com.deadside.bot.db.repositories.PlayerRepository;
+import com.deadside.bot.leaderboard.LeaderboardMetric;
+import com.deadside.bot.leaderboard.LeaderboardStore;
+import com.deadside.bot.leaderboard.WeaponStatsService;
 import com.deadside.bot.premium.FeatureGate;
 import com.deadside.bot.utils.EmbedUtils;
 import net.dv8tion.jda.api.Permission;
@@ -31,7 +34,8 @@ import java.util.concurrent.TimeUnit;
  */
 public class AutoLeaderboardCommand implements ICommand {
     private static final Logger logger = LoggerFactory.getLogger(AutoLeaderboardCommand.class);
-    private final PlayerRepository playerRepository = new PlayerRepository();
+    private final LeaderboardStore leaderboardStore = LeaderboardStore.getInstance();
+    private final WeaponStatsService weaponStatsService = WeaponStatsService.getInstance();
     private final LeaderboardChannelRepository leaderboardChannelRepository = new LeaderboardChannelRepository();
     private final DecimalFormat df = new DecimalFormat("#.##");
     
@@ -158,11 +162,11 @@ public class AutoLeaderboardCommand implements ICommand {
         String serverId = channel.getGuild().getName(); // Default to guild name as server ID
         
         // Get all required data with proper isolation
-        List<Player> topKillers = playerRepository.getTopPlayersByKills(guildId, serverId, 5);
-        List<Player> topKD = playerRepository.getTopPlayersByKD(guildId, serverId, 3, 10);
-        List<Player> topDeaths = playerRepository.getTopPlayersByDeaths(guildId, serverId, 3);
-        List<Player> topDistance = playerRepository.getTopPlayersByDistance(guildId, serverId, 3);
-        List<Player> topStreak = playerRepository.getTopPlayersByKillStreak(guildId, serverId, 3);
+        List<LeaderboardEntry> topKillers = leaderboardStore.getTop(guildId, serverId, LeaderboardMetric.KILLS, 5);
+        List<LeaderboardEntry> topKD = leaderboardStore.getTop(guildId, serverId, LeaderboardMetric.KD_RATIO, 3, 10);
+        List<LeaderboardEntry> topDeaths = leaderboardStore.getTop(guildId, serverId, LeaderboardMetric.DEATHS, 3);
+        List<LeaderboardEntry> topDistance = leaderboardStore.getTop(guildId, serverId, LeaderboardMetric.LONGEST_KILL, 3);
+        List<LeaderboardEntry> topStreak = leaderboardStore.getTop(guildId, serverId, LeaderboardMetric.KILL_STREAK, 3);
         
         // Create and send embeds
         MessageEmbed killersEmbed = createTopKillersEmbed(topKillers);
@@ -170,7 +174,7 @@ public class AutoLeaderboardCommand implements ICommand {
         MessageEmbed deathsEmbed = createTopDeathsEmbed(topDeaths);
         MessageEmbed distanceEmbed = createTopDistanceEmbed(topDistance);
         MessageEmbed streakEmbed = createTopStreakEmbed(topStreak);
-        MessageEmbed weaponsEmbed = createTopWeaponsEmbed(3);
+        MessageEmbed weaponsEmbed = createTopWeaponsEmbed(guildId, serverId, 3);
         
         // Send each embed with a small delay to ensure order
         channel.sendMessageEmbeds(killersEmbed).queue(success -> {
@@ -189,14 +193,14 @@ public class AutoLeaderboardCommand implements ICommand {
     /**
      * Create an embed for top killers
      */
-    private MessageEmbed createTopKillersEmbed(List<Player> topKillers) {
+    private MessageEmbed createTopKillersEmbed(List<LeaderboardEntry> topKillers) {
         StringBuilder description = new StringBuilder("# Top Killers\n\n");
         
         if (topKillers.isEmpty()) {
             description.append("No data available yet.");
         } else {
             for (int i = 0; i < topKillers.size(); i++) {
-                Player player = topKillers.get(i);
+                LeaderboardEntry player = topKillers.get(i);
                 description.append("`").append(i + 1).append(".` **")
                         .append(player.getName()).append("** - ")
                         .append(player.getKills()).append(" kills (")
@@ -215,17 +219,14 @@ public class AutoLeaderboardCommand implements ICommand {
     /**
      * Create an embed for top K/D ratio players
      */
-    private MessageEmbed createTopKDEmbed(List<Player> topKD) {
+    private MessageEmbed createTopKDEmbed(List<LeaderboardEntry> topKD) {
         StringBuilder description = new StringBuilder("# Top K/D Ratio\n\n");
         
         if (topKD.isEmpty()) {
             description.append("No data available yet.");
         } else {
-            // Sort by K/D ratio
-            topKD.sort((p1, p2) -> Double.compare(p2.getKdRatio(), p1.getKdRatio()));
-            
             for (int i = 0; i < topKD.size(); i++) {
-                Player player = topKD.get(i);
+                LeaderboardEntry player = topKD.get(i);
                 description.append("`").append(i + 1).append(".` **")
                         .append(player.getName()).append("** - ")
                         .append(df.format(player.getKdRatio())).append(" K/D (")
@@ -245,14 +246,14 @@ public class AutoLeaderboardCommand implements ICommand {
     /**
      * Create an embed for top death counts
      */
-    private MessageEmbed createTopDeathsEmbed(List<Player> topDeaths) {
+    private MessageEmbed createTopDeathsEmbed(List<LeaderboardEntry> topDeaths) {
         StringBuilder description = new StringBuilder("# Most Deaths\n\n");
         
         if (topDeaths.isEmpty()) {
             description.append("No data available yet.");
         } else {
             for (int i = 0; i < topDeaths.size(); i++) {
-                Player player = topDeaths.get(i);
+                LeaderboardEntry player = topDeaths.get(i);
                 description.append("`").append(i + 1).append(".` **")
                         .append(player.getName()).append("** - ")
                         .append(player.getDeaths()).append(" deaths (")
@@ -271,14 +272,14 @@ public class AutoLeaderboardCommand implements ICommand {
     /**
      * Create an embed for top distance kills
      */
-    private MessageEmbed createTopDistanceEmbed(List<Player> topDistance) {
+    private MessageEmbed createTopDistanceEmbed(List<LeaderboardEntry> topDistance) {
         StringBuilder description = new StringBuilder("# Longest Kill Distance\n\n");
         
         if (topDistance.isEmpty()) {
             description.append("No data available yet.");
         } else {
             for (int i = 0; i < topDistance.size(); i++) {
-                Player player = topDistance.get(i);
+                LeaderboardEntry player = topDistance.get(i);
                 description.append("`").append(i + 1).append(".` **")
                         .append(player.getName()).append("** - ")
                         .append(player.getLongestKillDistance()).append("m (")
@@ -297,14 +298,14 @@ public class AutoLeaderboardCommand implements ICommand {
     /**
      * Create an embed for top kill streaks
      */
-    private MessageEmbed createTopStreakEmbed(List<Player> topStreak) {
+    private MessageEmbed createTopStreakEmbed(List<LeaderboardEntry> topStreak) {
         StringBuilder description = new StringBuilder("# Longest Kill Streaks\n\n");
         
         if (topStreak.isEmpty()) {
             description.append("No data available yet.");
         } else {
             for (int i = 0; i < topStreak.size(); i++) {
-                Player player = topStreak.get(i);
+                LeaderboardEntry player = topStreak.get(i);
                 description.append("`").append(i + 1).append(".` **")
                         .append(player.getName()).append("** - ")
                         .append(player.getLongestKillStreak()).append(" kills\n");
@@ -322,57 +323,20 @@ public class AutoLeaderboardCommand implements ICommand {
     /**
      * Create an embed for top weapons
      */
-    private MessageEmbed createTopWeaponsEmbed(int limit) {
+    private MessageEmbed createTopWeaponsEmbed(long guildId, String serverId, int limit) {
         StringBuilder description = new StringBuilder("# Top Weapons\n\n");
         
-        // Collect all players
-        List<Player> allPlayers = playerRepository.getTopPlayersByKills(1000);
+        List<WeaponStats> topWeapons = weaponStatsService.getTopWeapons(guildId, serverId, limit);
         
-        if (allPlayers.isEmpty()) {
+        if (topWeapons.isEmpty()) {
             description.append("No data available yet.");
         } else {
-            // Aggregate weapon usage across all players
-            Map<String, Integer> weaponKills = new HashMap<>();
-            Map<String, String> topPlayerByWeapon = new HashMap<>();
-            
-            for (Player player : allPlayers) {
-                if (player.getWeaponKills() != null) {
-                    for (Map.Entry<String, Integer> entry : player.getWeaponKills().entrySet()) {
-                        String weapon = entry.getKey();
-                        int kills = entry.getValue();
-                        
-                        // Update total kills with this weapon
-                        weaponKills.put(weapon, weaponKills.getOrDefault(weapon, 0) + kills);
-                        
-                        // Track top player for each weapon
-                        if (!topPlayerByWeapon.containsKey(weapon) || 
-                            kills > getWeaponKillsForPlayer(allPlayers, topPlayerByWeapon.get(weapon), weapon)) {
-                            topPlayerByWeapon.put(weapon, player.getName());
-                        }
-                    }
-                }
-            }
-            
-            // Sort weapons by kill count
-            List<Map.Entry<String, Integer>> sortedWeapons = new ArrayList<>(weaponKills.entrySet());
-            sortedWeapons.sort((e1, e2) -> e2.getValue().compareTo(e1.getValue())); // Reverse sort
-            
-            // Limit to top weapons
-            if (sortedWeapons.size() > limit) {
-                sortedWeapons = sortedWeapons.subList(0, limit);
-            }
-            
-            // Build list of top weapons
-            for (int i = 0; i < sortedWeapons.size(); i++) {
-                Map.Entry<String, Integer> entry = sortedWeapons.get(i);
-                String weapon = entry.getKey();
-                int kills = entry.getValue();
-                String topPlayer = topPlayerByWeapon.getOrDefault(weapon, "Unknown");
-                
+            for (int i = 0; i < topWeapons.size(); i++) {
+                WeaponStats weapon = topWeapons.get(i);
                 description.append("`").append(i + 1).append(".` **")
-                        .append(weapon).append("** - ")
-                        .append(kills).append(" kills ")
-                        .append("(Top user: ").append(topPlayer).append(")\n");
+                        .append(weapon.getWeapon()).append("** - ")
+                        .append(weapon.getKills()).append(" kills ")
+                        .append("(Top user: ").append(weapon.getTopPlayer()).append(")\n");
             }
         }
         
@@ -383,20 +347,4 @@ public class AutoLeaderboardCommand implements ICommand {
             "attachment://WeaponStats.png"
         );
     }
-    
-    /**
-     * Helper method to get weapon kills for a specific player
-     */
-    private int getWeaponKillsForPlayer(List<Player> players, String playerName, String weapon) {
-        for (Player player : players) {
-            if (player.getName().equals(playerName)) {
-                Map<String, Integer> weaponKills = player.getWeaponKills();
-                if (weaponKills != null) {
-                    return weaponKills.getOrDefault(weapon, 0);
-                }
-                return 0;
-            }
-        }
-        return 0;
-    }
 }
\ No newline at end of file
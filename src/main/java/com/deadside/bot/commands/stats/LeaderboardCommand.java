@@ -2,10 +2,13 @@ package com.deadside.bot.commands.stats;
 
 import com.deadside.bot.commands.ICommand;
 import com.deadside.bot.db.models.GameServer;
-import com.deadside.bot.db.models.Player;
+import com.deadside.bot.db.models.LeaderboardEntry;
+import com.deadside.bot.db.models.WeaponStats;
 import com.deadside.bot.db.repositories.GameServerRepository;
-import com.deadside.bot.db.repositories.PlayerRepository;
 import com.deadside.bot.isolation.DefaultServerInitializer;
+import com.deadside.bot.leaderboard.LeaderboardMetric;
+import com.deadside.bot.leaderboard.LeaderboardStore;
+import com.deadside.bot.leaderboard.WeaponStatsService;
 import com.deadside.bot.premium.FeatureGate;
 import com.deadside.bot.utils.EmbedUtils;
 import com.deadside.bot.utils.EmbedSender;
@@ -31,7 +34,8 @@ import java.util.stream.Collectors;
  */
 public class LeaderboardCommand implements ICommand {
     private static final Logger logger = LoggerFactory.getLogger(LeaderboardCommand.class);
-    private final PlayerRepository playerRepository = new PlayerRepository();
+    private final LeaderboardStore leaderboardStore = LeaderboardStore.getInstance();
+    private final WeaponStatsService weaponStatsService = WeaponStatsService.getInstance();
     private final DecimalFormat df = new DecimalFormat("#.##");
     
     @Override
@@ -125,7 +129,7 @@ public class LeaderboardCommand implements ICommand {
         
         try {
             // Get top players by kills with proper isolation
-            List<Player> allPlayers = playerRepository.getTopPlayersByKills(guildId, serverId, 10);
+            List<LeaderboardEntry> allPlayers = leaderboardStore.getTop(guildId, serverId, LeaderboardMetric.KILLS, 10);
             
             if (allPlayers.isEmpty()) {
                 // Use our helper method to get the appropriate message based on isolation mode
@@ -145,7 +149,7 @@ public class LeaderboardCommand implements ICommand {
             StringBuilder description = new StringBuilder();
             
             for (int i = 0; i < allPlayers.size(); i++) {
-                Player player = allPlayers.get(i);
+                LeaderboardEntry player = allPlayers.get(i);
                 description.append("`").append(i + 1).append(".` **")
                         .append(player.getName()).append("** - ")
                         .append(player.getKills()).append(" kills (")
@@ -184,7 +188,7 @@ public class LeaderboardCommand implements ICommand {
         
         try {
             // Get top 10 players by K/D ratio (minimum 10 kills to qualify) with proper isolation
-            List<Player> kdPlayers = playerRepository.getTopPlayersByKD(guildId, serverId, 10, 10);
+            List<LeaderboardEntry> kdPlayers = leaderboardStore.getTop(guildId, serverId, LeaderboardMetric.KD_RATIO, 10, 10);
             
             if (kdPlayers.isEmpty()) {
                 // Use our helper method and add additional context for KD requirements
@@ -206,24 +210,12 @@ public class LeaderboardCommand implements ICommand {
                 return;
             }
             
-            // Sort by K/D ratio with improved calculation to handle division by zero
-            kdPlayers.sort((p1, p2) -> {
-                double kd1 = calculateKD(p1.getKills(), p1.getDeaths());
-                double kd2 = calculateKD(p2.getKills(), p2.getDeaths());
-                return Double.compare(kd2, kd1);
-            });
-            
-            // Limit to top 10
-            if (kdPlayers.size() > 10) {
-                kdPlayers = kdPlayers.subList(0, 10);
-            }
-            
             // Build leaderboard
             StringBuilder description = new StringBuilder();
             
             for (int i = 0; i < kdPlayers.size(); i++) {
-                Player player = kdPlayers.get(i);
-                double kd = calculateKD(player.getKills(), player.getDeaths());
+                LeaderboardEntry player = kdPlayers.get(i);
+                double kd = player.getKdRatio();
                 
                 description.append("`").append(i + 1).append(".` **")
                         .append(player.getName()).append("** - ")
@@ -247,17 +239,6 @@ public class LeaderboardCommand implements ICommand {
         }
     }
     
-    /**
-     * Calculate K/D ratio safely handling division by zero
-     */
-    private double calculateKD(int kills, int deaths) {
-        // If no deaths, use kills as K/D but cap at a maximum of 999 to prevent display issues
-        if (deaths == 0) {
-            return Math.min(kills, 999);
-        }
-        return (double) kills / deaths;
-    }
-    
     /**
      * Display leaderboard for longest kill distances
      */
@@ -278,7 +259,7 @@ public class LeaderboardCommand implements ICommand {
         
         try {
             // Get top players by longest kill distance with proper isolation
-            List<Player> allDistancePlayers = playerRepository.getTopPlayersByDistance(guildId, serverId, 50);
+            List<LeaderboardEntry> allDistancePlayers = leaderboardStore.getTop(guildId, serverId, LeaderboardMetric.LONGEST_KILL, 10);
             
             if (allDistancePlayers.isEmpty()) {
                 // Use our new fallback embed for empty data
@@ -301,10 +282,8 @@ public class LeaderboardCommand implements ICommand {
             }
             
             // Filter by minimum distance of 300m and sort by distance
-            List<Player> distancePlayers = allDistancePlayers.stream()
+            List<LeaderboardEntry> distancePlayers = allDistancePlayers.stream()
                     .filter(p -> p.getLongestKillDistance() >= 300)
-                    .sorted((p1, p2) -> Integer.compare(p2.getLongestKillDistance(), p1.getLongestKillDistance()))
-                    .limit(10)
                     .collect(Collectors.toList());
             
             if (distancePlayers.isEmpty()) {
@@ -324,7 +303,7 @@ public class LeaderboardCommand implements ICommand {
             StringBuilder description = new StringBuilder();
             
             for (int i = 0; i < distancePlayers.size(); i++) {
-                Player player = distancePlayers.get(i);
+                LeaderboardEntry player = distancePlayers.get(i);
                 description.append("`").append(i + 1).append(".` **")
                         .append(player.getName()).append("** - ")
                         .append(player.getLongestKillDistance()).append("m ")
@@ -367,7 +346,7 @@ public class LeaderboardCommand implements ICommand {
         
         try {
             // Get top players by longest kill streak with proper isolation
-            List<Player> streakPlayers = playerRepository.getTopPlayersByKillStreak(guildId, serverId, 10);
+            List<LeaderboardEntry> streakPlayers = leaderboardStore.getTop(guildId, serverId, LeaderboardMetric.KILL_STREAK, 10);
             
             if (streakPlayers.isEmpty()) {
                 // Use our new fallback embed for empty data
@@ -393,7 +372,7 @@ public class LeaderboardCommand implements ICommand {
             StringBuilder description = new StringBuilder();
             
             for (int i = 0; i < streakPlayers.size(); i++) {
-                Player player = streakPlayers.get(i);
+                LeaderboardEntry player = streakPlayers.get(i);
                 description.append("`").append(i + 1).append(".` **")
                         .append(player.getName()).append("** - ")
                         .append(player.getLongestKillStreak()).append(" kills ")
@@ -434,10 +413,10 @@ public class LeaderboardCommand implements ICommand {
         }
         
         try {
-            // Collect all players with proper isolation
-            List<Player> allPlayers = playerRepository.getTopPlayersByKills(guildId, serverId, 1000);
+            // Weapon totals are aggregated in MongoDB and cached per server
+            List<WeaponStats> topWeapons = weaponStatsService.getTopWeapons(guildId, serverId, 10);
             
-            if (allPlayers.isEmpty()) {
+            if (topWeapons.isEmpty()) {
                 // Use our new fallback embed for empty data
                 // Use our helper method and add additional context when appropriate
                 String reason = getIsolationReasonMessage(activeServer);
@@ -457,62 +436,16 @@ public class LeaderboardCommand implements ICommand {
                 return;
             }
             
-            // Aggregate weapon usage across all players
-            Map<String, Integer> weaponKills = new HashMap<>();
-            Map<String, String> topPlayerByWeapon = new HashMap<>();
-            
-            for (Player player : allPlayers) {
-                if (player.getWeaponKills() != null) {
-                    for (Map.Entry<String, Integer> entry : player.getWeaponKills().entrySet()) {
-                        String weapon = entry.getKey();
-                        int kills = entry.getValue();
-                        
-                        // Update total kills with this weapon
-                        weaponKills.put(weapon, weaponKills.getOrDefault(weapon, 0) + kills);
-                        
-                        // Track top player for each weapon
-                        if (!topPlayerByWeapon.containsKey(weapon) || 
-                            kills > getWeaponKillsForPlayer(allPlayers, topPlayerByWeapon.get(weapon), weapon)) {
-                            topPlayerByWeapon.put(weapon, player.getName());
-                        }
-                    }
-                }
-            }
-            
-            // If we have no weapon data even with players, show specific message
-            if (weaponKills.isEmpty()) {
-                event.getHook().sendMessageEmbeds(
-                    EmbedThemes.fallbackLeaderboardEmbed(
-                        "Top Weapons Leaderboard", 
-                        "Weapon usage data has not been recorded yet.",
-                        activeServer != null ? activeServer.getName() : event.getGuild().getName()
-                    )
-                ).queue();
-                return;
-            }
-            
-            // Sort weapons by kill count
-            List<Map.Entry<String, Integer>> sortedWeapons = new ArrayList<>(weaponKills.entrySet());
-            sortedWeapons.sort(Map.Entry.<String, Integer>comparingByValue().reversed());
-            
-            // Limit to top 10
-            if (sortedWeapons.size() > 10) {
-                sortedWeapons = sortedWeapons.subList(0, 10);
-            }
-            
             // Build leaderboard
             StringBuilder description = new StringBuilder();
             
-            for (int i = 0; i < sortedWeapons.size(); i++) {
-                Map.Entry<String, Integer> entry = sortedWeapons.get(i);
-                String weapon = entry.getKey();
-                int kills = entry.getValue();
-                String topPlayer = topPlayerByWeapon.getOrDefault(weapon, "Unknown");
+            for (int i = 0; i < topWeapons.size(); i++) {
+                WeaponStats weapon = topWeapons.get(i);
                 
                 description.append("`").append(i + 1).append(".` **")
-                        .append(weapon).append("** - ")
-                        .append(kills).append(" kills ")
-                        .append("(Top user: ").append(topPlayer).append(")\n");
+                        .append(weapon.getWeapon()).append("** - ")
+                        .append(weapon.getKills()).append(" kills ")
+                        .append("(Top user: ").append(weapon.getTopPlayer()).append(")\n");
             }
             
             // Use our new isolation-aware embed with proper context
@@ -550,7 +483,7 @@ public class LeaderboardCommand implements ICommand {
         
         try {
             // Get top players by death count with proper isolation
-            List<Player> deathPlayers = playerRepository.getTopPlayersByDeaths(guildId, serverId, 10);
+            List<LeaderboardEntry> deathPlayers = leaderboardStore.getTop(guildId, serverId, LeaderboardMetric.DEATHS, 10);
             
             if (deathPlayers.isEmpty()) {
                 // Use our new fallback embed for empty data
@@ -576,7 +509,7 @@ public class LeaderboardCommand implements ICommand {
             StringBuilder description = new StringBuilder();
             
             for (int i = 0; i < deathPlayers.size(); i++) {
-                Player player = deathPlayers.get(i);
+                LeaderboardEntry player = deathPlayers.get(i);
                 description.append("`").append(i + 1).append(".` **")
                         .append(player.getName()).append("** - ")
                         .append(player.getDeaths()).append(" deaths ")
@@ -642,20 +575,4 @@ public class LeaderboardCommand implements ICommand {
         
         return null;
     }
-    
-    /**
-     * Helper method to get weapon kills for a specific player
-     */
-    private int getWeaponKillsForPlayer(List<Player> players, String playerName, String weapon) {
-        for (Player player : players) {
-            if (player.getName().equals(playerName)) {
-                Map<String, Integer> weaponKills = player.getWeaponKills();
-                if (weaponKills != null) {
-                    return weaponKills.getOrDefault(weapon, 0);
-                }
-                return 0;
-            }
-        }
-        return 0;
-    }
 }
@@ -2,8 +2,8 @@ package com.deadside.bot.commands.stats;
 
 import com.deadside.bot.commands.ICommand;
 import com.deadside.bot.db.models.Player;
-import com.deadside.bot.db.repositories.PlayerRepository;
 import com.deadside.bot.premium.PremiumManager;
+import com.deadside.bot.search.PlayerNameIndex;
 import com.deadside.bot.utils.EmbedUtils;
 import com.deadside.bot.utils.EmbedSender;
 import net.dv8tion.jda.api.events.interaction.command.SlashCommandInteractionEvent;
@@ -15,14 +15,13 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.text.DecimalFormat;
-import java.util.List;
 
 /**
  * Command for viewing head-to-head matchups between players
  */
 public class MatchupCommand implements ICommand {
     private static final Logger logger = LoggerFactory.getLogger(MatchupCommand.class);
-    private final PlayerRepository playerRepository = new PlayerRepository();
+    private final PlayerNameIndex nameIndex = PlayerNameIndex.getInstance();
     private final PremiumManager premiumManager = new PremiumManager();
     private final DecimalFormat df = new DecimalFormat("#.##");
     
@@ -64,8 +63,7 @@ public class MatchupCommand implements ICommand {
         
         try {
             // Find player 1
-            List<Player> player1Matches = playerRepository.findByNameLike(player1Name);
-            Player player1 = findBestMatch(player1Matches, player1Name);
+            Player player1 = nameIndex.findPlayerInGuild(guildId, player1Name);
             
             if (player1 == null) {
                 event.getHook().sendMessage("No player found with name: " + player1Name).queue();
@@ -73,8 +71,7 @@ public class MatchupCommand implements ICommand {
             }
             
             // Find player 2
-            List<Player> player2Matches = playerRepository.findByNameLike(player2Name);
-            Player player2 = findBestMatch(player2Matches, player2Name);
+            Player player2 = nameIndex.findPlayerInGuild(guildId, player2Name);
             
             if (player2 == null) {
                 event.getHook().sendMessage("No player found with name: " + player2Name).queue();
@@ -96,25 +93,6 @@ public class MatchupCommand implements ICommand {
         }
     }
     
-    /**
-     * Find the best matching player from a list of potential matches
-     */
-    private Player findBestMatch(List<Player> players, String searchName) {
-        if (players.isEmpty()) {
-            return null;
-        }
-        
-        // Look for exact name match first
-        for (Player player : players) {
-            if (player.getName().equalsIgnoreCase(searchName)) {
-                return player;
-            }
-        }
-        
-        // If no exact match, return first result
-        return players.get(0);
-    }
-    
     /**
      * Get number of kills player1 has against player2
      * For a complete implementation, this would query historical kill data
@@ -3,7 +3,10 @@ package com.deadside.bot.commands.stats;
 import com.deadside.bot.commands.ICommand;
 import com.deadside.bot.db.models.Player;
 import com.deadside.bot.db.repositories.PlayerRepository;
+import com.deadside.bot.leaderboard.LeaderboardMetric;
+import com.deadside.bot.leaderboard.LeaderboardStore;
 import com.deadside.bot.premium.PremiumManager;
+import com.deadside.bot.search.PlayerNameIndex;
 import com.deadside.bot.utils.EmbedUtils;
 import com.deadside.bot.utils.EmbedSender;
 import net.dv8tion.jda.api.entities.User;
@@ -16,10 +19,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.text.DecimalFormat;
-import java.util.List;
 import java.util.Map;
-import java.util.Comparator;
-import java.util.stream.Collectors;
 
 /**
  * Command for checking a player's rank in various statistics
@@ -27,6 +27,7 @@ import java.util.stream.Collectors;
 public class RankCommand implements ICommand {
     private static final Logger logger = LoggerFactory.getLogger(RankCommand.class);
     private final PlayerRepository playerRepository = new PlayerRepository();
+    private final LeaderboardStore leaderboardStore = LeaderboardStore.getInstance();
     private final PremiumManager premiumManager = new PremiumManager();
     private final DecimalFormat df = new DecimalFormat("#.##");
     
@@ -72,22 +73,8 @@ public class RankCommand implements ICommand {
             Player player = null;
             
             if (playerName != null) {
-                // Find player by in-game name with server isolation
-                List<Player> matchingPlayers = playerRepository.findByNameLikeAndGuildIdAndServerId(playerName, guildId, serverId);
-                if (!matchingPlayers.isEmpty()) {
-                    // Try to find exact match first
-                    for (Player p : matchingPlayers) {
-                        if (p.getName().equalsIgnoreCase(playerName)) {
-                            player = p;
-                            break;
-                        }
-                    }
-                    
-                    // If no exact match, use first result
-                    if (player == null) {
-                        player = matchingPlayers.get(0);
-                    }
-                }
+                // Find player by in-game name with server isolation (exact matches first)
+                player = PlayerNameIndex.getInstance().findPlayer(guildId, serverId, playerName);
             } else if (targetUser != null) {
                 // Find linked player by Discord user ID
                 com.deadside.bot.db.repositories.LinkedPlayerRepository linkedPlayerRepo = 
@@ -112,11 +99,8 @@ public class RankCommand implements ICommand {
                 return;
             }
             
-            // Get all ranked players to compute ranks with server isolation
-            List<Player> allPlayers = playerRepository.getTopPlayersByKills(guildId, serverId, 1000); // Get a lot of players with server isolation
-            
-            // Calculate ranks and send embed
-            event.getHook().sendMessageEmbeds(buildRankEmbed(player, allPlayers)).queue();
+            // Calculate ranks from the precomputed leaderboards and send embed
+            event.getHook().sendMessageEmbeds(buildRankEmbed(player, guildId, serverId)).queue();
             
         } catch (Exception e) {
             logger.error("Error retrieving player rank", e);
@@ -127,53 +111,27 @@ public class RankCommand implements ICommand {
     /**
      * Build the player rank embed with various stat rankings
      */
-    private net.dv8tion.jda.api.entities.MessageEmbed buildRankEmbed(Player player, List<Player> allPlayers) {
+    private net.dv8tion.jda.api.entities.MessageEmbed buildRankEmbed(Player player, long guildId, String serverId) {
         // Minimum threshold to be included in ranking
         final int MIN_KILLS = 5;
         
-        // Filter players with minimum kills for ranking and exclude invalid player records
-        List<Player> rankablePlayers = allPlayers.stream()
-                .filter(p -> p.getKills() >= MIN_KILLS)
-                .filter(p -> p.getName() != null && !p.getName().isEmpty() && !"**".equals(p.getName()))
-                .collect(Collectors.toList());
-        
         // Total number of ranked players
-        int totalPlayers = rankablePlayers.size();
+        int totalPlayers = leaderboardStore.getRankedCount(guildId, serverId, LeaderboardMetric.KILLS, MIN_KILLS);
         
         // If player doesn't meet minimum threshold, still show stats but indicate not ranked
         boolean isRanked = player.getKills() >= MIN_KILLS;
         
-        // Calculate kills rank
-        int killsRank = isRanked ? calculateRank(player, rankablePlayers, 
-                Comparator.comparingInt(Player::getKills).reversed()) : -1;
-        
-        // Calculate K/D rank (only for players with kills)
-        int kdRank = isRanked ? calculateRank(player, rankablePlayers,
-                Comparator.comparingDouble(Player::getKdRatio).reversed()) : -1;
-        
-        // Calculate score rank
-        int scoreRank = isRanked ? calculateRank(player, rankablePlayers,
-                Comparator.comparingInt(Player::getScore).reversed()) : -1;
-                
-        // Calculate distance rank (if available)
-        int distanceRank = -1;
-        if (player.getLongestKillDistance() > 0) {
-            distanceRank = calculateRank(player, allPlayers.stream()
-                .filter(p -> p.getLongestKillDistance() > 0)
-                .filter(p -> p.getName() != null && !p.getName().isEmpty() && !"**".equals(p.getName()))
-                .collect(Collectors.toList()),
-                Comparator.comparingInt(Player::getLongestKillDistance).reversed());
-        }
+        // Look up ranks from the leaderboards (each is a single O(log n) lookup)
+        String playerId = player.getPlayerId();
+        int killsRank = isRanked ? leaderboardStore.getRank(guildId, serverId, LeaderboardMetric.KILLS, playerId, MIN_KILLS) : -1;
+        int kdRank = isRanked ? leaderboardStore.getRank(guildId, serverId, LeaderboardMetric.KD_RATIO, playerId, MIN_KILLS) : -1;
+        int scoreRank = isRanked ? leaderboardStore.getRank(guildId, serverId, LeaderboardMetric.SCORE, playerId, MIN_KILLS) : -1;
         
-        // Calculate streak rank (if available)
-        int streakRank = -1;
-        if (player.getLongestKillStreak() > 0) {
-            streakRank = calculateRank(player, allPlayers.stream()
-                .filter(p -> p.getLongestKillStreak() > 0)
-                .filter(p -> p.getName() != null && !p.getName().isEmpty() && !"**".equals(p.getName()))
-                .collect(Collectors.toList()),
-                Comparator.comparingInt(Player::getLongestKillStreak).reversed());
-        }
+        // Distance and streak ranks (if available)
+        int distanceRank = player.getLongestKillDistance() > 0
+                ? leaderboardStore.getRank(guildId, serverId, LeaderboardMetric.LONGEST_KILL, playerId) : -1;
+        int streakRank = player.getLongestKillStreak() > 0
+                ? leaderboardStore.getRank(guildId, serverId, LeaderboardMetric.KILL_STREAK, playerId) : -1;
                 
         // Build embed description
         StringBuilder description = new StringBuilder();
@@ -223,16 +181,14 @@ public class RankCommand implements ICommand {
                      
             // Add distance and streak rankings if available
             if (distanceRank > 0) {
-                int distanceTotalPlayers = (int)allPlayers.stream()
-                    .filter(p -> p.getLongestKillDistance() > 0).count();
+                int distanceTotalPlayers = leaderboardStore.getRankedCount(guildId, serverId, LeaderboardMetric.LONGEST_KILL);
                     
                 description.append("Longest Kill Rank: **#").append(distanceRank).append("** (Top ")
                          .append(calculatePercentile(distanceRank, distanceTotalPlayers)).append("%)\n");
             }
             
             if (streakRank > 0) {
-                int streakTotalPlayers = (int)allPlayers.stream()
-                    .filter(p -> p.getLongestKillStreak() > 0).count();
+                int streakTotalPlayers = leaderboardStore.getRankedCount(guildId, serverId, LeaderboardMetric.KILL_STREAK);
                     
                 description.append("Kill Streak Rank: **#").append(streakRank).append("** (Top ")
                          .append(calculatePercentile(streakRank, streakTotalPlayers)).append("%)\n");
@@ -305,25 +261,6 @@ public class RankCommand implements ICommand {
         );
     }
     
-    /**
-     * Calculate the rank of a player among all players using the provided comparator
-     */
-    private int calculateRank(Player player, List<Player> allPlayers, Comparator<Player> comparator) {
-        // Sort players by the given comparator
-        List<Player> sortedPlayers = allPlayers.stream()
-                .sorted(comparator)
-                .collect(Collectors.toList());
-        
-        // Find player's position (0-based index)
-        for (int i = 0; i < sortedPlayers.size(); i++) {
-            if (sortedPlayers.get(i).getPlayerId().equals(player.getPlayerId())) {
-                return i + 1; // Convert to 1-based index for display
-            }
-        }
-        
-        return sortedPlayers.size() + 1; // If not found, place at bottom
-    }
-    
     /**
      * Calculate percentile (lower is better) based on rank and total count
      */
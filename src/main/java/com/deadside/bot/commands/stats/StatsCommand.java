@@ -6,6 +6,7 @@ import com.deadside.bot.db.models.Player;
 import com.deadside.bot.db.repositories.LinkedPlayerRepository;
 import com.deadside.bot.db.repositories.PlayerRepository;
 import com.deadside.bot.premium.FeatureGate;
+import com.deadside.bot.search.PlayerNameIndex;
 import com.deadside.bot.utils.EmbedUtils;
 import com.deadside.bot.utils.EmbedSender;
 import net.dv8tion.jda.api.entities.User;
@@ -30,6 +31,7 @@ import java.util.stream.Collectors;
 public class StatsCommand implements ICommand {
     private static final Logger logger = LoggerFactory.getLogger(StatsCommand.class);
     private final PlayerRepository playerRepository = new PlayerRepository();
+    private final PlayerNameIndex nameIndex = PlayerNameIndex.getInstance();
     private final DecimalFormat df = new DecimalFormat("#.##");
     
     @Override
@@ -89,22 +91,8 @@ public class StatsCommand implements ICommand {
     private void displayPlayerStats(SlashCommandInteractionEvent event, String playerName) {
         long guildId = event.getGuild().getIdLong();
         
-        // Find player by name (using our available methods)
-        List<Player> matchingPlayers = playerRepository.findByNameLike(playerName);
-        Player player = null;
-        
-        // Look for exact match first
-        for (Player p : matchingPlayers) {
-            if (p.getName().equalsIgnoreCase(playerName)) {
-                player = p;
-                break;
-            }
-        }
-        
-        // If no exact match, use first one if available
-        if (player == null && !matchingPlayers.isEmpty()) {
-            player = matchingPlayers.get(0);
-        }
+        // Find player by name in the guild's name index (exact matches first)
+        Player player = nameIndex.findPlayerInGuild(guildId, playerName);
         
         if (player == null) {
             event.getHook().sendMessage("No player found with name: " + playerName).queue();
@@ -180,13 +168,9 @@ public class StatsCommand implements ICommand {
         if ("player".equals(focusedOption)) {
             String currentInput = event.getFocusedOption().getValue().toLowerCase();
             
-            // Search for players with names matching the current input
-            List<Player> matchingPlayers = playerRepository.findByNameLike(currentInput);
-            
-            // Convert to autocomplete choices
-            return matchingPlayers.stream()
-                .map(player -> new Choice(player.getName(), player.getName()))
-                .limit(25)  // Discord limits to 25 choices max
+            // Search the in-memory name index for players matching the current input
+            return nameIndex.searchGuild(event.getGuild().getIdLong(), currentInput, PlayerNameIndex.MAX_CHOICES).stream()
+                .map(match -> new Choice(match.getName(), match.getName()))
                 .collect(Collectors.toList());
         }
         
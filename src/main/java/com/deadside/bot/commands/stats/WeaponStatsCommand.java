@@ -1,6 +1,10 @@
 package com.deadside.bot.commands.stats;
 
 import com.deadside.bot.commands.ICommand;
+import com.deadside.bot.db.models.GameServer;
+import com.deadside.bot.db.models.WeaponStats;
+import com.deadside.bot.db.repositories.GameServerRepository;
+import com.deadside.bot.leaderboard.WeaponStatsService;
 import com.deadside.bot.utils.EmbedUtils;
 import com.deadside.bot.utils.EmbedSender;
 import net.dv8tion.jda.api.EmbedBuilder;
@@ -23,6 +27,8 @@ import java.util.List;
  */
 public class WeaponStatsCommand implements ICommand {
     private static final Logger logger = LoggerFactory.getLogger(WeaponStatsCommand.class);
+    private final GameServerRepository gameServerRepository = new GameServerRepository();
+    private final WeaponStatsService weaponStatsService = WeaponStatsService.getInstance();
     
     // List of weapon types for autocomplete
     private static final List<String> WEAPON_TYPES = Arrays.asList(
@@ -57,33 +63,75 @@ public class WeaponStatsCommand implements ICommand {
 
     @Override
     public void execute(SlashCommandInteractionEvent event) {
+        if (event.getGuild() == null) {
+            event.reply("This command can only be used in a server.").setEphemeral(true).queue();
+            return;
+        }
+        
         event.deferReply().queue();
         
         try {
             String weapon = event.getOption("weapon", "", o -> o.getAsString());
             String type = event.getOption("type", "", o -> o.getAsString());
-            String server = event.getOption("server", "All servers", o -> o.getAsString());
+            String serverName = event.getOption("server", null, o -> o.getAsString());
+            long guildId = event.getGuild().getIdLong();
+            
+            // Resolve the servers to aggregate over
+            List<String> serverIds = new ArrayList<>();
+            if (serverName != null) {
+                GameServer gameServer = gameServerRepository.findByGuildIdAndName(guildId, serverName);
+                if (gameServer == null) {
+                    event.getHook().sendMessageEmbeds(EmbedUtils.errorEmbed(
+                            "Server Not Found",
+                            "No server named " + serverName + " is configured for this Discord."
+                    )).queue();
+                    return;
+                }
+                serverIds.add(gameServer.getServerId());
+            } else {
+                for (GameServer gameServer : gameServerRepository.findAllByGuildId(guildId)) {
+                    serverIds.add(gameServer.getServerId());
+                }
+            }
+            String scope = serverName != null ? serverName : "all servers";
+            
+            // Stats are aggregated in MongoDB and cached per server, sorted by kills
+            List<WeaponStats> allWeapons = weaponStatsService.getWeaponStats(guildId, serverIds);
+            WeaponStats stats = null;
+            int rank = 0;
+            long totalKills = 0;
+            for (int i = 0; i < allWeapons.size(); i++) {
+                WeaponStats candidate = allWeapons.get(i);
+                totalKills += candidate.getKills();
+                if (stats == null && candidate.getWeapon().equalsIgnoreCase(weapon)) {
+                    stats = candidate;
+                    rank = i + 1;
+                }
+            }
             
-            // Create a placeholder response with weapon stats
             EmbedBuilder embed = new EmbedBuilder()
                     .setTitle("Weapon Statistics: " + weapon)
-                    .setDescription("Statistics for " + weapon + " across " + server + "\n\n" +
-                                    "*More detailed weapon stats will be implemented soon.*")
                     .setColor(EmbedUtils.EMERALD_GREEN)
                     .setThumbnail(EmbedUtils.WEAPON_STATS_ICON)
-                    .addField("Kills", "217", true)
-                    .addField("Headshots", "73 (33.6%)", true)
-                    .addField("Average Kill Distance", "124m", true)
-                    .addField("Longest Kill", "543m", true)
-                    .addField("Damage Per Shot", "37-42", true)
-                    .addField("Popularity Rank", "#3", true)
                     .setFooter(EmbedUtils.STANDARD_FOOTER)
                     .setTimestamp(java.time.Instant.now());
             
+            if (stats == null) {
+                embed.setDescription("No kills with " + weapon + " have been recorded on " + scope + " yet.");
+            } else {
+                double share = totalKills > 0 ? stats.getKills() * 100.0 / totalKills : 0;
+                embed.setDescription("Statistics for " + stats.getWeapon() + " across " + scope)
+                        .addField("Kills", String.valueOf(stats.getKills()), true)
+                        .addField("Share of All Kills", String.format("%.1f%%", share), true)
+                        .addField("Players Using It", String.valueOf(stats.getUsers()), true)
+                        .addField("Top User", stats.getTopPlayer() + " (" + stats.getTopPlayerKills() + " kills)", true)
+                        .addField("Popularity Rank", "#" + rank + " of " + allWeapons.size(), true);
+            }
+            
             // Send the embed
             event.getHook().sendMessageEmbeds(embed.build()).queue();
             
-            logger.info("Sent weapon stats for {} of type {} in server {}", weapon, type, server);
+            logger.info("Sent weapon stats for {} of type {} in {}", weapon, type, scope);
         } catch (Exception e) {
             logger.error("Error executing weapon stats command", e);
             event.getHook().sendMessageEmbeds(EmbedUtils.errorEmbed(
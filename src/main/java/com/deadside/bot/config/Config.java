@@ -24,12 +24,37 @@ public class Config {
     private static final String BOT_OWNER_ID = "bot.owner.id";
     private static final String HOME_GUILD_ID = "bot.home.guild.id";
     private static final String SFTP_CONNECT_TIMEOUT = "sftp.connect.timeout";
+    private static final String SFTP_POOL_MAX_CHANNELS = "sftp.pool.max.channels";
+    private static final String SFTP_POOL_IDLE_TIMEOUT = "sftp.pool.idle.timeout";
+    private static final String SFTP_KEEPALIVE_INTERVAL = "sftp.keepalive.interval";
     private static final String KILLFEED_UPDATE_INTERVAL = "killfeed.update.interval";
+    private static final String KILLFEED_WORKER_THREADS = "killfeed.worker.threads";
+    private static final String KILLFEED_HOST_CONCURRENCY = "killfeed.host.concurrency";
+    private static final String KILLFEED_SERVER_TIMEOUT = "killfeed.server.timeout";
+    private static final String KILLFEED_PUBLISH_LINGER = "killfeed.publish.linger";
+    private static final String KILLFEED_PUBLISH_MAX_QUEUE = "killfeed.publish.max.queue";
+    private static final String IMPORT_WORKER_THREADS = "import.worker.threads";
+    private static final String IMPORT_PROGRESS_INTERVAL = "import.progress.interval";
     private static final String LOG_PARSING_INTERVAL = "log.parsing.interval";
+    private static final String LEADERBOARD_CACHE_IDLE_TIMEOUT = "leaderboard.cache.idle.timeout";
+    private static final String WEAPON_STATS_CACHE_TTL = "weapon.stats.cache.ttl";
+    private static final String PLAYER_NAME_INDEX_IDLE_TIMEOUT = "player.name.index.idle.timeout";
+    private static final String SERVER_TOPOLOGY_CACHE_TTL = "server.topology.cache.ttl";
+    private static final String GAME_SERVER_CACHE_TTL = "game.server.cache.ttl";
+    private static final String BOUNTY_TARGETS_REFRESH_INTERVAL = "bounty.targets.refresh.interval";
     private static final String ECONOMY_DAILY_AMOUNT = "economy.daily.amount";
     private static final String ECONOMY_WORK_MIN_AMOUNT = "economy.work.min.amount";
     private static final String ECONOMY_WORK_MAX_AMOUNT = "economy.work.max.amount";
     private static final String ECONOMY_KILL_REWARD = "economy.kill.reward";
+    private static final String ECONOMY_GAME_SESSION_TIMEOUT = "economy.game.session.timeout";
+    private static final String ECONOMY_GAME_MAX_SESSIONS = "economy.game.max.sessions";
+    private static final String PREMIUM_FEATURE_CACHE_TTL = "premium.feature.cache.ttl";
+    private static final String PREMIUM_FEATURE_CACHE_MAX_SIZE = "premium.feature.cache.max.size";
+    private static final String SESSION_PLAYTIME_FLUSH_INTERVAL = "session.playtime.flush.interval";
+    private static final String PLAYER_COUNT_RENAME_INTERVAL = "player.count.rename.interval";
+    private static final String FACTION_XP_FLUSH_INTERVAL = "faction.xp.flush.interval";
+    private static final String FACTION_MEMBERSHIP_REFRESH_INTERVAL = "faction.membership.refresh.interval";
+    private static final String ISOLATION_AUDIT_FULL_INTERVAL = "isolation.audit.full.interval";
     private static final String TIP4SERV_API_KEY = "tip4serv.api.key";
     
     // Default values for economy
@@ -153,6 +178,48 @@ public class Config {
         }
     }
 
+    /**
+     * Get the maximum number of concurrent SFTP channels per game server
+     * @return The channel limit
+     */
+    public int getSftpPoolMaxChannels() {
+        String maxChannels = getProperty(SFTP_POOL_MAX_CHANNELS, "4");
+        try {
+            return Math.max(1, Integer.parseInt(maxChannels));
+        } catch (NumberFormatException e) {
+            logger.warn("Invalid SFTP pool channel limit in configuration", e);
+            return 4;
+        }
+    }
+    
+    /**
+     * Get how long an unused pooled SFTP session is kept open
+     * @return The idle timeout in milliseconds
+     */
+    public long getSftpPoolIdleTimeout() {
+        String idleTimeout = getProperty(SFTP_POOL_IDLE_TIMEOUT, "600000"); // Default 10 minutes
+        try {
+            return Long.parseLong(idleTimeout);
+        } catch (NumberFormatException e) {
+            logger.warn("Invalid SFTP pool idle timeout in configuration", e);
+            return 600000L;
+        }
+    }
+    
+    /**
+     * Get the SSH keep-alive interval for pooled SFTP sessions
+     * @return The keep-alive interval in milliseconds
+     */
+    public int getSftpKeepAliveInterval() {
+        String interval = getProperty(SFTP_KEEPALIVE_INTERVAL, "60000");
+        try {
+            return Integer.parseInt(interval);
+        } catch (NumberFormatException e) {
+            logger.warn("Invalid SFTP keep-alive interval in configuration", e);
+            return 60000;
+        }
+    }
+
     public int getKillfeedUpdateInterval() {
         String interval = getProperty(KILLFEED_UPDATE_INTERVAL, "300"); // Default 5 minutes in seconds
         try {
@@ -163,6 +230,193 @@ public class Config {
         }
     }
     
+    /**
+     * Get the number of worker threads used to process killfeeds concurrently
+     * @return The worker count (1 processes servers one after another)
+     */
+    public int getKillfeedWorkerThreads() {
+        String threads = getProperty(KILLFEED_WORKER_THREADS, "8");
+        try {
+            return Math.max(1, Integer.parseInt(threads));
+        } catch (NumberFormatException e) {
+            logger.warn("Invalid killfeed worker thread count in configuration", e);
+            return 8;
+        }
+    }
+    
+    /**
+     * Get the maximum number of servers on the same SFTP host processed at once
+     * @return The per-host concurrency limit
+     */
+    public int getKillfeedHostConcurrency() {
+        String limit = getProperty(KILLFEED_HOST_CONCURRENCY, "2");
+        try {
+            return Math.max(1, Integer.parseInt(limit));
+        } catch (NumberFormatException e) {
+            logger.warn("Invalid killfeed host concurrency in configuration", e);
+            return 2;
+        }
+    }
+    
+    /**
+     * Get the deadline for processing a single server's killfeed
+     * @return The deadline in seconds
+     */
+    public int getKillfeedServerTimeout() {
+        String timeout = getProperty(KILLFEED_SERVER_TIMEOUT, "120");
+        try {
+            return Integer.parseInt(timeout);
+        } catch (NumberFormatException e) {
+            logger.warn("Invalid killfeed server timeout in configuration", e);
+            return 120;
+        }
+    }
+    
+    /**
+     * Get how long a killfeed message waits for more kills before it is sent with fewer
+     * than the maximum number of embeds
+     * @return The linger time in milliseconds
+     */
+    public long getKillfeedPublishLinger() {
+        String linger = getProperty(KILLFEED_PUBLISH_LINGER, "2000");
+        try {
+            return Long.parseLong(linger);
+        } catch (NumberFormatException e) {
+            logger.warn("Invalid killfeed publish linger in configuration", e);
+            return 2000L;
+        }
+    }
+    
+    /**
+     * Get the maximum number of unsent killfeed embeds kept per channel
+     * Older kills beyond this are dropped and summarized as a count.
+     * @return The queue limit per channel
+     */
+    public int getKillfeedPublishMaxQueue() {
+        String max = getProperty(KILLFEED_PUBLISH_MAX_QUEUE, "100");
+        try {
+            return Math.max(1, Integer.parseInt(max));
+        } catch (NumberFormatException e) {
+            logger.warn("Invalid killfeed publish queue limit in configuration", e);
+            return 100;
+        }
+    }
+    
+    /**
+     * Get the number of killfeed files imported in parallel by historical imports
+     * Shared by all import jobs.
+     * @return The number of import worker threads
+     */
+    public int getImportWorkerThreads() {
+        String threads = getProperty(IMPORT_WORKER_THREADS, "4");
+        try {
+            return Math.max(1, Integer.parseInt(threads));
+        } catch (NumberFormatException e) {
+            logger.warn("Invalid import worker thread count in configuration", e);
+            return 4;
+        }
+    }
+    
+    /**
+     * Get the minimum time between updates of a historical import's progress message
+     * @return The progress interval in milliseconds
+     */
+    public long getImportProgressInterval() {
+        String interval = getProperty(IMPORT_PROGRESS_INTERVAL, "5000");
+        try {
+            return Long.parseLong(interval);
+        } catch (NumberFormatException e) {
+            logger.warn("Invalid import progress interval in configuration", e);
+            return 5000L;
+        }
+    }
+    
+    /**
+     * Get how long an unused server leaderboard stays in memory
+     * @return The idle timeout in milliseconds
+     */
+    public long getLeaderboardCacheIdleTimeout() {
+        String idleTimeout = getProperty(LEADERBOARD_CACHE_IDLE_TIMEOUT, "1800000"); // Default 30 minutes
+        try {
+            return Long.parseLong(idleTimeout);
+        } catch (NumberFormatException e) {
+            logger.warn("Invalid leaderboard cache idle timeout in configuration", e);
+            return 1800000L;
+        }
+    }
+    
+    /**
+     * Get how long aggregated weapon statistics are served from cache
+     * @return The cache time-to-live in milliseconds
+     */
+    public long getWeaponStatsCacheTtl() {
+        String ttl = getProperty(WEAPON_STATS_CACHE_TTL, "300000"); // Default 5 minutes
+        try {
+            return Long.parseLong(ttl);
+        } catch (NumberFormatException e) {
+            logger.warn("Invalid weapon stats cache TTL in configuration", e);
+            return 300000L;
+        }
+    }
+    
+    /**
+     * Get how long an unused server's player name index stays in memory
+     * @return The idle timeout in milliseconds
+     */
+    public long getPlayerNameIndexIdleTimeout() {
+        String idleTimeout = getProperty(PLAYER_NAME_INDEX_IDLE_TIMEOUT, "1800000"); // Default 30 minutes
+        try {
+            return Long.parseLong(idleTimeout);
+        } catch (NumberFormatException e) {
+            logger.warn("Invalid player name index idle timeout in configuration", e);
+            return 1800000L;
+        }
+    }
+    
+    /**
+     * Get how long the cached list of guilds and their servers is used before reloading
+     * @return The cache time-to-live in milliseconds
+     */
+    public long getServerTopologyCacheTtl() {
+        String ttl = getProperty(SERVER_TOPOLOGY_CACHE_TTL, "60000"); // Default 1 minute
+        try {
+            return Long.parseLong(ttl);
+        } catch (NumberFormatException e) {
+            logger.warn("Invalid server topology cache TTL in configuration", e);
+            return 60000L;
+        }
+    }
+    
+    /**
+     * Get how long a cached game server lookup is used before reading it again
+     * Saves and deletes through GameServerRepository invalidate the cache immediately.
+     * @return The cache time-to-live in milliseconds
+     */
+    public long getGameServerCacheTtl() {
+        String ttl = getProperty(GAME_SERVER_CACHE_TTL, "60000"); // Default 1 minute
+        try {
+            return Long.parseLong(ttl);
+        } catch (NumberFormatException e) {
+            logger.warn("Invalid game server cache TTL in configuration", e);
+            return 60000L;
+        }
+    }
+    
+    /**
+     * Get how long a server's set of active bounty targets is used before reloading
+     * Placing a bounty updates the set immediately; reloading picks up bounties closed elsewhere.
+     * @return The refresh interval in milliseconds
+     */
+    public long getBountyTargetsRefreshInterval() {
+        String interval = getProperty(BOUNTY_TARGETS_REFRESH_INTERVAL, "300000"); // Default 5 minutes
+        try {
+            return Long.parseLong(interval);
+        } catch (NumberFormatException e) {
+            logger.warn("Invalid bounty targets refresh interval in configuration", e);
+            return 300000L;
+        }
+    }
+    
     /**
      * Get the interval for parsing server logs
      * @return The interval in seconds
@@ -278,6 +532,134 @@ public class Config {
         properties.setProperty(ECONOMY_KILL_REWARD, String.valueOf(amount));
     }
     
+    /**
+     * Get how long an economy game may sit idle before it is ended
+     * @return The session timeout in milliseconds
+     */
+    public long getEconomyGameSessionTimeout() {
+        String timeout = getProperty(ECONOMY_GAME_SESSION_TIMEOUT, "300000"); // Default 5 minutes
+        try {
+            return Long.parseLong(timeout);
+        } catch (NumberFormatException e) {
+            logger.warn("Invalid economy game session timeout in configuration", e);
+            return 300000L;
+        }
+    }
+    
+    /**
+     * Get the maximum number of games of one kind that may be in progress at once
+     * @return The session limit per game
+     */
+    public int getEconomyGameMaxSessions() {
+        String max = getProperty(ECONOMY_GAME_MAX_SESSIONS, "10000");
+        try {
+            return Integer.parseInt(max);
+        } catch (NumberFormatException e) {
+            logger.warn("Invalid economy game session limit in configuration", e);
+            return 10000;
+        }
+    }
+    
+    /**
+     * Get how long a guild's premium feature access is cached before it is checked again
+     * @return The cache TTL in milliseconds
+     */
+    public long getPremiumFeatureCacheTtl() {
+        String ttl = getProperty(PREMIUM_FEATURE_CACHE_TTL, "300000"); // Default 5 minutes
+        try {
+            return Long.parseLong(ttl);
+        } catch (NumberFormatException e) {
+            logger.warn("Invalid premium feature cache TTL in configuration", e);
+            return 300000L;
+        }
+    }
+    
+    /**
+     * Get the maximum number of guilds whose premium feature access is cached
+     * @return The cache size limit
+     */
+    public int getPremiumFeatureCacheMaxSize() {
+        String max = getProperty(PREMIUM_FEATURE_CACHE_MAX_SIZE, "10000");
+        try {
+            return Integer.parseInt(max);
+        } catch (NumberFormatException e) {
+            logger.warn("Invalid premium feature cache size in configuration", e);
+            return 10000;
+        }
+    }
+    
+    /**
+     * Get how often playtime from finished online sessions is written to the database
+     * @return The flush interval in milliseconds
+     */
+    public long getSessionPlaytimeFlushInterval() {
+        String interval = getProperty(SESSION_PLAYTIME_FLUSH_INTERVAL, "60000"); // Default 1 minute
+        try {
+            return Long.parseLong(interval);
+        } catch (NumberFormatException e) {
+            logger.warn("Invalid session playtime flush interval in configuration", e);
+            return 60000L;
+        }
+    }
+    
+    /**
+     * Get how often accumulated faction experience is written to the database
+     * @return The flush interval in milliseconds
+     */
+    public long getFactionXpFlushInterval() {
+        String interval = getProperty(FACTION_XP_FLUSH_INTERVAL, "30000"); // Default 30 seconds
+        try {
+            return Long.parseLong(interval);
+        } catch (NumberFormatException e) {
+            logger.warn("Invalid faction XP flush interval in configuration", e);
+            return 30000L;
+        }
+    }
+    
+    /**
+     * Get how long a server's cached player to faction memberships are used before reloading
+     * @return The refresh interval in milliseconds
+     */
+    public long getFactionMembershipRefreshInterval() {
+        String interval = getProperty(FACTION_MEMBERSHIP_REFRESH_INTERVAL, "300000"); // Default 5 minutes
+        try {
+            return Long.parseLong(interval);
+        } catch (NumberFormatException e) {
+            logger.warn("Invalid faction membership refresh interval in configuration", e);
+            return 300000L;
+        }
+    }
+    
+    /**
+     * Get how often the startup isolation audit checks whole collections
+     * In between, only documents created or modified since the previous audit are checked.
+     * @return The full audit interval in milliseconds
+     */
+    public long getIsolationAuditFullInterval() {
+        String interval = getProperty(ISOLATION_AUDIT_FULL_INTERVAL, "86400000"); // Default 24 hours
+        try {
+            return Long.parseLong(interval);
+        } catch (NumberFormatException e) {
+            logger.warn("Invalid isolation audit full interval in configuration", e);
+            return 86400000L;
+        }
+    }
+    
+    /**
+     * Get the minimum time between two renames of one player count voice channel
+     * Discord allows two channel renames per ten minutes.
+     * @return The rename interval in milliseconds
+     */
+    public long getPlayerCountRenameInterval() {
+        String interval = getProperty(PLAYER_COUNT_RENAME_INTERVAL, "300000"); // Default 5 minutes
+        try {
+            return Long.parseLong(interval);
+        } catch (NumberFormatException e) {
+            logger.warn("Invalid player count rename interval in configuration", e);
+            return 300000L;
+        }
+    }
+    
     /**
      * Get the list of admin user IDs
      * @return List of admin user IDs
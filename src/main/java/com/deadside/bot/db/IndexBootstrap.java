@@ -0,0 +1,226 @@
+package com.deadside.bot.db;
+
+import com.mongodb.MongoCommandException;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.MongoDatabase;
+import com.mongodb.client.model.IndexOptions;
+import com.mongodb.client.model.Indexes;
+import org.bson.Document;
+import org.bson.conversions.Bson;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Declares the indexes each repository's queries rely on and reconciles them at startup
+ * Safe to run on every start: indexes that already match are left alone, indexes we own
+ * whose definition changed are rebuilt, and indexes created by hand are never dropped.
+ */
+public class IndexBootstrap {
+    private static final Logger logger = LoggerFactory.getLogger(IndexBootstrap.class);
+
+    private final MongoDatabase database;
+    private final List<IndexSpec> specs = new ArrayList<>();
+
+    public IndexBootstrap(MongoDatabase database) {
+        this.database = database;
+        declareIndexes();
+    }
+
+    /**
+     * Index declarations, grouped by the repository that issues the queries
+     */
+    private void declareIndexes() {
+        // PlayerRepository - lookups are always scoped to guild and server, leaderboards sort on a stat
+        unique("players", "player_identity", Indexes.ascending("playerId", "guildId", "serverId"));
+        index("players", "player_kills", scopedDescending("kills"));
+        index("players", "player_deaths", scopedDescending("deaths"));
+        index("players", "player_kd", scopedDescending("kdRatio"));
+        index("players", "player_streak", scopedDescending("longestKillStreak"));
+        index("players", "player_distance", scopedDescending("distanceTraveled"));
+        index("players", "player_name", Indexes.ascending("guildId", "serverId", "name"));
+        index("players", "player_faction", Indexes.ascending("guildId", "serverId", "factionId"));
+        index("players", "player_discord", Indexes.ascending("guildId", "serverId", "discordId"));
+        index("players", "player_deadside_id", Indexes.ascending("deadsideId"));
+
+        // LeaderboardRepository - snapshot entries are replaced per player and loaded per server
+        unique("leaderboards", "leaderboard_entry", Indexes.ascending("guildId", "serverId", "playerId"));
+
+        // KillRecordRepository - recent kills per server
+        index("kill_records", "kill_recent", scopedDescending("timestamp"));
+
+        // CurrencyRepository - one balance per user per server, richest-first listing, ledger per user
+        unique("currencies", "currency_identity", Indexes.ascending("userId", "guildId", "serverId"));
+        index("currencies", "currency_coins", scopedDescending("coins"));
+        index("currency_transactions", "currency_transaction_user", Indexes.compoundIndex(
+            Indexes.ascending("guildId", "serverId", "userId"), Indexes.descending("timestamp")));
+
+        // BountyRepository - active bounties by amount, by target and by placer
+        index("bounties", "bounty_active_amount", Indexes.compoundIndex(
+            Indexes.ascending("guildId", "serverId", "active"), Indexes.descending("amount")));
+        index("bounties", "bounty_target", Indexes.ascending("guildId", "serverId", "targetId", "active"));
+        index("bounties", "bounty_placer", Indexes.ascending("guildId", "serverId", "placerId"));
+
+        // FactionRepository - rankings and membership lookups
+        index("factions", "faction_level", scopedDescending("level"));
+        index("factions", "faction_owner", Indexes.ascending("guildId", "serverId", "ownerId"));
+        index("factions", "faction_members", Indexes.ascending("guildId", "serverId", "memberIds"));
+
+        // LinkedPlayerRepository
+        index("linked_players", "link_discord", Indexes.ascending("guildId", "serverId", "discordId"));
+        index("linked_players", "link_main", Indexes.ascending("guildId", "serverId", "mainPlayerId"));
+        index("linked_players", "link_alts", Indexes.ascending("guildId", "serverId", "altPlayerIds"));
+
+        // Server and guild configuration
+        index("game_servers", "server_identity", Indexes.ascending("guildId", "serverId"));
+        index("game_servers", "server_name", Indexes.ascending("guildId", "name"));
+        index("guild_configs", "guild_config_guild", Indexes.ascending("guildId"));
+        index("alerts", "alert_scope", Indexes.ascending("guildId", "serverId"));
+        index("leaderboard_channels", "leaderboard_scope", Indexes.ascending("guildId", "serverId"));
+
+        // ImportJobRepository - one unfinished job per server, latest job per server
+        unique("import_jobs", "import_job_slot", Indexes.ascending("slot"));
+        index("import_jobs", "import_job_latest", scopedDescending("createdAt"));
+    }
+
+    /**
+     * Create or update every declared index
+     * Failures are logged per index so one bad index (e.g. duplicates blocking a unique
+     * index) does not stop the others from being built.
+     * @return Number of indexes created or rebuilt
+     */
+    public int reconcile() {
+        long started = System.currentTimeMillis();
+        int built = 0;
+        int failed = 0;
+
+        Map<String, List<IndexSpec>> byCollection = new HashMap<>();
+        for (IndexSpec spec : specs) {
+            byCollection.computeIfAbsent(spec.collection, k -> new ArrayList<>()).add(spec);
+        }
+
+        for (Map.Entry<String, List<IndexSpec>> entry : byCollection.entrySet()) {
+            MongoCollection<Document> collection = database.getCollection(entry.getKey());
+            Map<String, Document> existing = existingIndexes(collection);
+
+            for (IndexSpec spec : entry.getValue()) {
+                try {
+                    if (ensureIndex(collection, spec, existing)) {
+                        built++;
+                    }
+                } catch (Exception e) {
+                    failed++;
+                    logger.error("Failed to build index {} on {}: {}", spec.name, spec.collection, e.getMessage());
+                }
+            }
+        }
+
+        logger.info("Index bootstrap finished in {} ms: {} declared, {} built, {} failed",
+            System.currentTimeMillis() - started, specs.size(), built, failed);
+        return built;
+    }
+
+    private boolean ensureIndex(MongoCollection<Document> collection, IndexSpec spec, Map<String, Document> existing) {
+        Document keys = toDocument(spec.keys);
+
+        Document current = existing.get(spec.name);
+        if (current != null) {
+            if (sameKeys(keys, current.get("key", Document.class))
+                    && spec.unique == current.getBoolean("unique", false)) {
+                return false;
+            }
+            logger.info("Index {} on {} changed definition, rebuilding", spec.name, spec.collection);
+            collection.dropIndex(spec.name);
+        } else {
+            // An equivalent index created under another name already serves the query
+            for (Document index : existing.values()) {
+                if (sameKeys(keys, index.get("key", Document.class))) {
+                    logger.debug("Index {} on {} already covered by {}", spec.name, spec.collection, index.getString("name"));
+                    return false;
+                }
+            }
+        }
+
+        long documents = collection.estimatedDocumentCount();
+        logger.info("Building index {} on {} (~{} documents)", spec.name, spec.collection, documents);
+        long started = System.currentTimeMillis();
+        try {
+            collection.createIndex(spec.keys, new IndexOptions().name(spec.name).unique(spec.unique));
+        } catch (MongoCommandException e) {
+            if (spec.unique && e.getErrorCode() == 11000) {
+                throw new IllegalStateException("duplicate " + keys.keySet() + " entries must be merged before the unique index can be built", e);
+            }
+            throw e;
+        }
+        logger.info("Built index {} on {} in {} ms", spec.name, spec.collection, System.currentTimeMillis() - started);
+        return true;
+    }
+
+    private Map<String, Document> existingIndexes(MongoCollection<Document> collection) {
+        Map<String, Document> indexes = new HashMap<>();
+        for (Document index : collection.listIndexes()) {
+            indexes.put(index.getString("name"), index);
+        }
+        return indexes;
+    }
+
+    /**
+     * Compare key patterns by field order and direction (the server may report 1 as an int or a double)
+     */
+    private static boolean sameKeys(Document expected, Document actual) {
+        if (actual == null || expected.size() != actual.size()) {
+            return false;
+        }
+        List<String> expectedFields = new ArrayList<>(expected.keySet());
+        List<String> actualFields = new ArrayList<>(actual.keySet());
+        if (!expectedFields.equals(actualFields)) {
+            return false;
+        }
+        for (String field : expectedFields) {
+            Object a = expected.get(field);
+            Object b = actual.get(field);
+            if (a instanceof Number && b instanceof Number) {
+                if (Math.signum(((Number) a).doubleValue()) != Math.signum(((Number) b).doubleValue())) {
+                    return false;
+                }
+            } else if (!a.equals(b)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static Bson scopedDescending(String field) {
+        return Indexes.compoundIndex(Indexes.ascending("guildId", "serverId"), Indexes.descending(field));
+    }
+
+    private static Document toDocument(Bson keys) {
+        return Document.parse(keys.toBsonDocument().toJson());
+    }
+
+    private void index(String collection, String name, Bson keys) {
+        specs.add(new IndexSpec(collection, name, keys, false));
+    }
+
+    private void unique(String collection, String name, Bson keys) {
+        specs.add(new IndexSpec(collection, name, keys, true));
+    }
+
+    private static class IndexSpec {
+        private final String collection;
+        private final String name;
+        private final Bson keys;
+        private final boolean unique;
+
+        IndexSpec(String collection, String name, Bson keys, boolean unique) {
+            this.collection = collection;
+            this.name = name;
+            this.keys = keys;
+            this.unique = unique;
+        }
+    }
+}
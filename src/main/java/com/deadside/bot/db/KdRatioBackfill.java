@@ -0,0 +1,54 @@
+package com.deadside.bot.db;
+
+import com.deadside.bot.db.repositories.PlayerRepository;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.MongoDatabase;
+import com.mongodb.client.model.Filters;
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * One-time job that fills the stored kdRatio of existing players
+ * Players written by older versions either have no kdRatio or one that went stale when
+ * kills and deaths were incremented without it. Completion is recorded in the migrations
+ * collection so later starts skip the full collection update.
+ */
+public class KdRatioBackfill {
+    private static final Logger logger = LoggerFactory.getLogger(KdRatioBackfill.class);
+    private static final String MIGRATIONS_COLLECTION = "migrations";
+    private static final String MIGRATION_ID = "player_kd_ratio_backfill";
+
+    private final MongoDatabase database;
+
+    public KdRatioBackfill(MongoDatabase database) {
+        this.database = database;
+    }
+
+    /**
+     * Run the backfill unless it has already completed
+     * @return true if the backfill ran in this call
+     */
+    public boolean runOnce() {
+        MongoCollection<Document> migrations = database.getCollection(MIGRATIONS_COLLECTION);
+        if (migrations.find(Filters.eq("_id", MIGRATION_ID)).first() != null) {
+            logger.debug("K/D ratio backfill already completed, skipping");
+            return false;
+        }
+
+        long started = System.currentTimeMillis();
+        long modified = new PlayerRepository().recalculateKdRatios();
+        if (modified < 0) {
+            // Leave the marker unset so the next start retries
+            logger.warn("K/D ratio backfill failed, will retry on next start");
+            return false;
+        }
+
+        migrations.insertOne(new Document("_id", MIGRATION_ID)
+            .append("modified", modified)
+            .append("completedAt", System.currentTimeMillis()));
+        logger.info("K/D ratio backfill updated {} players in {} ms",
+            modified, System.currentTimeMillis() - started);
+        return true;
+    }
+}
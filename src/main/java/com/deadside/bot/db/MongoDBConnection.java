@@ -38,6 +38,8 @@ public class MongoDBConnection {
         if (instance == null) {
             instance = new MongoDBConnection();
             instance.connect(mongoUri);
+            instance.ensureIndexes();
+            instance.runBackfills();
         }
     }
 
@@ -75,6 +77,29 @@ public class MongoDBConnection {
         }
     }
 
+    /**
+     * Create any missing indexes the repositories depend on
+     * Index problems are logged rather than thrown so the bot can still start with degraded queries
+     */
+    private void ensureIndexes() {
+        try {
+            new IndexBootstrap(database).reconcile();
+        } catch (Exception e) {
+            logger.error("Failed to reconcile MongoDB indexes", e);
+        }
+    }
+
+    /**
+     * Run one-time data backfills for fields newer code relies on
+     */
+    private void runBackfills() {
+        try {
+            new KdRatioBackfill(database).runOnce();
+        } catch (Exception e) {
+            logger.error("Failed to run K/D ratio backfill", e);
+        }
+    }
+
     /**
      * Get the singleton instance
      */
@@ -5,7 +5,7 @@ import org.bson.types.ObjectId;
 /**
  * Represents a player alert with proper isolation between guilds and servers
  */
-public class Alert {
+public class Alert implements Isolated {
     private ObjectId id;             // MongoDB document ID
     private long userId;             // Discord user ID of the alert creator
     private long guildId;            // Discord guild (server) ID for isolation
@@ -41,6 +41,7 @@ public class Alert {
         this.userId = userId;
     }
     
+    @Override
     public long getGuildId() {
         return guildId;
     }
@@ -49,6 +50,7 @@ public class Alert {
         this.guildId = guildId;
     }
     
+    @Override
     public String getServerId() {
         return serverId;
     }
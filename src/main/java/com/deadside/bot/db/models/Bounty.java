@@ -5,7 +5,7 @@ import org.bson.types.ObjectId;
 /**
  * Represents a bounty with proper isolation between guilds and servers
  */
-public class Bounty {
+public class Bounty implements Isolated {
     private ObjectId id;             // MongoDB document ID
     private long placerId;           // Discord user ID of the bounty placer
     private String placerName;       // Name of the bounty placer
@@ -84,6 +84,7 @@ public class Bounty {
         this.placedAt = placedAt;
     }
     
+    @Override
     public long getGuildId() {
         return guildId;
     }
@@ -92,6 +93,7 @@ public class Bounty {
         this.guildId = guildId;
     }
     
+    @Override
     public String getServerId() {
         return serverId;
     }
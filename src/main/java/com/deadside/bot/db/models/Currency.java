@@ -5,7 +5,7 @@ import org.bson.types.ObjectId;
 /**
  * Represents a player's currency balance with proper isolation between guilds and servers
  */
-public class Currency {
+public class Currency implements Isolated {
     private ObjectId id;             // MongoDB document ID
     private long userId;             // Discord user ID
     private long guildId;            // Discord guild (server) ID for isolation
@@ -51,6 +51,7 @@ public class Currency {
         this.userId = userId;
     }
     
+    @Override
     public long getGuildId() {
         return guildId;
     }
@@ -59,6 +60,7 @@ public class Currency {
         this.guildId = guildId;
     }
     
+    @Override
     public String getServerId() {
         return serverId;
     }
@@ -0,0 +1,98 @@
+package com.deadside.bot.db.models;
+
+import org.bson.types.ObjectId;
+
+/**
+ * One entry in the append-only currency ledger, isolated by guild and server
+ */
+public class CurrencyTransaction {
+    private ObjectId id;             // MongoDB document ID
+    private long userId;             // Discord user ID
+    private long guildId;            // Discord guild (server) ID for isolation
+    private String serverId;         // Game server ID for isolation
+    private long amount;             // Coins credited (positive) or debited (negative); the new balance for SET
+    private String type;             // Type of entry: "CREDIT", "DEBIT", "SET"
+    private String reason;           // What caused the entry, e.g. "bounty", "blackjack" (optional)
+    private long timestamp;          // When the entry was written
+
+    public CurrencyTransaction() {
+        // Required for MongoDB POJO codec
+        this.timestamp = System.currentTimeMillis();
+    }
+
+    public CurrencyTransaction(long userId, long guildId, String serverId, long amount, String type, String reason) {
+        this();
+        this.userId = userId;
+        this.guildId = guildId;
+        this.serverId = serverId;
+        this.amount = amount;
+        this.type = type;
+        this.reason = reason;
+    }
+
+    // Getters and Setters
+
+    public ObjectId getId() {
+        return id;
+    }
+
+    public void setId(ObjectId id) {
+        this.id = id;
+    }
+
+    public long getUserId() {
+        return userId;
+    }
+
+    public void setUserId(long userId) {
+        this.userId = userId;
+    }
+
+    public long getGuildId() {
+        return guildId;
+    }
+
+    public void setGuildId(long guildId) {
+        this.guildId = guildId;
+    }
+
+    public String getServerId() {
+        return serverId;
+    }
+
+    public void setServerId(String serverId) {
+        this.serverId = serverId;
+    }
+
+    public long getAmount() {
+        return amount;
+    }
+
+    public void setAmount(long amount) {
+        this.amount = amount;
+    }
+
+    public String getType() {
+        return type;
+    }
+
+    public void setType(String type) {
+        this.type = type;
+    }
+
+    public String getReason() {
+        return reason;
+    }
+
+    public void setReason(String reason) {
+        this.reason = reason;
+    }
+
+    public long getTimestamp() {
+        return timestamp;
+    }
+
+    public void setTimestamp(long timestamp) {
+        this.timestamp = timestamp;
+    }
+}
@@ -9,7 +9,7 @@ import java.util.List;
 /**
  * Database model for a player faction/group
  */
-public class Faction {
+public class Faction implements Isolated {
     @BsonId
     private ObjectId id;
     private String name;                // Faction name
@@ -201,6 +201,7 @@ public class Faction {
         this.updated = System.currentTimeMillis();
     }
     
+    @Override
     public long getGuildId() {
         return guildId;
     }
@@ -209,6 +210,7 @@ public class Faction {
         this.guildId = guildId;
     }
     
+    @Override
     public String getServerId() {
         return serverId;
     }
@@ -0,0 +1,59 @@
+package com.deadside.bot.db.models;
+
+import org.bson.codecs.pojo.annotations.BsonId;
+import org.bson.types.ObjectId;
+
+/**
+ * Member count and kill totals for one faction
+ * Produced by PlayerRepository#aggregateFactionStats by grouping the players on their factionId.
+ */
+public class FactionStats {
+    @BsonId
+    private ObjectId factionId;
+    private int memberCount;
+    private int totalKills;
+    private int totalDeaths;
+
+    public FactionStats() {
+        // Required for MongoDB POJO codec
+    }
+
+    public FactionStats(ObjectId factionId, int memberCount, int totalKills, int totalDeaths) {
+        this.factionId = factionId;
+        this.memberCount = memberCount;
+        this.totalKills = totalKills;
+        this.totalDeaths = totalDeaths;
+    }
+
+    public ObjectId getFactionId() {
+        return factionId;
+    }
+
+    public void setFactionId(ObjectId factionId) {
+        this.factionId = factionId;
+    }
+
+    public int getMemberCount() {
+        return memberCount;
+    }
+
+    public void setMemberCount(int memberCount) {
+        this.memberCount = memberCount;
+    }
+
+    public int getTotalKills() {
+        return totalKills;
+    }
+
+    public void setTotalKills(int totalKills) {
+        this.totalKills = totalKills;
+    }
+
+    public int getTotalDeaths() {
+        return totalDeaths;
+    }
+
+    public void setTotalDeaths(int totalDeaths) {
+        this.totalDeaths = totalDeaths;
+    }
+}
@@ -50,6 +50,14 @@ public class GameServer {
     private int lastProcessedKillfeedLine;    // Last line number processed in killfeed
     private long lastProcessedTimestamp;      // Timestamp of last processed log
     
+    // Incremental tailing fields (byte offsets into the last processed files)
+    private long lastProcessedLogOffset;       // Byte offset after the last complete log line processed
+    private long lastLogFileSize;              // Size of the log file at the last read
+    private long lastLogFileModified;          // Modification time of the log file at the last read
+    private long lastProcessedKillfeedOffset;  // Byte offset after the last complete killfeed line processed
+    private long lastKillfeedFileSize;         // Size of the killfeed file at the last read
+    private long lastKillfeedFileModified;     // Modification time of the killfeed file at the last read
+    
     // Authentication fields
     private String username;       // Username for authentication
     private String password;       // Password for authentication
@@ -552,6 +560,90 @@ public class GameServer {
         this.lastProcessedKillfeedLine = lastProcessedKillfeedLine;
     }
     
+    /**
+     * Get the byte offset after the last complete log line processed
+     */
+    public long getLastProcessedLogOffset() {
+        return lastProcessedLogOffset;
+    }
+    
+    /**
+     * Set the byte offset after the last complete log line processed
+     */
+    public void setLastProcessedLogOffset(long lastProcessedLogOffset) {
+        this.lastProcessedLogOffset = lastProcessedLogOffset;
+    }
+    
+    /**
+     * Get the size of the log file at the last read
+     */
+    public long getLastLogFileSize() {
+        return lastLogFileSize;
+    }
+    
+    /**
+     * Set the size of the log file at the last read
+     */
+    public void setLastLogFileSize(long lastLogFileSize) {
+        this.lastLogFileSize = lastLogFileSize;
+    }
+    
+    /**
+     * Get the modification time of the log file at the last read
+     */
+    public long getLastLogFileModified() {
+        return lastLogFileModified;
+    }
+    
+    /**
+     * Set the modification time of the log file at the last read
+     */
+    public void setLastLogFileModified(long lastLogFileModified) {
+        this.lastLogFileModified = lastLogFileModified;
+    }
+    
+    /**
+     * Get the byte offset after the last complete killfeed line processed
+     */
+    public long getLastProcessedKillfeedOffset() {
+        return lastProcessedKillfeedOffset;
+    }
+    
+    /**
+     * Set the byte offset after the last complete killfeed line processed
+     */
+    public void setLastProcessedKillfeedOffset(long lastProcessedKillfeedOffset) {
+        this.lastProcessedKillfeedOffset = lastProcessedKillfeedOffset;
+    }
+    
+    /**
+     * Get the size of the killfeed file at the last read
+     */
+    public long getLastKillfeedFileSize() {
+        return lastKillfeedFileSize;
+    }
+    
+    /**
+     * Set the size of the killfeed file at the last read
+     */
+    public void setLastKillfeedFileSize(long lastKillfeedFileSize) {
+        this.lastKillfeedFileSize = lastKillfeedFileSize;
+    }
+    
+    /**
+     * Get the modification time of the killfeed file at the last read
+     */
+    public long getLastKillfeedFileModified() {
+        return lastKillfeedFileModified;
+    }
+    
+    /**
+     * Set the modification time of the killfeed file at the last read
+     */
+    public void setLastKillfeedFileModified(long lastKillfeedFileModified) {
+        this.lastKillfeedFileModified = lastKillfeedFileModified;
+    }
+    
     /**
      * Get the timestamp of the last processing
      */
@@ -678,6 +770,26 @@ public class GameServer {
         this.lastProcessedTimestamp = System.currentTimeMillis();
     }
     
+    /**
+     * Update log tail position after reading new bytes from the log file
+     */
+    public void updateLogTail(String filename, long lineNumber, long offset, long fileSize, long fileModified) {
+        updateLogProgress(filename, lineNumber);
+        this.lastProcessedLogOffset = offset;
+        this.lastLogFileSize = fileSize;
+        this.lastLogFileModified = fileModified;
+    }
+    
+    /**
+     * Update killfeed tail position after reading new bytes from a killfeed file
+     */
+    public void updateKillfeedTail(String filename, long lineNumber, long offset, long fileSize, long fileModified) {
+        updateKillfeedProgress(filename, lineNumber);
+        this.lastProcessedKillfeedOffset = offset;
+        this.lastKillfeedFileSize = fileSize;
+        this.lastKillfeedFileModified = fileModified;
+    }
+    
     /**
      * Get the uptime in milliseconds
      */
@@ -0,0 +1,53 @@
+package com.deadside.bot.db.models;
+
+/**
+ * Progress through one killfeed file within a historical import job
+ */
+public class ImportFile {
+    private String name;             // Killfeed file name as listed on the server
+    private long offset;             // Byte offset of the last saved checkpoint
+    private long kills;              // Kills imported from this file so far
+    private boolean done;            // Whether the whole file has been imported
+
+    public ImportFile() {
+        // Required for MongoDB POJO codec
+    }
+
+    public ImportFile(String name) {
+        this.name = name;
+    }
+
+    // Getters and Setters
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public long getOffset() {
+        return offset;
+    }
+
+    public void setOffset(long offset) {
+        this.offset = offset;
+    }
+
+    public long getKills() {
+        return kills;
+    }
+
+    public void setKills(long kills) {
+        this.kills = kills;
+    }
+
+    public boolean isDone() {
+        return done;
+    }
+
+    public void setDone(boolean done) {
+        this.done = done;
+    }
+}
\ No newline at end of file
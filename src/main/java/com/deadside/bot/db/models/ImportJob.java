@@ -0,0 +1,172 @@
+package com.deadside.bot.db.models;
+
+import org.bson.types.ObjectId;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A historical killfeed import for one game server, with a checkpoint per file
+ * While a job is unfinished its slot is "guildId:serverId", which a unique index keeps to
+ * one job per server; a completed job's slot is set to its own ID to free the server.
+ */
+public class ImportJob {
+    public static final String STATUS_RUNNING = "RUNNING";
+    public static final String STATUS_CANCELLED = "CANCELLED";
+    public static final String STATUS_FAILED = "FAILED";
+    public static final String STATUS_COMPLETED = "COMPLETED";
+
+    private ObjectId id;             // MongoDB document ID
+    private long guildId;            // Discord guild (server) ID for isolation
+    private String serverId;         // Game server ID for isolation
+    private String serverName;       // Game server name for progress messages
+    private String slot;             // Uniqueness key, see class comment
+    private String status;           // RUNNING, CANCELLED, FAILED or COMPLETED
+    private String error;            // Last failure, if any
+    private List<ImportFile> files;  // Files to import, oldest first
+    private long startedBy;          // Discord user ID that started the job
+    private long progressChannelId;  // Channel of the progress message
+    private long progressMessageId;  // Message updated with progress
+    private long createdAt;          // When the job was created
+    private long updatedAt;          // When the job last saved a checkpoint or changed status
+    private long finishedAt;         // When the job completed
+
+    public ImportJob() {
+        // Required for MongoDB POJO codec
+        this.files = new ArrayList<>();
+        this.createdAt = System.currentTimeMillis();
+        this.updatedAt = this.createdAt;
+    }
+
+    public ImportJob(long guildId, String serverId, String serverName, List<ImportFile> files, long startedBy) {
+        this();
+        this.guildId = guildId;
+        this.serverId = serverId;
+        this.serverName = serverName;
+        this.slot = slotFor(guildId, serverId);
+        this.status = STATUS_RUNNING;
+        this.files = files;
+        this.startedBy = startedBy;
+    }
+
+    /**
+     * The slot an unfinished job holds for a server
+     */
+    public static String slotFor(long guildId, String serverId) {
+        return guildId + ":" + serverId;
+    }
+
+    // Getters and Setters
+
+    public ObjectId getId() {
+        return id;
+    }
+
+    public void setId(ObjectId id) {
+        this.id = id;
+    }
+
+    public long getGuildId() {
+        return guildId;
+    }
+
+    public void setGuildId(long guildId) {
+        this.guildId = guildId;
+    }
+
+    public String getServerId() {
+        return serverId;
+    }
+
+    public void setServerId(String serverId) {
+        this.serverId = serverId;
+    }
+
+    public String getServerName() {
+        return serverName;
+    }
+
+    public void setServerName(String serverName) {
+        this.serverName = serverName;
+    }
+
+    public String getSlot() {
+        return slot;
+    }
+
+    public void setSlot(String slot) {
+        this.slot = slot;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public void setError(String error) {
+        this.error = error;
+    }
+
+    public List<ImportFile> getFiles() {
+        return files;
+    }
+
+    public void setFiles(List<ImportFile> files) {
+        this.files = files != null ? files : new ArrayList<>();
+    }
+
+    public long getStartedBy() {
+        return startedBy;
+    }
+
+    public void setStartedBy(long startedBy) {
+        this.startedBy = startedBy;
+    }
+
+    public long getProgressChannelId() {
+        return progressChannelId;
+    }
+
+    public void setProgressChannelId(long progressChannelId) {
+        this.progressChannelId = progressChannelId;
+    }
+
+    public long getProgressMessageId() {
+        return progressMessageId;
+    }
+
+    public void setProgressMessageId(long progressMessageId) {
+        this.progressMessageId = progressMessageId;
+    }
+
+    public long getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(long createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    public long getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(long updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+
+    public long getFinishedAt() {
+        return finishedAt;
+    }
+
+    public void setFinishedAt(long finishedAt) {
+        this.finishedAt = finishedAt;
+    }
+}
\ No newline at end of file
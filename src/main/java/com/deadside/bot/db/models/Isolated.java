@@ -0,0 +1,18 @@
+package com.deadside.bot.db.models;
+
+/**
+ * A model scoped to one guild and game server
+ * Lets isolation checks read the boundary fields directly instead of looking up the getters
+ * by reflection.
+ */
+public interface Isolated {
+    /**
+     * The Discord guild the model belongs to
+     */
+    long getGuildId();
+
+    /**
+     * The game server the model belongs to
+     */
+    String getServerId();
+}
\ No newline at end of file
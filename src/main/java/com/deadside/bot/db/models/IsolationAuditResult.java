@@ -0,0 +1,106 @@
+package com.deadside.bot.db.models;
+
+import org.bson.codecs.pojo.annotations.BsonId;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Outcome of the last isolation audit of one collection
+ * The watermark is the time the audit started; the next audit only needs to check documents
+ * created or modified after it, as long as this one found no violations.
+ */
+public class IsolationAuditResult {
+    @BsonId
+    private String collection;       // Name of the audited collection
+    private long watermark;          // When the audit started
+    private long lastFullAudit;      // When the whole collection was last audited
+    private boolean incremental;     // Whether only documents changed since the previous audit were checked
+    private long checked;            // Documents checked
+    private long missingGuild;       // Documents without a valid guild ID
+    private long missingServer;      // Documents without a server ID
+    private long violations;         // Documents missing either or both
+    private List<String> sampleIds = new ArrayList<>(); // IDs of some violating documents
+
+    public IsolationAuditResult() {
+        // Required for MongoDB POJO codec
+    }
+
+    public IsolationAuditResult(String collection) {
+        this.collection = collection;
+    }
+
+    // Getters and Setters
+
+    public String getCollection() {
+        return collection;
+    }
+
+    public void setCollection(String collection) {
+        this.collection = collection;
+    }
+
+    public long getWatermark() {
+        return watermark;
+    }
+
+    public void setWatermark(long watermark) {
+        this.watermark = watermark;
+    }
+
+    public long getLastFullAudit() {
+        return lastFullAudit;
+    }
+
+    public void setLastFullAudit(long lastFullAudit) {
+        this.lastFullAudit = lastFullAudit;
+    }
+
+    public boolean isIncremental() {
+        return incremental;
+    }
+
+    public void setIncremental(boolean incremental) {
+        this.incremental = incremental;
+    }
+
+    public long getChecked() {
+        return checked;
+    }
+
+    public void setChecked(long checked) {
+        this.checked = checked;
+    }
+
+    public long getMissingGuild() {
+        return missingGuild;
+    }
+
+    public void setMissingGuild(long missingGuild) {
+        this.missingGuild = missingGuild;
+    }
+
+    public long getMissingServer() {
+        return missingServer;
+    }
+
+    public void setMissingServer(long missingServer) {
+        this.missingServer = missingServer;
+    }
+
+    public long getViolations() {
+        return violations;
+    }
+
+    public void setViolations(long violations) {
+        this.violations = violations;
+    }
+
+    public List<String> getSampleIds() {
+        return sampleIds;
+    }
+
+    public void setSampleIds(List<String> sampleIds) {
+        this.sampleIds = sampleIds;
+    }
+}
\ No newline at end of file
@@ -7,13 +7,15 @@ import org.bson.types.ObjectId;
  * Database model for a kill record from the killfeed
  * Enhanced to distinguish between regular kills, suicides, and falling deaths
  */
-public class KillRecord {
+public class KillRecord implements Isolated {
     @BsonId
     private ObjectId id;
     private long guildId;
     private String serverId;
     private String killer;
+    private String killerId;
     private String victim;
+    private String victimId;
     private String weapon;
     private long distance;
     private long timestamp;
@@ -53,6 +55,7 @@ public class KillRecord {
         this.id = id;
     }
     
+    @Override
     public long getGuildId() {
         return guildId;
     }
@@ -61,6 +64,7 @@ public class KillRecord {
         this.guildId = guildId;
     }
     
+    @Override
     public String getServerId() {
         return serverId;
     }
@@ -77,6 +81,28 @@ public class KillRecord {
         this.killer = killer;
     }
     
+    /**
+     * Get the Deadside player ID of the killer
+     */
+    public String getKillerId() {
+        return killerId;
+    }
+    
+    public void setKillerId(String killerId) {
+        this.killerId = killerId;
+    }
+    
+    /**
+     * Get the Deadside player ID of the victim
+     */
+    public String getVictimId() {
+        return victimId;
+    }
+    
+    public void setVictimId(String victimId) {
+        this.victimId = victimId;
+    }
+    
     public String getVictim() {
         return victim;
     }
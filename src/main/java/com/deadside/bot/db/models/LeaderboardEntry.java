@@ -0,0 +1,194 @@
+package com.deadside.bot.db.models;
+
+import org.bson.codecs.pojo.annotations.BsonIgnore;
+
+/**
+ * Snapshot of the player stats shown on leaderboards
+ * Kept in memory by the leaderboard store and persisted to the leaderboards collection,
+ * so leaderboard reads never have to touch the players collection.
+ * Entries are replaced rather than modified once they are published.
+ */
+public class LeaderboardEntry {
+    private long guildId;
+    private String serverId;
+    private String playerId;
+    private String name;
+    private int kills;
+    private int deaths;
+    private int suicides;
+    private int score;
+    private String killedByMost;
+    private int longestKillDistance;
+    private String longestKillVictim;
+    private String longestKillWeapon;
+    private int longestKillStreak;
+    private int currentKillStreak;
+    private long lastUpdated;
+
+    public LeaderboardEntry() {
+        // Required for MongoDB POJO codec
+    }
+
+    /**
+     * Create a leaderboard snapshot of a player's current stats
+     */
+    public static LeaderboardEntry fromPlayer(Player player) {
+        LeaderboardEntry entry = new LeaderboardEntry();
+        entry.guildId = player.getGuildId();
+        entry.serverId = player.getServerId();
+        entry.playerId = player.getPlayerId();
+        entry.name = player.getName();
+        entry.kills = player.getKills();
+        entry.deaths = player.getDeaths();
+        entry.suicides = player.getSuicides();
+        entry.score = player.getScore();
+        entry.killedByMost = player.getKilledByMost();
+        entry.longestKillDistance = player.getLongestKillDistance();
+        entry.longestKillVictim = player.getLongestKillVictim();
+        entry.longestKillWeapon = player.getLongestKillWeapon();
+        entry.longestKillStreak = player.getLongestKillStreak();
+        entry.currentKillStreak = player.getCurrentKillStreak();
+        entry.lastUpdated = System.currentTimeMillis();
+        return entry;
+    }
+
+    /**
+     * K/D ratio excluding suicides, matching Player#getKdRatio
+     */
+    @BsonIgnore
+    public double getKdRatio() {
+        int regularDeaths = deaths - suicides;
+        if (regularDeaths <= 0) {
+            return kills;
+        }
+        return (double) kills / regularDeaths;
+    }
+
+    /**
+     * Whether this player has a usable name and can appear on leaderboards
+     */
+    @BsonIgnore
+    public boolean isRankable() {
+        return name != null && !name.isEmpty() && !"**".equals(name);
+    }
+
+    public long getGuildId() {
+        return guildId;
+    }
+
+    public void setGuildId(long guildId) {
+        this.guildId = guildId;
+    }
+
+    public String getServerId() {
+        return serverId;
+    }
+
+    public void setServerId(String serverId) {
+        this.serverId = serverId;
+    }
+
+    public String getPlayerId() {
+        return playerId;
+    }
+
+    public void setPlayerId(String playerId) {
+        this.playerId = playerId;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public int getKills() {
+        return kills;
+    }
+
+    public void setKills(int kills) {
+        this.kills = kills;
+    }
+
+    public int getDeaths() {
+        return deaths;
+    }
+
+    public void setDeaths(int deaths) {
+        this.deaths = deaths;
+    }
+
+    public int getSuicides() {
+        return suicides;
+    }
+
+    public void setSuicides(int suicides) {
+        this.suicides = suicides;
+    }
+
+    public int getScore() {
+        return score;
+    }
+
+    public void setScore(int score) {
+        this.score = score;
+    }
+
+    public String getKilledByMost() {
+        return killedByMost;
+    }
+
+    public void setKilledByMost(String killedByMost) {
+        this.killedByMost = killedByMost;
+    }
+
+    public int getLongestKillDistance() {
+        return longestKillDistance;
+    }
+
+    public void setLongestKillDistance(int longestKillDistance) {
+        this.longestKillDistance = longestKillDistance;
+    }
+
+    public String getLongestKillVictim() {
+        return longestKillVictim;
+    }
+
+    public void setLongestKillVictim(String longestKillVictim) {
+        this.longestKillVictim = longestKillVictim;
+    }
+
+    public String getLongestKillWeapon() {
+        return longestKillWeapon;
+    }
+
+    public void setLongestKillWeapon(String longestKillWeapon) {
+        this.longestKillWeapon = longestKillWeapon;
+    }
+
+    public int getLongestKillStreak() {
+        return longestKillStreak;
+    }
+
+    public void setLongestKillStreak(int longestKillStreak) {
+        this.longestKillStreak = longestKillStreak;
+    }
+
+    public int getCurrentKillStreak() {
+        return currentKillStreak;
+    }
+
+    public void setCurrentKillStreak(int currentKillStreak) {
+        this.currentKillStreak = currentKillStreak;
+    }
+
+    public long getLastUpdated() {
+        return lastUpdated;
+    }
+
+    public void setLastUpdated(long lastUpdated) {
+        this.lastUpdated = lastUpdated;
+    }
+}
@@ -10,7 +10,7 @@ import java.util.List;
  * Database model for linking Discord users to Deadside players
  * With proper guild and server isolation to prevent data leakage between guilds and servers
  */
-public class LinkedPlayer {
+public class LinkedPlayer implements Isolated {
     @BsonId
     private ObjectId id;
     private Long discordId;          // Discord user ID 
@@ -137,6 +137,7 @@ public class LinkedPlayer {
         this.updated = updated;
     }
     
+    @Override
     public long getGuildId() {
         return guildId;
     }
@@ -145,6 +146,7 @@ public class LinkedPlayer {
         this.guildId = guildId;
     }
     
+    @Override
     public String getServerId() {
         return serverId;
     }
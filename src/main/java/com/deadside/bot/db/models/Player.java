@@ -9,7 +9,7 @@ import java.util.Map;
 /**
  * Database model for a Deadside player
  */
-public class Player {
+public class Player implements Isolated {
     @BsonId
     private ObjectId id;
     private String playerId;     // Unique game ID for the player
@@ -41,6 +41,8 @@ public class Player {
     private int longestKillStreak;    // Longest kill streak ever achieved
     private Map<String, Integer> weaponKills;  // Map of weapon name to kill count
     private Map<String, Integer> playerMatchups; // Map of player names to kill counts against that player
+    private Map<String, Integer> killerMatchups; // Map of player names to deaths caused by that player
+    private long playTime;            // Total time online in seconds, from server log sessions
     
     public Player() {
         // Required for MongoDB POJO codec
@@ -48,6 +50,7 @@ public class Player {
         this.factionMember = null;
         this.weaponKills = new HashMap<>();
         this.playerMatchups = new HashMap<>();
+        this.killerMatchups = new HashMap<>();
         this.longestKillDistance = 0;
         this.longestKillVictim = "";
         this.longestKillWeapon = "";
@@ -74,6 +77,7 @@ public class Player {
         this.factionMember = null;
         this.weaponKills = new HashMap<>();
         this.playerMatchups = new HashMap<>();
+        this.killerMatchups = new HashMap<>();
         this.longestKillDistance = 0;
         this.longestKillVictim = "";
         this.longestKillWeapon = "";
@@ -100,6 +104,7 @@ public class Player {
         this.factionMember = null;
         this.weaponKills = new HashMap<>();
         this.playerMatchups = new HashMap<>();
+        this.killerMatchups = new HashMap<>();
         this.longestKillDistance = 0;
         this.longestKillVictim = "";
         this.longestKillWeapon = "";
@@ -228,8 +233,18 @@ public class Player {
         this.lastUpdated = lastUpdated;
     }
     
+    public long getPlayTime() {
+        return playTime;
+    }
+    
+    public void setPlayTime(long playTime) {
+        this.playTime = playTime;
+    }
+    
     /**
      * Calculate K/D ratio excluding suicides from death count
+     * This is also the value persisted as kdRatio, so every save writes a ratio
+     * consistent with the counters (PlayerRepository keeps it in sync on partial updates)
      * @return K/D ratio as a double
      */
     public double getKdRatio() {
@@ -242,16 +257,16 @@ public class Player {
         return (double) kills / regularDeaths;
     }
     
-    // Store kdRatio field for explicit setting
-    private float kdRatio = 0.0f;
+    // Persisted K/D ratio, indexed per guild and server for K/D leaderboards
+    private double kdRatio = 0.0;
     
     /**
-     * Set the K/D ratio explicitly
+     * Set the stored K/D ratio (used when loading from the database)
+     * The getter always derives the ratio from kills, deaths and suicides.
      * @param kdRatio The K/D ratio to set
      */
-    public void setKdRatio(float kdRatio) {
+    public void setKdRatio(double kdRatio) {
         this.kdRatio = kdRatio;
-        this.lastUpdated = System.currentTimeMillis();
     }
     
     /**
@@ -468,6 +483,7 @@ public class Player {
     /**
      * Get the guild ID this player belongs to
      */
+    @Override
     public long getGuildId() {
         return guildId;
     }
@@ -483,6 +499,7 @@ public class Player {
     /**
      * Get the server ID this player belongs to
      */
+    @Override
     public String getServerId() {
         return serverId;
     }
@@ -671,6 +688,23 @@ public class Player {
         this.lastUpdated = System.currentTimeMillis();
     }
     
+    /**
+     * Get killer matchups mapping (player names to deaths caused by them)
+     */
+    public Map<String, Integer> getKillerMatchups() {
+        if (killerMatchups == null) {
+            killerMatchups = new HashMap<>();
+        }
+        return killerMatchups;
+    }
+    
+    /**
+     * Set killer matchups mapping
+     */
+    public void setKillerMatchups(Map<String, Integer> killerMatchups) {
+        this.killerMatchups = killerMatchups;
+    }
+    
     /**
      * Add a kill against a specific player
      * @param victimName The name of the player killed
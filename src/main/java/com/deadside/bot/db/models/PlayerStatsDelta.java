@@ -0,0 +1,179 @@
+package com.deadside.bot.db.models;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Accumulated stat changes for one player within a batch of kill records
+ * Not persisted directly - PlayerRepository turns it into a single update
+ * keyed on (playerId, guildId, serverId)
+ */
+public class PlayerStatsDelta {
+    private final String playerId;
+    private final long guildId;
+    private final String serverId;
+    private String name;
+
+    private int kills;
+    private int deaths;
+    private int suicides;
+    private final Map<String, Integer> weaponKills = new HashMap<>();
+    private final Map<String, Integer> playerMatchups = new HashMap<>();
+    private final Map<String, Integer> killerMatchups = new HashMap<>();
+
+    // Streak tracking within the batch
+    private boolean died;           // Whether the player died at least once in this batch
+    private int leadingKills;       // Kills before the first death (continue the stored streak)
+    private int trailingKills;      // Kills after the last death (the new current streak)
+    private int currentRun;         // Running streak while folding records
+    private int bestRun;            // Longest uninterrupted run seen in this batch
+
+    // Longest kill within the batch
+    private int longestKillDistance;
+    private String longestKillVictim;
+    private String longestKillWeapon;
+
+    public PlayerStatsDelta(String playerId, long guildId, String serverId, String name) {
+        this.playerId = playerId;
+        this.guildId = guildId;
+        this.serverId = serverId;
+        this.name = name;
+    }
+
+    /**
+     * The ID players were saved under before the killfeed's Deadside IDs were used,
+     * and still are when a line has no ID
+     */
+    public static String nameDerivedId(String name) {
+        return name.toLowerCase().replace(" ", "_") + "_id";
+    }
+
+    /**
+     * Record a kill made by this player
+     */
+    public void recordKill(String weapon, String victimName, int distance) {
+        kills++;
+        if (weapon != null && !weapon.isEmpty()) {
+            weaponKills.merge(weapon, 1, Integer::sum);
+        }
+        if (victimName != null && !victimName.isEmpty()) {
+            playerMatchups.merge(victimName, 1, Integer::sum);
+        }
+
+        if (died) {
+            trailingKills++;
+        } else {
+            leadingKills++;
+        }
+        currentRun++;
+        bestRun = Math.max(bestRun, currentRun);
+
+        if (distance > longestKillDistance) {
+            longestKillDistance = distance;
+            longestKillVictim = victimName;
+            longestKillWeapon = weapon;
+        }
+    }
+
+    /**
+     * Record this player being killed by another player
+     */
+    public void recordDeath(String killerName) {
+        deaths++;
+        if (killerName != null && !killerName.isEmpty()) {
+            killerMatchups.merge(killerName, 1, Integer::sum);
+        }
+        endStreak();
+    }
+
+    /**
+     * Record this player killing themselves (suicide or falling death)
+     */
+    public void recordSuicide() {
+        suicides++;
+        endStreak();
+    }
+
+    private void endStreak() {
+        died = true;
+        trailingKills = 0;
+        currentRun = 0;
+    }
+
+    /**
+     * Keep the most recently seen in-game name
+     */
+    public void setName(String name) {
+        if (name != null && !name.isEmpty()) {
+            this.name = name;
+        }
+    }
+
+    public String getPlayerId() {
+        return playerId;
+    }
+
+    public long getGuildId() {
+        return guildId;
+    }
+
+    public String getServerId() {
+        return serverId;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getKills() {
+        return kills;
+    }
+
+    public int getDeaths() {
+        return deaths;
+    }
+
+    public int getSuicides() {
+        return suicides;
+    }
+
+    public Map<String, Integer> getWeaponKills() {
+        return weaponKills;
+    }
+
+    public Map<String, Integer> getPlayerMatchups() {
+        return playerMatchups;
+    }
+
+    public Map<String, Integer> getKillerMatchups() {
+        return killerMatchups;
+    }
+
+    public boolean hasDied() {
+        return died;
+    }
+
+    public int getLeadingKills() {
+        return leadingKills;
+    }
+
+    public int getTrailingKills() {
+        return trailingKills;
+    }
+
+    public int getBestRun() {
+        return bestRun;
+    }
+
+    public int getLongestKillDistance() {
+        return longestKillDistance;
+    }
+
+    public String getLongestKillVictim() {
+        return longestKillVictim;
+    }
+
+    public String getLongestKillWeapon() {
+        return longestKillWeapon;
+    }
+}
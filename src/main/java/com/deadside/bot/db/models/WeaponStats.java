@@ -0,0 +1,78 @@
+package com.deadside.bot.db.models;
+
+/**
+ * Aggregated kill statistics for one weapon on a server
+ * Produced by PlayerRepository#aggregateWeaponStats from the players' weaponKills maps.
+ */
+public class WeaponStats {
+    private String weapon;
+    private int kills;
+    private int users;
+    private String topPlayer;
+    private int topPlayerKills;
+
+    public WeaponStats() {
+        // Required for MongoDB POJO codec
+    }
+
+    public WeaponStats(String weapon, int kills, int users, String topPlayer, int topPlayerKills) {
+        this.weapon = weapon;
+        this.kills = kills;
+        this.users = users;
+        this.topPlayer = topPlayer;
+        this.topPlayerKills = topPlayerKills;
+    }
+
+    /**
+     * Combine the stats of the same weapon from two servers
+     */
+    public WeaponStats merge(WeaponStats other) {
+        boolean otherLeads = other.topPlayerKills > topPlayerKills;
+        return new WeaponStats(
+            weapon,
+            kills + other.kills,
+            users + other.users,
+            otherLeads ? other.topPlayer : topPlayer,
+            otherLeads ? other.topPlayerKills : topPlayerKills);
+    }
+
+    public String getWeapon() {
+        return weapon;
+    }
+
+    public void setWeapon(String weapon) {
+        this.weapon = weapon;
+    }
+
+    public int getKills() {
+        return kills;
+    }
+
+    public void setKills(int kills) {
+        this.kills = kills;
+    }
+
+    public int getUsers() {
+        return users;
+    }
+
+    public void setUsers(int users) {
+        this.users = users;
+    }
+
+    public String getTopPlayer() {
+        return topPlayer;
+    }
+
+    public void setTopPlayer(String topPlayer) {
+        this.topPlayer = topPlayer;
+    }
+
+    public int getTopPlayerKills() {
+        return topPlayerKills;
+    }
+
+    public void setTopPlayerKills(int topPlayerKills) {
+        this.topPlayerKills = topPlayerKills;
+    }
+}
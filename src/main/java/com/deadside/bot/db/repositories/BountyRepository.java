@@ -1,10 +1,14 @@
 package com.deadside.bot.db.repositories;
 
+import com.deadside.bot.bounty.BountySettlement;
 import com.deadside.bot.db.MongoDBConnection;
 import com.deadside.bot.db.models.Bounty;
 import com.mongodb.client.MongoCollection;
 import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.FindOneAndUpdateOptions;
+import com.mongodb.client.model.ReturnDocument;
 import com.mongodb.client.model.Sorts;
+import com.mongodb.client.model.Updates;
 import com.mongodb.client.result.DeleteResult;
 import org.bson.conversions.Bson;
 import org.bson.types.ObjectId;
@@ -62,6 +66,7 @@ public class BountyRepository {
             
             if (bounty.getId() == null) {
                 getCollection().insertOne(bounty);
+                BountySettlement.getInstance().onBountyPlaced(bounty);
                 logger.debug("Inserted new bounty with proper isolation (Guild={}, Server={})",
                     bounty.getGuildId(), bounty.getServerId());
             } else {
@@ -69,6 +74,7 @@ public class BountyRepository {
                     Filters.eq("_id", bounty.getId()),
                     bounty
                 );
+                BountySettlement.getInstance().invalidate(bounty.getGuildId(), bounty.getServerId());
                 logger.debug("Updated bounty with isolation (Guild={}, Server={})",
                     bounty.getGuildId(), bounty.getServerId());
             }
@@ -185,6 +191,7 @@ public class BountyRepository {
                 Filters.eq("serverId", serverId)
             );
             DeleteResult result = getCollection().deleteOne(filter);
+            BountySettlement.getInstance().invalidate(guildId, serverId);
             return result.getDeletedCount() > 0;
         } catch (Exception e) {
             logger.error("Error deleting bounty by ID with isolation: {} (Guild={}, Server={})",
@@ -300,6 +307,7 @@ public class BountyRepository {
                 Filters.eq("serverId", serverId)
             );
             DeleteResult result = getCollection().deleteMany(filter);
+            BountySettlement.getInstance().invalidate(guildId, serverId);
             logger.info("Deleted {} bounties from Guild={}, Server={}", 
                 result.getDeletedCount(), guildId, serverId);
             return result.getDeletedCount();
@@ -309,8 +317,26 @@ public class BountyRepository {
         }
     }
     
+    /**
+     * Get the IDs of all players with at least one active bounty on a server
+     */
+    public List<String> findActiveTargetIds(long guildId, String serverId) {
+        try {
+            Bson filter = Filters.and(
+                Filters.eq("guildId", guildId),
+                Filters.eq("serverId", serverId),
+                Filters.eq("active", true)
+            );
+            return getCollection().distinct("targetId", filter, String.class).into(new ArrayList<>());
+        } catch (Exception e) {
+            logger.error("Error finding active bounty targets: Guild={}, Server={}", guildId, serverId, e);
+            return new ArrayList<>();
+        }
+    }
+    
     /**
      * Mark a bounty as claimed with proper isolation
+     * The update only matches an active bounty, so a bounty is never claimed twice.
      */
     public boolean markAsClaimed(ObjectId id, String claimerId, String claimerName, long guildId, String serverId) {
         try {
@@ -321,22 +347,47 @@ public class BountyRepository {
                 Filters.eq("active", true)
             );
             
-            Bounty bounty = getCollection().find(filter).first();
-            if (bounty == null) {
-                return false;
-            }
-            
-            bounty.setActive(false);
-            bounty.setClaimerId(claimerId);
-            bounty.setClaimerName(claimerName);
-            bounty.setClaimedAt(System.currentTimeMillis());
-            
-            getCollection().replaceOne(filter, bounty);
-            return true;
+            return getCollection().updateOne(filter, claimUpdate(claimerId, claimerName)).getModifiedCount() > 0;
         } catch (Exception e) {
             logger.error("Error marking bounty as claimed with isolation: {} (Guild={}, Server={})",
                 id, guildId, serverId, e);
             return false;
         }
     }
+    
+    /**
+     * Atomically claim the oldest active bounty on a target that was placed before the kill
+     * @param killTime Time of the kill; bounties placed later are not claimed by it
+     * @return The claimed bounty, or null if none is left to claim
+     */
+    public Bounty claimNextByTargetId(String targetId, String claimerId, String claimerName, long killTime,
+                                      long guildId, String serverId) {
+        try {
+            Bson filter = Filters.and(
+                Filters.eq("guildId", guildId),
+                Filters.eq("serverId", serverId),
+                Filters.eq("targetId", targetId),
+                Filters.eq("active", true),
+                Filters.lte("placedAt", killTime)
+            );
+            
+            return getCollection().findOneAndUpdate(filter, claimUpdate(claimerId, claimerName),
+                new FindOneAndUpdateOptions()
+                    .sort(Sorts.ascending("placedAt"))
+                    .returnDocument(ReturnDocument.AFTER));
+        } catch (Exception e) {
+            logger.error("Error claiming bounty on target: {} (Guild={}, Server={})",
+                targetId, guildId, serverId, e);
+            return null;
+        }
+    }
+    
+    private static Bson claimUpdate(String claimerId, String claimerName) {
+        return Updates.combine(
+            Updates.set("active", false),
+            Updates.set("claimerId", claimerId),
+            Updates.set("claimerName", claimerName),
+            Updates.set("claimedAt", System.currentTimeMillis())
+        );
+    }
 }
\ No newline at end of file
@@ -2,10 +2,16 @@ package com.deadside.bot.db.repositories;
 
 import com.deadside.bot.db.MongoDBConnection;
 import com.deadside.bot.db.models.Currency;
+import com.deadside.bot.db.models.CurrencyTransaction;
 import com.mongodb.client.MongoCollection;
+import com.mongodb.client.model.BulkWriteOptions;
 import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.InsertManyOptions;
 import com.mongodb.client.model.Sorts;
+import com.mongodb.client.model.UpdateOneModel;
+import com.mongodb.client.model.UpdateOptions;
 import com.mongodb.client.model.Updates;
+import com.mongodb.client.model.WriteModel;
 import com.mongodb.client.result.DeleteResult;
 import org.bson.conversions.Bson;
 import org.bson.types.ObjectId;
@@ -14,15 +20,20 @@ import org.slf4j.LoggerFactory;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Repository for managing currency with proper data isolation between guilds and servers
+ * Balance changes are single atomic upserts, so concurrent payouts never create duplicate
+ * balances or lose updates, and each coin movement is appended to the transaction ledger.
  */
 public class CurrencyRepository {
     private static final Logger logger = LoggerFactory.getLogger(CurrencyRepository.class);
     private static final String COLLECTION_NAME = "currencies";
+    private static final String TRANSACTIONS_COLLECTION_NAME = "currency_transactions";
     
     private MongoCollection<Currency> collection;
+    private MongoCollection<CurrencyTransaction> transactions;
     
     public CurrencyRepository() {
         try {
@@ -50,6 +61,21 @@ public class CurrencyRepository {
         return collection;
     }
     
+    /**
+     * Get the transaction ledger collection, initializing if needed
+     */
+    private MongoCollection<CurrencyTransaction> getTransactions() {
+        if (transactions == null) {
+            try {
+                this.transactions = MongoDBConnection.getInstance().getDatabase()
+                    .getCollection(TRANSACTIONS_COLLECTION_NAME, CurrencyTransaction.class);
+            } catch (Exception e) {
+                logger.error("Failed to initialize currency transaction collection", e);
+            }
+        }
+        return transactions;
+    }
+    
     /**
      * Save a currency with proper isolation checks
      */
@@ -100,39 +126,71 @@ public class CurrencyRepository {
      * Add coins to a user's currency with proper isolation
      */
     public void addCoins(long userId, long amount, long guildId, String serverId) {
+        addCoins(userId, amount, null, guildId, serverId);
+    }
+    
+    /**
+     * Add coins to a user's currency with proper isolation
+     * One upsert; a user without a balance yet gets one. Positive amounts count towards total earned.
+     * @param reason What the coins are for, recorded in the ledger (optional)
+     * @return True if the balance was updated
+     */
+    public boolean addCoins(long userId, long amount, String reason, long guildId, String serverId) {
+        if (guildId <= 0 || serverId == null || serverId.isEmpty()) {
+            logger.error("Attempted to add coins without proper isolation fields");
+            return false;
+        }
+        
         try {
-            Currency currency = findByUserIdAndGuildIdAndServerId(userId, guildId, serverId);
-            
-            if (currency == null) {
-                // Create new currency for this user
-                currency = new Currency();
-                currency.setUserId(userId);
-                currency.setGuildId(guildId);
-                currency.setServerId(serverId);
-                currency.setCoins(amount);
-                currency.setLastUpdated(System.currentTimeMillis());
-                save(currency);
-            } else {
-                // Update existing currency
-                Bson filter = Filters.and(
-                    Filters.eq("userId", userId),
-                    Filters.eq("guildId", guildId),
-                    Filters.eq("serverId", serverId)
-                );
-                
-                getCollection().updateOne(filter, 
-                    Updates.combine(
-                        Updates.inc("coins", amount),
-                        Updates.set("lastUpdated", System.currentTimeMillis())
-                    )
-                );
-            }
+            getCollection().updateOne(identity(userId, guildId, serverId),
+                creditUpdate(amount, System.currentTimeMillis()),
+                new UpdateOptions().upsert(true));
+            record(List.of(new CurrencyTransaction(userId, guildId, serverId, amount, "CREDIT", reason)));
             
             logger.debug("Added {} coins to user {} with isolation (Guild={}, Server={})",
                 amount, userId, guildId, serverId);
+            return true;
         } catch (Exception e) {
             logger.error("Error adding coins to user with isolation: {} (Guild={}, Server={})",
                 userId, guildId, serverId, e);
+            return false;
+        }
+    }
+    
+    /**
+     * Credit coins to several users at once with proper isolation
+     * One bulk write of upserts; users without a balance yet get one. Counts towards total earned.
+     * @param amounts Coins to add keyed by Discord user ID
+     * @param reason What the coins are for, recorded in the ledger (optional)
+     */
+    public void addCoins(Map<Long, Long> amounts, String reason, long guildId, String serverId) {
+        if (amounts.isEmpty()) {
+            return;
+        }
+        if (guildId <= 0 || serverId == null || serverId.isEmpty()) {
+            logger.error("Attempted to add coins without proper isolation fields");
+            return;
+        }
+        
+        try {
+            long now = System.currentTimeMillis();
+            UpdateOptions upsert = new UpdateOptions().upsert(true);
+            List<WriteModel<Currency>> writes = new ArrayList<>(amounts.size());
+            List<CurrencyTransaction> entries = new ArrayList<>(amounts.size());
+            for (Map.Entry<Long, Long> entry : amounts.entrySet()) {
+                writes.add(new UpdateOneModel<>(identity(entry.getKey(), guildId, serverId),
+                    creditUpdate(entry.getValue(), now), upsert));
+                entries.add(new CurrencyTransaction(entry.getKey(), guildId, serverId,
+                    entry.getValue(), "CREDIT", reason));
+            }
+            getCollection().bulkWrite(writes, new BulkWriteOptions().ordered(false));
+            record(entries);
+            
+            logger.debug("Added coins to {} users with isolation (Guild={}, Server={})",
+                amounts.size(), guildId, serverId);
+        } catch (Exception e) {
+            logger.error("Error adding coins to {} users with isolation (Guild={}, Server={})",
+                amounts.size(), guildId, serverId, e);
         }
     }
     
@@ -140,33 +198,22 @@ public class CurrencyRepository {
      * Set coins for a user's currency with proper isolation
      */
     public void setCoins(long userId, long amount, long guildId, String serverId) {
+        if (guildId <= 0 || serverId == null || serverId.isEmpty()) {
+            logger.error("Attempted to set coins without proper isolation fields");
+            return;
+        }
+        
         try {
-            Currency currency = findByUserIdAndGuildIdAndServerId(userId, guildId, serverId);
-            
-            if (currency == null) {
-                // Create new currency for this user
-                currency = new Currency();
-                currency.setUserId(userId);
-                currency.setGuildId(guildId);
-                currency.setServerId(serverId);
-                currency.setCoins(amount);
-                currency.setLastUpdated(System.currentTimeMillis());
-                save(currency);
-            } else {
-                // Update existing currency
-                Bson filter = Filters.and(
-                    Filters.eq("userId", userId),
-                    Filters.eq("guildId", guildId),
-                    Filters.eq("serverId", serverId)
-                );
-                
-                getCollection().updateOne(filter, 
-                    Updates.combine(
-                        Updates.set("coins", amount),
-                        Updates.set("lastUpdated", System.currentTimeMillis())
-                    )
-                );
-            }
+            getCollection().updateOne(identity(userId, guildId, serverId),
+                Updates.combine(
+                    Updates.set("coins", amount),
+                    Updates.set("lastUpdated", System.currentTimeMillis()),
+                    newBalanceDefaults(),
+                    Updates.setOnInsert("totalEarned", 0L),
+                    Updates.setOnInsert("totalSpent", 0L)
+                ),
+                new UpdateOptions().upsert(true));
+            record(List.of(new CurrencyTransaction(userId, guildId, serverId, amount, "SET", null)));
             
             logger.debug("Set coins to {} for user {} with isolation (Guild={}, Server={})",
                 amount, userId, guildId, serverId);
@@ -201,33 +248,22 @@ public class CurrencyRepository {
      * Update last daily claim timestamp with proper isolation
      */
     public void updateLastDailyClaim(long userId, long timestamp, long guildId, String serverId) {
+        if (guildId <= 0 || serverId == null || serverId.isEmpty()) {
+            logger.error("Attempted to update last daily claim without proper isolation fields");
+            return;
+        }
+        
         try {
-            Currency currency = findByUserIdAndGuildIdAndServerId(userId, guildId, serverId);
-            
-            if (currency == null) {
-                // Create new currency for this user
-                currency = new Currency();
-                currency.setUserId(userId);
-                currency.setGuildId(guildId);
-                currency.setServerId(serverId);
-                currency.setLastDailyClaim(timestamp);
-                currency.setLastUpdated(System.currentTimeMillis());
-                save(currency);
-            } else {
-                // Update existing currency
-                Bson filter = Filters.and(
-                    Filters.eq("userId", userId),
-                    Filters.eq("guildId", guildId),
-                    Filters.eq("serverId", serverId)
-                );
-                
-                getCollection().updateOne(filter, 
-                    Updates.combine(
-                        Updates.set("lastDailyClaim", timestamp),
-                        Updates.set("lastUpdated", System.currentTimeMillis())
-                    )
-                );
-            }
+            getCollection().updateOne(identity(userId, guildId, serverId),
+                Updates.combine(
+                    Updates.set("lastDailyReward", timestamp),
+                    Updates.set("lastUpdated", System.currentTimeMillis()),
+                    newBalanceDefaults(),
+                    Updates.setOnInsert("coins", 0L),
+                    Updates.setOnInsert("totalEarned", 0L),
+                    Updates.setOnInsert("totalSpent", 0L)
+                ),
+                new UpdateOptions().upsert(true));
             
             logger.debug("Updated last daily claim for user {} with isolation (Guild={}, Server={})",
                 userId, guildId, serverId);
@@ -241,33 +277,22 @@ public class CurrencyRepository {
      * Update last work timestamp with proper isolation
      */
     public void updateLastWork(long userId, long timestamp, long guildId, String serverId) {
+        if (guildId <= 0 || serverId == null || serverId.isEmpty()) {
+            logger.error("Attempted to update last work without proper isolation fields");
+            return;
+        }
+        
         try {
-            Currency currency = findByUserIdAndGuildIdAndServerId(userId, guildId, serverId);
-            
-            if (currency == null) {
-                // Create new currency for this user
-                currency = new Currency();
-                currency.setUserId(userId);
-                currency.setGuildId(guildId);
-                currency.setServerId(serverId);
-                currency.setLastWork(timestamp);
-                currency.setLastUpdated(System.currentTimeMillis());
-                save(currency);
-            } else {
-                // Update existing currency
-                Bson filter = Filters.and(
-                    Filters.eq("userId", userId),
-                    Filters.eq("guildId", guildId),
-                    Filters.eq("serverId", serverId)
-                );
-                
-                getCollection().updateOne(filter, 
-                    Updates.combine(
-                        Updates.set("lastWork", timestamp),
-                        Updates.set("lastUpdated", System.currentTimeMillis())
-                    )
-                );
-            }
+            getCollection().updateOne(identity(userId, guildId, serverId),
+                Updates.combine(
+                    Updates.set("lastWork", timestamp),
+                    Updates.set("lastUpdated", System.currentTimeMillis()),
+                    newBalanceDefaults(),
+                    Updates.setOnInsert("coins", 0L),
+                    Updates.setOnInsert("totalEarned", 0L),
+                    Updates.setOnInsert("totalSpent", 0L)
+                ),
+                new UpdateOptions().upsert(true));
             
             logger.debug("Updated last work for user {} with isolation (Guild={}, Server={})",
                 userId, guildId, serverId);
@@ -418,4 +443,45 @@ public class CurrencyRepository {
             return 0;
         }
     }
+    
+    private static Bson identity(long userId, long guildId, String serverId) {
+        return Filters.and(
+            Filters.eq("userId", userId),
+            Filters.eq("guildId", guildId),
+            Filters.eq("serverId", serverId)
+        );
+    }
+    
+    private static Bson creditUpdate(long amount, long now) {
+        return Updates.combine(
+            Updates.inc("coins", amount),
+            Updates.inc("totalEarned", Math.max(amount, 0)),
+            Updates.set("lastUpdated", now),
+            newBalanceDefaults(),
+            Updates.setOnInsert("totalSpent", 0L)
+        );
+    }
+    
+    /**
+     * Defaults for fields the ledger never updates, so upserted balances match saved ones
+     */
+    private static Bson newBalanceDefaults() {
+        return Updates.combine(
+            Updates.setOnInsert("bankCoins", 0L),
+            Updates.setOnInsert("bountyPoints", 0),
+            Updates.setOnInsert("prestigePoints", 0)
+        );
+    }
+    
+    /**
+     * Append entries to the transaction ledger
+     * The balance update is authoritative; a failed ledger write is logged, not rethrown.
+     */
+    private void record(List<CurrencyTransaction> entries) {
+        try {
+            getTransactions().insertMany(entries, new InsertManyOptions().ordered(false));
+        } catch (Exception e) {
+            logger.error("Error recording {} currency transactions", entries.size(), e);
+        }
+    }
 }
\ No newline at end of file
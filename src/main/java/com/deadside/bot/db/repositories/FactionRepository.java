@@ -2,19 +2,28 @@ package com.deadside.bot.db.repositories;
 
 import com.deadside.bot.db.MongoDBConnection;
 import com.deadside.bot.db.models.Faction;
+import com.deadside.bot.db.models.FactionStats;
 import com.deadside.bot.utils.GuildIsolationManager;
+import com.mongodb.MongoBulkWriteException;
 import com.mongodb.client.MongoCollection;
+import com.mongodb.client.model.BulkWriteOptions;
 import com.mongodb.client.model.Filters;
 import com.mongodb.client.model.Sorts;
+import com.mongodb.client.model.UpdateManyModel;
+import com.mongodb.client.model.UpdateOneModel;
 import com.mongodb.client.model.Updates;
+import com.mongodb.client.model.WriteModel;
 import com.mongodb.client.result.DeleteResult;
+import org.bson.Document;
 import org.bson.conversions.Bson;
 import org.bson.types.ObjectId;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Repository for Faction collection with comprehensive isolation between guilds and servers
@@ -681,6 +690,149 @@ public class FactionRepository {
         }
     }
     
+    /**
+     * Write rolled-up stats for a guild's factions with one bulk write
+     * @param guildId The guild ID for isolation
+     * @param stats Stats per faction
+     * @param resetOthers Whether factions not in the list (no members left) are set to zero
+     * @return Number of factions modified, or -1 if the write failed
+     */
+    public long applyStats(long guildId, List<FactionStats> stats, boolean resetOthers) {
+        if (guildId <= 0) {
+            logger.error("Attempted to apply faction stats without proper isolation fields");
+            return -1;
+        }
+        
+        long now = System.currentTimeMillis();
+        List<WriteModel<Faction>> writes = new ArrayList<>(stats.size() + 1);
+        List<ObjectId> factionIds = new ArrayList<>(stats.size());
+        for (FactionStats stat : stats) {
+            factionIds.add(stat.getFactionId());
+            writes.add(new UpdateOneModel<>(
+                Filters.and(Filters.eq("_id", stat.getFactionId()), Filters.eq("guildId", guildId)),
+                Updates.combine(
+                    Updates.set("memberCount", stat.getMemberCount()),
+                    Updates.set("totalKills", stat.getTotalKills()),
+                    Updates.set("totalDeaths", stat.getTotalDeaths()),
+                    Updates.set("updated", now))));
+        }
+        if (resetOthers) {
+            writes.add(new UpdateManyModel<>(
+                Filters.and(Filters.eq("guildId", guildId), Filters.nin("_id", factionIds), Filters.or(
+                    Filters.gt("memberCount", 0), Filters.gt("totalKills", 0), Filters.gt("totalDeaths", 0))),
+                Updates.combine(
+                    Updates.set("memberCount", 0),
+                    Updates.set("totalKills", 0),
+                    Updates.set("totalDeaths", 0),
+                    Updates.set("updated", now))));
+        }
+        return bulkWrite(writes, "stats for guild " + guildId);
+    }
+    
+    /**
+     * Add kill and death deltas to factions with one bulk write
+     * @param guildId The guild ID for isolation
+     * @param deltas Kills and deaths to add per faction; member counts are ignored
+     * @return Number of factions modified, or -1 if the write failed
+     */
+    public long incrementStats(long guildId, List<FactionStats> deltas) {
+        if (guildId <= 0) {
+            logger.error("Attempted to increment faction stats without proper isolation fields");
+            return -1;
+        }
+        
+        long now = System.currentTimeMillis();
+        List<WriteModel<Faction>> writes = new ArrayList<>(deltas.size());
+        for (FactionStats delta : deltas) {
+            writes.add(new UpdateOneModel<>(
+                Filters.and(Filters.eq("_id", delta.getFactionId()), Filters.eq("guildId", guildId)),
+                Updates.combine(
+                    Updates.inc("totalKills", delta.getTotalKills()),
+                    Updates.inc("totalDeaths", delta.getTotalDeaths()),
+                    Updates.set("updated", now))));
+        }
+        return bulkWrite(writes, "stat deltas for guild " + guildId);
+    }
+    
+    /**
+     * Add experience to a guild's factions with one bulk write, levelling them up server-side
+     * A faction needs level * 1000 experience to reach the next level. Each update turns the
+     * faction's level and experience into lifetime experience, adds the amount and derives the
+     * new level from that, so any number of level-ups resolve in one write. Negative amounts
+     * can empty the current level's experience but never lower the level.
+     * @param guildId The guild ID for isolation
+     * @param experienceByFaction Experience to add per faction
+     * @return Number of factions modified, or -1 if the write failed
+     */
+    public long addExperience(long guildId, Map<ObjectId, Long> experienceByFaction) {
+        if (guildId <= 0) {
+            logger.error("Attempted to add faction experience without proper isolation fields");
+            return -1;
+        }
+        
+        long now = System.currentTimeMillis();
+        List<WriteModel<Faction>> writes = new ArrayList<>(experienceByFaction.size());
+        for (Map.Entry<ObjectId, Long> entry : experienceByFaction.entrySet()) {
+            writes.add(new UpdateOneModel<>(
+                Filters.and(Filters.eq("_id", entry.getKey()), Filters.eq("guildId", guildId)),
+                experiencePipeline(entry.getValue(), now)));
+        }
+        return bulkWrite(writes, "experience for guild " + guildId);
+    }
+    
+    /**
+     * Update pipeline adding experience and applying level-ups
+     * Experience to reach level L from level 1 is 500 * L * (L - 1), so the level for a lifetime
+     * total T is floor((1 + sqrt(1 + T / 125)) / 2).
+     */
+    private static List<Bson> experiencePipeline(long amount, long now) {
+        Document level = new Document("$max", Arrays.asList(new Document("$ifNull", Arrays.asList("$level", 1)), 1));
+        Document levelFloor = new Document("$multiply", Arrays.asList(500,
+            new Document("$subtract", Arrays.asList(level, 1)), level));
+        Document lifetime = new Document("$add", Arrays.asList(levelFloor,
+            new Document("$max", Arrays.asList(new Document("$ifNull", Arrays.asList("$experience", 0)), 0)), amount));
+        
+        Document newLevel = new Document("$toInt", new Document("$floor", new Document("$divide", Arrays.asList(
+            new Document("$add", Arrays.asList(1, new Document("$sqrt",
+                new Document("$add", Arrays.asList(1, new Document("$divide", Arrays.asList("$_xpTotal", 125))))))),
+            2))));
+        
+        Document newLevelFloor = new Document("$multiply", Arrays.asList(500, "$_xpLevel",
+            new Document("$subtract", Arrays.asList("$_xpLevel", 1))));
+        Document newMaxMembers = new Document("$add", Arrays.asList(10, new Document("$multiply", Arrays.asList(5,
+            new Document("$subtract", Arrays.asList("$_xpLevel", 1))))));
+        
+        return Arrays.asList(
+            new Document("$set", new Document("_xpTotal", new Document("$max", Arrays.asList(lifetime, levelFloor)))),
+            new Document("$set", new Document("_xpLevel", newLevel)),
+            new Document("$set", new Document()
+                .append("experience", new Document("$toInt", new Document("$subtract", Arrays.asList("$_xpTotal", newLevelFloor))))
+                // Only a level-up changes the member limit, as in Faction.addExperience
+                .append("maxMembers", new Document("$cond", Arrays.asList(
+                    new Document("$gt", Arrays.asList("$_xpLevel", "$level")), newMaxMembers, "$maxMembers")))
+                .append("level", "$_xpLevel")
+                .append("experienceNextLevel", new Document("$multiply", Arrays.asList("$_xpLevel", 1000)))
+                .append("updated", now)),
+            new Document("$unset", Arrays.asList("_xpTotal", "_xpLevel"))
+        );
+    }
+    
+    private long bulkWrite(List<WriteModel<Faction>> writes, String description) {
+        if (writes.isEmpty()) {
+            return 0;
+        }
+        try {
+            return getCollection().bulkWrite(writes, new BulkWriteOptions().ordered(false)).getModifiedCount();
+        } catch (MongoBulkWriteException e) {
+            logger.error("Partial failure writing faction {}: {} of {} writes failed",
+                description, e.getWriteErrors().size(), writes.size(), e);
+            return e.getWriteResult().getModifiedCount();
+        } catch (Exception e) {
+            logger.error("Error writing faction {}", description, e);
+            return -1;
+        }
+    }
+    
     /**
      * Add experience to a faction with isolation check
      */
@@ -1,12 +1,16 @@
 package com.deadside.bot.db.repositories;
 
+import com.deadside.bot.config.Config;
 import com.deadside.bot.db.MongoDBConnection;
 import com.deadside.bot.db.models.GameServer;
+import com.deadside.bot.isolation.ServerTopology;
 import com.deadside.bot.utils.DataBoundary;
 import com.deadside.bot.utils.GuildIsolationManager;
 import com.mongodb.client.MongoCollection;
 import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.Projections;
 import com.mongodb.client.model.ReplaceOptions;
+import com.mongodb.client.model.Updates;
 import com.mongodb.client.result.DeleteResult;
 import org.bson.conversions.Bson;
 import org.bson.types.ObjectId;
@@ -15,6 +19,8 @@ import org.slf4j.LoggerFactory;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Repository for GameServer collection with comprehensive isolation
@@ -24,6 +30,9 @@ public class GameServerRepository {
     private static final Logger logger = LoggerFactory.getLogger(GameServerRepository.class);
     private static final String COLLECTION_NAME = "game_servers";
     
+    // Process-wide cache of servers by guild and server ID, shared by all repository instances
+    private static final Map<String, CachedServer> SERVER_CACHE = new ConcurrentHashMap<>();
+    
     private MongoCollection<GameServer> collection;
     
     public GameServerRepository() {
@@ -87,6 +96,7 @@ public class GameServerRepository {
                 server, 
                 options
             );
+            invalidateGuild(server.getGuildId());
             
             logger.debug("Saved game server: {} with proper isolation (Guild={})",
                 server.getName(), server.getGuildId());
@@ -95,6 +105,67 @@ public class GameServerRepository {
         }
     }
     
+    /**
+     * Save only a server's Deadside.log position
+     * Unlike {@link #save(GameServer)} this cannot overwrite changes made elsewhere, such as
+     * killfeed progress saved by another scheduler, and leaves the server caches alone.
+     */
+    public void updateLogProgress(GameServer server) {
+        try {
+            if (server.getGuildId() <= 0 || server.getServerId() == null || server.getServerId().isEmpty()) {
+                logger.error("Attempted to update log progress without proper isolation fields: {}", server.getName());
+                return;
+            }
+            
+            getCollection().updateOne(
+                Filters.and(
+                    Filters.eq("guildId", server.getGuildId()),
+                    Filters.eq("serverId", server.getServerId())
+                ),
+                Updates.combine(
+                    Updates.set("lastProcessedLogFile", server.getLastProcessedLogFile()),
+                    Updates.set("lastProcessedLogLine", server.getLastProcessedLogLine()),
+                    Updates.set("lastProcessedLogOffset", server.getLastProcessedLogOffset()),
+                    Updates.set("lastLogFileSize", server.getLastLogFileSize()),
+                    Updates.set("lastLogFileModified", server.getLastLogFileModified()),
+                    Updates.set("lastLogRotation", server.getLastLogRotation()),
+                    Updates.set("lastProcessedTimestamp", server.getLastProcessedTimestamp())
+                )
+            );
+        } catch (Exception e) {
+            logger.error("Error updating log progress for game server: {}", server.getName(), e);
+        }
+    }
+    
+    /**
+     * Save only a server's killfeed position
+     * Like {@link #updateLogProgress(GameServer)}, this leaves other progress and the server caches alone.
+     */
+    public void updateKillfeedProgress(GameServer server) {
+        try {
+            if (server.getGuildId() <= 0 || server.getServerId() == null || server.getServerId().isEmpty()) {
+                logger.error("Attempted to update killfeed progress without proper isolation fields: {}", server.getName());
+                return;
+            }
+            
+            getCollection().updateOne(
+                Filters.and(
+                    Filters.eq("guildId", server.getGuildId()),
+                    Filters.eq("serverId", server.getServerId())
+                ),
+                Updates.combine(
+                    Updates.set("lastProcessedKillfeedFile", server.getLastProcessedKillfeedFile()),
+                    Updates.set("lastProcessedKillfeedLine", server.getLastProcessedKillfeedLine()),
+                    Updates.set("lastProcessedKillfeedOffset", server.getLastProcessedKillfeedOffset()),
+                    Updates.set("lastKillfeedFileSize", server.getLastKillfeedFileSize()),
+                    Updates.set("lastKillfeedFileModified", server.getLastKillfeedFileModified())
+                )
+            );
+        } catch (Exception e) {
+            logger.error("Error updating killfeed progress for game server: {}", server.getName(), e);
+        }
+    }
+    
     /**
      * Find a game server by server ID with isolation check
      * @param serverId The server ID to search for
@@ -351,6 +422,44 @@ public class GameServerRepository {
         }
     }
     
+    /**
+     * Find a game server by guild ID and server ID, served from the process-wide cache
+     * For hot read paths such as isolation-mode checks. The returned server is shared
+     * and must not be modified; use {@link #findByGuildIdAndServerId} before saving.
+     * Misses are not cached, so a server created outside {@link #save} is found on the next call.
+     * @param guildId The guild ID for isolation boundary
+     * @param serverId The server ID to find
+     * @return The game server if found
+     */
+    public GameServer findCachedByGuildIdAndServerId(long guildId, String serverId) {
+        String key = cacheKey(guildId, serverId);
+        CachedServer cached = SERVER_CACHE.get(key);
+        if (cached == null || cached.isExpired()) {
+            GameServer server = findByGuildIdAndServerId(guildId, serverId);
+            if (server == null) {
+                SERVER_CACHE.remove(key);
+                return null;
+            }
+            cached = new CachedServer(server, System.currentTimeMillis() + Config.getInstance().getGameServerCacheTtl());
+            SERVER_CACHE.put(key, cached);
+        }
+        return cached.server;
+    }
+    
+    /**
+     * Drop cached servers for a guild and the cached server topology
+     * Called after every write; call it too after changing game_servers outside this repository.
+     */
+    public static void invalidateGuild(long guildId) {
+        String prefix = guildId + ":";
+        SERVER_CACHE.keySet().removeIf(key -> key.startsWith(prefix));
+        ServerTopology.getInstance().invalidate();
+    }
+    
+    private static String cacheKey(long guildId, String serverId) {
+        return guildId + ":" + serverId;
+    }
+    
     /**
      * Find a game server by name using isolation-aware approach
      * This method properly respects isolation boundaries when retrieving a server by name
@@ -423,6 +532,7 @@ public class GameServerRepository {
                 Filters.eq("guildId", guildId)
             );
             DeleteResult result = getCollection().deleteOne(filter);
+            invalidateGuild(guildId);
             return result.getDeletedCount() > 0;
         } catch (Exception e) {
             logger.error("Error deleting game server by guild: {} and server ID: {}", guildId, serverId, e);
@@ -474,6 +584,7 @@ public class GameServerRepository {
                 Filters.eq("guildId", guildId)
             );
             DeleteResult result = getCollection().deleteOne(filter);
+            invalidateGuild(guildId);
             
             if (result.getDeletedCount() > 0) {
                 logger.info("Deleted game server with ID: {} from guild: {}", serverId, guildId);
@@ -543,6 +654,25 @@ public class GameServerRepository {
         }
     }
     
+    /**
+     * Load the guild and server ID of every registered server in one query
+     * Used to build the guild/server topology for cross-partition queries.
+     * @return Servers with only the ID, name and isolation fields populated
+     */
+    public List<GameServer> findPartitions() {
+        try {
+            return getCollection().find(Filters.and(
+                    Filters.gt("guildId", 0L),
+                    Filters.ne("serverId", null),
+                    Filters.ne("serverId", "")))
+                .projection(Projections.include("guildId", "serverId", "name", "readOnly", "isolationMode"))
+                .into(new ArrayList<>());
+        } catch (Exception e) {
+            logger.error("Error loading game server partitions", e);
+            return new ArrayList<>();
+        }
+    }
+    
     /**
      * Get all game servers using an isolation-aware approach
      * This method properly respects isolation boundaries
@@ -590,6 +720,7 @@ public class GameServerRepository {
             DeleteResult result = getCollection().deleteMany(
                 Filters.eq("guildId", guildId)
             );
+            invalidateGuild(guildId);
             logger.info("Deleted {} game servers from guild: {}", result.getDeletedCount(), guildId);
             return result.getDeletedCount();
         } catch (Exception e) {
@@ -608,6 +739,7 @@ public class GameServerRepository {
             if (server.getGuildId() == guildId) {
                 Bson filter = Filters.eq("_id", server.getId());
                 DeleteResult result = getCollection().deleteOne(filter);
+                invalidateGuild(guildId);
                 
                 if (result.getDeletedCount() > 0) {
                     logger.info("Deleted game server: {} from guild: {}", server.getName(), guildId);
@@ -657,6 +789,7 @@ public class GameServerRepository {
                 );
                 
                 boolean deleted = getCollection().deleteOne(filter).getDeletedCount() > 0;
+                invalidateGuild(server.getGuildId());
                 
                 if (deleted) {
                     logger.debug("Deleted game server {} in guild {} using isolation-aware approach", 
@@ -741,4 +874,18 @@ public class GameServerRepository {
             return null;
         }
     }
-}
\ No newline at end of file
+    
+    private static class CachedServer {
+        final GameServer server;
+        final long expiresAt;
+        
+        CachedServer(GameServer server, long expiresAt) {
+            this.server = server;
+            this.expiresAt = expiresAt;
+        }
+        
+        boolean isExpired() {
+            return System.currentTimeMillis() >= expiresAt;
+        }
+    }
+}
@@ -250,6 +250,26 @@ public class GuildConfigRepository {
         return result;
     }
     
+    /**
+     * Find the guild configurations that have a player count voice channel set up
+     * Guild configs are naturally isolated by guild ID; one query covers all guilds.
+     * @return Configurations with a voice channel and server name configured
+     */
+    public List<GuildConfig> findAllWithPlayerCountChannel() {
+        List<GuildConfig> result = new ArrayList<>();
+        try {
+            for (Document doc : getCollection().find(Filters.and(
+                    Filters.gt("guildId", 0L),
+                    Filters.gt("playerCountVoiceChannelId", 0L),
+                    Filters.ne("playerCountServerName", null)))) {
+                result.add(new GuildConfig(doc));
+            }
+        } catch (Exception e) {
+            logger.error("Error finding guild configs with a player count channel", e);
+        }
+        return result;
+    }
+    
     /**
      * Find all guild configurations using isolation-aware approach
      * This method properly respects isolation boundaries
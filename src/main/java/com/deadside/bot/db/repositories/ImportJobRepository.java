@@ -0,0 +1,208 @@
+package com.deadside.bot.db.repositories;
+
+import com.deadside.bot.db.MongoDBConnection;
+import com.deadside.bot.db.models.ImportFile;
+import com.deadside.bot.db.models.ImportJob;
+import com.mongodb.ErrorCategory;
+import com.mongodb.MongoWriteException;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.Projections;
+import com.mongodb.client.model.Sorts;
+import com.mongodb.client.model.Updates;
+import org.bson.conversions.Bson;
+import org.bson.types.ObjectId;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Repository for historical import jobs and their per-file checkpoints
+ */
+public class ImportJobRepository {
+    private static final Logger logger = LoggerFactory.getLogger(ImportJobRepository.class);
+    private static final String COLLECTION_NAME = "import_jobs";
+
+    private MongoCollection<ImportJob> collection;
+
+    public ImportJobRepository() {
+        try {
+            this.collection = MongoDBConnection.getInstance().getDatabase()
+                .getCollection(COLLECTION_NAME, ImportJob.class);
+        } catch (IllegalStateException e) {
+            // This can happen during early initialization - handle gracefully
+            logger.warn("MongoDB connection not initialized yet. Usage will be deferred until initialization.");
+        }
+    }
+
+    /**
+     * Get the MongoDB collection, initializing if needed
+     */
+    private MongoCollection<ImportJob> getCollection() {
+        if (collection == null) {
+            try {
+                // Try to get the collection now that MongoDB should be initialized
+                this.collection = MongoDBConnection.getInstance().getDatabase()
+                    .getCollection(COLLECTION_NAME, ImportJob.class);
+            } catch (Exception e) {
+                logger.error("Failed to initialize import job collection", e);
+            }
+        }
+        return collection;
+    }
+
+    /**
+     * Insert a new job
+     * @return False if the server already has an unfinished job or the insert failed
+     */
+    public boolean insert(ImportJob job) {
+        if (job.getGuildId() <= 0 || job.getServerId() == null || job.getServerId().isEmpty()) {
+            logger.error("Attempted to save import job without proper isolation fields");
+            return false;
+        }
+        try {
+            getCollection().insertOne(job);
+            return true;
+        } catch (MongoWriteException e) {
+            if (e.getError().getCategory() == ErrorCategory.DUPLICATE_KEY) {
+                logger.debug("Import job already exists for guild {} server {}", job.getGuildId(), job.getServerId());
+            } else {
+                logger.error("Error inserting import job (Guild={}, Server={})", job.getGuildId(), job.getServerId(), e);
+            }
+            return false;
+        } catch (Exception e) {
+            logger.error("Error inserting import job (Guild={}, Server={})", job.getGuildId(), job.getServerId(), e);
+            return false;
+        }
+    }
+
+    /**
+     * Find the unfinished job for a server, whatever its status
+     */
+    public ImportJob findUnfinished(long guildId, String serverId) {
+        if (guildId <= 0 || serverId == null || serverId.isEmpty()) {
+            return null;
+        }
+        try {
+            return getCollection().find(Filters.eq("slot", ImportJob.slotFor(guildId, serverId))).first();
+        } catch (Exception e) {
+            logger.error("Error finding import job (Guild={}, Server={})", guildId, serverId, e);
+            return null;
+        }
+    }
+
+    /**
+     * Find the most recently created job for a server
+     */
+    public ImportJob findLatest(long guildId, String serverId) {
+        if (guildId <= 0 || serverId == null || serverId.isEmpty()) {
+            return null;
+        }
+        try {
+            return getCollection().find(Filters.and(
+                    Filters.eq("guildId", guildId),
+                    Filters.eq("serverId", serverId)))
+                .sort(Sorts.descending("createdAt"))
+                .first();
+        } catch (Exception e) {
+            logger.error("Error finding latest import job (Guild={}, Server={})", guildId, serverId, e);
+            return null;
+        }
+    }
+
+    /**
+     * Names of the files finished by a server's completed jobs
+     * Completing a job frees the server for a new one, so these must not be imported again.
+     */
+    public Set<String> findImportedFiles(long guildId, String serverId) {
+        Set<String> imported = new HashSet<>();
+        if (guildId <= 0 || serverId == null || serverId.isEmpty()) {
+            return imported;
+        }
+        try {
+            Bson filter = Filters.and(
+                Filters.eq("guildId", guildId),
+                Filters.eq("serverId", serverId),
+                Filters.eq("status", ImportJob.STATUS_COMPLETED));
+            for (ImportJob job : getCollection().find(filter).projection(Projections.include("files"))) {
+                if (job.getFiles() == null) continue;
+                for (ImportFile file : job.getFiles()) {
+                    if (file.isDone()) {
+                        imported.add(file.getName());
+                    }
+                }
+            }
+        } catch (Exception e) {
+            logger.error("Error finding imported files (Guild={}, Server={})", guildId, serverId, e);
+        }
+        return imported;
+    }
+
+    /**
+     * Find jobs with a status across all guilds, e.g. the ones a restart interrupted
+     */
+    public List<ImportJob> findByStatus(String status) {
+        try {
+            return getCollection().find(Filters.eq("status", status)).into(new ArrayList<>());
+        } catch (Exception e) {
+            logger.error("Error finding import jobs with status {}", status, e);
+            return new ArrayList<>();
+        }
+    }
+
+    /**
+     * Record the position reached in one of a job's files
+     */
+    public boolean checkpoint(ObjectId jobId, String file, long offset, long kills, boolean done) {
+        try {
+            Bson filter = Filters.and(Filters.eq("_id", jobId), Filters.eq("files.name", file));
+            Bson update = Updates.combine(
+                Updates.set("files.$.offset", offset),
+                Updates.set("files.$.kills", kills),
+                Updates.set("files.$.done", done),
+                Updates.set("updatedAt", System.currentTimeMillis())
+            );
+            return getCollection().updateOne(filter, update).getMatchedCount() > 0;
+        } catch (Exception e) {
+            logger.error("Error saving import checkpoint for job {} file {}", jobId, file, e);
+            return false;
+        }
+    }
+
+    /**
+     * Change a job's status; completing it frees the server for a new job
+     */
+    public void updateStatus(ObjectId jobId, String status, String error) {
+        try {
+            long now = System.currentTimeMillis();
+            List<Bson> updates = new ArrayList<>();
+            updates.add(Updates.set("status", status));
+            updates.add(Updates.set("error", error));
+            updates.add(Updates.set("updatedAt", now));
+            if (ImportJob.STATUS_COMPLETED.equals(status)) {
+                updates.add(Updates.set("slot", jobId.toHexString()));
+                updates.add(Updates.set("finishedAt", now));
+            }
+            getCollection().updateOne(Filters.eq("_id", jobId), Updates.combine(updates));
+        } catch (Exception e) {
+            logger.error("Error updating import job {} to {}", jobId, status, e);
+        }
+    }
+
+    /**
+     * Remember which message shows a job's progress
+     */
+    public void setProgressMessage(ObjectId jobId, long channelId, long messageId) {
+        try {
+            getCollection().updateOne(Filters.eq("_id", jobId), Updates.combine(
+                Updates.set("progressChannelId", channelId),
+                Updates.set("progressMessageId", messageId)));
+        } catch (Exception e) {
+            logger.error("Error saving progress message for import job {}", jobId, e);
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,133 @@
+package com.deadside.bot.db.repositories;
+
+import com.deadside.bot.db.MongoDBConnection;
+import com.deadside.bot.db.models.IsolationAuditResult;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.MongoDatabase;
+import com.mongodb.client.model.Aggregates;
+import com.mongodb.client.model.Facet;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.Projections;
+import com.mongodb.client.model.ReplaceOptions;
+import org.bson.Document;
+import org.bson.conversions.Bson;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Repository for isolation audit results, and the audit queries themselves
+ */
+public class IsolationAuditRepository {
+    private static final Logger logger = LoggerFactory.getLogger(IsolationAuditRepository.class);
+    private static final String COLLECTION_NAME = "isolation_audits";
+
+    /** Guild ID missing, null, zero or negative */
+    private static final Bson MISSING_GUILD = Filters.not(Filters.gt("guildId", 0));
+    /** Server ID missing, null or empty */
+    private static final Bson MISSING_SERVER = Filters.in("serverId", null, "");
+
+    private MongoCollection<IsolationAuditResult> collection;
+
+    public IsolationAuditRepository() {
+        try {
+            this.collection = MongoDBConnection.getInstance().getDatabase()
+                .getCollection(COLLECTION_NAME, IsolationAuditResult.class);
+        } catch (IllegalStateException e) {
+            // This can happen during early initialization - handle gracefully
+            logger.warn("MongoDB connection not initialized yet. Usage will be deferred until initialization.");
+        }
+    }
+
+    /**
+     * Get the MongoDB collection, initializing if needed
+     */
+    private MongoCollection<IsolationAuditResult> getCollection() {
+        if (collection == null) {
+            try {
+                // Try to get the collection now that MongoDB should be initialized
+                this.collection = MongoDBConnection.getInstance().getDatabase()
+                    .getCollection(COLLECTION_NAME, IsolationAuditResult.class);
+            } catch (Exception e) {
+                logger.error("Failed to initialize isolation audit collection", e);
+            }
+        }
+        return collection;
+    }
+
+    /**
+     * Find the last audit result for a collection
+     */
+    public IsolationAuditResult findByCollection(String auditedCollection) {
+        try {
+            return getCollection().find(Filters.eq("_id", auditedCollection)).first();
+        } catch (Exception e) {
+            logger.error("Error finding isolation audit for {}", auditedCollection, e);
+            return null;
+        }
+    }
+
+    /**
+     * Save an audit result, replacing the previous one for its collection
+     */
+    public void save(IsolationAuditResult result) {
+        try {
+            getCollection().replaceOne(Filters.eq("_id", result.getCollection()), result,
+                new ReplaceOptions().upsert(true));
+        } catch (Exception e) {
+            logger.error("Error saving isolation audit for {}", result.getCollection(), e);
+        }
+    }
+
+    /**
+     * Count documents missing their guild or server ID with one aggregation
+     * A single $facet stage counts the documents in scope and each kind of violation and
+     * takes a sample of violating IDs, so nothing but the counts leaves the database.
+     * @param auditedCollection The collection to audit
+     * @param scope Documents to check, e.g. the ones changed since the last audit
+     * @param sampleSize Maximum number of violating document IDs to return
+     * @return The counts and sample, or null if the aggregation failed
+     */
+    public IsolationAuditResult audit(String auditedCollection, Bson scope, int sampleSize) {
+        try {
+            MongoDatabase database = MongoDBConnection.getInstance().getDatabase();
+            Bson violation = Filters.or(MISSING_GUILD, MISSING_SERVER);
+            List<Bson> pipeline = Arrays.asList(
+                Aggregates.match(scope),
+                Aggregates.facet(
+                    new Facet("checked", Aggregates.count()),
+                    new Facet("missingGuild", Aggregates.match(MISSING_GUILD), Aggregates.count()),
+                    new Facet("missingServer", Aggregates.match(MISSING_SERVER), Aggregates.count()),
+                    new Facet("violations", Aggregates.match(violation), Aggregates.count()),
+                    new Facet("sample", Aggregates.match(violation), Aggregates.limit(sampleSize),
+                        Aggregates.project(Projections.include("_id"))))
+            );
+
+            Document facets = database.getCollection(auditedCollection).aggregate(pipeline).first();
+            IsolationAuditResult result = new IsolationAuditResult(auditedCollection);
+            if (facets != null) {
+                result.setChecked(facetCount(facets, "checked"));
+                result.setMissingGuild(facetCount(facets, "missingGuild"));
+                result.setMissingServer(facetCount(facets, "missingServer"));
+                result.setViolations(facetCount(facets, "violations"));
+                List<String> sampleIds = new ArrayList<>();
+                for (Document sample : facets.getList("sample", Document.class)) {
+                    sampleIds.add(String.valueOf(sample.get("_id")));
+                }
+                result.setSampleIds(sampleIds);
+            }
+            return result;
+        } catch (Exception e) {
+            logger.error("Error auditing isolation of {}", auditedCollection, e);
+            return null;
+        }
+    }
+
+    private static long facetCount(Document facets, String name) {
+        List<Document> counts = facets.getList(name, Document.class);
+        return counts == null || counts.isEmpty() ? 0 : ((Number) counts.get(0).get("count")).longValue();
+    }
+}
\ No newline at end of file
@@ -0,0 +1,116 @@
+package com.deadside.bot.db.repositories;
+
+import com.deadside.bot.db.MongoDBConnection;
+import com.deadside.bot.db.models.LeaderboardEntry;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.model.BulkWriteOptions;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.ReplaceOneModel;
+import com.mongodb.client.model.ReplaceOptions;
+import com.mongodb.client.model.WriteModel;
+import org.bson.conversions.Bson;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Repository for persisted leaderboard snapshots, one document per player per server
+ */
+public class LeaderboardRepository {
+    private static final Logger logger = LoggerFactory.getLogger(LeaderboardRepository.class);
+    private static final String COLLECTION_NAME = "leaderboards";
+
+    private MongoCollection<LeaderboardEntry> collection;
+
+    public LeaderboardRepository() {
+        try {
+            this.collection = MongoDBConnection.getInstance().getDatabase()
+                .getCollection(COLLECTION_NAME, LeaderboardEntry.class);
+        } catch (IllegalStateException e) {
+            // This can happen during early initialization - handle gracefully
+            logger.warn("MongoDB connection not initialized yet. Usage will be deferred until initialization.");
+        }
+    }
+
+    /**
+     * Get the MongoDB collection, initializing if needed
+     */
+    private MongoCollection<LeaderboardEntry> getCollection() {
+        if (collection == null) {
+            try {
+                this.collection = MongoDBConnection.getInstance().getDatabase()
+                    .getCollection(COLLECTION_NAME, LeaderboardEntry.class);
+            } catch (Exception e) {
+                logger.error("Failed to initialize leaderboard collection", e);
+            }
+        }
+        return collection;
+    }
+
+    /**
+     * Load every leaderboard entry for a server
+     */
+    public List<LeaderboardEntry> findByGuildIdAndServerId(long guildId, String serverId) {
+        try {
+            if (guildId <= 0 || serverId == null || serverId.isEmpty()) {
+                logger.warn("Attempted to load leaderboard without proper isolation fields");
+                return new ArrayList<>();
+            }
+
+            return getCollection().find(Filters.and(
+                    Filters.eq("guildId", guildId),
+                    Filters.eq("serverId", serverId)))
+                .into(new ArrayList<>());
+        } catch (Exception e) {
+            logger.error("Error loading leaderboard for guild {} and server {}", guildId, serverId, e);
+            return new ArrayList<>();
+        }
+    }
+
+    /**
+     * Insert or replace leaderboard entries in a single unordered bulk write
+     */
+    public void saveAll(Collection<LeaderboardEntry> entries) {
+        try {
+            List<WriteModel<LeaderboardEntry>> writes = new ArrayList<>(entries.size());
+            for (LeaderboardEntry entry : entries) {
+                // Ensure entry has valid isolation fields
+                if (entry.getGuildId() <= 0 || entry.getServerId() == null || entry.getServerId().isEmpty()
+                        || entry.getPlayerId() == null) {
+                    logger.error("Skipping leaderboard entry without proper isolation fields");
+                    continue;
+                }
+
+                Bson filter = Filters.and(
+                    Filters.eq("guildId", entry.getGuildId()),
+                    Filters.eq("serverId", entry.getServerId()),
+                    Filters.eq("playerId", entry.getPlayerId())
+                );
+                writes.add(new ReplaceOneModel<>(filter, entry, new ReplaceOptions().upsert(true)));
+            }
+
+            if (!writes.isEmpty()) {
+                getCollection().bulkWrite(writes, new BulkWriteOptions().ordered(false));
+                logger.debug("Saved {} leaderboard entries", writes.size());
+            }
+        } catch (Exception e) {
+            logger.error("Error saving {} leaderboard entries", entries.size(), e);
+        }
+    }
+
+    /**
+     * Remove all leaderboard entries for a server
+     */
+    public void deleteByGuildIdAndServerId(long guildId, String serverId) {
+        try {
+            getCollection().deleteMany(Filters.and(
+                Filters.eq("guildId", guildId),
+                Filters.eq("serverId", serverId)));
+        } catch (Exception e) {
+            logger.error("Error deleting leaderboard for guild {} and server {}", guildId, serverId, e);
+        }
+    }
+}
@@ -1,16 +1,32 @@
 package com.deadside.bot.db.repositories;
 
 import com.deadside.bot.db.MongoDBConnection;
+import com.deadside.bot.db.models.Currency;
+import com.deadside.bot.db.models.FactionStats;
 import com.deadside.bot.db.models.GameServer;
 import com.deadside.bot.db.models.Player;
+import com.deadside.bot.db.models.PlayerStatsDelta;
+import com.deadside.bot.db.models.WeaponStats;
+import com.deadside.bot.isolation.ServerTopology;
 import com.deadside.bot.utils.GuildIsolationManager;
+import com.mongodb.MongoBulkWriteException;
+import com.mongodb.bulk.BulkWriteResult;
+import com.mongodb.client.FindIterable;
 import com.mongodb.client.MongoCollection;
+import com.mongodb.client.model.Accumulators;
 import com.mongodb.client.model.Aggregates;
+import com.mongodb.client.model.BulkWriteOptions;
 import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.FindOneAndUpdateOptions;
 import com.mongodb.client.model.Projections;
+import com.mongodb.client.model.ReturnDocument;
 import com.mongodb.client.model.Sorts;
+import com.mongodb.client.model.UpdateOneModel;
+import com.mongodb.client.model.UpdateOptions;
 import com.mongodb.client.model.Updates;
+import com.mongodb.client.model.WriteModel;
 import com.mongodb.client.result.DeleteResult;
+import com.mongodb.client.result.UpdateResult;
 import org.bson.Document;
 import org.bson.conversions.Bson;
 import org.bson.types.ObjectId;
@@ -19,7 +35,14 @@ import org.slf4j.LoggerFactory;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 /**
  * Repository for Player collection with comprehensive isolation between guilds and servers
@@ -27,8 +50,11 @@ import java.util.List;
 public class PlayerRepository {
     private static final Logger logger = LoggerFactory.getLogger(PlayerRepository.class);
     private static final String COLLECTION_NAME = "players";
+    // Cap on cross-guild name searches, which are unbounded otherwise
+    private static final int CROSS_PARTITION_NAME_LIMIT = 25;
     
     private MongoCollection<Player> collection;
+    private final GameServerRepository gameServerRepository = new GameServerRepository();
     
     public PlayerRepository() {
         try {
@@ -84,6 +110,639 @@ public class PlayerRepository {
         }
     }
     
+    /**
+     * Apply accumulated stat deltas for a batch of kills in a single unordered bulk write
+     * Each player gets one upserting pipeline update keyed on (playerId, guildId, serverId),
+     * so counters, maps, streaks and longest kill are all resolved server-side
+     * @param deltas The per-player deltas to apply
+     * @return Number of player documents matched or inserted
+     */
+    public int applyStatDeltas(Collection<PlayerStatsDelta> deltas) {
+        if (deltas == null || deltas.isEmpty()) {
+            return 0;
+        }
+        
+        adoptNameKeyedPlayers(deltas);
+        
+        List<WriteModel<Player>> writes = new ArrayList<>(deltas.size());
+        long now = System.currentTimeMillis();
+        
+        for (PlayerStatsDelta delta : deltas) {
+            // Ensure delta has valid isolation fields
+            if (delta.getGuildId() <= 0 || delta.getServerId() == null || delta.getServerId().isEmpty()
+                    || delta.getPlayerId() == null || delta.getPlayerId().isEmpty()) {
+                logger.error("Skipping stat delta without proper isolation fields: {}", delta.getName());
+                continue;
+            }
+            
+            Bson filter = Filters.and(
+                Filters.eq("playerId", delta.getPlayerId()),
+                Filters.eq("guildId", delta.getGuildId()),
+                Filters.eq("serverId", delta.getServerId())
+            );
+            writes.add(new UpdateOneModel<>(filter, buildStatsPipeline(delta, now), new UpdateOptions().upsert(true)));
+        }
+        
+        if (writes.isEmpty()) {
+            return 0;
+        }
+        
+        try {
+            BulkWriteResult result = getCollection().bulkWrite(writes, new BulkWriteOptions().ordered(false));
+            logger.debug("Applied {} player stat deltas (matched={}, upserted={})",
+                writes.size(), result.getMatchedCount(), result.getUpserts().size());
+            return result.getMatchedCount() + result.getUpserts().size();
+        } catch (MongoBulkWriteException e) {
+            logger.error("Partial failure applying player stat deltas: {} of {} writes failed",
+                e.getWriteErrors().size(), writes.size(), e);
+            return e.getWriteResult().getMatchedCount() + e.getWriteResult().getUpserts().size();
+        } catch (Exception e) {
+            logger.error("Error applying {} player stat deltas", writes.size(), e);
+            return 0;
+        }
+    }
+    
+    /**
+     * Re-key players still saved under their name-derived ID to their Deadside ID
+     * Killfeed stats used to be saved under an ID made from the player's name. The first time
+     * such a player shows up in a batch with a real ID, their document takes that ID, so the
+     * batch's update continues their history instead of starting a second document.
+     * A player who already has documents under both IDs is left as is.
+     */
+    private void adoptNameKeyedPlayers(Collection<PlayerStatsDelta> deltas) {
+        Map<String, PlayerStatsDelta> byOldId = new HashMap<>();
+        for (PlayerStatsDelta delta : deltas) {
+            if (delta.getGuildId() <= 0 || delta.getServerId() == null || delta.getServerId().isEmpty()
+                    || delta.getPlayerId() == null || delta.getName() == null || delta.getName().isEmpty()) {
+                continue;
+            }
+            String oldId = PlayerStatsDelta.nameDerivedId(delta.getName());
+            if (!oldId.equals(delta.getPlayerId())) {
+                byOldId.put(delta.getGuildId() + ":" + delta.getServerId() + ":" + oldId, delta);
+            }
+        }
+        if (byOldId.isEmpty()) {
+            return;
+        }
+        
+        try {
+            List<Bson> candidates = new ArrayList<>();
+            for (PlayerStatsDelta delta : byOldId.values()) {
+                candidates.add(Filters.and(
+                    Filters.eq("guildId", delta.getGuildId()),
+                    Filters.eq("serverId", delta.getServerId()),
+                    Filters.in("playerId", PlayerStatsDelta.nameDerivedId(delta.getName()), delta.getPlayerId())));
+            }
+            
+            // Which of the old and new IDs already have documents
+            Map<String, ObjectId> oldDocuments = new HashMap<>();
+            Set<String> existing = new HashSet<>();
+            getCollection().find(Filters.or(candidates))
+                .projection(Projections.include("guildId", "serverId", "playerId"))
+                .forEach(player -> {
+                    String key = player.getGuildId() + ":" + player.getServerId() + ":" + player.getPlayerId();
+                    existing.add(key);
+                    if (byOldId.containsKey(key)) {
+                        oldDocuments.put(key, player.getId());
+                    }
+                });
+            
+            List<WriteModel<Player>> writes = new ArrayList<>();
+            for (Map.Entry<String, ObjectId> entry : oldDocuments.entrySet()) {
+                PlayerStatsDelta delta = byOldId.get(entry.getKey());
+                if (!existing.contains(delta.getGuildId() + ":" + delta.getServerId() + ":" + delta.getPlayerId())) {
+                    writes.add(new UpdateOneModel<>(Filters.eq("_id", entry.getValue()),
+                        Updates.set("playerId", delta.getPlayerId())));
+                }
+            }
+            if (!writes.isEmpty()) {
+                BulkWriteResult result = getCollection().bulkWrite(writes, new BulkWriteOptions().ordered(false));
+                logger.info("Moved {} players from name-derived IDs to their Deadside IDs", result.getModifiedCount());
+            }
+        } catch (Exception e) {
+            logger.error("Error re-keying name-derived player IDs", e);
+        }
+    }
+    
+    /**
+     * Add online time to players on one server in a single bulk write
+     * Sessions come from the server log, which names players but does not give their IDs,
+     * so players are matched by name. Names with no player document yet are skipped.
+     * @param secondsByName Seconds to add keyed by player name
+     * @return Number of players updated, or -1 if the write failed
+     */
+    public long addPlayTime(long guildId, String serverId, Map<String, Long> secondsByName) {
+        if (secondsByName.isEmpty()) {
+            return 0;
+        }
+        if (guildId <= 0 || serverId == null || serverId.isEmpty()) {
+            logger.error("Attempted to add play time without proper isolation fields");
+            return 0;
+        }
+        
+        List<WriteModel<Player>> writes = new ArrayList<>(secondsByName.size());
+        for (Map.Entry<String, Long> entry : secondsByName.entrySet()) {
+            writes.add(new UpdateOneModel<>(
+                Filters.and(
+                    Filters.eq("guildId", guildId),
+                    Filters.eq("serverId", serverId),
+                    Filters.eq("name", entry.getKey())
+                ),
+                Updates.inc("playTime", entry.getValue())));
+        }
+        
+        try {
+            BulkWriteResult result = getCollection().bulkWrite(writes, new BulkWriteOptions().ordered(false));
+            logger.debug("Added play time for {} of {} players (Guild={}, Server={})",
+                result.getMatchedCount(), writes.size(), guildId, serverId);
+            return result.getMatchedCount();
+        } catch (Exception e) {
+            logger.error("Error adding play time for {} players (Guild={}, Server={})",
+                writes.size(), guildId, serverId, e);
+            return -1;
+        }
+    }
+    
+    /**
+     * Take coins from a player's wallet if they have enough, e.g. to place a bet
+     * The balance check and the debit are one atomic update, so concurrent bets can never
+     * overdraw the wallet and stats written in between are not overwritten. Counts towards
+     * total spent. The player's in-memory wallet is refreshed from the stored one.
+     * @return True if the coins were taken
+     */
+    public boolean debitCoins(Player player, long amount) {
+        if (amount <= 0) {
+            return true;
+        }
+        return updateWallet(player, Filters.gte("currency.coins", amount), Updates.combine(
+            Updates.inc("currency.coins", -amount),
+            Updates.inc("currency.totalSpent", amount),
+            Updates.set("currency.lastUpdated", System.currentTimeMillis())));
+    }
+    
+    /**
+     * Add coins to a player's wallet, e.g. a payout or reward, in one atomic update
+     * Counts towards total earned. The player's in-memory wallet is refreshed from the stored one.
+     * @return True if the coins were added
+     */
+    public boolean creditCoins(Player player, long amount) {
+        if (amount <= 0) {
+            return true;
+        }
+        return updateWallet(player, null, Updates.combine(
+            Updates.inc("currency.coins", amount),
+            Updates.inc("currency.totalEarned", amount),
+            Updates.set("currency.lastUpdated", System.currentTimeMillis())));
+    }
+    
+    /**
+     * Set a player's wallet balance in one atomic update
+     * The player's in-memory wallet is refreshed from the stored one.
+     * @return True if the balance was set
+     */
+    public boolean setCoins(Player player, long amount) {
+        return updateWallet(player, null, Updates.combine(
+            Updates.set("currency.coins", amount),
+            Updates.set("currency.lastUpdated", System.currentTimeMillis())));
+    }
+    
+    /**
+     * Replace a player's wallet with an empty one in one atomic update
+     * @return True if the wallet was reset
+     */
+    public boolean resetWallet(Player player) {
+        return updateWallet(player, null, Updates.set("currency", new Currency()));
+    }
+    
+    private boolean updateWallet(Player player, Bson guard, Bson update) {
+        if (player.getId() == null) {
+            logger.error("Attempted to update the wallet of an unsaved player: {}", player.getName());
+            return false;
+        }
+        try {
+            Bson filter = guard == null
+                ? Filters.eq("_id", player.getId())
+                : Filters.and(Filters.eq("_id", player.getId()), guard);
+            Player updated = getCollection().findOneAndUpdate(filter, update, new FindOneAndUpdateOptions()
+                .projection(Projections.include("currency"))
+                .returnDocument(ReturnDocument.AFTER));
+            if (updated == null) {
+                logger.debug("Wallet update did not apply for player {} (Guild={}, Server={})",
+                    player.getName(), player.getGuildId(), player.getServerId());
+                return false;
+            }
+            player.setCurrency(updated.getCurrency());
+            return true;
+        } catch (Exception e) {
+            logger.error("Error updating wallet of player {} (Guild={}, Server={})",
+                player.getName(), player.getGuildId(), player.getServerId(), e);
+            return false;
+        }
+    }
+    
+    /**
+     * Recompute the stored K/D ratio of every player from their counters
+     * Used to backfill kdRatio on documents written before it was kept in sync.
+     * @return Number of player documents modified
+     */
+    public long recalculateKdRatios() {
+        try {
+            UpdateResult result = getCollection().updateMany(
+                new Document(),
+                Arrays.asList(new Document("$set", new Document("kdRatio", kdRatioExpression())))
+            );
+            logger.info("Recalculated K/D ratio for {} of {} players",
+                result.getModifiedCount(), result.getMatchedCount());
+            return result.getModifiedCount();
+        } catch (Exception e) {
+            logger.error("Error recalculating player K/D ratios", e);
+            return -1;
+        }
+    }
+    
+    /**
+     * Roll up member count, kills and deaths for every faction in a guild
+     * Groups the guild's players on factionId server-side, so the result is one small
+     * document per faction instead of every member.
+     * @param guildId The guild ID for isolation
+     * @return Stats for each faction that has at least one member
+     */
+    public List<FactionStats> aggregateFactionStats(long guildId) {
+        if (guildId <= 0) {
+            logger.warn("Attempted to aggregate faction stats without proper isolation fields");
+            return new ArrayList<>();
+        }
+        return aggregateFactionStats(Filters.and(
+            Filters.eq("guildId", guildId),
+            Filters.ne("factionId", null)
+        ), "guild " + guildId);
+    }
+    
+    /**
+     * Roll up member count, kills and deaths for one faction
+     * @param guildId The guild ID for isolation
+     * @param factionId The faction
+     * @return The faction's stats, or null if it has no members or the aggregation failed
+     */
+    public FactionStats aggregateFactionStats(long guildId, ObjectId factionId) {
+        if (guildId <= 0 || factionId == null) {
+            logger.warn("Attempted to aggregate faction stats without proper isolation fields");
+            return null;
+        }
+        List<FactionStats> stats = aggregateFactionStats(Filters.and(
+            Filters.eq("guildId", guildId),
+            Filters.eq("factionId", factionId)
+        ), "faction " + factionId);
+        return stats.isEmpty() ? null : stats.get(0);
+    }
+    
+    private List<FactionStats> aggregateFactionStats(Bson match, String scope) {
+        try {
+            List<Bson> pipeline = Arrays.asList(
+                Aggregates.match(match),
+                Aggregates.group("$factionId",
+                    Accumulators.sum("memberCount", 1),
+                    Accumulators.sum("totalKills", "$kills"),
+                    Accumulators.sum("totalDeaths", "$deaths"))
+            );
+            return getCollection().aggregate(pipeline, FactionStats.class).into(new ArrayList<>());
+        } catch (Exception e) {
+            logger.error("Error aggregating faction stats for {}", scope, e);
+            return new ArrayList<>();
+        }
+    }
+    
+    /**
+     * Look up the factions of a set of players on one server
+     * @param guildId The guild ID for isolation
+     * @param serverId The server ID for isolation
+     * @param playerIds The players' game IDs
+     * @return Faction ID keyed by player ID, for the players that are in a faction
+     */
+    public Map<String, ObjectId> findFactionIds(long guildId, String serverId, Collection<String> playerIds) {
+        Map<String, ObjectId> factionIds = new HashMap<>();
+        if (guildId <= 0 || serverId == null || serverId.isEmpty() || playerIds.isEmpty()) {
+            return factionIds;
+        }
+        try {
+            getCollection().find(Filters.and(
+                    Filters.eq("guildId", guildId),
+                    Filters.eq("serverId", serverId),
+                    Filters.in("playerId", playerIds),
+                    Filters.ne("factionId", null)))
+                .projection(Projections.include("playerId", "factionId"))
+                .forEach(player -> factionIds.put(player.getPlayerId(), player.getFactionId()));
+        } catch (Exception e) {
+            logger.error("Error finding faction IDs for {} players (Guild={}, Server={})",
+                playerIds.size(), guildId, serverId, e);
+        }
+        return factionIds;
+    }
+    
+    /**
+     * Find the faction of every faction member on a server
+     * @param guildId The guild ID for isolation
+     * @param serverId The server ID for isolation
+     * @return Faction IDs by Deadside player ID
+     */
+    public Map<String, ObjectId> findFactionMembers(long guildId, String serverId) {
+        Map<String, ObjectId> factionIds = new HashMap<>();
+        if (guildId <= 0 || serverId == null || serverId.isEmpty()) {
+            return factionIds;
+        }
+        try {
+            getCollection().find(Filters.and(
+                    Filters.eq("guildId", guildId),
+                    Filters.eq("serverId", serverId),
+                    Filters.ne("factionId", null)))
+                .projection(Projections.include("playerId", "factionId"))
+                .forEach(player -> factionIds.put(player.getPlayerId(), player.getFactionId()));
+        } catch (Exception e) {
+            logger.error("Error finding faction members (Guild={}, Server={})", guildId, serverId, e);
+        }
+        return factionIds;
+    }
+    
+    /**
+     * Aggregate weapon kills across all players on one server
+     * Unwinds each player's weaponKills map server-side and groups by weapon, keeping
+     * the player with the most kills as the weapon's top user.
+     * @param guildId The guild ID for isolation
+     * @param serverId The server ID for isolation
+     * @return Stats per weapon, most kills first
+     */
+    public List<WeaponStats> aggregateWeaponStats(long guildId, String serverId) {
+        try {
+            if (guildId <= 0 || serverId == null || serverId.isEmpty()) {
+                logger.warn("Attempted to aggregate weapon stats without proper isolation fields");
+                return new ArrayList<>();
+            }
+            
+            List<Bson> pipeline = Arrays.asList(
+                Aggregates.match(Filters.and(
+                    Filters.eq("guildId", guildId),
+                    Filters.eq("serverId", serverId),
+                    Filters.gt("kills", 0)
+                )),
+                Aggregates.project(new Document("_id", 0)
+                    .append("name", 1)
+                    .append("weapon", new Document("$objectToArray", new Document("$ifNull", Arrays.asList("$weaponKills", new Document()))))),
+                Aggregates.unwind("$weapon"),
+                Aggregates.match(Filters.gt("weapon.v", 0)),
+                // Highest per-player count first so $first picks each weapon's top user
+                Aggregates.sort(Sorts.descending("weapon.v")),
+                Aggregates.group("$weapon.k",
+                    Accumulators.sum("kills", "$weapon.v"),
+                    Accumulators.sum("users", 1),
+                    Accumulators.first("topPlayer", "$name"),
+                    Accumulators.first("topPlayerKills", "$weapon.v")),
+                Aggregates.project(new Document("_id", 0)
+                    .append("weapon", "$_id")
+                    .append("kills", 1)
+                    .append("users", 1)
+                    .append("topPlayer", 1)
+                    .append("topPlayerKills", 1)),
+                Aggregates.sort(Sorts.orderBy(Sorts.descending("kills"), Sorts.ascending("weapon")))
+            );
+            
+            return getCollection().aggregate(pipeline, WeaponStats.class).allowDiskUse(true).into(new ArrayList<>());
+        } catch (Exception e) {
+            logger.error("Error aggregating weapon stats for guild {} and server {}", guildId, serverId, e);
+            return new ArrayList<>();
+        }
+    }
+    
+    /**
+     * Load the ID, name and last update time of every player on one server
+     * Used to build the in-memory player name index.
+     * @return The players, or null if the query failed so the caller can retry
+     */
+    public List<Player> findPlayerNames(long guildId, String serverId) {
+        try {
+            if (guildId <= 0 || serverId == null || serverId.isEmpty()) {
+                logger.warn("Attempted to load player names without proper isolation fields");
+                return new ArrayList<>();
+            }
+            
+            return getCollection().find(Filters.and(
+                    Filters.eq("guildId", guildId),
+                    Filters.eq("serverId", serverId)))
+                .projection(Projections.include("playerId", "name", "lastUpdated"))
+                .into(new ArrayList<>());
+        } catch (Exception e) {
+            logger.error("Error loading player names for guild {} and server {}", guildId, serverId, e);
+            return null;
+        }
+    }
+    
+    /**
+     * Load the leaderboard fields of the given players on one server
+     * @param guildId The guild ID for isolation
+     * @param serverId The server ID for isolation
+     * @param playerIds The players to load, or null for every player on the server
+     * @return Players with only the fields needed for leaderboards populated
+     */
+    public List<Player> findLeaderboardStats(long guildId, String serverId, Collection<String> playerIds) {
+        try {
+            if (guildId <= 0 || serverId == null || serverId.isEmpty()) {
+                logger.warn("Attempted to load leaderboard stats without proper isolation fields");
+                return new ArrayList<>();
+            }
+            
+            Bson filter = Filters.and(
+                Filters.eq("guildId", guildId),
+                Filters.eq("serverId", serverId)
+            );
+            if (playerIds != null) {
+                filter = Filters.and(filter, Filters.in("playerId", playerIds));
+            }
+            
+            return getCollection().find(filter)
+                .projection(Projections.include(
+                    "playerId", "guildId", "serverId", "name", "kills", "deaths", "suicides", "scoreValue",
+                    "killedByMost", "longestKillDistance", "longestKillVictim", "longestKillWeapon",
+                    "longestKillStreak", "currentKillStreak"))
+                .into(new ArrayList<>());
+        } catch (Exception e) {
+            logger.error("Error loading leaderboard stats for guild {} and server {}", guildId, serverId, e);
+            return new ArrayList<>();
+        }
+    }
+    
+    /**
+     * Build the update pipeline that merges a delta into a player document
+     */
+    private List<Bson> buildStatsPipeline(PlayerStatsDelta delta, long now) {
+        Document set = new Document()
+            .append("name", new Document("$literal", delta.getName()))
+            .append("kills", addTo("$kills", delta.getKills()))
+            .append("deaths", addTo("$deaths", delta.getDeaths()))
+            .append("suicides", addTo("$suicides", delta.getSuicides()))
+            .append("lastUpdated", now);
+        
+        // Kills before the first death extend the stored streak; a death in the batch
+        // replaces it with the kills made after the last death
+        Document extendedStreak = addTo("$currentKillStreak", delta.getLeadingKills());
+        set.append("longestKillStreak", new Document("$max", Arrays.asList(
+            new Document("$ifNull", Arrays.asList("$longestKillStreak", 0)),
+            extendedStreak,
+            delta.getBestRun())));
+        set.append("currentKillStreak", delta.hasDied() ? delta.getTrailingKills() : extendedStreak);
+        
+        if (delta.getLongestKillDistance() > 0) {
+            Document isLonger = new Document("$gt", Arrays.asList(
+                delta.getLongestKillDistance(),
+                new Document("$ifNull", Arrays.asList("$longestKillDistance", 0))));
+            set.append("longestKillDistance", cond(isLonger, delta.getLongestKillDistance(), "$longestKillDistance"));
+            set.append("longestKillVictim", cond(isLonger, new Document("$literal", delta.getLongestKillVictim()), "$longestKillVictim"));
+            set.append("longestKillWeapon", cond(isLonger, new Document("$literal", delta.getLongestKillWeapon()), "$longestKillWeapon"));
+        }
+        
+        if (!delta.getWeaponKills().isEmpty()) {
+            set.append("weaponKills", mergeCounts("weaponKills", delta.getWeaponKills()));
+        }
+        if (!delta.getPlayerMatchups().isEmpty()) {
+            set.append("playerMatchups", mergeCounts("playerMatchups", delta.getPlayerMatchups()));
+        }
+        if (!delta.getKillerMatchups().isEmpty()) {
+            set.append("killerMatchups", mergeCounts("killerMatchups", delta.getKillerMatchups()));
+        }
+        
+        List<Bson> pipeline = new ArrayList<>();
+        pipeline.add(new Document("$set", set));
+        
+        // Recompute the derived fields from the merged counters and maps
+        Document derived = new Document("kdRatio", kdRatioExpression());
+        if (!delta.getWeaponKills().isEmpty()) {
+            derived.append("mostUsedWeapon", topEntry("weaponKills", "k"));
+            derived.append("mostUsedWeaponKills", topEntry("weaponKills", "v"));
+        }
+        if (!delta.getPlayerMatchups().isEmpty()) {
+            derived.append("mostKilledPlayer", topEntry("playerMatchups", "k"));
+            derived.append("mostKilledPlayerCount", topEntry("playerMatchups", "v"));
+        }
+        if (!delta.getKillerMatchups().isEmpty()) {
+            // Documents from before killerMatchups keep their stored value until the map overtakes it
+            Document overtakes = new Document("$gt", Arrays.asList(
+                topEntry("killerMatchups", "v"),
+                new Document("$ifNull", Arrays.asList("$killedByMostCount", 0))));
+            derived.append("killedByMost", cond(overtakes, topEntry("killerMatchups", "k"), "$killedByMost"));
+            derived.append("killedByMostCount", cond(overtakes, topEntry("killerMatchups", "v"), "$killedByMostCount"));
+        }
+        pipeline.add(new Document("$set", derived));
+        
+        return pipeline;
+    }
+    
+    /**
+     * Update pipeline that adds to one counter and recomputes the stored K/D ratio
+     */
+    private static List<Bson> incrementPipeline(String field, int amount) {
+        return Arrays.asList(
+            new Document("$set", new Document(field, addTo("$" + field, amount))),
+            new Document("$set", new Document("kdRatio", kdRatioExpression())));
+    }
+    
+    /**
+     * K/D ratio excluding suicides from deaths, computed from the document's counters
+     * Mirrors Player#getKdRatio so stored and in-memory ratios agree.
+     */
+    private static Document kdRatioExpression() {
+        Document kills = new Document("$ifNull", Arrays.asList("$kills", 0));
+        Document regularDeaths = new Document("$subtract", Arrays.asList(
+            new Document("$ifNull", Arrays.asList("$deaths", 0)),
+            new Document("$ifNull", Arrays.asList("$suicides", 0))));
+        return new Document("$toDouble", cond(
+            new Document("$gt", Arrays.asList(regularDeaths, 0)),
+            new Document("$divide", Arrays.asList(kills, regularDeaths)),
+            kills));
+    }
+    
+    private static Document addTo(String field, int amount) {
+        return new Document("$add", Arrays.asList(new Document("$ifNull", Arrays.asList(field, 0)), amount));
+    }
+    
+    private static Document cond(Object condition, Object then, Object otherwise) {
+        return new Document("$cond", Arrays.asList(condition, then, otherwise));
+    }
+    
+    /**
+     * Run one find over every partition matched by a topology scope
+     * Results are checked against the registered partitions before they are returned.
+     * @param scope Filter from {@link ServerTopology}; null means no servers are registered
+     * @param sort Sort order, or null
+     * @param limit Maximum results, or 0 for no limit
+     */
+    private List<Player> findAcrossPartitions(Bson scope, Bson filter, Bson sort, int limit) {
+        if (scope == null) {
+            return new ArrayList<>();
+        }
+        FindIterable<Player> find = getCollection().find(Filters.and(scope, filter));
+        if (sort != null) {
+            find = find.sort(sort);
+        }
+        if (limit > 0) {
+            find = find.limit(limit);
+        }
+        return ServerTopology.getInstance().retainScoped(find.into(new ArrayList<>()),
+            Player::getGuildId, Player::getServerId);
+    }
+    
+    /**
+     * Run one updateMany over every registered partition
+     * @return Number of documents modified
+     */
+    private long updateAcrossPartitions(Bson filter, List<Bson> update) {
+        Bson scope = ServerTopology.getInstance().scopeFilter();
+        if (scope == null) {
+            return 0;
+        }
+        return getCollection().updateMany(Filters.and(scope, filter), update).getModifiedCount();
+    }
+    
+    /**
+     * Merge counter increments into an embedded map field
+     */
+    private static Document mergeCounts(String field, Map<String, Integer> increments) {
+        // Names that sanitize to the same key share one counter
+        Map<String, Integer> byKey = new LinkedHashMap<>();
+        for (Map.Entry<String, Integer> entry : increments.entrySet()) {
+            byKey.merge(toFieldKey(entry.getKey()), entry.getValue(), Integer::sum);
+        }
+        
+        Document merged = new Document();
+        for (Map.Entry<String, Integer> entry : byKey.entrySet()) {
+            merged.append(entry.getKey(), addTo("$" + field + "." + entry.getKey(), entry.getValue()));
+        }
+        return new Document("$mergeObjects", Arrays.asList(
+            new Document("$ifNull", Arrays.asList("$" + field, new Document())),
+            merged));
+    }
+    
+    /**
+     * Select the key or value of the largest entry in an embedded map field
+     */
+    private static Document topEntry(String field, String part) {
+        Document top = new Document("$reduce", new Document()
+            .append("input", new Document("$objectToArray", "$" + field))
+            .append("initialValue", new Document("k", "").append("v", 0))
+            .append("in", cond(new Document("$gt", Arrays.asList("$$this.v", "$$value.v")), "$$this", "$$value")));
+        return new Document("$let", new Document()
+            .append("vars", new Document("top", top))
+            .append("in", "$$top." + part));
+    }
+    
+    /**
+     * Make a weapon or player name safe to use as an embedded field name in an update path
+     */
+    private static String toFieldKey(String name) {
+        String key = name.replace('.', '_');
+        while (key.startsWith("$")) {
+            key = key.substring(1);
+        }
+        return key.isEmpty() ? "_" : key;
+    }
+    
     /**
      * Find a player by player ID with guild and server isolation
      */
@@ -627,8 +1286,7 @@ public class PlayerRepository {
             }
             
             // Get GameServer to check if it's in read-only or disabled mode
-            GameServerRepository serverRepo = new GameServerRepository();
-            GameServer server = serverRepo.findByGuildIdAndServerId(guildId, serverId);
+            GameServer server = gameServerRepository.findCachedByGuildIdAndServerId(guildId, serverId);
             
             if (server != null && (server.isReadOnly() || "disabled".equalsIgnoreCase(server.getIsolationMode()))) {
                 logger.info("Server {} is in {} mode - returning empty leaderboard as expected",
@@ -636,29 +1294,17 @@ public class PlayerRepository {
                 return new ArrayList<>();
             }
             
-            // Create a pipeline to calculate KD ratio and sort by it
-            List<Bson> pipeline = Arrays.asList(
-                Aggregates.match(Filters.and(
+            // Range scan on the stored ratio via the (guildId, serverId, kdRatio) index
+            return getCollection().find(Filters.and(
                     Filters.eq("guildId", guildId),
                     Filters.eq("serverId", serverId),
-                    Filters.gt("kills", 0)
-                )),
-                Aggregates.project(Projections.fields(
-                    Projections.include("_id", "name", "kills", "deaths", "deadsideId", "lastSeen", "guildId", "serverId"),
-                    Projections.computed("kdRatio", new Document("$cond", 
-                        new Document("if", new Document("$eq", Arrays.asList("$deaths", 0)))
-                            .append("then", "$kills")
-                            .append("else", new Document("$divide", Arrays.asList("$kills", "$deaths")))
-                    ))
-                )),
-                Aggregates.sort(Sorts.descending("kdRatio")),
-                Aggregates.limit(limit)
-            );
-            
-            List<Player> topPlayers = new ArrayList<>();
-            getCollection().aggregate(pipeline, Player.class).into(topPlayers);
-            
-            return topPlayers;
+                    Filters.gt("kills", 0)))
+                .projection(Projections.include(
+                    "_id", "playerId", "name", "kills", "deaths", "suicides", "kdRatio",
+                    "deadsideId", "lastSeen", "guildId", "serverId"))
+                .sort(Sorts.descending("kdRatio"))
+                .limit(limit)
+                .into(new ArrayList<>());
         } catch (Exception e) {
             logger.error("Error getting top players by KD ratio with isolation", e);
             return new ArrayList<>();
@@ -877,7 +1523,7 @@ public class PlayerRepository {
                     Filters.eq("guildId", guildId),
                     Filters.eq("serverId", serverId)
                 ),
-                Updates.inc("kills", 1)
+                incrementPipeline("kills", 1)
             );
             logger.debug("Incremented kills for player ID: {} with isolation (Guild={}, Server={})",
                 playerId, guildId, serverId);
@@ -887,68 +1533,21 @@ public class PlayerRepository {
     }
     
     /**
-     * Legacy method for backward compatibility
-     * WARNING: This method does not respect isolation boundaries and may lead to data leakage
+     * Increment kills for a player on every registered server they play on
+     * Issues one update scoped to the registered guild/server partitions.
+     * @param playerId The player ID to increment kills for
      */
     public void incrementKills(String playerId) {
-        if (playerId == null || playerId.isEmpty()) {
-            logger.error("Cannot increment kills for player with null or empty ID");
-            return;
-        }
-        
-        try {
-            // Get distinct guild IDs to maintain isolation boundaries
-            List<Long> distinctGuildIds = getDistinctGuildIds();
-            boolean playerUpdated = false;
-            
-            // Process each guild with proper isolation context
-            for (Long guildId : distinctGuildIds) {
-                if (guildId == null || guildId <= 0) continue;
-                
-                // Set isolation context for this guild
-                GuildIsolationManager.getInstance().setContext(guildId, null);
-                
-                try {
-                    // Get all servers for this guild to maintain proper isolation
-                    GameServerRepository gameServerRepo = new GameServerRepository();
-                    List<com.deadside.bot.db.models.GameServer> servers = gameServerRepo.findAllByGuildId(guildId);
-                    
-                    // Process each server with proper isolation
-                    for (com.deadside.bot.db.models.GameServer server : servers) {
-                        if (server == null || server.getServerId() == null) continue;
-                        
-                        // Set server context for detailed isolation
-                        GuildIsolationManager.getInstance().setContext(guildId, server.getServerId());
-                        
-                        try {
-                            // Update the player kills with proper isolation
-                            Bson filter = Filters.and(
-                                Filters.eq("playerId", playerId),
-                                Filters.eq("guildId", guildId),
-                                Filters.eq("serverId", server.getServerId())
-                            );
-                            
-                            // Use the isolated version to increment kills
-                            incrementKills(playerId, guildId, server.getServerId());
-                            playerUpdated = true;
-                            logger.debug("Incremented kills for player ID {} in guild {} and server {} using isolation-aware approach", 
-                                playerId, guildId, server.getServerId());
-                        } finally {
-                            // Reset to guild-level context
-                            GuildIsolationManager.getInstance().setContext(guildId, null);
-                        }
-                    }
-                } finally {
-                    // Always clear context when done
-                    GuildIsolationManager.getInstance().clearContext();
-                }
-            }
-            
-            if (!playerUpdated) {
-                logger.debug("No player found with ID {} in any guild to increment kills using isolation-aware approach", playerId);
-            }
+        if (playerId == null || playerId.isEmpty()) {
+            logger.error("Cannot increment kills for player with null or empty ID");
+            return;
+        }
+        
+        try {
+            long updated = updateAcrossPartitions(Filters.eq("playerId", playerId), incrementPipeline("kills", 1));
+            logger.debug("Incremented kills for player ID {} on {} servers", playerId, updated);
         } catch (Exception e) {
-            logger.error("Error incrementing kills for player ID: {} using isolation-aware approach", playerId, e);
+            logger.error("Error incrementing kills for player ID: {} across servers", playerId, e);
         }
     }
     
@@ -963,7 +1562,7 @@ public class PlayerRepository {
                     Filters.eq("guildId", guildId),
                     Filters.eq("serverId", serverId)
                 ),
-                Updates.inc("deaths", 1)
+                incrementPipeline("deaths", 1)
             );
             logger.debug("Incremented deaths for player ID: {} with isolation (Guild={}, Server={})",
                 playerId, guildId, serverId);
@@ -973,8 +1572,8 @@ public class PlayerRepository {
     }
     
     /**
-     * Increment deaths for a player using isolation-aware approach
-     * This method properly respects isolation boundaries
+     * Increment deaths for a player on every registered server they play on
+     * Issues one update scoped to the registered guild/server partitions.
      * @param playerId The player ID to increment deaths for
      */
     public void incrementDeaths(String playerId) {
@@ -984,51 +1583,10 @@ public class PlayerRepository {
         }
         
         try {
-            // Get distinct guild IDs to maintain isolation boundaries
-            List<Long> distinctGuildIds = getDistinctGuildIds();
-            boolean playerUpdated = false;
-            
-            // Process each guild with proper isolation context
-            for (Long guildId : distinctGuildIds) {
-                if (guildId == null || guildId <= 0) continue;
-                
-                // Set isolation context for this guild
-                GuildIsolationManager.getInstance().setContext(guildId, null);
-                
-                try {
-                    // Get all servers for this guild to maintain proper isolation
-                    GameServerRepository gameServerRepo = new GameServerRepository();
-                    List<com.deadside.bot.db.models.GameServer> servers = gameServerRepo.findAllByGuildId(guildId);
-                    
-                    // Process each server with proper isolation
-                    for (com.deadside.bot.db.models.GameServer server : servers) {
-                        if (server == null || server.getServerId() == null) continue;
-                        
-                        // Set server context for detailed isolation
-                        GuildIsolationManager.getInstance().setContext(guildId, server.getServerId());
-                        
-                        try {
-                            // Use the isolated version to increment deaths
-                            incrementDeaths(playerId, guildId, server.getServerId());
-                            playerUpdated = true;
-                            logger.debug("Incremented deaths for player ID {} in guild {} and server {} using isolation-aware approach", 
-                                playerId, guildId, server.getServerId());
-                        } finally {
-                            // Reset to guild-level context
-                            GuildIsolationManager.getInstance().setContext(guildId, null);
-                        }
-                    }
-                } finally {
-                    // Always clear context when done
-                    GuildIsolationManager.getInstance().clearContext();
-                }
-            }
-            
-            if (!playerUpdated) {
-                logger.debug("No player found with ID {} in any guild to increment deaths using isolation-aware approach", playerId);
-            }
+            long updated = updateAcrossPartitions(Filters.eq("playerId", playerId), incrementPipeline("deaths", 1));
+            logger.debug("Incremented deaths for player ID {} on {} servers", playerId, updated);
         } catch (Exception e) {
-            logger.error("Error incrementing deaths for player ID: {} using isolation-aware approach", playerId, e);
+            logger.error("Error incrementing deaths for player ID: {} across servers", playerId, e);
         }
     }
     
@@ -1049,8 +1607,7 @@ public class PlayerRepository {
             }
             
             // Get GameServer to check if it has restricted isolation
-            GameServerRepository serverRepo = new GameServerRepository();
-            GameServer server = serverRepo.findByGuildIdAndServerId(guildId, serverId);
+            GameServer server = gameServerRepository.findCachedByGuildIdAndServerId(guildId, serverId);
             
             if (server != null && server.hasRestrictedIsolation()) {
                 // Use consistent isolation mode naming
@@ -1087,14 +1644,10 @@ public class PlayerRepository {
     }
     
     /**
-     * Legacy method to get top players by kills
-     * WARNING: This has been updated to enforce isolation with default parameters
-     */
-    /**
-     * Get top players by kills using isolation-aware approach
-     * This method properly respects isolation boundaries across all guilds and servers
+     * Get top players by kills in the current isolation context, or across every
+     * registered server without restricted isolation when no context is set
      * @param limit Maximum number of players to return
-     * @return List of players with highest kill counts with proper isolation boundaries respected
+     * @return List of players with highest kill counts
      */
     public List<Player> getTopPlayersByKills(int limit) {
         try {
@@ -1106,60 +1659,20 @@ public class PlayerRepository {
                 return getTopPlayersByKills(currentContext.getGuildId(), currentContext.getServerId(), limit);
             }
             
-            // If we're here, we need to implement proper cross-guild isolation
-            List<Player> topPlayersCombined = new ArrayList<>();
-            
-            // Get distinct guild IDs to maintain isolation boundaries
-            List<Long> distinctGuildIds = getDistinctGuildIds();
-            
-            // Process each guild with proper isolation context
-            for (Long guildId : distinctGuildIds) {
-                if (guildId == null || guildId <= 0) continue;
-                
-                // Set isolation context for this guild
-                GuildIsolationManager.getInstance().setContext(guildId, null);
-                
-                try {
-                    // Get all servers for this guild to maintain proper isolation
-                    GameServerRepository gameServerRepo = new GameServerRepository();
-                    List<com.deadside.bot.db.models.GameServer> servers = gameServerRepo.findAllByGuildId(guildId);
-                    
-                    // Process each server with proper isolation
-                    for (com.deadside.bot.db.models.GameServer server : servers) {
-                        if (server == null || server.getServerId() == null) continue;
-                        
-                        // Set server context for detailed isolation
-                        GuildIsolationManager.getInstance().setContext(guildId, server.getServerId());
-                        
-                        try {
-                            // Get top players for this server with proper isolation
-                            List<Player> serverTopPlayers = getTopPlayersByKills(guildId, server.getServerId(), limit);
-                            topPlayersCombined.addAll(serverTopPlayers);
-                            
-                            logger.debug("Found {} top players by kills for guild {} and server {} using isolation-aware approach", 
-                                serverTopPlayers.size(), guildId, server.getServerId());
-                        } finally {
-                            // Reset to guild-level context
-                            GuildIsolationManager.getInstance().setContext(guildId, null);
-                        }
-                    }
-                } finally {
-                    // Always clear context when done
-                    GuildIsolationManager.getInstance().clearContext();
-                }
-            }
-            
-            // Sort the combined list and limit to requested size
-            topPlayersCombined.sort((p1, p2) -> Integer.compare(p2.getKills(), p1.getKills()));
-            if (topPlayersCombined.size() > limit) {
-                topPlayersCombined = topPlayersCombined.subList(0, limit);
-            }
+            // One query over all partitions, sorted and limited by the server
+            Bson validPlayerFilter = Filters.and(
+                Filters.exists("name"),
+                Filters.ne("name", ""),
+                Filters.ne("name", "**"),
+                Filters.gte("kills", 1)
+            );
+            List<Player> topPlayers = findAcrossPartitions(ServerTopology.getInstance().unrestrictedScopeFilter(),
+                validPlayerFilter, Sorts.descending("kills"), limit);
             
-            logger.debug("Retrieved {} top players by kills across all guilds using isolation-aware approach", 
-                topPlayersCombined.size());
-            return topPlayersCombined;
+            logger.debug("Retrieved {} top players by kills across all guilds", topPlayers.size());
+            return topPlayers;
         } catch (Exception e) {
-            logger.error("Error getting top players by kills using isolation-aware approach", e);
+            logger.error("Error getting top players by kills across all guilds", e);
             return new ArrayList<>();
         }
     }
@@ -1186,8 +1699,7 @@ public class PlayerRepository {
             }
             
             // Get GameServer to check if it has restricted isolation
-            GameServerRepository serverRepo = new GameServerRepository();
-            GameServer server = serverRepo.findByGuildIdAndServerId(guildId, serverId);
+            GameServer server = gameServerRepository.findCachedByGuildIdAndServerId(guildId, serverId);
             
             if (server != null && server.hasRestrictedIsolation()) {
                 // Use consistent isolation mode naming
@@ -1213,13 +1725,9 @@ public class PlayerRepository {
                 Filters.eq("serverId", serverId)   // Must be from specified server
             );
             
-            // Use aggregation to calculate KD ratio - since divisions by zero need special handling
+            // Sort on the stored ratio so the (guildId, serverId, kdRatio) index serves the order
             return getCollection().find(validPlayerFilter)
-                .sort(Sorts.orderBy(
-                    // Formula: kills / (deaths == 0 ? 1 : deaths)
-                    Sorts.descending("kills"),
-                    Sorts.ascending("deaths")
-                ))
+                .sort(Sorts.descending("kdRatio"))
                 .limit(limit)
                 .into(new ArrayList<>());
         } catch (Exception e) {
@@ -1329,8 +1837,7 @@ public class PlayerRepository {
             }
             
             // Get GameServer to check if it has restricted isolation
-            GameServerRepository serverRepo = new GameServerRepository();
-            GameServer server = serverRepo.findByGuildIdAndServerId(guildId, serverId);
+            GameServer server = gameServerRepository.findCachedByGuildIdAndServerId(guildId, serverId);
             
             if (server != null && server.hasRestrictedIsolation()) {
                 // Use consistent isolation mode naming
@@ -1460,8 +1967,7 @@ public class PlayerRepository {
             }
             
             // Get GameServer to check if it has restricted isolation
-            GameServerRepository serverRepo = new GameServerRepository();
-            GameServer server = serverRepo.findByGuildIdAndServerId(guildId, serverId);
+            GameServer server = gameServerRepository.findCachedByGuildIdAndServerId(guildId, serverId);
             
             if (server != null && server.hasRestrictedIsolation()) {
                 // Use consistent isolation mode naming
@@ -1592,8 +2098,7 @@ public class PlayerRepository {
             }
             
             // Get GameServer to check if it has restricted isolation
-            GameServerRepository serverRepo = new GameServerRepository();
-            GameServer server = serverRepo.findByGuildIdAndServerId(guildId, serverId);
+            GameServer server = gameServerRepository.findCachedByGuildIdAndServerId(guildId, serverId);
             
             if (server != null && server.hasRestrictedIsolation()) {
                 // Use consistent isolation mode naming
@@ -1726,8 +2231,8 @@ public class PlayerRepository {
     }
     
     /**
-     * Increment kill streak for a player using isolation-aware approach
-     * This method properly respects isolation boundaries
+     * Increment kill streak for a player on every registered server they play on
+     * Issues one update scoped to the registered guild/server partitions.
      * @param playerId The player ID to increment kill streak for
      */
     public void incrementKillStreak(String playerId) {
@@ -1737,55 +2242,17 @@ public class PlayerRepository {
         }
         
         try {
-            // Get distinct guild IDs to maintain isolation boundaries
-            List<Long> distinctGuildIds = getDistinctGuildIds();
-            boolean playerUpdated = false;
-            
-            // Process each guild with proper isolation context
-            for (Long guildId : distinctGuildIds) {
-                if (guildId == null || guildId <= 0) continue;
-                
-                // Set isolation context for this guild
-                GuildIsolationManager.getInstance().setContext(guildId, null);
-                
-                try {
-                    // Get all servers for this guild to maintain proper isolation
-                    GameServerRepository gameServerRepo = new GameServerRepository();
-                    List<com.deadside.bot.db.models.GameServer> servers = gameServerRepo.findAllByGuildId(guildId);
-                    
-                    // Process each server with proper isolation
-                    for (com.deadside.bot.db.models.GameServer server : servers) {
-                        if (server == null || server.getServerId() == null) continue;
-                        
-                        // Set server context for detailed isolation
-                        GuildIsolationManager.getInstance().setContext(guildId, server.getServerId());
-                        
-                        try {
-                            // Find player with proper isolation
-                            Player player = findByPlayerIdAndGuildIdAndServerId(playerId, guildId, server.getServerId());
-                            if (player != null) {
-                                // Use existing method to increment kill streak with proper isolation
-                                incrementKillStreak(playerId, guildId, server.getServerId());
-                                playerUpdated = true;
-                                logger.debug("Incremented kill streak for player ID {} in guild {} and server {} using isolation-aware approach", 
-                                    playerId, guildId, server.getServerId());
-                            }
-                        } finally {
-                            // Reset to guild-level context
-                            GuildIsolationManager.getInstance().setContext(guildId, null);
-                        }
-                    }
-                } finally {
-                    // Always clear context when done
-                    GuildIsolationManager.getInstance().clearContext();
-                }
-            }
-            
-            if (!playerUpdated) {
-                logger.debug("No player found with ID {} in any guild to increment kill streak using isolation-aware approach", playerId);
-            }
+            // Same rules as Player.incrementKillStreak(): bump the current streak, raise the longest to match
+            List<Bson> update = Arrays.asList(
+                new Document("$set", new Document("currentKillStreak", addTo("$currentKillStreak", 1))
+                    .append("lastUpdated", System.currentTimeMillis())),
+                new Document("$set", new Document("longestKillStreak",
+                    new Document("$max", Arrays.asList("$longestKillStreak", "$currentKillStreak"))))
+            );
+            long updated = updateAcrossPartitions(Filters.eq("playerId", playerId), update);
+            logger.debug("Incremented kill streak for player ID {} on {} servers", playerId, updated);
         } catch (Exception e) {
-            logger.error("Error incrementing kill streak for player ID: {} using isolation-aware approach", playerId, e);
+            logger.error("Error incrementing kill streak for player ID: {} across servers", playerId, e);
         }
     }
     
@@ -1807,8 +2274,8 @@ public class PlayerRepository {
     }
     
     /**
-     * Reset kill streak for a player using isolation-aware approach
-     * This method properly respects isolation boundaries
+     * Reset kill streak for a player on every registered server they play on
+     * Issues one update scoped to the registered guild/server partitions.
      * @param playerId The player ID to reset kill streak for
      */
     public void resetKillStreak(String playerId) {
@@ -1818,55 +2285,12 @@ public class PlayerRepository {
         }
         
         try {
-            // Get distinct guild IDs to maintain isolation boundaries
-            List<Long> distinctGuildIds = getDistinctGuildIds();
-            boolean playerUpdated = false;
-            
-            // Process each guild with proper isolation context
-            for (Long guildId : distinctGuildIds) {
-                if (guildId == null || guildId <= 0) continue;
-                
-                // Set isolation context for this guild
-                GuildIsolationManager.getInstance().setContext(guildId, null);
-                
-                try {
-                    // Get all servers for this guild to maintain proper isolation
-                    GameServerRepository gameServerRepo = new GameServerRepository();
-                    List<com.deadside.bot.db.models.GameServer> servers = gameServerRepo.findAllByGuildId(guildId);
-                    
-                    // Process each server with proper isolation
-                    for (com.deadside.bot.db.models.GameServer server : servers) {
-                        if (server == null || server.getServerId() == null) continue;
-                        
-                        // Set server context for detailed isolation
-                        GuildIsolationManager.getInstance().setContext(guildId, server.getServerId());
-                        
-                        try {
-                            // Find player with proper isolation
-                            Player player = findByPlayerIdAndGuildIdAndServerId(playerId, guildId, server.getServerId());
-                            if (player != null) {
-                                // Use existing method to reset kill streak with proper isolation
-                                resetKillStreak(playerId, guildId, server.getServerId());
-                                playerUpdated = true;
-                                logger.debug("Reset kill streak for player ID {} in guild {} and server {} using isolation-aware approach", 
-                                    playerId, guildId, server.getServerId());
-                            }
-                        } finally {
-                            // Reset to guild-level context
-                            GuildIsolationManager.getInstance().setContext(guildId, null);
-                        }
-                    }
-                } finally {
-                    // Always clear context when done
-                    GuildIsolationManager.getInstance().clearContext();
-                }
-            }
-            
-            if (!playerUpdated) {
-                logger.debug("No player found with ID {} in any guild to reset kill streak using isolation-aware approach", playerId);
-            }
+            List<Bson> update = Collections.singletonList(new Document("$set",
+                new Document("currentKillStreak", 0).append("lastUpdated", System.currentTimeMillis())));
+            long updated = updateAcrossPartitions(Filters.eq("playerId", playerId), update);
+            logger.debug("Reset kill streak for player ID {} on {} servers", playerId, updated);
         } catch (Exception e) {
-            logger.error("Error resetting kill streak for player ID: {} using isolation-aware approach", playerId, e);
+            logger.error("Error resetting kill streak for player ID: {} across servers", playerId, e);
         }
     }
     
@@ -2065,8 +2489,8 @@ public class PlayerRepository {
     }
     
     /**
-     * Find players with names similar to the provided name
-     * WARNING: This method does not respect isolation boundaries and may lead to data leakage
+     * Find players with names similar to the provided name on any registered server
+     * Issues one query scoped to the registered guild/server partitions.
      * @param namePattern The name pattern to search for
      * @return List of players with matching names
      */
@@ -2077,54 +2501,15 @@ public class PlayerRepository {
         }
         
         try {
-            List<Player> allMatchingPlayers = new ArrayList<>();
-            
-            // Get distinct guild IDs to maintain isolation boundaries
-            List<Long> distinctGuildIds = getDistinctGuildIds();
-            
-            // Process each guild with proper isolation context
-            for (Long guildId : distinctGuildIds) {
-                if (guildId == null || guildId <= 0) continue;
-                
-                // Set isolation context for this guild
-                GuildIsolationManager.getInstance().setContext(guildId, null);
-                
-                try {
-                    // Get all servers for this guild to maintain proper isolation
-                    GameServerRepository gameServerRepo = new GameServerRepository();
-                    List<com.deadside.bot.db.models.GameServer> servers = gameServerRepo.findAllByGuildId(guildId);
-                    
-                    // Process each server with proper isolation
-                    for (com.deadside.bot.db.models.GameServer server : servers) {
-                        if (server == null || server.getServerId() == null) continue;
-                        
-                        // Set server context for detailed isolation
-                        GuildIsolationManager.getInstance().setContext(guildId, server.getServerId());
-                        
-                        try {
-                            // Find players with matching names with proper isolation
-                            List<Player> matchingPlayers = findByNameLike(namePattern, guildId, server.getServerId());
-                            if (matchingPlayers != null && !matchingPlayers.isEmpty()) {
-                                allMatchingPlayers.addAll(matchingPlayers);
-                                logger.debug("Found {} players matching name pattern '{}' in guild {} and server {} using isolation-aware approach", 
-                                    matchingPlayers.size(), namePattern, guildId, server.getServerId());
-                            }
-                        } finally {
-                            // Reset to guild-level context
-                            GuildIsolationManager.getInstance().setContext(guildId, null);
-                        }
-                    }
-                } finally {
-                    // Always clear context when done
-                    GuildIsolationManager.getInstance().clearContext();
-                }
-            }
+            String regexPattern = namePattern.toLowerCase().replace("*", ".*");
+            List<Player> matchingPlayers = findAcrossPartitions(ServerTopology.getInstance().scopeFilter(),
+                Filters.regex("name", "(?i)" + regexPattern), null, CROSS_PARTITION_NAME_LIMIT);
             
-            logger.debug("Found {} total players matching name pattern '{}' across all guilds using isolation-aware approach", 
-                allMatchingPlayers.size(), namePattern);
-            return allMatchingPlayers;
+            logger.debug("Found {} players matching name pattern '{}' across all guilds",
+                matchingPlayers.size(), namePattern);
+            return matchingPlayers;
         } catch (Exception e) {
-            logger.error("Error finding players by name pattern: '{}' using isolation-aware approach", namePattern, e);
+            logger.error("Error finding players by name pattern: '{}' across all guilds", namePattern, e);
             return new ArrayList<>();
         }
     }
@@ -2150,8 +2535,8 @@ public class PlayerRepository {
     }
     
     /**
-     * Find players by faction ID
-     * WARNING: This method does not respect isolation boundaries and may lead to data leakage
+     * Find players by faction ID on any registered server
+     * Issues one query scoped to the registered guild/server partitions.
      * @param factionId The faction ID to filter by
      * @return List of players in the faction
      */
@@ -2162,54 +2547,13 @@ public class PlayerRepository {
         }
         
         try {
-            List<Player> allFactionPlayers = new ArrayList<>();
-            
-            // Get distinct guild IDs to maintain isolation boundaries
-            List<Long> distinctGuildIds = getDistinctGuildIds();
-            
-            // Process each guild with proper isolation context
-            for (Long guildId : distinctGuildIds) {
-                if (guildId == null || guildId <= 0) continue;
-                
-                // Set isolation context for this guild
-                GuildIsolationManager.getInstance().setContext(guildId, null);
-                
-                try {
-                    // Get all servers for this guild to maintain proper isolation
-                    GameServerRepository gameServerRepo = new GameServerRepository();
-                    List<com.deadside.bot.db.models.GameServer> servers = gameServerRepo.findAllByGuildId(guildId);
-                    
-                    // Process each server with proper isolation
-                    for (com.deadside.bot.db.models.GameServer server : servers) {
-                        if (server == null || server.getServerId() == null) continue;
-                        
-                        // Set server context for detailed isolation
-                        GuildIsolationManager.getInstance().setContext(guildId, server.getServerId());
-                        
-                        try {
-                            // Find players in faction with proper isolation
-                            List<Player> serverFactionPlayers = findByFactionId(factionId, guildId, server.getServerId());
-                            if (serverFactionPlayers != null && !serverFactionPlayers.isEmpty()) {
-                                allFactionPlayers.addAll(serverFactionPlayers);
-                                logger.debug("Found {} players in faction {} for guild {} and server {} using isolation-aware approach", 
-                                    serverFactionPlayers.size(), factionId, guildId, server.getServerId());
-                            }
-                        } finally {
-                            // Reset to guild-level context
-                            GuildIsolationManager.getInstance().setContext(guildId, null);
-                        }
-                    }
-                } finally {
-                    // Always clear context when done
-                    GuildIsolationManager.getInstance().clearContext();
-                }
-            }
+            List<Player> factionPlayers = findAcrossPartitions(ServerTopology.getInstance().scopeFilter(),
+                Filters.eq("factionId", factionId), null, 0);
             
-            logger.debug("Found {} total players in faction {} across all guilds using isolation-aware approach", 
-                allFactionPlayers.size(), factionId);
-            return allFactionPlayers;
+            logger.debug("Found {} players in faction {} across all guilds", factionPlayers.size(), factionId);
+            return factionPlayers;
         } catch (Exception e) {
-            logger.error("Error finding players by faction ID: {} using isolation-aware approach", factionId, e);
+            logger.error("Error finding players by faction ID: {} across all guilds", factionId, e);
             return new ArrayList<>();
         }
     }
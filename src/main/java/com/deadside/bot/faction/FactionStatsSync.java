@@ -1,45 +1,63 @@
 package com.deadside.bot.faction;
 
 import com.deadside.bot.db.models.Faction;
-import com.deadside.bot.db.models.Player;
+import com.deadside.bot.db.models.FactionStats;
+import com.deadside.bot.db.models.PlayerStatsDelta;
 import com.deadside.bot.db.repositories.FactionRepository;
 import com.deadside.bot.db.repositories.PlayerRepository;
 import org.bson.types.ObjectId;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
 
 /**
  * Service to synchronize faction statistics based on player data
+ * Member counts and kill totals are rolled up per guild with one aggregation over the
+ * players and written back with one bulk write. Between rollups, the killfeed's per-player
+ * stat deltas are added to the members' factions as they are saved.
  */
 public class FactionStatsSync {
     private static final Logger logger = LoggerFactory.getLogger(FactionStatsSync.class);
+    private static FactionStatsSync instance;
     
     private final FactionRepository factionRepository;
     private final PlayerRepository playerRepository;
     private final ExecutorService executor;
     
-    // XP rewards for various actions
-    private static final int XP_PER_KILL = 10;
-    private static final int XP_BONUS_LONG_DISTANCE = 5; // Bonus for kills over 100m
-    private static final int XP_PENALTY_DEATH = -5;
-    private static final int XP_PENALTY_SUICIDE = -10;
-    
     /**
      * Constructor initializes repositories and thread pool
      */
-    public FactionStatsSync() {
+    private FactionStatsSync() {
         this.factionRepository = new FactionRepository();
         this.playerRepository = new PlayerRepository();
-        this.executor = Executors.newSingleThreadExecutor();
+        this.executor = Executors.newSingleThreadExecutor(r -> {
+            Thread thread = new Thread(r, "faction-stats");
+            thread.setDaemon(true);
+            return thread;
+        });
         
         logger.debug("FactionStatsSync service initialized");
     }
     
+    /**
+     * Get the singleton instance
+     */
+    public static synchronized FactionStatsSync getInstance() {
+        if (instance == null) {
+            instance = new FactionStatsSync();
+        }
+        return instance;
+    }
+    
     /**
      * Update statistics for all factions
      */
@@ -57,33 +75,35 @@ public class FactionStatsSync {
             
             int totalFactions = 0;
             
-            // Process each guild with proper isolation context
+            // Roll up each guild with proper isolation context
             for (Long guildId : distinctGuildIds) {
                 com.deadside.bot.utils.GuildIsolationManager.getInstance().setContext(guildId, null);
                 try {
-                    List<Faction> guildFactions = factionRepository.findAllByGuildId(guildId);
-                    totalFactions += guildFactions.size();
-                    
-                    // Update each faction in this guild context
-                    for (Faction faction : guildFactions) {
-                        updateFaction(faction.getId());
-                    }
+                    totalFactions += rollupGuild(guildId);
                 } finally {
                     com.deadside.bot.utils.GuildIsolationManager.getInstance().clearContext();
                 }
             }
             
-            if (totalFactions == 0) {
-                logger.info("No factions found to update across all guilds");
-                return;
-            }
-            
-            logger.info("Completed faction statistics update for {} factions", totalFactions);
+            logger.info("Completed faction statistics update for {} factions with members across {} guilds",
+                    totalFactions, distinctGuildIds.size());
         } catch (Exception e) {
             logger.error("Error updating all faction statistics: {}", e.getMessage(), e);
         }
     }
     
+    /**
+     * Recompute member count, kills and deaths for every faction in a guild
+     * Factions without members are reset to zero.
+     * @return Number of factions with members
+     */
+    public int rollupGuild(long guildId) {
+        List<FactionStats> stats = playerRepository.aggregateFactionStats(guildId);
+        long modified = factionRepository.applyStats(guildId, stats, true);
+        logger.debug("Rolled up stats for {} factions in guild {} ({} changed)", stats.size(), guildId, modified);
+        return stats.size();
+    }
+    
     /**
      * Update statistics for a specific faction
      */
@@ -100,112 +120,56 @@ public class FactionStatsSync {
                 return;
             }
             
-            // Get all members of the faction
-            List<Player> members = playerRepository.findByFactionId(factionId);
-            int memberCount = members.size();
-            
-            // Count totals from all members
-            int totalKills = 0;
-            int totalDeaths = 0;
-            
-            for (Player member : members) {
-                totalKills += member.getKills();
-                totalDeaths += member.getDeaths();
+            FactionStats stats = playerRepository.aggregateFactionStats(faction.getGuildId(), factionId);
+            if (stats == null) {
+                // No members left
+                stats = new FactionStats(factionId, 0, 0, 0);
             }
-            
-            // Update faction stats
-            faction.setMemberCount(memberCount);
-            faction.setTotalKills(totalKills);
-            faction.setTotalDeaths(totalDeaths);
-            
-            // Save updated faction
-            factionRepository.save(faction);
+            factionRepository.applyStats(faction.getGuildId(), Collections.singletonList(stats), false);
+            FactionXpAccumulator.getInstance().invalidate(faction.getGuildId(), faction.getServerId());
             
             logger.debug("Updated faction {} stats: {} members, {} kills, {} deaths", 
-                    faction.getName(), memberCount, totalKills, totalDeaths);
+                    faction.getName(), stats.getMemberCount(), stats.getTotalKills(), stats.getTotalDeaths());
         } catch (Exception e) {
             logger.error("Error updating faction {}: {}", factionId, e.getMessage(), e);
         }
     }
     
     /**
-     * Process faction experience when a member gets a kill
+     * Add the kills and deaths of a saved batch of killfeed stat deltas to the players' factions
+     * Runs in the background with one player lookup and one bulk write per batch.
+     * @param guildId The guild ID for isolation
+     * @param serverId The server ID for isolation
+     * @param deltas The per-player deltas that were just written
      */
-    public void processMemberKill(String playerId, int killDistance) {
+    public void applyKillfeedDeltas(long guildId, String serverId, Collection<PlayerStatsDelta> deltas) {
+        if (deltas.isEmpty()) {
+            return;
+        }
         executor.submit(() -> {
             try {
-                Player player = playerRepository.findByDeadsideId(playerId);
-                if (player == null || player.getFactionId() == null) {
-                    return;
-                }
-                
-                // Base XP for kill
-                int xpToAdd = XP_PER_KILL;
-                
-                // Bonus XP for long-distance kills
-                if (killDistance > 100) {
-                    xpToAdd += XP_BONUS_LONG_DISTANCE;
-                }
-                
-                // Add XP to faction
-                boolean leveledUp = factionRepository.addExperience(player.getFactionId(), xpToAdd);
-                
-                if (leveledUp) {
-                    logger.info("Faction {} leveled up due to kill by player {}", 
-                            player.getFactionId(), player.getName());
+                Map<String, PlayerStatsDelta> byPlayer = new HashMap<>();
+                for (PlayerStatsDelta delta : deltas) {
+                    if (delta.getKills() > 0 || delta.getDeaths() > 0) {
+                        byPlayer.put(delta.getPlayerId(), delta);
+                    }
                 }
-                
-                logger.debug("Added {} XP to faction {} for kill by player {}", 
-                        xpToAdd, player.getFactionId(), player.getName());
-            } catch (Exception e) {
-                logger.error("Error processing faction kill XP for player {}: {}", 
-                        playerId, e.getMessage(), e);
-            }
-        });
-    }
-    
-    /**
-     * Process faction experience when a member dies
-     */
-    public void processMemberDeath(String playerId) {
-        executor.submit(() -> {
-            try {
-                Player player = playerRepository.findByDeadsideId(playerId);
-                if (player == null || player.getFactionId() == null) {
+                Map<String, ObjectId> factionIds = playerRepository.findFactionIds(guildId, serverId, byPlayer.keySet());
+                if (factionIds.isEmpty()) {
                     return;
                 }
                 
-                // Add XP penalty to faction (might be negative)
-                factionRepository.addExperience(player.getFactionId(), XP_PENALTY_DEATH);
-                
-                logger.debug("Added {} XP to faction {} for death of player {}", 
-                        XP_PENALTY_DEATH, player.getFactionId(), player.getName());
-            } catch (Exception e) {
-                logger.error("Error processing faction death XP for player {}: {}", 
-                        playerId, e.getMessage(), e);
-            }
-        });
-    }
-    
-    /**
-     * Process faction experience when a member commits suicide
-     */
-    public void processMemberSuicide(String playerId) {
-        executor.submit(() -> {
-            try {
-                Player player = playerRepository.findByDeadsideId(playerId);
-                if (player == null || player.getFactionId() == null) {
-                    return;
+                Map<ObjectId, FactionStats> factionDeltas = new HashMap<>();
+                for (Map.Entry<String, ObjectId> entry : factionIds.entrySet()) {
+                    PlayerStatsDelta delta = byPlayer.get(entry.getKey());
+                    FactionStats total = factionDeltas.computeIfAbsent(entry.getValue(),
+                            factionId -> new FactionStats(factionId, 0, 0, 0));
+                    total.setTotalKills(total.getTotalKills() + delta.getKills());
+                    total.setTotalDeaths(total.getTotalDeaths() + delta.getDeaths());
                 }
-                
-                // Add XP penalty to faction for suicide (more severe than regular death)
-                factionRepository.addExperience(player.getFactionId(), XP_PENALTY_SUICIDE);
-                
-                logger.debug("Added {} XP to faction {} for suicide of player {}", 
-                        XP_PENALTY_SUICIDE, player.getFactionId(), player.getName());
+                factionRepository.incrementStats(guildId, new ArrayList<>(factionDeltas.values()));
             } catch (Exception e) {
-                logger.error("Error processing faction suicide XP for player {}: {}", 
-                        playerId, e.getMessage(), e);
+                logger.error("Error applying killfeed deltas to factions (Guild={}, Server={})", guildId, serverId, e);
             }
         });
     }
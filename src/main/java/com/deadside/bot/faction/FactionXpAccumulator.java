@@ -0,0 +1,179 @@
+package com.deadside.bot.faction;
+
+import com.deadside.bot.config.Config;
+import com.deadside.bot.db.repositories.FactionRepository;
+import com.deadside.bot.db.repositories.PlayerRepository;
+import org.bson.types.ObjectId;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Collects faction experience from killfeed events and writes it in periodic bulk writes
+ * Players are resolved to factions from an in-memory copy of each server's memberships, and
+ * the experience is summed per faction in a striped counter, so recording an event never
+ * touches the database. Each flush sends one update per faction with pending experience and
+ * the database applies any level-ups in the same write.
+ */
+public class FactionXpAccumulator {
+    private static final Logger logger = LoggerFactory.getLogger(FactionXpAccumulator.class);
+    private static FactionXpAccumulator instance;
+
+    // XP rewards for various actions
+    private static final int XP_PER_KILL = 10;
+    private static final int XP_BONUS_LONG_DISTANCE = 5; // Bonus for kills over 100m
+    private static final int LONG_DISTANCE = 100;
+
+    private final Map<String, Memberships> memberships = new ConcurrentHashMap<>();
+    private final Map<ObjectId, PendingXp> pending = new ConcurrentHashMap<>();
+    private final FactionRepository factionRepository;
+    private final PlayerRepository playerRepository;
+    private final ScheduledExecutorService flusher;
+    private final long membershipRefreshMillis;
+
+    private FactionXpAccumulator() {
+        this.factionRepository = new FactionRepository();
+        this.playerRepository = new PlayerRepository();
+        this.membershipRefreshMillis = Config.getInstance().getFactionMembershipRefreshInterval();
+
+        long flushInterval = Config.getInstance().getFactionXpFlushInterval();
+        this.flusher = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "faction-xp-flush");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.flusher.scheduleAtFixedRate(this::flush, flushInterval, flushInterval, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Get the singleton instance
+     */
+    public static synchronized FactionXpAccumulator getInstance() {
+        if (instance == null) {
+            instance = new FactionXpAccumulator();
+        }
+        return instance;
+    }
+
+    /**
+     * Record experience for a kill by a faction member
+     * @param guildId The guild ID for isolation
+     * @param serverId The server ID for isolation
+     * @param playerId The killer's Deadside ID
+     * @param distance The kill distance in meters
+     */
+    public void recordKill(long guildId, String serverId, String playerId, int distance) {
+        add(guildId, serverId, playerId, distance > LONG_DISTANCE ? XP_PER_KILL + XP_BONUS_LONG_DISTANCE : XP_PER_KILL);
+    }
+
+    /**
+     * Forget a server's cached memberships after players join or leave factions
+     */
+    public void invalidate(long guildId, String serverId) {
+        memberships.remove(key(guildId, serverId));
+    }
+
+    /**
+     * Write pending experience and stop the flush task
+     */
+    public void shutdown() {
+        flusher.shutdownNow();
+        flush();
+    }
+
+    private void add(long guildId, String serverId, String playerId, int amount) {
+        if (guildId <= 0 || serverId == null || serverId.isEmpty() || playerId == null) {
+            return;
+        }
+        ObjectId factionId = membershipsFor(guildId, serverId).factionIds.get(playerId);
+        if (factionId != null) {
+            pending.computeIfAbsent(factionId, id -> new PendingXp(guildId)).amount.add(amount);
+        }
+    }
+
+    /**
+     * A server's memberships, reloaded once they expire
+     * The query runs outside the map so a slow database never blocks other servers' lookups.
+     * A reload is only cached if the entry it replaces is still there, so an invalidation
+     * during the query is not undone by the older result.
+     */
+    private Memberships membershipsFor(long guildId, String serverId) {
+        String key = key(guildId, serverId);
+        long now = System.currentTimeMillis();
+        Memberships current = memberships.get(key);
+        if (current != null && current.expiresAt > now) {
+            return current;
+        }
+        Memberships loaded = new Memberships(playerRepository.findFactionMembers(guildId, serverId), now + membershipRefreshMillis);
+        if (current != null) {
+            memberships.replace(key, current, loaded);
+        } else {
+            memberships.putIfAbsent(key, loaded);
+        }
+        return loaded;
+    }
+
+    /**
+     * Write the experience summed since the last flush, one bulk write per guild
+     */
+    private void flush() {
+        Map<Long, Map<ObjectId, Long>> byGuild = new HashMap<>();
+        for (Map.Entry<ObjectId, PendingXp> entry : pending.entrySet()) {
+            long amount = entry.getValue().amount.sumThenReset();
+            if (amount != 0) {
+                byGuild.computeIfAbsent(entry.getValue().guildId, g -> new HashMap<>()).put(entry.getKey(), amount);
+            }
+        }
+
+        for (Map.Entry<Long, Map<ObjectId, Long>> guild : byGuild.entrySet()) {
+            try {
+                long modified = factionRepository.addExperience(guild.getKey(), guild.getValue());
+                if (modified < 0) {
+                    // Keep it for the next flush
+                    guild.getValue().forEach((factionId, amount) ->
+                        pending.computeIfAbsent(factionId, id -> new PendingXp(guild.getKey())).amount.add(amount));
+                } else {
+                    logger.debug("Added experience to {} factions in guild {}", modified, guild.getKey());
+                }
+            } catch (Exception e) {
+                logger.error("Error flushing faction experience (Guild={})", guild.getKey(), e);
+            }
+        }
+    }
+
+    private static String key(long guildId, String serverId) {
+        return guildId + ":" + serverId;
+    }
+
+    /**
+     * A server's faction members and when they should be reloaded
+     */
+    private static class Memberships {
+        final Map<String, ObjectId> factionIds;
+        final long expiresAt;
+
+        Memberships(Map<String, ObjectId> factionIds, long expiresAt) {
+            this.factionIds = factionIds;
+            this.expiresAt = expiresAt;
+        }
+    }
+
+    /**
+     * Experience not yet written for one faction
+     */
+    private static class PendingXp {
+        final long guildId;
+        final LongAdder amount = new LongAdder();
+
+        PendingXp(long guildId) {
+            this.guildId = guildId;
+        }
+    }
+}
@@ -0,0 +1,445 @@
+package com.deadside.bot.history;
+
+import com.deadside.bot.config.Config;
+import com.deadside.bot.db.models.GameServer;
+import com.deadside.bot.db.models.ImportFile;
+import com.deadside.bot.db.models.ImportJob;
+import com.deadside.bot.db.repositories.GameServerRepository;
+import com.deadside.bot.db.repositories.ImportJobRepository;
+import com.deadside.bot.parsers.KillfeedParser;
+import com.deadside.bot.sftp.SftpManager;
+import com.deadside.bot.sftp.SftpTailResult;
+import com.deadside.bot.utils.EmbedThemes;
+import net.dv8tion.jda.api.JDA;
+import net.dv8tion.jda.api.entities.MessageEmbed;
+import net.dv8tion.jda.api.entities.channel.concrete.TextChannel;
+import net.dv8tion.jda.api.interactions.InteractionHook;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Runs historical killfeed imports as resumable jobs
+ * Each job is stored with a byte checkpoint per file, so a cancelled, failed or interrupted
+ * import continues where it stopped instead of starting over. Files are imported in parallel
+ * on a bounded pool shared by all jobs, only one job per guild and server may exist until it
+ * completes, and progress is shown by editing a single message.
+ */
+public class HistoricalImportService {
+    private static final Logger logger = LoggerFactory.getLogger(HistoricalImportService.class);
+    private static HistoricalImportService instance;
+
+    /**
+     * Outcome of asking for an import to start
+     */
+    public enum StartResult {
+        STARTED,
+        RESUMED,
+        ALREADY_RUNNING,
+        ALREADY_IMPORTED,
+        NO_FILES,
+        FAILED
+    }
+
+    private final Map<String, RunningImport> running = new ConcurrentHashMap<>();
+    private final ImportJobRepository repository;
+    private final GameServerRepository gameServerRepository;
+    private final SftpManager sftpManager;
+    private final ExecutorService workers;
+    private final long progressInterval;
+    private volatile JDA jda;
+    private volatile KillfeedParser killfeedParser;
+    private volatile boolean shuttingDown;
+
+    private HistoricalImportService() {
+        this.repository = new ImportJobRepository();
+        this.gameServerRepository = new GameServerRepository();
+        this.sftpManager = new SftpManager();
+        this.progressInterval = Config.getInstance().getImportProgressInterval();
+
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.workers = Executors.newFixedThreadPool(Config.getInstance().getImportWorkerThreads(), r -> {
+            Thread thread = new Thread(r, "historical-import-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Get the singleton instance
+     */
+    public static synchronized HistoricalImportService getInstance() {
+        if (instance == null) {
+            instance = new HistoricalImportService();
+        }
+        return instance;
+    }
+
+    /**
+     * Set the JDA instance and resume the jobs a restart interrupted
+     */
+    public void initialize(JDA jda) {
+        setJda(jda);
+        for (ImportJob job : repository.findByStatus(ImportJob.STATUS_RUNNING)) {
+            GameServer server = gameServerRepository.findByGuildIdAndServerId(job.getGuildId(), job.getServerId());
+            if (server == null) {
+                repository.updateStatus(job.getId(), ImportJob.STATUS_FAILED, "Server no longer exists");
+                continue;
+            }
+            logger.info("Resuming historical import for server {} (Guild={})", server.getName(), job.getGuildId());
+            launch(job, server, null);
+        }
+    }
+
+    /**
+     * Start an import for a server, or resume its unfinished one
+     * Files finished by an earlier completed import are left out of a new job.
+     * @param server The game server
+     * @param userId Discord user ID of whoever asked for the import
+     * @param hook Interaction to post the progress message to, or null for none
+     */
+    public StartResult start(GameServer server, long userId, InteractionHook hook) {
+        if (hook != null) {
+            setJda(hook.getJDA());
+        }
+        long guildId = server.getGuildId();
+        String serverId = server.getServerId();
+        if (running.containsKey(ImportJob.slotFor(guildId, serverId))) {
+            return StartResult.ALREADY_RUNNING;
+        }
+
+        ImportJob job = repository.findUnfinished(guildId, serverId);
+        boolean resumed = job != null;
+        if (job == null) {
+            List<ImportFile> files = listFiles(server);
+            if (files.isEmpty()) {
+                return StartResult.NO_FILES;
+            }
+            Set<String> imported = repository.findImportedFiles(guildId, serverId);
+            files.removeIf(file -> imported.contains(file.getName()));
+            if (files.isEmpty()) {
+                return StartResult.ALREADY_IMPORTED;
+            }
+            job = new ImportJob(guildId, serverId, server.getName(), files, userId);
+            if (!repository.insert(job)) {
+                // Someone else created the job first; pick theirs up instead
+                job = repository.findUnfinished(guildId, serverId);
+                if (job == null) {
+                    return StartResult.FAILED;
+                }
+                resumed = true;
+            }
+        }
+
+        job.setStatus(ImportJob.STATUS_RUNNING);
+        job.setError(null);
+        repository.updateStatus(job.getId(), ImportJob.STATUS_RUNNING, null);
+        if (!launch(job, server, hook)) {
+            return StartResult.ALREADY_RUNNING;
+        }
+        return resumed ? StartResult.RESUMED : StartResult.STARTED;
+    }
+
+    /**
+     * Stop a server's running import after its current batches; it can be resumed later
+     * @return False if no import is running for the server
+     */
+    public boolean cancel(long guildId, String serverId) {
+        RunningImport run = running.get(ImportJob.slotFor(guildId, serverId));
+        if (run == null) {
+            return false;
+        }
+        run.cancelled = true;
+        return true;
+    }
+
+    /**
+     * Get a server's running or most recent import job
+     * @return The job, or null if the server has never been imported
+     */
+    public ImportJob getJob(long guildId, String serverId) {
+        RunningImport run = running.get(ImportJob.slotFor(guildId, serverId));
+        return run != null ? run.job : repository.findLatest(guildId, serverId);
+    }
+
+    /**
+     * Describe a job's progress
+     */
+    public MessageEmbed statusEmbed(ImportJob job) {
+        RunningImport run = running.get(ImportJob.slotFor(job.getGuildId(), job.getServerId()));
+        return run != null ? progressEmbed(run) : resultEmbed(job, countDone(job), countKills(job));
+    }
+
+    /**
+     * Stop all imports at their next checkpoint; they stay marked running and resume on next start
+     */
+    public void shutdown() {
+        shuttingDown = true;
+        workers.shutdown();
+        try {
+            if (!workers.awaitTermination(30, TimeUnit.SECONDS)) {
+                workers.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            workers.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Files to import, oldest first
+     * The newest file, or the one the live killfeed is tailing and anything after it, is left
+     * to the killfeed scheduler so no kill is imported twice.
+     */
+    private List<ImportFile> listFiles(GameServer server) {
+        List<String> names = sftpManager.getKillfeedFiles(server);
+        Collections.sort(names);
+        List<ImportFile> files = new ArrayList<>();
+        if (names.isEmpty()) {
+            return files;
+        }
+
+        String liveFile = server.getLastProcessedKillfeedFile();
+        if (liveFile == null || liveFile.isEmpty() || !names.contains(liveFile)) {
+            liveFile = names.get(names.size() - 1);
+        }
+        for (String name : names) {
+            if (name.compareTo(liveFile) < 0) {
+                files.add(new ImportFile(name));
+            }
+        }
+        return files;
+    }
+
+    private boolean launch(ImportJob job, GameServer server, InteractionHook hook) {
+        RunningImport run = new RunningImport(job, server, hook);
+        if (running.putIfAbsent(job.getSlot(), run) != null) {
+            return false;
+        }
+
+        if (hook != null) {
+            hook.sendMessageEmbeds(progressEmbed(run)).queue(message -> {
+                job.setProgressChannelId(message.getChannel().getIdLong());
+                job.setProgressMessageId(message.getIdLong());
+                repository.setProgressMessage(job.getId(), job.getProgressChannelId(), job.getProgressMessageId());
+            }, error -> logger.debug("Could not post import progress for server {}: {}", server.getName(), error.getMessage()));
+        }
+
+        List<ImportFile> pending = new ArrayList<>();
+        for (ImportFile file : job.getFiles()) {
+            if (!file.isDone()) {
+                pending.add(file);
+            }
+        }
+        if (pending.isEmpty()) {
+            finish(run);
+            return true;
+        }
+
+        run.remaining.set(pending.size());
+        for (ImportFile file : pending) {
+            workers.execute(() -> importFile(run, file));
+        }
+        logger.info("Historical import for server {} started: {} of {} files left (Guild={})",
+            server.getName(), pending.size(), job.getFiles().size(), server.getGuildId());
+        return true;
+    }
+
+    private void importFile(RunningImport run, ImportFile file) {
+        try {
+            if (run.isStopping()) {
+                return;
+            }
+            long baseKills = file.getKills();
+            SftpTailResult tail = parser().importFile(run.server, file.getName(), file.getOffset(), (offset, kills) -> {
+                saveCheckpoint(run, file, offset, baseKills + kills, false);
+                if (run.isStopping()) {
+                    throw new ImportStoppedException();
+                }
+            });
+            saveCheckpoint(run, file, tail.getEndOffset(), file.getKills(), true);
+        } catch (ImportStoppedException e) {
+            logger.debug("Historical import of {} for server {} stopped at offset {}",
+                file.getName(), run.server.getName(), file.getOffset());
+        } catch (Exception e) {
+            run.failures.incrementAndGet();
+            run.lastError = file.getName() + ": " + e.getMessage();
+            logger.error("Error importing killfeed file {} for server {}", file.getName(), run.server.getName(), e);
+        } finally {
+            if (run.remaining.decrementAndGet() == 0) {
+                finish(run);
+            }
+        }
+    }
+
+    private void saveCheckpoint(RunningImport run, ImportFile file, long offset, long kills, boolean done) throws Exception {
+        if (!repository.checkpoint(run.job.getId(), file.getName(), offset, kills, done)) {
+            throw new IllegalStateException("checkpoint could not be saved");
+        }
+        run.kills.addAndGet(kills - file.getKills());
+        file.setOffset(offset);
+        file.setKills(kills);
+        file.setDone(done);
+        if (done) {
+            run.filesDone.incrementAndGet();
+        }
+        reportProgress(run, false);
+    }
+
+    private void finish(RunningImport run) {
+        ImportJob job = run.job;
+        running.remove(job.getSlot(), run);
+
+        String status;
+        if (shuttingDown) {
+            // Left as running so the next start picks it up
+            logger.info("Historical import for server {} interrupted by shutdown", run.server.getName());
+            return;
+        } else if (run.failures.get() > 0) {
+            status = ImportJob.STATUS_FAILED;
+        } else if (run.cancelled) {
+            status = ImportJob.STATUS_CANCELLED;
+        } else {
+            status = ImportJob.STATUS_COMPLETED;
+        }
+        job.setStatus(status);
+        job.setError(run.lastError);
+        repository.updateStatus(job.getId(), status, run.lastError);
+        reportProgress(run, true);
+
+        logger.info("Historical import for server {} {}: {} of {} files, {} kills imported (Guild={})",
+            run.server.getName(), status.toLowerCase(), run.filesDone.get(), job.getFiles().size(),
+            run.kills.get(), job.getGuildId());
+    }
+
+    /**
+     * Edit the progress message, at most once per progress interval unless forced
+     */
+    private void reportProgress(RunningImport run, boolean force) {
+        long now = System.currentTimeMillis();
+        long last = run.lastProgress.get();
+        if (!force && (now - last < progressInterval || !run.lastProgress.compareAndSet(last, now))) {
+            return;
+        }
+
+        ImportJob job = run.job;
+        MessageEmbed embed = running.containsKey(job.getSlot()) ? progressEmbed(run) : resultEmbed(job, run.filesDone.get(), run.kills.get());
+        try {
+            if (job.getProgressMessageId() == 0) {
+                return;
+            }
+            if (run.hook != null && !run.hook.isExpired()) {
+                run.hook.editMessageEmbedsById(job.getProgressMessageId(), embed).queue(null,
+                    error -> logger.debug("Could not update import progress: {}", error.getMessage()));
+                return;
+            }
+            // Interaction tokens expire after 15 minutes; the bot can still edit its own message
+            JDA current = jda;
+            TextChannel channel = current != null ? current.getTextChannelById(job.getProgressChannelId()) : null;
+            if (channel != null) {
+                channel.editMessageEmbedsById(job.getProgressMessageId(), embed).queue(null,
+                    error -> logger.debug("Could not update import progress: {}", error.getMessage()));
+            }
+        } catch (Exception e) {
+            logger.debug("Could not update import progress for server {}: {}", run.server.getName(), e.getMessage());
+        }
+    }
+
+    private MessageEmbed progressEmbed(RunningImport run) {
+        ImportJob job = run.job;
+        return EmbedThemes.progressEmbed("Historical Import: " + job.getServerName(),
+            "Importing historical killfeed data for **" + job.getServerName() + "**.\n\n" +
+            "Files: **" + run.filesDone.get() + "/" + job.getFiles().size() + "**\n" +
+            "Kills imported: **" + run.kills.get() + "**\n\n" +
+            (run.cancelled ? "Stopping after the current batches..." : "Use `/server import` with `cancel` to pause; progress is kept."));
+    }
+
+    private MessageEmbed resultEmbed(ImportJob job, long filesDone, long kills) {
+        String summary = "Files: **" + filesDone + "/" + job.getFiles().size() + "**\n" +
+            "Kills imported: **" + kills + "**";
+        switch (job.getStatus()) {
+            case ImportJob.STATUS_COMPLETED:
+                return EmbedThemes.historicalDataEmbed("Historical Import Complete",
+                    "Imported historical killfeed data for **" + job.getServerName() + "**.\n\n" + summary);
+            case ImportJob.STATUS_CANCELLED:
+                return EmbedThemes.warningEmbed("Historical Import Paused",
+                    "The import for **" + job.getServerName() + "** was cancelled.\n\n" + summary +
+                    "\n\nStart it again to resume where it stopped.");
+            case ImportJob.STATUS_FAILED:
+                return EmbedThemes.errorEmbed("Historical Import Failed",
+                    "The import for **" + job.getServerName() + "** stopped with errors.\n\n" + summary +
+                    (job.getError() != null ? "\n\nLast error: " + job.getError() : "") +
+                    "\n\nStart it again to retry from the last checkpoint.");
+            default:
+                return EmbedThemes.progressEmbed("Historical Import: " + job.getServerName(),
+                    "Waiting to resume.\n\n" + summary);
+        }
+    }
+
+    private synchronized KillfeedParser parser() {
+        if (killfeedParser == null) {
+            killfeedParser = new KillfeedParser(jda);
+        }
+        return killfeedParser;
+    }
+
+    private void setJda(JDA jda) {
+        if (this.jda == null) {
+            this.jda = jda;
+        }
+    }
+
+    private static long countDone(ImportJob job) {
+        return job.getFiles().stream().filter(ImportFile::isDone).count();
+    }
+
+    private static long countKills(ImportJob job) {
+        return job.getFiles().stream().mapToLong(ImportFile::getKills).sum();
+    }
+
+    /**
+     * In-memory state of a job being worked on
+     */
+    private class RunningImport {
+        final ImportJob job;
+        final GameServer server;
+        final InteractionHook hook;
+        final AtomicInteger remaining = new AtomicInteger();
+        final AtomicInteger filesDone;
+        final AtomicLong kills;
+        final AtomicInteger failures = new AtomicInteger();
+        final AtomicLong lastProgress = new AtomicLong();
+        volatile boolean cancelled;
+        volatile String lastError;
+
+        RunningImport(ImportJob job, GameServer server, InteractionHook hook) {
+            this.job = job;
+            this.server = server;
+            this.hook = hook;
+            this.filesDone = new AtomicInteger((int) countDone(job));
+            this.kills = new AtomicLong(countKills(job));
+        }
+
+        boolean isStopping() {
+            return cancelled || shuttingDown;
+        }
+    }
+
+    /**
+     * Thrown from a checkpoint to stop reading a file once its progress is saved
+     */
+    private static class ImportStoppedException extends Exception {
+        private static final long serialVersionUID = 1L;
+    }
+}
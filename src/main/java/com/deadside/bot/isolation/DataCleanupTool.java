@@ -1,6 +1,9 @@
 package com.deadside.bot.isolation;
 
 import com.deadside.bot.db.repositories.*;
+import com.deadside.bot.leaderboard.LeaderboardStore;
+import com.deadside.bot.leaderboard.WeaponStatsService;
+import com.deadside.bot.search.PlayerNameIndex;
 import com.deadside.bot.utils.BotConfig;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -177,6 +180,9 @@ public class DataCleanupTool {
             // Delete data in each collection for this guild/server
             long deletedPlayers = playerRepository.deleteAllByGuildIdAndServerId(guildId, serverId);
             deleteCounts.put("players", deletedPlayers);
+            LeaderboardStore.getInstance().rebuild(guildId, serverId);
+            WeaponStatsService.getInstance().invalidate(guildId, serverId);
+            PlayerNameIndex.getInstance().invalidate(guildId, serverId);
             
             long deletedFactions = factionRepository.deleteAllByGuildIdAndServerId(guildId, serverId);
             deleteCounts.put("factions", deletedFactions);
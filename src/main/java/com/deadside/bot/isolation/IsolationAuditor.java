@@ -0,0 +1,147 @@
+package com.deadside.bot.isolation;
+
+import com.deadside.bot.config.Config;
+import com.deadside.bot.db.models.IsolationAuditResult;
+import com.deadside.bot.db.repositories.IsolationAuditRepository;
+import com.mongodb.client.model.Filters;
+import org.bson.Document;
+import org.bson.conversions.Bson;
+import org.bson.types.ObjectId;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Audits the isolated collections for documents without a guild or server ID
+ * Each collection is checked with one aggregation in the database, all collections in
+ * parallel. Results are stored with the time the audit started; when a collection's last
+ * audit was clean, the next one only checks documents created or modified since then, and
+ * the whole collection is checked again after the full audit interval.
+ */
+public class IsolationAuditor {
+    private static final Logger logger = LoggerFactory.getLogger(IsolationAuditor.class);
+    private static IsolationAuditor instance;
+
+    private static final int SAMPLE_SIZE = 10;
+    private static final int MAX_THREADS = 4;
+
+    /** Audited collections and the timestamp fields their repositories maintain */
+    private static final List<AuditTarget> TARGETS = Arrays.asList(
+        new AuditTarget("players", "lastUpdated"),
+        new AuditTarget("game_servers", "lastUpdated"),
+        new AuditTarget("alerts", "createdAt"),
+        new AuditTarget("bounties", "placedAt", "claimedAt"),
+        new AuditTarget("currencies", "lastUpdated"),
+        new AuditTarget("factions", "updated"),
+        new AuditTarget("linked_players", "updated")
+    );
+
+    private final IsolationAuditRepository repository;
+    private final long fullAuditInterval;
+
+    private IsolationAuditor() {
+        this.repository = new IsolationAuditRepository();
+        this.fullAuditInterval = Config.getInstance().getIsolationAuditFullInterval();
+    }
+
+    /**
+     * Get the singleton instance
+     */
+    public static synchronized IsolationAuditor getInstance() {
+        if (instance == null) {
+            instance = new IsolationAuditor();
+        }
+        return instance;
+    }
+
+    /**
+     * Audit every isolated collection and save the results
+     * @return One result per collection that could be audited
+     */
+    public List<IsolationAuditResult> audit() {
+        long now = System.currentTimeMillis();
+        AtomicInteger threadNumber = new AtomicInteger();
+        ExecutorService pool = Executors.newFixedThreadPool(Math.min(TARGETS.size(), MAX_THREADS), r -> {
+            Thread thread = new Thread(r, "isolation-audit-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        try {
+            List<Future<IsolationAuditResult>> futures = new ArrayList<>();
+            for (AuditTarget target : TARGETS) {
+                futures.add(pool.submit(() -> audit(target, now)));
+            }
+
+            List<IsolationAuditResult> results = new ArrayList<>();
+            for (Future<IsolationAuditResult> future : futures) {
+                try {
+                    IsolationAuditResult result = future.get();
+                    if (result != null) {
+                        results.add(result);
+                    }
+                } catch (ExecutionException e) {
+                    logger.error("Error auditing collection isolation", e.getCause());
+                }
+            }
+            return results;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return new ArrayList<>();
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    private IsolationAuditResult audit(AuditTarget target, long now) {
+        IsolationAuditResult previous = repository.findByCollection(target.collection);
+        boolean incremental = previous != null && previous.getViolations() == 0
+            && now - previous.getLastFullAudit() < fullAuditInterval;
+
+        Bson scope = incremental ? target.changedSince(previous.getWatermark()) : new Document();
+        IsolationAuditResult result = repository.audit(target.collection, scope, SAMPLE_SIZE);
+        if (result == null) {
+            return null;
+        }
+
+        result.setWatermark(now);
+        result.setIncremental(incremental);
+        result.setLastFullAudit(incremental ? previous.getLastFullAudit() : now);
+        repository.save(result);
+        return result;
+    }
+
+    /**
+     * A collection to audit and how to find its recently changed documents
+     */
+    private static class AuditTarget {
+        final String collection;
+        final String[] timestampFields;
+
+        AuditTarget(String collection, String... timestampFields) {
+            this.collection = collection;
+            this.timestampFields = timestampFields;
+        }
+
+        /**
+         * Documents inserted since the time, by their ObjectId, or with a newer timestamp
+         */
+        Bson changedSince(long time) {
+            List<Bson> changed = new ArrayList<>();
+            changed.add(Filters.gte("_id", new ObjectId(new Date(time))));
+            for (String field : timestampFields) {
+                changed.add(Filters.gte(field, time));
+            }
+            return Filters.or(changed);
+        }
+    }
+}
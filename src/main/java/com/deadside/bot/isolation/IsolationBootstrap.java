@@ -4,10 +4,10 @@ import com.deadside.bot.db.models.Alert;
 import com.deadside.bot.db.models.Bounty;
 import com.deadside.bot.db.models.Currency;
 import com.deadside.bot.db.models.GameServer;
+import com.deadside.bot.db.models.IsolationAuditResult;
 import com.deadside.bot.db.models.Player;
 import com.deadside.bot.db.repositories.*;
 import com.deadside.bot.utils.GuildIsolationManager;
-import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import org.slf4j.Logger;
@@ -76,280 +76,35 @@ public class IsolationBootstrap {
      */
     /**
      * Verify the integrity of data isolation across all repositories
-     * This ensures all records have proper guild and server boundaries
+     * Audits each collection for records without guild and server boundaries, in parallel
+     * and only over records changed since the last clean audit where possible.
      */
     public void verifyIsolationIntegrity() {
         logger.info("Verifying data isolation integrity across all repositories");
-        int totalVerified = 0;
-        
-        try {
-            // Verify player repository isolation
-            if (playerRepository != null) {
-                int playerCount = verifyPlayersIsolation();
-                logger.info("Verified isolation for {} player records", playerCount);
-                totalVerified += playerCount;
-            }
-            
-            // Verify game server repository isolation
-            if (gameServerRepository != null) {
-                int serverCount = verifyServersIsolation();
-                logger.info("Verified isolation for {} server records", serverCount);
-                totalVerified += serverCount;
-            }
-            
-            // Verify alert repository isolation
-            if (alertRepository != null) {
-                int alertCount = verifyAlertsIsolation();
-                logger.info("Verified isolation for {} alert records", alertCount);
-                totalVerified += alertCount;
-            }
-            
-            // Verify bounty repository isolation
-            if (bountyRepository != null) {
-                int bountyCount = verifyBountiesIsolation();
-                logger.info("Verified isolation for {} bounty records", bountyCount);
-                totalVerified += bountyCount;
-            }
-            
-            // Verify currency repository isolation
-            if (currencyRepository != null) {
-                int currencyCount = verifyCurrenciesIsolation();
-                logger.info("Verified isolation for {} currency records", currencyCount);
-                totalVerified += currencyCount;
-            }
-            
-            logger.info("Data isolation verification complete. {} total records verified", totalVerified);
-        } catch (Exception e) {
-            logger.error("Error during isolation integrity verification", e);
-        }
-    }
-    
-    /**
-     * Verify isolation for player records
-     * @return Number of records verified
-     */
-    private int verifyPlayersIsolation() {
-        List<Player> playersWithoutGuild = new ArrayList<>();
-        int count = 0;
-        
-        try {
-            // Get distinct guild IDs for proper isolation verification approach
-            List<Long> distinctGuildIds = playerRepository.getDistinctGuildIds();
-            
-            // Verify players per guild context
-            for (Long guildId : distinctGuildIds) {
-                if (guildId != null && guildId > 0) {
-                    // Set isolation context for this guild
-                    GuildIsolationManager.getInstance().setContext(guildId, null);
-                    try {
-                        // Process each server under this guild
-                        List<GameServer> servers = gameServerRepository.findAllByGuildId(guildId);
-                        for (GameServer server : servers) {
-                            if (server != null && server.getServerId() != null) {
-                                // Set specific server context for detailed isolation
-                                GuildIsolationManager.getInstance().setContext(guildId, server.getServerId());
-                                try {
-                                    // Get players within this isolation boundary
-                                    List<Player> players = playerRepository.findAllByGuildIdAndServerId(guildId, server.getServerId());
-                                    count += players.size();
-                                } finally {
-                                    // Reset back to guild-level context
-                                    GuildIsolationManager.getInstance().setContext(guildId, null);
-                                }
-                            }
-                        }
-                    } finally {
-                        // Always clear context
-                        GuildIsolationManager.getInstance().clearContext();
-                    }
-                }
-            }
-            
-            logger.info("Verified isolation for {} player records with proper isolation boundaries", count);
-            return count;
-        } catch (Exception e) {
-            logger.error("Error verifying player isolation using isolation-aware approach", e);
-            return 0;
-        }
-    }
-    
-    /**
-     * Verify isolation for server records
-     * @return Number of records verified
-     */
-    private int verifyServersIsolation() {
-        int count = 0;
-        
-        try {
-            // Get distinct guild IDs to check servers using isolation-aware approach
-            List<Long> distinctGuildIds = gameServerRepository.getDistinctGuildIds();
-            int totalServers = 0;
-            
-            // Process each guild with proper isolation context
-            for (Long guildId : distinctGuildIds) {
-                if (guildId > 0) {
-                    // Set isolation context for this guild
-                    com.deadside.bot.utils.GuildIsolationManager.getInstance().setContext(guildId, null);
-                    
-                    try {
-                        // Get all servers for this guild with proper isolation
-                        List<GameServer> guildServers = gameServerRepository.findAllByGuildId(guildId);
-                        count += guildServers.size();
-                        totalServers += guildServers.size();
-                    } finally {
-                        // Always clear context
-                        com.deadside.bot.utils.GuildIsolationManager.getInstance().clearContext();
-                    }
-                }
-            }
-            
-            logger.info("Found {} server records with proper isolation, {} without proper isolation", 
-                count, totalServers - count);
-                
-            return count;
-        } catch (Exception e) {
-            logger.error("Error verifying server isolation", e);
-            return 0;
-        }
-    }
-    
-    /**
-     * Verify isolation for alert records using isolation-aware pattern
-     * @return Number of records verified
-     */
-    private int verifyAlertsIsolation() {
-        int count = 0;
-        
-        try {
-            // Get distinct guild IDs for proper isolation verification
-            List<Long> distinctGuildIds = alertRepository.getDistinctGuildIds();
-            
-            // Verify alerts per guild context
-            for (Long guildId : distinctGuildIds) {
-                if (guildId != null && guildId > 0) {
-                    // Set isolation context for this guild
-                    GuildIsolationManager.getInstance().setContext(guildId, null);
-                    try {
-                        // Process each server under this guild
-                        List<GameServer> servers = gameServerRepository.findAllByGuildId(guildId);
-                        for (GameServer server : servers) {
-                            if (server != null && server.getServerId() != null) {
-                                // Set specific server context for detailed isolation
-                                GuildIsolationManager.getInstance().setContext(guildId, server.getServerId());
-                                try {
-                                    // Get alerts within this isolation boundary
-                                    List<Alert> alerts = alertRepository.findAllByGuildIdAndServerId(guildId, server.getServerId());
-                                    count += alerts.size();
-                                } finally {
-                                    // Reset back to guild-level context
-                                    GuildIsolationManager.getInstance().setContext(guildId, null);
-                                }
-                            }
-                        }
-                    } finally {
-                        // Always clear context
-                        GuildIsolationManager.getInstance().clearContext();
-                    }
-                }
-            }
-            
-            logger.info("Verified isolation for {} alert records with proper isolation boundaries", count);
-            return count;
-        } catch (Exception e) {
-            logger.error("Error verifying alert isolation using isolation-aware approach", e);
-            return 0;
-        }
-    }
-    
-    /**
-     * Verify isolation for bounty records
-     * @return Number of records verified
-     */
-    private int verifyBountiesIsolation() {
-        int count = 0;
         
         try {
-            // Get distinct guild IDs for proper isolation verification
-            List<Long> distinctGuildIds = bountyRepository.getDistinctGuildIds();
-            int totalBounties = 0;
+            List<IsolationAuditResult> results = IsolationAuditor.getInstance().audit();
+            long totalChecked = 0;
+            long totalViolations = 0;
             
-            // Verify bounties per guild context
-            for (Long guildId : distinctGuildIds) {
-                if (guildId != null && guildId > 0) {
-                    // Set isolation context for this guild
-                    com.deadside.bot.utils.GuildIsolationManager.getInstance().setContext(guildId, null);
-                    
-                    try {
-                        // Get bounties for this guild with proper isolation boundary
-                        List<Bounty> guildBounties = bountyRepository.findAllByGuildId(guildId);
-                        totalBounties += guildBounties.size();
-                        
-                        // Count bounties with proper isolation fields
-                        for (Bounty bounty : guildBounties) {
-                            if (bounty.getGuildId() > 0 && bounty.getServerId() != null && !bounty.getServerId().isEmpty()) {
-                                count++;
-                            }
-                        }
-                    } finally {
-                        // Always clear context
-                        com.deadside.bot.utils.GuildIsolationManager.getInstance().clearContext();
-                    }
-                }
-            }
-            
-            logger.info("Found {} bounty records with proper isolation, {} without proper isolation", 
-                count, totalBounties - count);
+            for (IsolationAuditResult result : results) {
+                totalChecked += result.getChecked();
+                totalViolations += result.getViolations();
                 
-            return count;
-        } catch (Exception e) {
-            logger.error("Error verifying bounty isolation", e);
-            return 0;
-        }
-    }
-    
-    /**
-     * Verify isolation for currency records
-     * @return Number of records verified
-     */
-    private int verifyCurrenciesIsolation() {
-        int count = 0;
-        
-        try {
-            // Get distinct guild IDs for proper isolation verification
-            List<Long> distinctGuildIds = currencyRepository.getDistinctGuildIds();
-            int totalCurrencies = 0;
-            
-            // Verify currencies per guild context
-            for (Long guildId : distinctGuildIds) {
-                if (guildId != null && guildId > 0) {
-                    // Set isolation context for this guild
-                    com.deadside.bot.utils.GuildIsolationManager.getInstance().setContext(guildId, null);
-                    
-                    try {
-                        // Get currencies for this guild with proper isolation boundary
-                        List<Currency> guildCurrencies = currencyRepository.findAllByGuildId(guildId);
-                        totalCurrencies += guildCurrencies.size();
-                        
-                        // Count currencies with proper isolation fields
-                        for (Currency currency : guildCurrencies) {
-                            if (currency.getGuildId() > 0 && currency.getServerId() != null && !currency.getServerId().isEmpty()) {
-                                count++;
-                            }
-                        }
-                    } finally {
-                        // Always clear context
-                        com.deadside.bot.utils.GuildIsolationManager.getInstance().clearContext();
-                    }
+                if (result.getViolations() > 0) {
+                    logger.warn("Found {} {} records without proper isolation ({} missing guild, {} missing server), e.g. {}",
+                        result.getViolations(), result.getCollection(), result.getMissingGuild(),
+                        result.getMissingServer(), result.getSampleIds());
+                } else {
+                    logger.info("Verified isolation for {} {} records{}", result.getChecked(), result.getCollection(),
+                        result.isIncremental() ? " changed since the last audit" : "");
                 }
             }
             
-            logger.info("Found {} currency records with proper isolation, {} without proper isolation", 
-                count, totalCurrencies - count);
-                
-            return count;
+            logger.info("Data isolation verification complete. {} records verified across {} collections, {} without proper isolation",
+                totalChecked, results.size(), totalViolations);
         } catch (Exception e) {
-            logger.error("Error verifying currency isolation", e);
-            return 0;
+            logger.error("Error during isolation integrity verification", e);
         }
     }
     
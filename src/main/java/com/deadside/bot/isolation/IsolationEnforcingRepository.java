@@ -75,6 +75,22 @@ public abstract class IsolationEnforcingRepository<T> {
         }
     }
     
+    /**
+     * Check if every entity in a list belongs to the specified guild and server
+     * @param entities The entities to check
+     * @param guildId The expected guild ID
+     * @param serverId The expected server ID
+     * @return True if all entities belong to the specified isolation boundary
+     */
+    public boolean verifyIsolationBoundaries(List<T> entities, long guildId, String serverId) {
+        try {
+            return IsolationManager.getInstance().verifyDataBoundaries(entities, guildId, serverId);
+        } catch (Exception e) {
+            logger.error("Error verifying isolation boundary for {} entities", entities.size(), e);
+            return false;
+        }
+    }
+    
     /**
      * Enforce isolation before saving an entity
      * @param entity The entity to save
@@ -6,6 +6,7 @@ import com.deadside.bot.utils.GuildIsolationManager;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
@@ -132,6 +133,17 @@ public class IsolationManager {
         return GuildIsolationManager.getInstance().verifyModelIsolation(model, guildId, serverId);
     }
     
+    /**
+     * Verify data boundaries for a list of model objects
+     * @param models The models to verify
+     * @param guildId The expected guild ID
+     * @param serverId The expected server ID
+     * @return True if every model belongs to the specified context
+     */
+    public boolean verifyDataBoundaries(Collection<?> models, long guildId, String serverId) {
+        return GuildIsolationManager.getInstance().verifyModelIsolation(models, guildId, serverId);
+    }
+    
     /**
      * Clear the isolation context cache
      */
@@ -0,0 +1,171 @@
+package com.deadside.bot.isolation;
+
+import com.deadside.bot.config.Config;
+import com.deadside.bot.db.models.GameServer;
+import com.deadside.bot.db.repositories.GameServerRepository;
+import com.mongodb.client.model.Filters;
+import org.bson.conversions.Bson;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.ToLongFunction;
+
+/**
+ * Cached map of every guild to its registered game servers
+ * Cross-guild repository methods use it to scope one query to all valid (guild, server)
+ * partitions instead of querying each partition in turn, and to verify that every result
+ * came from a registered partition. Reloaded after the TTL or when invalidated.
+ */
+public class ServerTopology {
+    private static final Logger logger = LoggerFactory.getLogger(ServerTopology.class);
+    private static ServerTopology instance;
+
+    private final GameServerRepository gameServerRepository;
+    private final long ttl;
+    private volatile Snapshot snapshot;
+
+    private ServerTopology() {
+        this.gameServerRepository = new GameServerRepository();
+        this.ttl = Config.getInstance().getServerTopologyCacheTtl();
+    }
+
+    /**
+     * Get the singleton instance
+     */
+    public static synchronized ServerTopology getInstance() {
+        if (instance == null) {
+            instance = new ServerTopology();
+        }
+        return instance;
+    }
+
+    /**
+     * Server IDs registered for each guild
+     */
+    public Map<Long, Set<String>> getPartitions() {
+        return current().partitions;
+    }
+
+    /**
+     * Whether a guild has a registered server with this ID
+     */
+    public boolean contains(long guildId, String serverId) {
+        Set<String> serverIds = current().partitions.get(guildId);
+        return serverIds != null && serverIds.contains(serverId);
+    }
+
+    /**
+     * Filter matching documents in any registered partition, one $in per guild
+     * @return The filter, or null if no servers are registered
+     */
+    public Bson scopeFilter() {
+        return current().scope;
+    }
+
+    /**
+     * Like {@link #scopeFilter()}, leaving out servers with restricted isolation
+     * (read-only, disabled isolation or the Default Server), as leaderboards do
+     * @return The filter, or null if no unrestricted servers are registered
+     */
+    public Bson unrestrictedScopeFilter() {
+        return current().unrestrictedScope;
+    }
+
+    /**
+     * Keep only results that belong to a registered partition, logging any that do not
+     * @param guildIdOf Reads a result's guild ID
+     * @param serverIdOf Reads a result's server ID
+     */
+    public <T> List<T> retainScoped(List<T> results, ToLongFunction<T> guildIdOf, Function<T, String> serverIdOf) {
+        Snapshot current = current();
+        List<T> scoped = new ArrayList<>(results.size());
+        for (T result : results) {
+            long guildId = guildIdOf.applyAsLong(result);
+            String serverId = serverIdOf.apply(result);
+            Set<String> serverIds = current.partitions.get(guildId);
+            if (serverIds != null && serverIds.contains(serverId)) {
+                scoped.add(result);
+            } else {
+                logger.warn("Dropped result outside registered partitions (Guild={}, Server={})", guildId, serverId);
+            }
+        }
+        return scoped;
+    }
+
+    /**
+     * Reload the topology on next use (call after servers are added or removed)
+     */
+    public void invalidate() {
+        snapshot = null;
+    }
+
+    private Snapshot current() {
+        Snapshot current = snapshot;
+        if (current == null || current.isExpired()) {
+            synchronized (this) {
+                current = snapshot;
+                if (current == null || current.isExpired()) {
+                    current = load();
+                    snapshot = current;
+                }
+            }
+        }
+        return current;
+    }
+
+    private Snapshot load() {
+        Map<Long, Set<String>> partitions = new HashMap<>();
+        Map<Long, Set<String>> unrestricted = new HashMap<>();
+        for (GameServer server : gameServerRepository.findPartitions()) {
+            partitions.computeIfAbsent(server.getGuildId(), k -> new HashSet<>()).add(server.getServerId());
+            if (!server.hasRestrictedIsolation()) {
+                unrestricted.computeIfAbsent(server.getGuildId(), k -> new HashSet<>()).add(server.getServerId());
+            }
+        }
+
+        for (Map.Entry<Long, Set<String>> entry : partitions.entrySet()) {
+            entry.setValue(Collections.unmodifiableSet(entry.getValue()));
+        }
+
+        logger.debug("Loaded server topology: {} guilds", partitions.size());
+        return new Snapshot(Collections.unmodifiableMap(partitions),
+            toFilter(partitions), toFilter(unrestricted),
+            System.currentTimeMillis() + ttl);
+    }
+
+    private static Bson toFilter(Map<Long, Set<String>> partitions) {
+        List<Bson> scopes = new ArrayList<>(partitions.size());
+        for (Map.Entry<Long, Set<String>> entry : partitions.entrySet()) {
+            scopes.add(Filters.and(
+                Filters.eq("guildId", entry.getKey()),
+                Filters.in("serverId", entry.getValue())));
+        }
+        return scopes.isEmpty() ? null : Filters.or(scopes);
+    }
+
+    private static class Snapshot {
+        final Map<Long, Set<String>> partitions;
+        final Bson scope;
+        final Bson unrestrictedScope;
+        final long expiresAt;
+
+        Snapshot(Map<Long, Set<String>> partitions, Bson scope, Bson unrestrictedScope, long expiresAt) {
+            this.partitions = partitions;
+            this.scope = scope;
+            this.unrestrictedScope = unrestrictedScope;
+            this.expiresAt = expiresAt;
+        }
+
+        boolean isExpired() {
+            return System.currentTimeMillis() >= expiresAt;
+        }
+    }
+}
@@ -0,0 +1,298 @@
+package com.deadside.bot.killfeed;
+
+import com.deadside.bot.config.Config;
+import net.dv8tion.jda.api.JDA;
+import net.dv8tion.jda.api.entities.Message;
+import net.dv8tion.jda.api.entities.MessageEmbed;
+import net.dv8tion.jda.api.entities.channel.concrete.TextChannel;
+import net.dv8tion.jda.api.requests.restaction.MessageCreateAction;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Sends killfeed embeds to Discord in batches, one queue per channel
+ * Parsers only enqueue, so slow Discord responses never hold up ingestion. Each channel has
+ * at most one message in flight; up to ten embeds are packed into it, and a partial batch is
+ * sent once its oldest kill has waited the linger time. When a backlog outgrows the queue the
+ * oldest kills are dropped and the next message says how many were skipped.
+ */
+public class KillfeedPublisher {
+    private static final Logger logger = LoggerFactory.getLogger(KillfeedPublisher.class);
+    private static KillfeedPublisher instance;
+
+    private static final long TICK_MILLIS = 250;
+    private static final long MIN_BACKOFF_MILLIS = 1000;
+    private static final long MAX_BACKOFF_MILLIS = 60000;
+    /** Empty queues are removed after this long without activity */
+    private static final long IDLE_MILLIS = TimeUnit.MINUTES.toMillis(10);
+    private static final long METRICS_LOG_TICKS = 1200;
+
+    private final Map<Long, ChannelQueue> queues = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService sender;
+    private final long lingerMillis;
+    private final int maxQueue;
+
+    private final AtomicLong enqueued = new AtomicLong();
+    private final AtomicLong messagesSent = new AtomicLong();
+    private final AtomicLong embedsSent = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+    private final AtomicLong failures = new AtomicLong();
+    private final AtomicLong ticks = new AtomicLong();
+
+    private KillfeedPublisher() {
+        this.lingerMillis = Config.getInstance().getKillfeedPublishLinger();
+        this.maxQueue = Config.getInstance().getKillfeedPublishMaxQueue();
+        this.sender = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "killfeed-publisher");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.sender.scheduleAtFixedRate(this::tick, TICK_MILLIS, TICK_MILLIS, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Get the singleton instance
+     */
+    public static synchronized KillfeedPublisher getInstance() {
+        if (instance == null) {
+            instance = new KillfeedPublisher();
+        }
+        return instance;
+    }
+
+    /**
+     * Queue an embed for a channel; never blocks on Discord
+     */
+    public void publish(TextChannel channel, MessageEmbed embed) {
+        if (channel == null || embed == null) {
+            return;
+        }
+        enqueued.incrementAndGet();
+        queues.compute(channel.getIdLong(), (id, queue) -> {
+            if (queue == null) {
+                queue = new ChannelQueue(channel.getJDA(), id);
+            }
+            if (queue.add(embed, System.currentTimeMillis(), maxQueue)) {
+                dropped.incrementAndGet();
+            }
+            return queue;
+        });
+    }
+
+    /**
+     * Number of embeds waiting to be sent across all channels
+     */
+    public int getPendingCount() {
+        int pending = 0;
+        for (ChannelQueue queue : queues.values()) {
+            pending += queue.size();
+        }
+        return pending;
+    }
+
+    /**
+     * Send what is queued and stop the publisher
+     */
+    public void shutdown() {
+        sender.shutdownNow();
+        long now = System.currentTimeMillis();
+        for (ChannelQueue queue : queues.values()) {
+            List<MessageEmbed> batch;
+            while ((batch = queue.takeBatch(now, 0, true)) != null) {
+                send(queue, batch, queue.takeDropped());
+            }
+        }
+    }
+
+    private void tick() {
+        long now = System.currentTimeMillis();
+        for (ChannelQueue queue : queues.values()) {
+            try {
+                List<MessageEmbed> batch = queue.takeBatch(now, lingerMillis, false);
+                if (batch != null) {
+                    send(queue, batch, queue.takeDropped());
+                } else if (queue.isIdle(now)) {
+                    queues.computeIfPresent(queue.channelId, (id, current) -> current.isIdle(now) ? null : current);
+                }
+            } catch (Exception e) {
+                queue.done(false, now);
+                logger.error("Error publishing killfeed to channel {}", queue.channelId, e);
+            }
+        }
+
+        if (ticks.incrementAndGet() % METRICS_LOG_TICKS == 0) {
+            logger.debug("Killfeed publisher: {} queued, {} messages with {} embeds sent, {} dropped, {} failed, {} pending",
+                enqueued.get(), messagesSent.get(), embedsSent.get(), dropped.get(), failures.get(), getPendingCount());
+        }
+    }
+
+    private void send(ChannelQueue queue, List<MessageEmbed> batch, int skipped) {
+        TextChannel channel = queue.jda.getTextChannelById(queue.channelId);
+        if (channel == null) {
+            // Channel deleted or bot removed; nothing queued for it can be delivered
+            logger.warn("Killfeed channel {} not found, discarding {} queued kills", queue.channelId, batch.size() + queue.clear());
+            queue.done(true, System.currentTimeMillis());
+            return;
+        }
+
+        MessageCreateAction action = channel.sendMessageEmbeds(batch);
+        if (skipped > 0) {
+            action = action.setContent("+" + skipped + " more kills");
+        }
+        action.queue(
+            message -> {
+                messagesSent.incrementAndGet();
+                embedsSent.addAndGet(batch.size());
+                queue.done(true, System.currentTimeMillis());
+            },
+            error -> {
+                failures.incrementAndGet();
+                long now = System.currentTimeMillis();
+                // Retry the batch first once the backoff has passed
+                dropped.addAndGet(queue.requeue(batch, skipped, now, maxQueue));
+                queue.done(false, now);
+                logger.warn("Failed to send {} killfeed embeds to channel {}: {}",
+                    batch.size(), queue.channelId, error.getMessage());
+            });
+    }
+
+    /**
+     * Pending embeds and send state for one channel
+     */
+    private static class ChannelQueue {
+        final JDA jda;
+        final long channelId;
+        private final Deque<Pending> pending = new ArrayDeque<>();
+        private int dropped;
+        private boolean inFlight;
+        private long retryAt;
+        private long backoff;
+        private long lastActivity;
+
+        ChannelQueue(JDA jda, long channelId) {
+            this.jda = jda;
+            this.channelId = channelId;
+            this.lastActivity = System.currentTimeMillis();
+        }
+
+        /**
+         * @return True if the oldest embed was dropped to make room
+         */
+        synchronized boolean add(MessageEmbed embed, long now, int maxQueue) {
+            boolean drop = pending.size() >= maxQueue;
+            if (drop) {
+                pending.pollFirst();
+                dropped++;
+            }
+            pending.addLast(new Pending(embed, now));
+            lastActivity = now;
+            return drop;
+        }
+
+        /**
+         * Put a failed batch back at the front of the queue, with its skipped count
+         * If the queue is now too long the oldest embeds are dropped, as in {@link #add}.
+         * @return The number of embeds dropped
+         */
+        synchronized int requeue(List<MessageEmbed> batch, int skipped, long now, int maxQueue) {
+            for (int i = batch.size() - 1; i >= 0; i--) {
+                pending.addFirst(new Pending(batch.get(i), now));
+            }
+            dropped += skipped;
+            int drop = Math.max(0, pending.size() - maxQueue);
+            for (int i = 0; i < drop; i++) {
+                pending.pollFirst();
+            }
+            dropped += drop;
+            lastActivity = now;
+            return drop;
+        }
+
+        /**
+         * Take the next message's embeds if the channel is ready for one
+         * A batch is due when it is full or its oldest embed has waited the linger time.
+         * @return Up to ten embeds within Discord's total embed size, or null if nothing is due
+         */
+        synchronized List<MessageEmbed> takeBatch(long now, long lingerMillis, boolean force) {
+            if (pending.isEmpty() || (!force && (inFlight || now < retryAt))) {
+                return null;
+            }
+            if (!force && pending.size() < Message.MAX_EMBED_COUNT && now - pending.peekFirst().queuedAt < lingerMillis) {
+                return null;
+            }
+
+            List<MessageEmbed> batch = new ArrayList<>(Message.MAX_EMBED_COUNT);
+            int length = 0;
+            while (!pending.isEmpty() && batch.size() < Message.MAX_EMBED_COUNT) {
+                MessageEmbed embed = pending.peekFirst().embed;
+                int embedLength = embed.getLength();
+                if (!batch.isEmpty() && length + embedLength > MessageEmbed.EMBED_MAX_LENGTH_BOT) {
+                    break;
+                }
+                pending.pollFirst();
+                batch.add(embed);
+                length += embedLength;
+            }
+            inFlight = true;
+            lastActivity = now;
+            return batch;
+        }
+
+        synchronized int takeDropped() {
+            int count = dropped;
+            dropped = 0;
+            return count;
+        }
+
+        /**
+         * Mark the in-flight message finished; failures back off exponentially
+         */
+        synchronized void done(boolean success, long now) {
+            inFlight = false;
+            lastActivity = now;
+            if (success) {
+                backoff = 0;
+                retryAt = 0;
+            } else {
+                backoff = backoff == 0 ? MIN_BACKOFF_MILLIS : Math.min(backoff * 2, MAX_BACKOFF_MILLIS);
+                retryAt = now + backoff;
+            }
+        }
+
+        synchronized int clear() {
+            int count = pending.size();
+            pending.clear();
+            dropped = 0;
+            return count;
+        }
+
+        synchronized int size() {
+            return pending.size();
+        }
+
+        synchronized boolean isIdle(long now) {
+            return pending.isEmpty() && !inFlight && now - lastActivity >= IDLE_MILLIS;
+        }
+    }
+
+    private static class Pending {
+        final MessageEmbed embed;
+        final long queuedAt;
+
+        Pending(MessageEmbed embed, long queuedAt) {
+            this.embed = embed;
+            this.queuedAt = queuedAt;
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package com.deadside.bot.leaderboard;
+
+import com.deadside.bot.db.models.LeaderboardEntry;
+
+/**
+ * Statistics players can be ranked by
+ * A player only appears on a metric's leaderboard once its value is above zero.
+ */
+public enum LeaderboardMetric {
+    KILLS("Kills") {
+        @Override
+        public double valueOf(LeaderboardEntry entry) {
+            return entry.getKills();
+        }
+    },
+    DEATHS("Deaths") {
+        @Override
+        public double valueOf(LeaderboardEntry entry) {
+            return entry.getDeaths();
+        }
+    },
+    KD_RATIO("K/D Ratio") {
+        @Override
+        public double valueOf(LeaderboardEntry entry) {
+            return entry.getKills() > 0 ? entry.getKdRatio() : 0;
+        }
+    },
+    LONGEST_KILL("Longest Kill") {
+        @Override
+        public double valueOf(LeaderboardEntry entry) {
+            return entry.getLongestKillDistance();
+        }
+    },
+    KILL_STREAK("Kill Streak") {
+        @Override
+        public double valueOf(LeaderboardEntry entry) {
+            return entry.getLongestKillStreak();
+        }
+    },
+    SCORE("Score") {
+        @Override
+        public double valueOf(LeaderboardEntry entry) {
+            return entry.getScore();
+        }
+    };
+
+    private final String displayName;
+
+    LeaderboardMetric(String displayName) {
+        this.displayName = displayName;
+    }
+
+    /**
+     * The value players are ranked by for this metric (higher ranks first)
+     */
+    public abstract double valueOf(LeaderboardEntry entry);
+
+    public String getDisplayName() {
+        return displayName;
+    }
+}
@@ -0,0 +1,291 @@
+package com.deadside.bot.leaderboard;
+
+import com.deadside.bot.config.Config;
+import com.deadside.bot.db.models.GameServer;
+import com.deadside.bot.db.models.LeaderboardEntry;
+import com.deadside.bot.db.models.Player;
+import com.deadside.bot.db.repositories.GameServerRepository;
+import com.deadside.bot.db.repositories.LeaderboardRepository;
+import com.deadside.bot.db.repositories.PlayerRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Incrementally maintained leaderboards, one per guild and server
+ * Killfeed ingestion pushes changed players in after each stat flush; commands read top-N
+ * and exact ranks from memory in O(log n) without querying the players collection.
+ * Every change is written through to the leaderboards collection, so a server's board
+ * is rebuilt from that snapshot after a restart or after it was evicted for being idle.
+ */
+public class LeaderboardStore {
+    private static final Logger logger = LoggerFactory.getLogger(LeaderboardStore.class);
+    private static LeaderboardStore instance;
+
+    private final Map<String, Board> boards = new ConcurrentHashMap<>();
+    private final LeaderboardRepository leaderboardRepository;
+    private final PlayerRepository playerRepository;
+    private final GameServerRepository gameServerRepository;
+    private final ScheduledExecutorService maintenance;
+    private final long idleTimeout;
+
+    private LeaderboardStore() {
+        this.leaderboardRepository = new LeaderboardRepository();
+        this.playerRepository = new PlayerRepository();
+        this.gameServerRepository = new GameServerRepository();
+        this.idleTimeout = Config.getInstance().getLeaderboardCacheIdleTimeout();
+
+        this.maintenance = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "leaderboard-maintenance");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.maintenance.scheduleAtFixedRate(this::evictIdle, 5, 5, TimeUnit.MINUTES);
+    }
+
+    /**
+     * Get the singleton instance
+     */
+    public static synchronized LeaderboardStore getInstance() {
+        if (instance == null) {
+            instance = new LeaderboardStore();
+        }
+        return instance;
+    }
+
+    /**
+     * Get the top players for a metric
+     * @param guildId The guild ID for isolation
+     * @param serverId The server ID for isolation
+     * @param metric The metric to rank by
+     * @param limit Maximum number of entries to return
+     * @return Entries in rank order (empty for servers with restricted isolation)
+     */
+    public List<LeaderboardEntry> getTop(long guildId, String serverId, LeaderboardMetric metric, int limit) {
+        return getTop(guildId, serverId, metric, limit, 0);
+    }
+
+    /**
+     * Get the top players for a metric, skipping players below a kill threshold
+     * @param minKills Minimum kills a player needs to be listed
+     */
+    public List<LeaderboardEntry> getTop(long guildId, String serverId, LeaderboardMetric metric, int limit, int minKills) {
+        Board board = getBoard(guildId, serverId);
+        if (board == null) {
+            return Collections.emptyList();
+        }
+        return board.top(metric, limit, minKills);
+    }
+
+    /**
+     * Get a player's 1-based rank for a metric
+     * @return The rank, or -1 if the player is not on this leaderboard
+     */
+    public int getRank(long guildId, String serverId, LeaderboardMetric metric, String playerId) {
+        return getRank(guildId, serverId, metric, playerId, 0);
+    }
+
+    /**
+     * Get a player's 1-based rank for a metric among players with at least a number of kills
+     * @param minKills Minimum kills a player needs to be ranked
+     * @return The rank, or -1 if the player is not on this leaderboard or below the threshold
+     */
+    public int getRank(long guildId, String serverId, LeaderboardMetric metric, String playerId, int minKills) {
+        Board board = getBoard(guildId, serverId);
+        if (board == null || playerId == null) {
+            return -1;
+        }
+        return board.rank(metric, playerId, minKills);
+    }
+
+    /**
+     * Number of players ranked for a metric
+     */
+    public int getRankedCount(long guildId, String serverId, LeaderboardMetric metric) {
+        return getRankedCount(guildId, serverId, metric, 0);
+    }
+
+    /**
+     * Number of players ranked for a metric with at least a number of kills
+     * @param minKills Minimum kills a player needs to be counted
+     */
+    public int getRankedCount(long guildId, String serverId, LeaderboardMetric metric, int minKills) {
+        Board board = getBoard(guildId, serverId);
+        return board == null ? 0 : board.count(metric, minKills);
+    }
+
+    /**
+     * Re-read the given players after their stats changed and publish them to the leaderboard
+     * Called by killfeed ingestion after each stat flush.
+     */
+    public void refreshPlayers(long guildId, String serverId, Collection<String> playerIds) {
+        if (playerIds.isEmpty()) {
+            return;
+        }
+
+        // Make sure the server has a snapshot before writing to it, otherwise a first load
+        // would find only these players and never build the rest of the board
+        Board board = boards.computeIfAbsent(key(guildId, serverId), k -> new Board());
+        board.ensureLoaded(guildId, serverId);
+
+        List<LeaderboardEntry> entries = new ArrayList<>(playerIds.size());
+        for (Player player : playerRepository.findLeaderboardStats(guildId, serverId, playerIds)) {
+            entries.add(LeaderboardEntry.fromPlayer(player));
+        }
+        if (entries.isEmpty()) {
+            return;
+        }
+
+        leaderboardRepository.saveAll(entries);
+        board.putAll(entries);
+    }
+
+    /**
+     * Drop a server's leaderboard and rebuild it from the players collection on next use
+     * Use after stats were changed outside killfeed ingestion (resets, imports, manual syncs).
+     */
+    public void rebuild(long guildId, String serverId) {
+        boards.remove(key(guildId, serverId));
+        leaderboardRepository.deleteByGuildIdAndServerId(guildId, serverId);
+    }
+
+    /**
+     * Stop the maintenance task and drop all cached boards
+     */
+    public void shutdown() {
+        maintenance.shutdownNow();
+        boards.clear();
+    }
+
+    private Board getBoard(long guildId, String serverId) {
+        if (guildId <= 0 || serverId == null || serverId.isEmpty()) {
+            logger.info("Leaderboard requested with incomplete isolation context. Guild ID: {}, Server ID: {}",
+                guildId, serverId);
+            return null;
+        }
+
+        GameServer server = gameServerRepository.findCachedByGuildIdAndServerId(guildId, serverId);
+        if (server != null && server.hasRestrictedIsolation()) {
+            logger.debug("Server {} has restricted isolation - no leaderboard", server.getName());
+            return null;
+        }
+
+        Board board = boards.computeIfAbsent(key(guildId, serverId), k -> new Board());
+        board.ensureLoaded(guildId, serverId);
+        return board;
+    }
+
+    /**
+     * Fill a board from the persisted snapshot, building the snapshot from players the first time
+     */
+    private List<LeaderboardEntry> loadEntries(long guildId, String serverId) {
+        long started = System.currentTimeMillis();
+        List<LeaderboardEntry> entries = leaderboardRepository.findByGuildIdAndServerId(guildId, serverId);
+        if (entries.isEmpty()) {
+            for (Player player : playerRepository.findLeaderboardStats(guildId, serverId, null)) {
+                entries.add(LeaderboardEntry.fromPlayer(player));
+            }
+            if (!entries.isEmpty()) {
+                leaderboardRepository.saveAll(entries);
+                logger.info("Built leaderboard snapshot for guild {} server {} from {} players",
+                    guildId, serverId, entries.size());
+            }
+        }
+        logger.debug("Loaded leaderboard for guild {} server {} ({} entries) in {} ms",
+            guildId, serverId, entries.size(), System.currentTimeMillis() - started);
+        return entries;
+    }
+
+    private void evictIdle() {
+        long cutoff = System.currentTimeMillis() - idleTimeout;
+        boards.entrySet().removeIf(entry -> entry.getValue().lastAccess < cutoff);
+    }
+
+    private static String key(long guildId, String serverId) {
+        return guildId + ":" + serverId;
+    }
+
+    /**
+     * One server's leaderboards: the latest entry per player plus a rank tree per metric
+     */
+    private class Board {
+        private final Map<String, LeaderboardEntry> entries = new HashMap<>();
+        private final Map<LeaderboardMetric, RankTree> trees = new EnumMap<>(LeaderboardMetric.class);
+        private boolean loaded;
+        private volatile long lastAccess = System.currentTimeMillis();
+
+        Board() {
+            for (LeaderboardMetric metric : LeaderboardMetric.values()) {
+                trees.put(metric, new RankTree());
+            }
+        }
+
+        synchronized void ensureLoaded(long guildId, String serverId) {
+            lastAccess = System.currentTimeMillis();
+            if (!loaded) {
+                putAll(loadEntries(guildId, serverId));
+                loaded = true;
+            }
+        }
+
+        synchronized void putAll(Collection<LeaderboardEntry> updated) {
+            for (LeaderboardEntry entry : updated) {
+                put(entry);
+            }
+        }
+
+        private void put(LeaderboardEntry entry) {
+            LeaderboardEntry previous = entries.put(entry.getPlayerId(), entry);
+            for (Map.Entry<LeaderboardMetric, RankTree> tree : trees.entrySet()) {
+                LeaderboardMetric metric = tree.getKey();
+                if (previous != null && isRanked(metric, previous)) {
+                    tree.getValue().remove(previous.getPlayerId(), metric.valueOf(previous));
+                }
+                if (isRanked(metric, entry)) {
+                    tree.getValue().insert(entry.getPlayerId(), metric.valueOf(entry));
+                }
+            }
+        }
+
+        synchronized List<LeaderboardEntry> top(LeaderboardMetric metric, int limit, int minKills) {
+            List<LeaderboardEntry> result = new ArrayList<>();
+            for (String playerId : trees.get(metric).top(limit, id -> entries.get(id).getKills() >= minKills)) {
+                result.add(entries.get(playerId));
+            }
+            return result;
+        }
+
+        synchronized int rank(LeaderboardMetric metric, String playerId, int minKills) {
+            LeaderboardEntry entry = entries.get(playerId);
+            if (entry == null || !isRanked(metric, entry) || entry.getKills() < minKills) {
+                return -1;
+            }
+            if (minKills <= 0) {
+                return trees.get(metric).rank(playerId, metric.valueOf(entry));
+            }
+            return trees.get(metric).rank(playerId, metric.valueOf(entry), id -> entries.get(id).getKills() >= minKills);
+        }
+
+        synchronized int count(LeaderboardMetric metric, int minKills) {
+            if (minKills <= 0) {
+                return trees.get(metric).size();
+            }
+            return trees.get(metric).count(id -> entries.get(id).getKills() >= minKills);
+        }
+
+        private boolean isRanked(LeaderboardMetric metric, LeaderboardEntry entry) {
+            return entry.isRankable() && metric.valueOf(entry) > 0;
+        }
+    }
+}
@@ -0,0 +1,219 @@
+package com.deadside.bot.leaderboard;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Predicate;
+
+/**
+ * Order-statistic tree (a treap with subtree sizes) holding one player per node,
+ * ordered by value descending and then player ID
+ * Insert, remove and rank lookups are O(log n). Not thread-safe; the owning board synchronizes.
+ */
+class RankTree {
+    private Node root;
+
+    private static class Node {
+        final String playerId;
+        final double value;
+        final int priority;
+        int size = 1;
+        Node left;
+        Node right;
+
+        Node(String playerId, double value) {
+            this.playerId = playerId;
+            this.value = value;
+            this.priority = ThreadLocalRandom.current().nextInt();
+        }
+    }
+
+    int size() {
+        return size(root);
+    }
+
+    void insert(String playerId, double value) {
+        root = insert(root, new Node(playerId, value));
+    }
+
+    void remove(String playerId, double value) {
+        root = remove(root, playerId, value);
+    }
+
+    /**
+     * 1-based position of a player with the given value, or -1 if it is not in the tree
+     */
+    int rank(String playerId, double value) {
+        int before = 0;
+        Node node = root;
+        while (node != null) {
+            int cmp = compare(playerId, value, node);
+            if (cmp == 0) {
+                return before + size(node.left) + 1;
+            }
+            if (cmp < 0) {
+                node = node.left;
+            } else {
+                before += size(node.left) + 1;
+                node = node.right;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * 1-based position of a player among those the filter accepts, or -1 if it is not in the tree
+     * Walks the players ranked above it, so this is O(rank) rather than O(log n).
+     */
+    int rank(String playerId, double value, Predicate<String> filter) {
+        int[] before = new int[1];
+        return find(root, playerId, value, filter, before) ? before[0] + 1 : -1;
+    }
+
+    /**
+     * Number of players the filter accepts
+     */
+    int count(Predicate<String> filter) {
+        return count(root, filter);
+    }
+
+    /**
+     * Player IDs in rank order, skipping those the filter rejects, up to the limit
+     */
+    List<String> top(int limit, Predicate<String> filter) {
+        List<String> result = new ArrayList<>(Math.min(limit, size()));
+        collect(root, limit, filter, result);
+        return result;
+    }
+
+    private static boolean collect(Node node, int limit, Predicate<String> filter, List<String> result) {
+        if (node == null) {
+            return result.size() >= limit;
+        }
+        if (collect(node.left, limit, filter, result)) {
+            return true;
+        }
+        if (filter.test(node.playerId)) {
+            result.add(node.playerId);
+            if (result.size() >= limit) {
+                return true;
+            }
+        }
+        return collect(node.right, limit, filter, result);
+    }
+
+    /**
+     * In-order walk up to the player, counting the accepted players before it
+     * @return True once the player is found
+     */
+    private static boolean find(Node node, String playerId, double value, Predicate<String> filter, int[] before) {
+        if (node == null) {
+            return false;
+        }
+        int cmp = compare(playerId, value, node);
+        if (cmp < 0) {
+            return find(node.left, playerId, value, filter, before);
+        }
+        before[0] += count(node.left, filter);
+        if (cmp == 0) {
+            return true;
+        }
+        if (filter.test(node.playerId)) {
+            before[0]++;
+        }
+        return find(node.right, playerId, value, filter, before);
+    }
+
+    private static int count(Node node, Predicate<String> filter) {
+        if (node == null) {
+            return 0;
+        }
+        return count(node.left, filter) + (filter.test(node.playerId) ? 1 : 0) + count(node.right, filter);
+    }
+
+    private static Node insert(Node node, Node added) {
+        if (node == null) {
+            return added;
+        }
+        if (compare(added.playerId, added.value, node) < 0) {
+            node.left = insert(node.left, added);
+            if (node.left.priority > node.priority) {
+                node = rotateRight(node);
+            }
+        } else {
+            node.right = insert(node.right, added);
+            if (node.right.priority > node.priority) {
+                node = rotateLeft(node);
+            }
+        }
+        update(node);
+        return node;
+    }
+
+    private static Node remove(Node node, String playerId, double value) {
+        if (node == null) {
+            return null;
+        }
+        int cmp = compare(playerId, value, node);
+        if (cmp < 0) {
+            node.left = remove(node.left, playerId, value);
+        } else if (cmp > 0) {
+            node.right = remove(node.right, playerId, value);
+        } else {
+            return merge(node.left, node.right);
+        }
+        update(node);
+        return node;
+    }
+
+    private static Node merge(Node left, Node right) {
+        if (left == null) {
+            return right;
+        }
+        if (right == null) {
+            return left;
+        }
+        if (left.priority > right.priority) {
+            left.right = merge(left.right, right);
+            update(left);
+            return left;
+        }
+        right.left = merge(left, right.left);
+        update(right);
+        return right;
+    }
+
+    private static Node rotateRight(Node node) {
+        Node pivot = node.left;
+        node.left = pivot.right;
+        pivot.right = node;
+        update(node);
+        update(pivot);
+        return pivot;
+    }
+
+    private static Node rotateLeft(Node node) {
+        Node pivot = node.right;
+        node.right = pivot.left;
+        pivot.left = node;
+        update(node);
+        update(pivot);
+        return pivot;
+    }
+
+    private static void update(Node node) {
+        node.size = 1 + size(node.left) + size(node.right);
+    }
+
+    private static int size(Node node) {
+        return node == null ? 0 : node.size;
+    }
+
+    /**
+     * Higher values sort first; ties are broken by player ID so every key is unique
+     */
+    private static int compare(String playerId, double value, Node node) {
+        int cmp = Double.compare(node.value, value);
+        return cmp != 0 ? cmp : playerId.compareTo(node.playerId);
+    }
+}
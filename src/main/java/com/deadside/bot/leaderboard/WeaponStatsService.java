@@ -0,0 +1,158 @@
+package com.deadside.bot.leaderboard;
+
+import com.deadside.bot.config.Config;
+import com.deadside.bot.db.models.GameServer;
+import com.deadside.bot.db.models.WeaponStats;
+import com.deadside.bot.db.repositories.GameServerRepository;
+import com.deadside.bot.db.repositories.PlayerRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Per-server weapon statistics aggregated in MongoDB and cached for a short TTL
+ * Weapon leaderboards and weapon lookups share one aggregation per server per TTL window
+ * instead of loading every player and merging their weapon maps in Java.
+ */
+public class WeaponStatsService {
+    private static final Logger logger = LoggerFactory.getLogger(WeaponStatsService.class);
+    private static WeaponStatsService instance;
+
+    private static final Comparator<WeaponStats> BY_KILLS =
+        Comparator.comparingInt(WeaponStats::getKills).reversed().thenComparing(WeaponStats::getWeapon);
+
+    private final Map<String, CachedStats> cache = new ConcurrentHashMap<>();
+    private final Map<String, CompletableFuture<CachedStats>> loading = new ConcurrentHashMap<>();
+    private final PlayerRepository playerRepository;
+    private final GameServerRepository gameServerRepository;
+    private final long ttl;
+
+    private WeaponStatsService() {
+        this.playerRepository = new PlayerRepository();
+        this.gameServerRepository = new GameServerRepository();
+        this.ttl = Config.getInstance().getWeaponStatsCacheTtl();
+    }
+
+    /**
+     * Get the singleton instance
+     */
+    public static synchronized WeaponStatsService getInstance() {
+        if (instance == null) {
+            instance = new WeaponStatsService();
+        }
+        return instance;
+    }
+
+    /**
+     * Get every weapon used on a server, most kills first
+     * @param guildId The guild ID for isolation
+     * @param serverId The server ID for isolation
+     * @return Weapon stats (empty for servers with restricted isolation)
+     */
+    public List<WeaponStats> getWeaponStats(long guildId, String serverId) {
+        if (guildId <= 0 || serverId == null || serverId.isEmpty()) {
+            logger.info("Weapon stats requested with incomplete isolation context. Guild ID: {}, Server ID: {}",
+                guildId, serverId);
+            return Collections.emptyList();
+        }
+
+        GameServer server = gameServerRepository.findCachedByGuildIdAndServerId(guildId, serverId);
+        if (server != null && server.hasRestrictedIsolation()) {
+            logger.debug("Server {} has restricted isolation - no weapon stats", server.getName());
+            return Collections.emptyList();
+        }
+
+        String key = guildId + ":" + serverId;
+        CachedStats cached = cache.get(key);
+        if (cached == null || cached.isExpired()) {
+            cached = loadShared(key, guildId, serverId);
+        }
+        return cached.stats;
+    }
+
+    /**
+     * Get the most used weapons on a server
+     * @param limit Maximum number of weapons to return
+     */
+    public List<WeaponStats> getTopWeapons(long guildId, String serverId, int limit) {
+        List<WeaponStats> stats = getWeaponStats(guildId, serverId);
+        return stats.size() > limit ? stats.subList(0, limit) : stats;
+    }
+
+    /**
+     * Get weapon stats combined across several of a guild's servers, most kills first
+     */
+    public List<WeaponStats> getWeaponStats(long guildId, Collection<String> serverIds) {
+        Map<String, WeaponStats> combined = new LinkedHashMap<>();
+        for (String serverId : serverIds) {
+            for (WeaponStats stats : getWeaponStats(guildId, serverId)) {
+                combined.merge(stats.getWeapon(), stats, WeaponStats::merge);
+            }
+        }
+        List<WeaponStats> result = new ArrayList<>(combined.values());
+        result.sort(BY_KILLS);
+        return result;
+    }
+
+    /**
+     * Drop cached stats for a server so the next read aggregates again
+     * Use after player stats were reset or imported.
+     */
+    public void invalidate(long guildId, String serverId) {
+        cache.remove(guildId + ":" + serverId);
+    }
+
+    /**
+     * Aggregate a server's stats, sharing one aggregation between concurrent misses
+     * The aggregation runs outside both maps, so it never blocks lookups for other servers.
+     */
+    private CachedStats loadShared(String key, long guildId, String serverId) {
+        CompletableFuture<CachedStats> mine = new CompletableFuture<>();
+        CompletableFuture<CachedStats> pending = loading.putIfAbsent(key, mine);
+        if (pending != null) {
+            return pending.join();
+        }
+        try {
+            CachedStats loaded = load(guildId, serverId);
+            cache.put(key, loaded);
+            mine.complete(loaded);
+            return loaded;
+        } catch (RuntimeException e) {
+            mine.completeExceptionally(e);
+            throw e;
+        } finally {
+            loading.remove(key, mine);
+        }
+    }
+
+    private CachedStats load(long guildId, String serverId) {
+        long started = System.currentTimeMillis();
+        List<WeaponStats> stats = Collections.unmodifiableList(playerRepository.aggregateWeaponStats(guildId, serverId));
+        logger.debug("Aggregated {} weapons for guild {} server {} in {} ms",
+            stats.size(), guildId, serverId, System.currentTimeMillis() - started);
+        return new CachedStats(stats, System.currentTimeMillis() + ttl);
+    }
+
+    private static class CachedStats {
+        final List<WeaponStats> stats;
+        final long expiresAt;
+
+        CachedStats(List<WeaponStats> stats, long expiresAt) {
+            this.stats = stats;
+            this.expiresAt = expiresAt;
+        }
+
+        boolean isExpired() {
+            return System.currentTimeMillis() >= expiresAt;
+        }
+    }
+}
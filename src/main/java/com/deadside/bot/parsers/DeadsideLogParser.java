@@ -1,13 +1,19 @@
 package com.deadside.bot.parsers;
 
+import com.deadside.bot.db.models.GameServer;
 import com.deadside.bot.db.repositories.GameServerRepository;
 import com.deadside.bot.sftp.SftpConnector;
+import com.deadside.bot.utils.GuildIsolationManager;
 import net.dv8tion.jda.api.JDA;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.Objects;
+
 /**
  * Log parser for Deadside logs
+ * Tails each server's Deadside.log with {@link LogParser}, which publishes the events found
+ * on the {@link com.deadside.bot.parsers.events.LogEventBus}.
  */
 public class DeadsideLogParser {
     private static final Logger logger = LoggerFactory.getLogger(DeadsideLogParser.class);
@@ -15,6 +21,7 @@ public class DeadsideLogParser {
     private JDA jda;
     private final GameServerRepository gameServerRepository;
     private final SftpConnector sftpConnector;
+    private final LogParser logParser;
     
     /**
      * Constructor
@@ -27,6 +34,7 @@ public class DeadsideLogParser {
         this.jda = jda;
         this.gameServerRepository = gameServerRepository;
         this.sftpConnector = sftpConnector;
+        this.logParser = new LogParser();
         
         logger.info("Log parser initialized");
     }
@@ -38,4 +46,65 @@ public class DeadsideLogParser {
     public void setJda(JDA jda) {
         this.jda = jda;
     }
+    
+    /**
+     * Process new Deadside.log lines for every server, one guild at a time
+     */
+    public void processAllServerLogs() {
+        long start = System.currentTimeMillis();
+        int servers = 0;
+        int events = 0;
+        
+        try {
+            for (Long guildId : gameServerRepository.getDistinctGuildIds()) {
+                if (guildId == null || guildId <= 0) {
+                    continue;
+                }
+                
+                for (GameServer server : gameServerRepository.findAllByGuildId(guildId)) {
+                    events += processServerLogs(server);
+                    servers++;
+                }
+            }
+            
+            logger.info("Processed {} log events from {} servers in {}ms",
+                events, servers, System.currentTimeMillis() - start);
+        } catch (Exception e) {
+            // Never let an exception escape, or the scheduler stops running this task
+            logger.error("Error processing server logs", e);
+        }
+    }
+    
+    /**
+     * Process new Deadside.log lines for one server and save how far it got
+     * @param server The game server
+     * @return Number of log events published
+     */
+    public int processServerLogs(GameServer server) {
+        if (server.getServerId() == null || server.getServerId().isEmpty()) {
+            logger.warn("Skipping logs for server {} without a server ID", server.getName());
+            return 0;
+        }
+        
+        GuildIsolationManager.getInstance().setContext(server.getGuildId(), server.getServerId());
+        try {
+            String file = server.getLastProcessedLogFile();
+            long offset = server.getLastProcessedLogOffset();
+            long rotation = server.getLastLogRotation();
+            
+            int events = logParser.processServer(server);
+            
+            // Only write when the tail moved
+            if (server.getLastProcessedLogOffset() != offset || server.getLastLogRotation() != rotation
+                    || !Objects.equals(server.getLastProcessedLogFile(), file)) {
+                gameServerRepository.updateLogProgress(server);
+            }
+            return events;
+        } catch (Exception e) {
+            logger.error("Error processing logs for server {}", server.getName(), e);
+            return 0;
+        } finally {
+            GuildIsolationManager.getInstance().clearContext();
+        }
+    }
 }
\ No newline at end of file
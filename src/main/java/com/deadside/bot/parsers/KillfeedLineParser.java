@@ -0,0 +1,213 @@
+package com.deadside.bot.parsers;
+
+import com.deadside.bot.db.models.KillRecord;
+
+import java.util.TimeZone;
+
+/**
+ * Single-pass parser for Deadside killfeed CSV lines
+ * Format: timestamp;killer;killerID;victim;victimID;weapon;distance;platform1;platform2;
+ * Example: 2025.05.15-00.11.07;Fatalben0;0002548521ba4271a497e39d5bfe5611;Rogue731;00022ac42542497589f654e6ac2c0a6f;MR5;20;XSX;XSX;
+ *
+ * Stateless apart from the weapon name table, so it is safe to call from several threads at once.
+ * Only the fields kept on the KillRecord are turned into Strings; weapon names are interned.
+ */
+public final class KillfeedLineParser {
+    private static final int FIELD_COUNT = 9;
+    private static final int TIMESTAMP_LENGTH = 19; // yyyy.MM.dd-HH.mm.ss
+
+    // Timestamps are written in server local time, which the bot has always read in its own default zone
+    private static final TimeZone ZONE = TimeZone.getDefault();
+
+    // Weapon name table - open addressing on the hash of the raw characters so lookups need no String.
+    // Races between threads only ever store equal Strings, so the worst case is a duplicate instance.
+    private static final int WEAPON_TABLE_SIZE = 1024;
+    private static final String[] WEAPONS = new String[WEAPON_TABLE_SIZE];
+    private static final int MAX_PROBES = 8;
+
+    private KillfeedLineParser() {
+    }
+
+    /**
+     * Parse a killfeed line
+     * @param line The raw line (surrounding whitespace is ignored)
+     * @param guildId The guild the server belongs to
+     * @param serverId The server identifier to store on the record
+     * @return The parsed record, or null if the line is not a valid killfeed entry
+     */
+    public static KillRecord parse(CharSequence line, long guildId, String serverId) {
+        int start = 0;
+        int end = line.length();
+        while (start < end && line.charAt(start) <= ' ') start++;
+        while (end > start && line.charAt(end - 1) <= ' ') end--;
+
+        // Field boundaries: field i spans [bounds[2i], bounds[2i + 1])
+        int[] bounds = new int[FIELD_COUNT * 2];
+        int field = 0;
+        int fieldStart = start;
+        for (int i = start; i < end && field < FIELD_COUNT; i++) {
+            if (line.charAt(i) == ';') {
+                bounds[field * 2] = fieldStart;
+                bounds[field * 2 + 1] = i;
+                field++;
+                fieldStart = i + 1;
+            }
+        }
+
+        // The trailing ';' after the last platform is optional
+        if (field == FIELD_COUNT - 1 && fieldStart < end) {
+            bounds[field * 2] = fieldStart;
+            bounds[field * 2 + 1] = end;
+            field++;
+            fieldStart = end + 1;
+        }
+        if (field < FIELD_COUNT || fieldStart < end) {
+            return null;
+        }
+        for (int f = 0; f < FIELD_COUNT; f++) {
+            if (bounds[f * 2] == bounds[f * 2 + 1]) {
+                return null;
+            }
+        }
+
+        long timestamp = parseTimestamp(line, bounds[0], bounds[1]);
+        long distance = parseDistance(line, bounds[12], bounds[13]);
+        if (timestamp < 0 || distance < 0) {
+            return null;
+        }
+
+        String killer = substring(line, bounds[2], bounds[3]);
+        String victim = substring(line, bounds[6], bounds[7]);
+        String weapon = internWeapon(line, bounds[10], bounds[11]);
+        String original = start == 0 && end == line.length() ? line.toString() : substring(line, start, end);
+
+        KillRecord record = new KillRecord(guildId, serverId, killer, victim, weapon, distance, timestamp, original);
+        record.setKillerId(substring(line, bounds[4], bounds[5]));
+        record.setVictimId(substring(line, bounds[8], bounds[9]));
+
+        // Handle suicide cases - identify if this is a suicide/falling death
+        boolean isSuicide = killer.equals(victim);
+        record.setSuicide(isSuicide);
+        record.setFalling(weapon.equalsIgnoreCase("falling") || containsIgnoreCase(weapon, "fall damage"));
+        record.setMenuSuicide(isSuicide && (containsIgnoreCase(weapon, "suicide") || containsIgnoreCase(weapon, "menu")));
+        return record;
+    }
+
+    /**
+     * Decode yyyy.MM.dd-HH.mm.ss into epoch milliseconds without going through a date formatter
+     * @return The timestamp, or -1 if the field is malformed
+     */
+    static long parseTimestamp(CharSequence s, int from, int to) {
+        if (to - from != TIMESTAMP_LENGTH
+                || s.charAt(from + 4) != '.' || s.charAt(from + 7) != '.' || s.charAt(from + 10) != '-'
+                || s.charAt(from + 13) != '.' || s.charAt(from + 16) != '.') {
+            return -1;
+        }
+
+        int year = digits(s, from, 4);
+        int month = digits(s, from + 5, 2);
+        int day = digits(s, from + 8, 2);
+        int hour = digits(s, from + 11, 2);
+        int minute = digits(s, from + 14, 2);
+        int second = digits(s, from + 17, 2);
+        if (year < 0 || month < 1 || month > 12 || day < 1 || day > 31
+                || hour < 0 || hour > 23 || minute < 0 || minute > 59 || second < 0 || second > 59) {
+            return -1;
+        }
+
+        long utcMillis = ((daysFromCivil(year, month, day) * 24 + hour) * 60 + minute) * 60_000L + second * 1000L;
+        return utcMillis - ZONE.getOffset(utcMillis - ZONE.getRawOffset());
+    }
+
+    /**
+     * Days since 1970-01-01 for a proleptic Gregorian date
+     */
+    private static long daysFromCivil(int year, int month, int day) {
+        int y = month <= 2 ? year - 1 : year;
+        int era = Math.floorDiv(y, 400);
+        int yearOfEra = y - era * 400;
+        int dayOfYear = (153 * (month + (month > 2 ? -3 : 9)) + 2) / 5 + day - 1;
+        int dayOfEra = yearOfEra * 365 + yearOfEra / 4 - yearOfEra / 100 + dayOfYear;
+        return era * 146097L + dayOfEra - 719468;
+    }
+
+    private static int digits(CharSequence s, int from, int count) {
+        int value = 0;
+        for (int i = from; i < from + count; i++) {
+            int d = s.charAt(i) - '0';
+            if (d < 0 || d > 9) {
+                return -1;
+            }
+            value = value * 10 + d;
+        }
+        return value;
+    }
+
+    private static long parseDistance(CharSequence s, int from, int to) {
+        if (to - from > 18) {
+            return -1;
+        }
+        long value = 0;
+        for (int i = from; i < to; i++) {
+            int d = s.charAt(i) - '0';
+            if (d < 0 || d > 9) {
+                return -1;
+            }
+            value = value * 10 + d;
+        }
+        return value;
+    }
+
+    /**
+     * Return the shared String for a weapon name, creating it only the first time it is seen
+     */
+    static String internWeapon(CharSequence s, int from, int to) {
+        int hash = 0;
+        for (int i = from; i < to; i++) {
+            hash = 31 * hash + s.charAt(i);
+        }
+        int slot = (hash ^ (hash >>> 16)) & (WEAPON_TABLE_SIZE - 1);
+
+        for (int probe = 0; probe < MAX_PROBES; probe++) {
+            int index = (slot + probe) & (WEAPON_TABLE_SIZE - 1);
+            String existing = WEAPONS[index];
+            if (existing == null) {
+                String weapon = substring(s, from, to);
+                WEAPONS[index] = weapon;
+                return weapon;
+            }
+            if (existing.hashCode() == hash && regionEquals(existing, s, from, to)) {
+                return existing;
+            }
+        }
+
+        // Neighbourhood is full - unusual weapon names are simply not interned
+        return substring(s, from, to);
+    }
+
+    private static boolean regionEquals(String value, CharSequence s, int from, int to) {
+        if (value.length() != to - from) {
+            return false;
+        }
+        for (int i = 0; i < value.length(); i++) {
+            if (value.charAt(i) != s.charAt(from + i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean containsIgnoreCase(String value, String lowerCaseTerm) {
+        int last = value.length() - lowerCaseTerm.length();
+        for (int i = 0; i <= last; i++) {
+            if (value.regionMatches(true, i, lowerCaseTerm, 0, lowerCaseTerm.length())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String substring(CharSequence s, int from, int to) {
+        return s instanceof String ? ((String) s).substring(from, to) : s.subSequence(from, to).toString();
+    }
+}
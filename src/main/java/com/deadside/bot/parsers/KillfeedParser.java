@@ -1,14 +1,18 @@
 package com.deadside.bot.parsers;
 
+import com.deadside.bot.bounty.BountySettlement;
 import com.deadside.bot.db.models.GameServer;
 import com.deadside.bot.db.models.GuildConfig;
 import com.deadside.bot.db.models.KillRecord;
-import com.deadside.bot.db.models.Player;
+import com.deadside.bot.db.repositories.GameServerRepository;
 import com.deadside.bot.db.repositories.GuildConfigRepository;
 import com.deadside.bot.db.repositories.KillRecordRepository;
 import com.deadside.bot.db.repositories.PlayerRepository;
+import com.deadside.bot.killfeed.KillfeedPublisher;
 import com.deadside.bot.parsers.fixes.CsvParsingFix;
+import com.deadside.bot.sftp.SftpLineHandler;
 import com.deadside.bot.sftp.SftpManager;
+import com.deadside.bot.sftp.SftpTailResult;
 import com.deadside.bot.utils.EmbedUtils;
 import com.deadside.bot.utils.AdvancedEmbeds;
 import net.dv8tion.jda.api.JDA;
@@ -18,13 +22,10 @@ import org.slf4j.LoggerFactory;
 
 import java.util.Random;
 
-import java.text.ParseException;
-import java.text.SimpleDateFormat;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
+import java.util.function.BooleanSupplier;
 
 /**
  * Parser for Deadside killfeed CSV files
@@ -34,22 +35,36 @@ public class KillfeedParser {
     private final SftpManager sftpManager;
     private final KillRecordRepository killRecordRepository;
     private final PlayerRepository playerRepository;
+    private final GameServerRepository serverRepository;
+    private final KillfeedPublisher killfeedPublisher;
     private final JDA jda;
     
-    // Old CSV format: "1970/01/01-00:00:00","PlayerName1","killed","PlayerName2","with","WeaponName","from","100m"
-    // New CSV format: timestamp;killer;killerID;victim;victimID;weapon;distance;platform1;platform2
-    // Example: 2025.05.15-00.11.07;Fatalben0;0002548521ba4271a497e39d5bfe5611;Rogue731;00022ac42542497589f654e6ac2c0a6f;MR5;20;XSX;XSX;
-    private static final Pattern CSV_PATTERN = Pattern.compile(
-            "(\\d{4}\\.\\d{2}\\.\\d{2}-\\d{2}\\.\\d{2}\\.\\d{2});([^;]+);([^;]+);([^;]+);([^;]+);([^;]+);(\\d+);([^;]+);([^;]+);"
-    );
+    // Maximum distinct players held in memory before stat deltas are written
+    private static final int STATS_BATCH_SIZE = 1000;
     
-    private static final SimpleDateFormat DATE_FORMAT = new SimpleDateFormat("yyyy.MM.dd-HH.mm.ss");
+    // Maximum kill records held in memory before they are saved
+    private static final int RECORD_BATCH_SIZE = 1000;
+    
+    /**
+     * Receives the position reached while importing a file, after everything before it was saved
+     */
+    @FunctionalInterface
+    public interface ImportCheckpoint {
+        /**
+         * @param offset Byte offset just past the last saved line
+         * @param kills Kills saved from this file so far in this run
+         * @throws Exception To stop the import after this checkpoint
+         */
+        void reached(long offset, int kills) throws Exception;
+    }
     
     public KillfeedParser(JDA jda) {
         this.jda = jda;
         this.sftpManager = new SftpManager();
         this.killRecordRepository = new KillRecordRepository();
         this.playerRepository = new PlayerRepository();
+        this.serverRepository = new GameServerRepository();
+        this.killfeedPublisher = KillfeedPublisher.getInstance();
     }
     
     /**
@@ -59,6 +74,20 @@ public class KillfeedParser {
      * @return Number of new kill records processed
      */
     public int processServer(GameServer server, boolean processHistorical) {
+        return processServer(server, processHistorical, () -> false);
+    }
+    
+    /**
+     * Process killfeed for a server, saving its position with every batch of kills
+     * Kill records, player stats and bounties are written together in batches and the file
+     * position is saved right after each one, so a run that stops part way resumes after the
+     * last saved batch without counting any kill twice.
+     * @param server The game server to process
+     * @param processHistorical If true, scan all historical files; if false, just process newest
+     * @param stopRequested Checked after each saved batch; processing stops there once it returns true
+     * @return Number of new kill records processed
+     */
+    public int processServer(GameServer server, boolean processHistorical, BooleanSupplier stopRequested) {
         try {
             TextChannel killfeedChannel = getTextChannel(server, "kill");
             if (killfeedChannel == null) {
@@ -78,6 +107,9 @@ public class KillfeedParser {
             
             String lastProcessedFile = server.getLastProcessedKillfeedFile();
             long lastProcessedLine = server.getLastProcessedKillfeedLine();
+            long lastProcessedOffset = server.getLastProcessedKillfeedOffset();
+            long lastFileSize = server.getLastKillfeedFileSize();
+            long lastFileModified = server.getLastKillfeedFileModified();
             
             // Determine which files to process based on processHistorical flag
             List<String> filesToProcess = new ArrayList<>();
@@ -88,13 +120,15 @@ public class KillfeedParser {
                 filesToProcess.addAll(files);
                 // Reset the last processed line counter since we're starting from scratch
                 lastProcessedLine = -1;
+                lastProcessedOffset = 0;
             } else {
                 // Normal operation - only process from the last point or newest file
-                if (lastProcessedFile.isEmpty()) {
+                if (lastProcessedFile == null || lastProcessedFile.isEmpty()) {
                     // If no file has been processed yet, start with the newest file
                     lastProcessedFile = files.get(files.size() - 1);
                     filesToProcess.add(lastProcessedFile);
                     lastProcessedLine = -1;
+                    lastProcessedOffset = 0;
                 } else {
                     // Check if we need to move to a newer file
                     int fileIndex = files.indexOf(lastProcessedFile);
@@ -103,6 +137,7 @@ public class KillfeedParser {
                         lastProcessedFile = files.get(files.size() - 1);
                         filesToProcess.add(lastProcessedFile);
                         lastProcessedLine = -1;
+                        lastProcessedOffset = 0;
                     } else {
                         // Process current file and any newer files
                         filesToProcess.addAll(files.subList(fileIndex, files.size()));
@@ -110,63 +145,83 @@ public class KillfeedParser {
                 }
             }
             
-            List<KillRecord> newRecords = new ArrayList<>();
-            int processedKills = 0;
+            KillfeedLineHandler handler = new KillfeedLineHandler(server, killfeedChannel, processHistorical);
+            handler.progressCheckpoint = (offset, kills) -> {
+                server.updateKillfeedTail(handler.file, handler.lineNumber, offset,
+                        server.getLastKillfeedFileSize(), server.getLastKillfeedFileModified());
+                serverRepository.updateKillfeedProgress(server);
+                if (stopRequested.getAsBoolean()) {
+                    throw new StopRequestedException();
+                }
+            };
             
             // Process each file in the list
             for (String currentFile : filesToProcess) {
-                String fileContent = sftpManager.readKillfeedFile(server, currentFile);
-                if (fileContent.isEmpty()) {
-                    logger.warn("Empty or unreadable killfeed file: {} for server: {}", 
-                            currentFile, server.getName());
-                    continue;
+                // Only resume from the saved position for the file we stopped in
+                // For new files or historical processing, always start from the beginning
+                boolean resume = currentFile.equals(lastProcessedFile) && !processHistorical;
+                long startOffset = resume ? lastProcessedOffset : 0;
+                long lineNumber = resume ? lastProcessedLine : -1;
+                
+                // Progress saved before byte offsets were tracked only has a line number,
+                // so read that file once from the start and skip what was already processed
+                long skipThroughLine = -1;
+                if (resume && startOffset == 0 && lastProcessedLine >= 0) {
+                    skipThroughLine = lastProcessedLine;
+                    lineNumber = -1;
                 }
                 
-                // Only apply the line counter to the first file if not in historical mode
-                // For new files or historical processing, always start from the beginning
-                long startLine = -1;
-                if (currentFile.equals(lastProcessedFile) && !processHistorical) {
-                    startLine = lastProcessedLine;
+                handler.startFile(currentFile, lineNumber, skipThroughLine, startOffset);
+                SftpTailResult tail;
+                try {
+                    tail = sftpManager.streamKillfeedFile(server, currentFile, startOffset, handler);
+                } catch (StopRequestedException e) {
+                    // Everything up to the handler's position was saved with the last batch
+                    logger.info("Stopping killfeed for server {} in {} at offset {} as requested",
+                            server.getName(), currentFile, handler.offset);
+                    lastProcessedFile = currentFile;
+                    lastProcessedLine = handler.lineNumber;
+                    lastProcessedOffset = handler.offset;
+                    break;
+                } catch (Exception e) {
+                    logger.error("Error streaming killfeed file {} for server: {}", currentFile, server.getName(), e);
+                    tail = null;
                 }
                 
-                String[] lines = fileContent.split("\n");
+                if (handler.rotated) {
+                    logger.info("Killfeed file {} was truncated for server {}, reprocessed from the start",
+                            currentFile, server.getName());
+                }
                 
-                // Process each line after the last processed line
-                for (int i = 0; i < lines.length; i++) {
-                    if (i <= startLine) continue;
-                    
-                    String line = lines[i].trim();
-                    if (line.isEmpty()) continue;
-                    
-                    KillRecord killRecord = parseKillRecord(line, server);
-                    if (killRecord != null) {
-                        newRecords.add(killRecord);
-                        processedKills++;
-                        
-                        // Update player stats
-                        updatePlayerStats(killRecord);
-                        
-                        // Send to Discord channel (only if not historical processing)
-                        if (!processHistorical) {
-                            sendKillfeedMessage(killfeedChannel, killRecord);
-                        }
+                if (tail == null) {
+                    logger.warn("Unreadable killfeed file: {} for server: {}", 
+                            currentFile, server.getName());
+                    if (handler.offset == startOffset && !handler.rotated) {
+                        continue;
                     }
-                    
-                    // Update the last line we processed for this file
-                    lastProcessedLine = i;
+                    // Part of the file was handled - stop here so the rest is picked up next run
+                    lastProcessedFile = currentFile;
+                    lastProcessedLine = handler.lineNumber;
+                    lastProcessedOffset = handler.offset;
+                    break;
                 }
                 
-                // Update the last processed file
+                // Update the position we reached in this file
                 lastProcessedFile = currentFile;
+                lastProcessedLine = handler.lineNumber;
+                lastProcessedOffset = tail.getEndOffset();
+                lastFileSize = tail.getFileSize();
+                lastFileModified = tail.getLastModified();
             }
             
-            // Save all new records to database
-            if (!newRecords.isEmpty()) {
-                killRecordRepository.saveAll(newRecords);
-            }
+            // Write whatever is still pending
+            handler.flush();
+            int processedKills = handler.processedKills;
             
             // Update server progress
-            server.updateKillfeedProgress(lastProcessedFile, lastProcessedLine);
+            server.updateKillfeedTail(lastProcessedFile, lastProcessedLine, 
+                    lastProcessedOffset, lastFileSize, lastFileModified);
+            serverRepository.updateKillfeedProgress(server);
             
             logger.info("Processed {} new kills for server: {}", processedKills, server.getName());
             return processedKills;
@@ -176,6 +231,27 @@ public class KillfeedParser {
         }
     }
     
+    /**
+     * Import one killfeed file from a byte offset without posting to Discord
+     * Kill records, player stats and bounties are saved in batches and the checkpoint is
+     * called after each batch. If the read fails or the checkpoint throws, kills after the
+     * last checkpoint are not saved, so resuming from that offset imports them exactly once.
+     * The server's live killfeed position is not touched.
+     * @param server The game server
+     * @param file The killfeed file
+     * @param startOffset Byte offset to start reading at
+     * @param checkpoint Called with the position reached after each saved batch
+     * @return The tail result for the file
+     * @throws Exception If the file could not be read or the checkpoint stopped the import
+     */
+    public SftpTailResult importFile(GameServer server, String file, long startOffset, ImportCheckpoint checkpoint) throws Exception {
+        KillfeedLineHandler handler = new KillfeedLineHandler(server, null, true, checkpoint);
+        handler.startFile(file, -1, -1, startOffset);
+        SftpTailResult tail = sftpManager.getSftpConnector().streamDeathlogFile(server, file, startOffset, handler);
+        handler.checkpoint(tail.getEndOffset());
+        return tail;
+    }
+    
     /**
      * Process killfeed for a server (default method for backward compatibility)
      * @param server The game server to process
@@ -189,144 +265,15 @@ public class KillfeedParser {
      * Parse a CSV line into a KillRecord
      */
     private KillRecord parseKillRecord(String line, GameServer server) {
-        Matcher matcher = CSV_PATTERN.matcher(line);
-        if (!matcher.matches()) {
+        KillRecord record = KillfeedLineParser.parse(line, server.getGuildId(), server.getName());
+        if (record == null) {
             logger.warn("Killfeed line does not match expected format: {}", line);
-            return null;
-        }
-        
-        try {
-            String timestamp = matcher.group(1);
-            String killer = matcher.group(2);
-            String killerId = matcher.group(3);
-            String victim = matcher.group(4);
-            String victimId = matcher.group(5);
-            String weapon = matcher.group(6);
-            String distanceStr = matcher.group(7);
-            String killerPlatform = matcher.group(8);
-            String victimPlatform = matcher.group(9);
-            
-            // Handle suicide cases - identify if this is a suicide/falling death
-            boolean isSuicide = killer.equals(victim);
-            boolean isFalling = weapon.equalsIgnoreCase("falling") || 
-                               weapon.toLowerCase().contains("fall damage");
-            boolean isMenuSuicide = isSuicide && (weapon.toLowerCase().contains("suicide") || 
-                                   weapon.toLowerCase().contains("menu"));
-            
-            long distance = Long.parseLong(distanceStr);
-            long timeMs = DATE_FORMAT.parse(timestamp).getTime();
-            
-            KillRecord record = new KillRecord(
-                    server.getGuildId(),
-                    server.getName(),
-                    killer,
-                    victim,
-                    weapon,
-                    distance,
-                    timeMs,
-                    line
-            );
-            
-            // Add death type flags
-            record.setSuicide(isSuicide);
-            record.setFalling(isFalling);
-            record.setMenuSuicide(isMenuSuicide);
-            
-            return record;
-        } catch (ParseException e) {
-            logger.error("Error parsing killfeed timestamp in line: {}", line, e);
-            return null;
-        } catch (NumberFormatException e) {
-            logger.error("Error parsing killfeed distance in line: {}", line, e);
-            return null;
-        } catch (Exception e) {
-            logger.error("Error parsing killfeed line: {}", line, e);
-            return null;
         }
+        return record;
     }
     
     /**
-     * Update player statistics from a kill record
-     * Enhanced to handle suicides separately from regular deaths
-     */
-    private void updatePlayerStats(KillRecord record) {
-        try {
-            // For suicides, only update the victim's stats
-            if (record.isSuicide()) {
-                // Find or create victim player (who committed suicide)
-                Player victim = playerRepository.findByName(record.getVictim());
-                if (victim == null) {
-                    // Create new player with a generated ID based on name
-                    victim = new Player(record.getVictim().toLowerCase().replace(" ", "_") + "_id", record.getVictim());
-                    playerRepository.save(victim);
-                }
-                
-                // Add suicide count instead of a regular death
-                victim.addSuicide();
-                
-                // Save the updated player stats
-                playerRepository.save(victim);
-                
-                // For suicides, we don't update weapon or kill stats
-                return;
-            }
-            
-            // Normal kill processing for non-suicide events
-            // Find or create killer player
-            Player killer = playerRepository.findByName(record.getKiller());
-            if (killer == null) {
-                // Create new player with a generated ID based on name
-                killer = new Player(record.getKiller().toLowerCase().replace(" ", "_") + "_id", record.getKiller());
-                playerRepository.save(killer);
-            }
-            
-            // Find or create victim player
-            Player victim = playerRepository.findByName(record.getVictim());
-            if (victim == null) {
-                // Create new player with a generated ID based on name
-                victim = new Player(record.getVictim().toLowerCase().replace(" ", "_") + "_id", record.getVictim());
-                playerRepository.save(victim);
-            }
-            
-            // Update killer stats
-            killer.addKill();
-            playerRepository.save(killer);
-            
-            // Update victim stats
-            victim.addDeath();
-            playerRepository.save(victim);
-            
-            // Track weapon stats
-            if (killer.getMostUsedWeapon().equals(record.getWeapon())) {
-                killer.setMostUsedWeaponKills(killer.getMostUsedWeaponKills() + 1);
-            } else if (killer.getMostUsedWeaponKills() == 0) {
-                killer.setMostUsedWeapon(record.getWeapon());
-                killer.setMostUsedWeaponKills(1);
-            }
-            
-            // Track victim stats
-            if (killer.getMostKilledPlayer().equals(record.getVictim())) {
-                killer.setMostKilledPlayerCount(killer.getMostKilledPlayerCount() + 1);
-            } else if (killer.getMostKilledPlayerCount() == 0) {
-                killer.setMostKilledPlayer(record.getVictim());
-                killer.setMostKilledPlayerCount(1);
-            }
-            
-            // Track killer stats for victim
-            if (victim.getKilledByMost().equals(record.getKiller())) {
-                victim.setKilledByMostCount(victim.getKilledByMostCount() + 1);
-            } else if (victim.getKilledByMostCount() == 0) {
-                victim.setKilledByMost(record.getKiller());
-                victim.setKilledByMostCount(1);
-            }
-        } catch (Exception e) {
-            logger.error("Error updating player stats for kill record: {} -> {}", 
-                    record.getKiller(), record.getVictim(), e);
-        }
-    }
-    
-    /**
-     * Send a killfeed message to Discord
+     * Queue a killfeed message for Discord
      * Enhanced to handle different death types (kills, suicides, falling deaths)
      */
     private void sendKillfeedMessage(TextChannel channel, KillRecord record) {
@@ -336,10 +283,10 @@ public class KillfeedParser {
         if (record.isSuicide()) {
             if (record.isFalling()) {
                 // Falling death
-                channel.sendMessageEmbeds(AdvancedEmbeds.advancedFallingDeathEmbed(
+                killfeedPublisher.publish(channel, AdvancedEmbeds.advancedFallingDeathEmbed(
                     record.getVictim(), 
                     (int)record.getDistance()  // Use distance as approximate height
-                )).queue();
+                ));
             } else {
                 // Other suicide - normalize menu suicide messages
                 String cause = record.getWeapon();
@@ -368,19 +315,19 @@ public class KillfeedParser {
                 // Clean up other causes
                 cause = cause.replace("_", " ").trim();
                 
-                channel.sendMessageEmbeds(AdvancedEmbeds.advancedSuicideEmbed(
+                killfeedPublisher.publish(channel, AdvancedEmbeds.advancedSuicideEmbed(
                     record.getVictim(), 
                     cause
-                )).queue();
+                ));
             }
         } else {
             // Regular kill
-            channel.sendMessageEmbeds(EmbedUtils.killfeedEmbed(
+            killfeedPublisher.publish(channel, EmbedUtils.killfeedEmbed(
                 record.getKiller(), 
                 record.getVictim(), 
                 record.getWeapon(), 
                 (int)record.getDistance()
-            )).queue();
+            ));
         }
     }
     
@@ -430,4 +377,120 @@ public class KillfeedParser {
         
         return channel;
     }
+    
+    /**
+     * Handles killfeed lines as they are streamed in, saving records and player stats in batches
+     */
+    private class KillfeedLineHandler implements SftpLineHandler {
+        private final GameServer server;
+        private final TextChannel killfeedChannel;
+        private final boolean processHistorical;
+        private final ImportCheckpoint importCheckpoint;
+        // Saves the live position after each batch; unused by imports, which have their own checkpoint
+        private ImportCheckpoint progressCheckpoint;
+        private final List<KillRecord> pendingRecords = new ArrayList<>();
+        private final PlayerStatsAggregator statsAggregator;
+        private final List<KillRecord> bountyKills = new ArrayList<>();
+        private int processedKills;
+        
+        // Position within the current file
+        private String file;
+        private long lineNumber;
+        private long skipThroughLine;
+        private long offset;
+        private boolean rotated;
+        
+        KillfeedLineHandler(GameServer server, TextChannel killfeedChannel, boolean processHistorical) {
+            this(server, killfeedChannel, processHistorical, null);
+        }
+        
+        KillfeedLineHandler(GameServer server, TextChannel killfeedChannel, boolean processHistorical,
+                            ImportCheckpoint importCheckpoint) {
+            this.server = server;
+            this.killfeedChannel = killfeedChannel;
+            this.processHistorical = processHistorical;
+            this.importCheckpoint = importCheckpoint;
+            this.statsAggregator = new PlayerStatsAggregator(server);
+        }
+        
+        void startFile(String file, long lineNumber, long skipThroughLine, long offset) {
+            this.file = file;
+            this.lineNumber = lineNumber;
+            this.skipThroughLine = skipThroughLine;
+            this.offset = offset;
+            this.rotated = false;
+        }
+        
+        @Override
+        public void onRotated() {
+            rotated = true;
+            lineNumber = -1;
+            skipThroughLine = -1;
+            offset = 0;
+        }
+        
+        @Override
+        public void handleLine(String line, long endOffset) throws Exception {
+            lineNumber++;
+            offset = endOffset;
+            if (lineNumber <= skipThroughLine) return;
+            
+            if (line.isBlank()) return;
+            
+            KillRecord killRecord = parseKillRecord(line, server);
+            if (killRecord == null) return;
+            
+            processedKills++;
+            pendingRecords.add(killRecord);
+            
+            // Fold into the pending player stat deltas
+            statsAggregator.add(killRecord);
+            
+            // Only kills on players with an active bounty go to settlement
+            if (!killRecord.isSuicide() && BountySettlement.getInstance()
+                    .isTarget(server.getGuildId(), server.getServerId(), killRecord.getVictimId())) {
+                bountyKills.add(killRecord);
+            }
+            
+            // Send to Discord channel (only if not historical processing or an import)
+            if (!processHistorical && importCheckpoint == null) {
+                sendKillfeedMessage(killfeedChannel, killRecord);
+            }
+            
+            // Records, stats and bounties are saved together so each checkpoint covers all of them
+            if (pendingRecords.size() >= RECORD_BATCH_SIZE || statsAggregator.size() >= STATS_BATCH_SIZE) {
+                checkpoint(endOffset);
+            }
+        }
+        
+        /**
+         * Save everything pending and report the position to the checkpoint
+         */
+        void checkpoint(long offset) throws Exception {
+            flush();
+            ImportCheckpoint checkpoint = importCheckpoint != null ? importCheckpoint : progressCheckpoint;
+            if (checkpoint != null) {
+                checkpoint.reached(offset, processedKills);
+            }
+        }
+        
+        void flush() {
+            if (!pendingRecords.isEmpty()) {
+                killRecordRepository.saveAll(pendingRecords);
+                pendingRecords.clear();
+            }
+            statsAggregator.flush(playerRepository);
+            if (!bountyKills.isEmpty()) {
+                BountySettlement.getInstance().settle(server.getGuildId(), server.getServerId(), bountyKills);
+                bountyKills.clear();
+            }
+        }
+    }
+    
+    /**
+     * Thrown from a checkpoint to end a run whose stop was requested
+     */
+    private static class StopRequestedException extends Exception {
+        private static final long serialVersionUID = 1L;
+    }
 }
@@ -1,30 +1,32 @@
 package com.deadside.bot.parsers;
 
 import com.deadside.bot.db.models.GameServer;
+import com.deadside.bot.parsers.events.LogEvent;
+import com.deadside.bot.parsers.events.LogEventBus;
+import com.deadside.bot.parsers.events.LogEventClassifier;
+import com.deadside.bot.sftp.SftpLineHandler;
 import com.deadside.bot.sftp.SftpManager;
+import com.deadside.bot.sftp.SftpTailResult;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
 /**
  * Parser for Deadside server log files
+ * Lines are classified by {@link LogEventClassifier} and the resulting events are published
+ * on the {@link LogEventBus}.
  */
 public class LogParser {
     private static final Logger logger = LoggerFactory.getLogger(LogParser.class);
     private final SftpManager sftpManager;
-    
-    // Log patterns
-    private static final Pattern JOIN_PATTERN = Pattern.compile("\\[(\\d+\\.\\d+\\.\\d+)-(\\d+:\\d+:\\d+)\\] Player (.*) joined the server");
-    private static final Pattern LEAVE_PATTERN = Pattern.compile("\\[(\\d+\\.\\d+\\.\\d+)-(\\d+:\\d+:\\d+)\\] Player (.*) left the server");
-    private static final Pattern EVENT_PATTERN = Pattern.compile("\\[(\\d+\\.\\d+\\.\\d+)-(\\d+:\\d+:\\d+)\\] (Mission|Event|Trader|Crash) (.*)");
+    private final LogEventBus eventBus;
     
     public LogParser() {
         this.sftpManager = new SftpManager();
+        this.eventBus = LogEventBus.getInstance();
     }
     
     /**
@@ -59,11 +61,13 @@ public class LogParser {
             
             String lastProcessedFile = server.getLastProcessedLogFile();
             long lastProcessedLine = server.getLastProcessedLogLine();
+            long lastProcessedOffset = server.getLastProcessedLogOffset();
             
             // If no file has been processed yet, start with the newest file
-            if (lastProcessedFile.isEmpty()) {
+            if (lastProcessedFile == null || lastProcessedFile.isEmpty()) {
                 lastProcessedFile = logFiles.get(logFiles.size() - 1);
                 lastProcessedLine = -1;
+                lastProcessedOffset = 0;
             }
             
             // Check if we need to move to a newer file
@@ -72,39 +76,49 @@ public class LogParser {
                 // File no longer exists, start with the newest file
                 lastProcessedFile = logFiles.get(logFiles.size() - 1);
                 lastProcessedLine = -1;
+                lastProcessedOffset = 0;
             } else if (fileIndex < logFiles.size() - 1) {
                 // Newer files available, move to the next one
                 lastProcessedFile = logFiles.get(fileIndex + 1);
                 lastProcessedLine = -1;
+                lastProcessedOffset = 0;
             }
             
-            // Process the file
-            String fileContent = sftpManager.readLogFile(server, lastProcessedFile);
-            if (fileContent.isEmpty()) {
-                logger.warn("Empty or unreadable log file: {} for server: {}", 
-                        lastProcessedFile, server.getName());
-                return 0;
+            // Progress saved before byte offsets were tracked only has a line number,
+            // so read the file once from the start and skip what was already processed
+            long skipThroughLine = -1;
+            if (lastProcessedOffset == 0 && lastProcessedLine >= 0) {
+                skipThroughLine = lastProcessedLine;
+                lastProcessedLine = -1;
             }
             
-            String[] lines = fileContent.split("\n");
-            int processedEvents = 0;
+            // Stream only the bytes appended since the last run
+            LogLineHandler handler = new LogLineHandler(server, lastProcessedLine, skipThroughLine, lastProcessedOffset);
+            SftpTailResult tail = sftpManager.streamLogFile(server, lastProcessedFile, lastProcessedOffset, handler);
+            
+            if (handler.rotated) {
+                // Deadside.log is recreated on server restart; start over from the new file
+                logger.info("Log file {} was rotated for server {}, processed from the start",
+                        lastProcessedFile, server.getName());
+                server.setLastLogRotation(System.currentTimeMillis());
+            }
             
-            // Process each line after the last processed line
-            for (int i = 0; i < lines.length; i++) {
-                if (i <= lastProcessedLine) continue;
-                
-                String line = lines[i].trim();
-                if (line.isEmpty()) continue;
-                
-                if (parseLogLine(line)) {
-                    processedEvents++;
+            int processedEvents = handler.processedEvents;
+            if (tail == null) {
+                logger.warn("Unreadable log file: {} for server: {}", 
+                        lastProcessedFile, server.getName());
+                if (handler.offset == lastProcessedOffset && !handler.rotated) {
+                    return 0;
                 }
-                
-                lastProcessedLine = i;
+                // Keep the position reached so the lines already handled are not processed twice
+                server.updateLogTail(lastProcessedFile, handler.lineNumber, handler.offset,
+                        server.getLastLogFileSize(), server.getLastLogFileModified());
+                return processedEvents;
             }
             
             // Update server progress
-            server.updateLogProgress(lastProcessedFile, lastProcessedLine);
+            server.updateLogTail(lastProcessedFile, handler.lineNumber, 
+                    tail.getEndOffset(), tail.getFileSize(), tail.getLastModified());
             
             logger.info("Processed {} new log events for server: {}", processedEvents, server.getName());
             return processedEvents;
@@ -115,45 +129,60 @@ public class LogParser {
     }
     
     /**
-     * Parse a log line and extract events
+     * Parse a log line and publish the event it describes
      * @param line The log line
      * @return True if an event was found
      */
-    private boolean parseLogLine(String line) {
-        // Check for joins
-        Matcher joinMatcher = JOIN_PATTERN.matcher(line);
-        if (joinMatcher.matches()) {
-            String date = joinMatcher.group(1);
-            String time = joinMatcher.group(2);
-            String playerName = joinMatcher.group(3);
-            
-            logger.debug("Player joined: {} at {}-{}", playerName, date, time);
-            return true;
+    private boolean parseLogLine(GameServer server, String line) {
+        LogEvent event = LogEventClassifier.classify(line, server.getGuildId(), server.getServerId());
+        if (event == null) {
+            return false;
         }
         
-        // Check for leaves
-        Matcher leaveMatcher = LEAVE_PATTERN.matcher(line);
-        if (leaveMatcher.matches()) {
-            String date = leaveMatcher.group(1);
-            String time = leaveMatcher.group(2);
-            String playerName = leaveMatcher.group(3);
-            
-            logger.debug("Player left: {} at {}-{}", playerName, date, time);
-            return true;
+        logger.debug("Log event on server {}: {}", server.getName(), event);
+        eventBus.publish(event);
+        return true;
+    }
+    
+    /**
+     * Handles log lines as they are streamed in and tracks the position reached
+     */
+    private class LogLineHandler implements SftpLineHandler {
+        private final GameServer server;
+        private long lineNumber;
+        private long skipThroughLine;
+        private long offset;
+        private boolean rotated;
+        private int processedEvents;
+        
+        LogLineHandler(GameServer server, long lineNumber, long skipThroughLine, long offset) {
+            this.server = server;
+            this.lineNumber = lineNumber;
+            this.skipThroughLine = skipThroughLine;
+            this.offset = offset;
         }
         
-        // Check for events
-        Matcher eventMatcher = EVENT_PATTERN.matcher(line);
-        if (eventMatcher.matches()) {
-            String date = eventMatcher.group(1);
-            String time = eventMatcher.group(2);
-            String eventType = eventMatcher.group(3);
-            String eventDetails = eventMatcher.group(4);
-            
-            logger.debug("{} event: {} at {}-{}", eventType, eventDetails, date, time);
-            return true;
+        @Override
+        public void onRotated() {
+            rotated = true;
+            lineNumber = -1;
+            skipThroughLine = -1;
+            offset = 0;
+            eventBus.publish(new LogEvent(LogEvent.Type.ROTATED, server.getGuildId(), server.getServerId(), null, null, null));
         }
         
-        return false;
+        @Override
+        public void handleLine(String rawLine, long endOffset) {
+            lineNumber++;
+            offset = endOffset;
+            if (lineNumber <= skipThroughLine) return;
+            
+            String line = rawLine.trim();
+            if (line.isEmpty()) return;
+            
+            if (parseLogLine(server, line)) {
+                processedEvents++;
+            }
+        }
     }
 }
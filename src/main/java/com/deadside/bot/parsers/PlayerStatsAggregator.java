@@ -0,0 +1,92 @@
+package com.deadside.bot.parsers;
+
+import com.deadside.bot.db.models.GameServer;
+import com.deadside.bot.db.models.KillRecord;
+import com.deadside.bot.db.models.PlayerStatsDelta;
+import com.deadside.bot.db.repositories.PlayerRepository;
+import com.deadside.bot.faction.FactionStatsSync;
+import com.deadside.bot.faction.FactionXpAccumulator;
+import com.deadside.bot.leaderboard.LeaderboardStore;
+import com.deadside.bot.search.PlayerNameIndex;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Folds kill records for one server into per-player stat deltas so a whole batch
+ * can be written with a single bulk write instead of several saves per kill
+ */
+public class PlayerStatsAggregator {
+    private final long guildId;
+    private final String serverId;
+    private final Map<String, PlayerStatsDelta> deltas = new LinkedHashMap<>();
+
+    public PlayerStatsAggregator(GameServer server) {
+        this.guildId = server.getGuildId();
+        this.serverId = server.getServerId() != null ? server.getServerId() : server.getName();
+    }
+
+    /**
+     * Add a kill record to the batch (records must be added in log order for streaks to be correct)
+     */
+    public void add(KillRecord record) {
+        PlayerStatsDelta victim = deltaFor(record.getVictimId(), record.getVictim());
+
+        // For suicides, only the victim's suicide count changes
+        if (record.isSuicide()) {
+            victim.recordSuicide();
+            return;
+        }
+
+        PlayerStatsDelta killer = deltaFor(record.getKillerId(), record.getKiller());
+        killer.recordKill(record.getWeapon(), record.getVictim(), (int) record.getDistance());
+        victim.recordDeath(record.getKiller());
+        FactionXpAccumulator.getInstance().recordKill(guildId, serverId, killer.getPlayerId(), (int) record.getDistance());
+    }
+
+    /**
+     * Number of distinct players with pending changes
+     */
+    public int size() {
+        return deltas.size();
+    }
+
+    /**
+     * Write all pending deltas and start a new batch
+     * @return Number of player documents updated or created
+     */
+    public int flush(PlayerRepository playerRepository) {
+        if (deltas.isEmpty()) {
+            return 0;
+        }
+        int written = playerRepository.applyStatDeltas(deltas.values());
+        if (written > 0) {
+            FactionStatsSync.getInstance().applyKillfeedDeltas(guildId, serverId, new ArrayList<>(deltas.values()));
+        }
+        LeaderboardStore.getInstance().refreshPlayers(guildId, serverId, new ArrayList<>(deltas.keySet()));
+        
+        Map<String, String> names = new HashMap<>();
+        for (PlayerStatsDelta delta : deltas.values()) {
+            names.put(delta.getPlayerId(), delta.getName());
+        }
+        PlayerNameIndex.getInstance().recordPlayers(guildId, serverId, names, System.currentTimeMillis());
+        deltas.clear();
+        return written;
+    }
+
+    private PlayerStatsDelta deltaFor(String playerId, String name) {
+        String id = playerId != null && !playerId.isEmpty()
+                ? playerId
+                : PlayerStatsDelta.nameDerivedId(name);
+        PlayerStatsDelta delta = deltas.get(id);
+        if (delta == null) {
+            delta = new PlayerStatsDelta(id, guildId, serverId, name);
+            deltas.put(id, delta);
+        } else {
+            delta.setName(name);
+        }
+        return delta;
+    }
+}
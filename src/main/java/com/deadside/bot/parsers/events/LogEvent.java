@@ -0,0 +1,75 @@
+package com.deadside.bot.parsers.events;
+
+/**
+ * A typed event read from a server's Deadside.log, isolated by guild and server
+ */
+public class LogEvent {
+    
+    /**
+     * Kinds of log events the engine recognizes
+     */
+    public enum Type {
+        JOIN,       // Player connected; subject is the player name
+        LEAVE,      // Player disconnected; subject is the player name
+        MISSION,    // Mission state change; subject is the mission, detail the new state
+        TRADER,     // Trader state change; subject is the trader, detail the new state
+        HELICRASH,  // Helicopter crash; detail is the location
+        AIRDROP,    // Airdrop state change; detail is the new state
+        ROTATED     // The log was rotated (server restart); no timestamp, subject or detail
+    }
+    
+    private final Type type;
+    private final long guildId;
+    private final String serverId;
+    private final String timestamp;
+    private final String subject;
+    private final String detail;
+    
+    public LogEvent(Type type, long guildId, String serverId, String timestamp, String subject, String detail) {
+        this.type = type;
+        this.guildId = guildId;
+        this.serverId = serverId;
+        this.timestamp = timestamp;
+        this.subject = subject;
+        this.detail = detail;
+    }
+    
+    public Type getType() {
+        return type;
+    }
+    
+    public long getGuildId() {
+        return guildId;
+    }
+    
+    public String getServerId() {
+        return serverId;
+    }
+    
+    /**
+     * The line's timestamp as written in the log, or null if the line had none
+     */
+    public String getTimestamp() {
+        return timestamp;
+    }
+    
+    /**
+     * The player, mission or trader the event is about, or null
+     */
+    public String getSubject() {
+        return subject;
+    }
+    
+    /**
+     * The new state or location, or null
+     */
+    public String getDetail() {
+        return detail;
+    }
+    
+    @Override
+    public String toString() {
+        return type + " " + (subject != null ? subject : "") + (detail != null ? " -> " + detail : "")
+            + " (Guild=" + guildId + ", Server=" + serverId + ")";
+    }
+}
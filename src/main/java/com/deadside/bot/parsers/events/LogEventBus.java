@@ -0,0 +1,76 @@
+package com.deadside.bot.parsers.events;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * In-process bus for log events
+ * Events are delivered synchronously on the log parser's thread, so listeners should hand
+ * slow work (Discord messages, database writes) off to their own executor.
+ */
+public class LogEventBus {
+    private static final Logger logger = LoggerFactory.getLogger(LogEventBus.class);
+    private static LogEventBus instance;
+    
+    private final Map<LogEvent.Type, List<Consumer<LogEvent>>> listeners = new EnumMap<>(LogEvent.Type.class);
+    
+    private LogEventBus() {
+        for (LogEvent.Type type : LogEvent.Type.values()) {
+            listeners.put(type, new CopyOnWriteArrayList<>());
+        }
+    }
+    
+    /**
+     * Get the singleton instance
+     */
+    public static synchronized LogEventBus getInstance() {
+        if (instance == null) {
+            instance = new LogEventBus();
+        }
+        return instance;
+    }
+    
+    /**
+     * Listen for events of one type
+     */
+    public void subscribe(LogEvent.Type type, Consumer<LogEvent> listener) {
+        listeners.get(type).add(listener);
+    }
+    
+    /**
+     * Listen for events of every type
+     */
+    public void subscribe(Consumer<LogEvent> listener) {
+        for (LogEvent.Type type : LogEvent.Type.values()) {
+            subscribe(type, listener);
+        }
+    }
+    
+    /**
+     * Stop delivering events to a listener
+     */
+    public void unsubscribe(Consumer<LogEvent> listener) {
+        for (List<Consumer<LogEvent>> typeListeners : listeners.values()) {
+            typeListeners.remove(listener);
+        }
+    }
+    
+    /**
+     * Deliver an event to its listeners; a failing listener does not affect the others
+     */
+    public void publish(LogEvent event) {
+        for (Consumer<LogEvent> listener : listeners.get(event.getType())) {
+            try {
+                listener.accept(event);
+            } catch (Exception e) {
+                logger.error("Error handling log event {}", event, e);
+            }
+        }
+    }
+}
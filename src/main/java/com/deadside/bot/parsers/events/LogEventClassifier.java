@@ -0,0 +1,154 @@
+package com.deadside.bot.parsers.events;
+
+/**
+ * Turns Deadside.log lines into typed events without regular expressions
+ * The leading timestamp groups are skipped by position, the event type is picked from the
+ * first character of the message, and only that type's format is then checked. Most lines
+ * in the log are engine noise and are rejected after a couple of character comparisons.
+ *
+ * Understands the current format, e.g.
+ * {@code [2024.05.10-12.30.00:123][ 12]LogSFPS: [Login] Player Name connected},
+ * and the older {@code [2024.05.10-12:30:00] Player Name joined the server} format.
+ */
+public final class LogEventClassifier {
+    private static final String CATEGORY = "LogSFPS: ";
+
+    private static final String LOGIN = "[Login] Player ";
+    private static final String LOGIN_END = " connected";
+    private static final String LOGOUT = "[Logout] Player ";
+    private static final String LOGOUT_END = " disconnected";
+    private static final String PLAYER = "Player ";
+    private static final String JOINED_END = " joined the server";
+    private static final String LEFT_END = " left the server";
+    private static final String MISSION = "Mission ";
+    private static final String TRADER = "Trader ";
+    private static final String AIRDROP = "AirDrop ";
+    private static final String HELICRASH = "Helicopter crashed at ";
+    private static final String CRASH = "Crash ";
+
+    private static final String SWITCHED_TO = " switched to ";
+    private static final String WILL_RESPAWN = " will respawn in ";
+    private static final String IS_NOW = " is now ";
+
+    private LogEventClassifier() {
+    }
+
+    /**
+     * Classify a log line
+     * @param line The trimmed log line
+     * @param guildId The guild ID for isolation
+     * @param serverId The server ID for isolation
+     * @return The event, or null if the line is not one the engine handles
+     */
+    public static LogEvent classify(String line, long guildId, String serverId) {
+        // Skip the leading [timestamp][frame] groups, keeping the first as the timestamp
+        String timestamp = null;
+        int pos = 0;
+        while (pos < line.length() && line.charAt(pos) == '[' && !line.startsWith(LOGIN, pos) && !line.startsWith(LOGOUT, pos)) {
+            int close = line.indexOf(']', pos);
+            if (close < 0) {
+                return null;
+            }
+            if (timestamp == null) {
+                timestamp = line.substring(pos + 1, close);
+            }
+            pos = close + 1;
+        }
+        while (pos < line.length() && line.charAt(pos) == ' ') {
+            pos++;
+        }
+        if (line.startsWith(CATEGORY, pos)) {
+            pos += CATEGORY.length();
+        }
+        if (pos >= line.length()) {
+            return null;
+        }
+
+        String message = line.substring(pos);
+        switch (message.charAt(0)) {
+            case '[':
+                if (message.startsWith(LOGIN) && message.endsWith(LOGIN_END)) {
+                    return event(LogEvent.Type.JOIN, guildId, serverId, timestamp,
+                        between(message, LOGIN, LOGIN_END), null);
+                }
+                if (message.startsWith(LOGOUT) && message.endsWith(LOGOUT_END)) {
+                    return event(LogEvent.Type.LEAVE, guildId, serverId, timestamp,
+                        between(message, LOGOUT, LOGOUT_END), null);
+                }
+                return null;
+            case 'P':
+                if (!message.startsWith(PLAYER)) {
+                    return null;
+                }
+                if (message.endsWith(JOINED_END)) {
+                    return event(LogEvent.Type.JOIN, guildId, serverId, timestamp,
+                        between(message, PLAYER, JOINED_END), null);
+                }
+                if (message.endsWith(LEFT_END)) {
+                    return event(LogEvent.Type.LEAVE, guildId, serverId, timestamp,
+                        between(message, PLAYER, LEFT_END), null);
+                }
+                return null;
+            case 'M':
+                return message.startsWith(MISSION)
+                    ? stateChange(LogEvent.Type.MISSION, guildId, serverId, timestamp, message.substring(MISSION.length()))
+                    : null;
+            case 'T':
+                return message.startsWith(TRADER)
+                    ? stateChange(LogEvent.Type.TRADER, guildId, serverId, timestamp, message.substring(TRADER.length()))
+                    : null;
+            case 'A':
+                if (!message.startsWith(AIRDROP)) {
+                    return null;
+                }
+                String airdrop = message.substring(AIRDROP.length());
+                return event(LogEvent.Type.AIRDROP, guildId, serverId, timestamp, null,
+                    airdrop.startsWith(SWITCHED_TO.substring(1)) ? airdrop.substring(SWITCHED_TO.length() - 1) : airdrop);
+            case 'H':
+                return message.startsWith(HELICRASH)
+                    ? event(LogEvent.Type.HELICRASH, guildId, serverId, timestamp, null, message.substring(HELICRASH.length()))
+                    : null;
+            case 'C':
+                return message.startsWith(CRASH)
+                    ? event(LogEvent.Type.HELICRASH, guildId, serverId, timestamp, null, message.substring(CRASH.length()))
+                    : null;
+            default:
+                return null;
+        }
+    }
+
+    /**
+     * Split "Name switched to STATE", "Name will respawn in N" or "Name is now STATE"
+     * into subject and detail; anything else is kept whole as the subject
+     */
+    private static LogEvent stateChange(LogEvent.Type type, long guildId, String serverId, String timestamp, String rest) {
+        for (String separator : new String[] {SWITCHED_TO, IS_NOW}) {
+            int index = rest.indexOf(separator);
+            if (index > 0) {
+                return event(type, guildId, serverId, timestamp, rest.substring(0, index),
+                    rest.substring(index + separator.length()));
+            }
+        }
+        int respawn = rest.indexOf(WILL_RESPAWN);
+        if (respawn > 0) {
+            return event(type, guildId, serverId, timestamp, rest.substring(0, respawn),
+                "RESPAWN " + rest.substring(respawn + WILL_RESPAWN.length()));
+        }
+        return event(type, guildId, serverId, timestamp, rest, null);
+    }
+
+    private static String between(String message, String prefix, String suffix) {
+        if (message.length() <= prefix.length() + suffix.length()) {
+            return "";
+        }
+        return message.substring(prefix.length(), message.length() - suffix.length());
+    }
+
+    private static LogEvent event(LogEvent.Type type, long guildId, String serverId, String timestamp,
+                                  String subject, String detail) {
+        if (subject != null && subject.isEmpty()) {
+            return null;
+        }
+        return new LogEvent(type, guildId, serverId, timestamp, subject, detail);
+    }
+}
@@ -152,13 +152,7 @@ public class CsvParsingFix {
             }
             
             // Update K/D ratio
-            float kdRatio = 0.0f;
-            if (killerPlayer.getDeaths() > 0) {
-                kdRatio = (float) killerPlayer.getKills() / killerPlayer.getDeaths();
-            } else {
-                kdRatio = killerPlayer.getKills();
-            }
-            killerPlayer.setKdRatio(kdRatio);
+            killerPlayer.setKdRatio(killerPlayer.getKdRatio());
             
             // Save players
             playerRepository.save(killerPlayer);
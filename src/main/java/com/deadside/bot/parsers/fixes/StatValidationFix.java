@@ -45,25 +45,9 @@ public class StatValidationFix {
                     fixedCount++;
                 }
                 
-                // Update KD ratio - need to add the method to Player class
-                try {
-                    float kdRatio = player.getDeaths() > 0 ? 
-                        (float) player.getKills() / player.getDeaths() : player.getKills();
-                    
-                    // Use reflection to set KD ratio if method exists
-                    try {
-                        java.lang.reflect.Method setKdRatioMethod = 
-                            player.getClass().getMethod("setKdRatio", float.class);
-                        setKdRatioMethod.invoke(player, kdRatio);
-                        needsUpdate = true;
-                    } catch (NoSuchMethodException e) {
-                        // Method doesn't exist, silently ignore
-                        logger.debug("setKdRatio method not found on Player class");
-                    }
-                } catch (Exception e) {
-                    logger.warn("Error calculating KD ratio for player {}: {}", 
-                        player.getName(), e.getMessage());
-                }
+                // Update KD ratio from the validated counters
+                player.setKdRatio(player.getKdRatio());
+                needsUpdate = true;
                 
                 // Save changes
                 if (needsUpdate) {
@@ -1,5 +1,6 @@
 package com.deadside.bot.premium;
 
+import com.deadside.bot.config.Config;
 import net.dv8tion.jda.api.entities.Guild;
 import net.dv8tion.jda.api.events.interaction.command.SlashCommandInteractionEvent;
 import net.dv8tion.jda.api.interactions.components.buttons.Button;
@@ -7,8 +8,11 @@ import net.dv8tion.jda.api.utils.messages.MessageCreateBuilder;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.util.HashMap;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Utility class that controls access to premium features
@@ -40,12 +44,11 @@ public class FeatureGate {
         }
     }
     
-    // Cache feature check results to reduce database queries (refresh every few minutes)
-    private static final Map<Long, Map<Feature, Boolean>> featureCache = new HashMap<>();
-    private static final long CACHE_EXPIRY_MS = 5 * 60 * 1000; // 5 minutes
-    private static final Map<Long, Long> cacheTimes = new HashMap<>();
-    
-
+    // Cache each guild's feature access to reduce database queries (refresh every few minutes)
+    // Holds one load per guild: concurrent checks for an uncached guild wait for the same query
+    private static final Map<Long, CompletableFuture<GuildFeatures>> featureCache = new ConcurrentHashMap<>();
+    private static final long CACHE_EXPIRY_MS = Config.getInstance().getPremiumFeatureCacheTtl();
+    private static final int MAX_CACHED_GUILDS = Config.getInstance().getPremiumFeatureCacheMaxSize();
     
     /**
      * Check if a feature is available for a guild (any server)
@@ -60,22 +63,7 @@ public class FeatureGate {
                 return true;
             }
             
-            // Check cache first
-            if (isValidCache(guildId)) {
-                Map<Feature, Boolean> guildFeatures = featureCache.get(guildId);
-                if (guildFeatures != null && guildFeatures.containsKey(feature)) {
-                    return guildFeatures.get(feature);
-                }
-            }
-            
-            // For guild-level access, any server with premium grants access
-            int premiumServers = premiumManager.countPremiumServers(guildId);
-            boolean hasPremium = (premiumServers > 0);
-            
-            // Update cache
-            updateCache(guildId, feature, hasPremium);
-            
-            return hasPremium;
+            return getFeatures(guildId).has(feature);
         } catch (Exception e) {
             logger.error("Error checking feature access for guild ID: {} and feature: {}", 
                     guildId, feature, e);
@@ -173,7 +161,6 @@ public class FeatureGate {
      */
     public static void clearCache(long guildId) {
         featureCache.remove(guildId);
-        cacheTimes.remove(guildId);
     }
     
     /**
@@ -181,27 +168,107 @@ public class FeatureGate {
      */
     public static void clearAllCaches() {
         featureCache.clear();
-        cacheTimes.clear();
     }
     
     /**
-     * Check if the cache for a guild is still valid
+     * Get a guild's cached feature access, loading it if missing or expired
+     * Only one caller loads a guild at a time; the others wait for its result.
+     */
+    private static GuildFeatures getFeatures(long guildId) {
+        CompletableFuture<GuildFeatures> features = featureCache.get(guildId);
+        if (features == null || isExpired(features)) {
+            CompletableFuture<GuildFeatures> loading = new CompletableFuture<>();
+            features = featureCache.compute(guildId, (id, current) ->
+                current != null && !isExpired(current) ? current : loading);
+            if (features == loading) {
+                load(guildId, loading);
+                evictIfFull();
+            }
+        }
+        return features.join();
+    }
+    
+    /**
+     * Load a guild's access to every feature with one premium query
+     */
+    private static void load(long guildId, CompletableFuture<GuildFeatures> loading) {
+        try {
+            // For guild-level access, any server with premium grants access
+            boolean hasPremium = premiumManager.countPremiumServers(guildId) > 0;
+            
+            int granted = 0;
+            for (Feature feature : Feature.values()) {
+                if (!feature.isPremiumRequired() || hasPremium) {
+                    granted |= 1 << feature.ordinal();
+                }
+            }
+            loading.complete(new GuildFeatures(granted, System.currentTimeMillis() + CACHE_EXPIRY_MS));
+        } catch (Exception e) {
+            // Do not cache failures; the next check tries again
+            featureCache.remove(guildId, loading);
+            loading.completeExceptionally(e);
+        }
+    }
+    
+    /**
+     * Whether a cached entry has expired; loads still in progress have not
      */
-    private static boolean isValidCache(long guildId) {
-        Long cacheTime = cacheTimes.get(guildId);
-        if (cacheTime == null) {
+    private static boolean isExpired(CompletableFuture<GuildFeatures> features) {
+        if (!features.isDone()) {
             return false;
         }
+        if (features.isCompletedExceptionally()) {
+            return true;
+        }
+        return features.join().isExpired();
+    }
+    
+    /**
+     * Keep the cache within its size limit, dropping expired entries first and then
+     * the entries closest to expiry, down to 90% of the limit so this runs rarely
+     */
+    private static void evictIfFull() {
+        if (featureCache.size() <= MAX_CACHED_GUILDS) {
+            return;
+        }
         
-        return (System.currentTimeMillis() - cacheTime) < CACHE_EXPIRY_MS;
+        featureCache.entrySet().removeIf(entry -> isExpired(entry.getValue()));
+        int excess = featureCache.size() - MAX_CACHED_GUILDS * 9 / 10;
+        if (excess <= 0) {
+            return;
+        }
+        
+        List<Map.Entry<Long, CompletableFuture<GuildFeatures>>> loaded = new ArrayList<>();
+        for (Map.Entry<Long, CompletableFuture<GuildFeatures>> entry : featureCache.entrySet()) {
+            if (entry.getValue().isDone() && !entry.getValue().isCompletedExceptionally()) {
+                loaded.add(entry);
+            }
+        }
+        loaded.sort((a, b) -> Long.compare(a.getValue().join().expiresAt, b.getValue().join().expiresAt));
+        for (int i = 0; i < excess && i < loaded.size(); i++) {
+            featureCache.remove(loaded.get(i).getKey(), loaded.get(i).getValue());
+        }
+        logger.debug("Evicted premium feature cache entries, {} guilds cached", featureCache.size());
     }
     
     /**
-     * Update the feature cache for a guild
+     * One guild's feature access as a bitset over {@link Feature} ordinals
      */
-    private static void updateCache(long guildId, Feature feature, boolean hasAccess) {
-        Map<Feature, Boolean> guildFeatures = featureCache.computeIfAbsent(guildId, k -> new HashMap<>());
-        guildFeatures.put(feature, hasAccess);
-        cacheTimes.put(guildId, System.currentTimeMillis());
+    private static class GuildFeatures {
+        final int granted;
+        final long expiresAt;
+        
+        GuildFeatures(int granted, long expiresAt) {
+            this.granted = granted;
+            this.expiresAt = expiresAt;
+        }
+        
+        boolean has(Feature feature) {
+            return (granted & (1 << feature.ordinal())) != 0;
+        }
+        
+        boolean isExpired() {
+            return System.currentTimeMillis() >= expiresAt;
+        }
     }
 }
\ No newline at end of file
@@ -148,6 +148,7 @@ public class PremiumManager {
             }
             
             guildConfigRepository.save(guildConfig);
+            FeatureGate.clearCache(guildId);
         } catch (Exception e) {
             logger.error("Error enabling premium for guild ID: {}", guildId, e);
         }
@@ -183,6 +184,7 @@ public class PremiumManager {
             }
             
             gameServerRepository.save(server);
+            FeatureGate.clearCache(guildId);
             return true;
         } catch (Exception e) {
             logger.error("Error enabling premium for server: {} in guild: {}", serverName, guildId, e);
@@ -212,6 +214,7 @@ public class PremiumManager {
                 guildConfig.setPremium(false);
                 guildConfig.setPremiumUntil(0);
                 guildConfigRepository.save(guildConfig);
+                FeatureGate.clearCache(guildId);
                 logger.info("Premium disabled for guild ID: {}", guildId);
             }
         } catch (Exception e) {
@@ -237,6 +240,7 @@ public class PremiumManager {
             server.setPremium(false);
             server.setPremiumUntil(0);
             gameServerRepository.save(server);
+            FeatureGate.clearCache(guildId);
             
             logger.info("Premium disabled for server: {} in guild: {}", serverName, guildId);
             return true;
@@ -298,6 +302,7 @@ public class PremiumManager {
                     // Premium has expired
                     config.setPremium(false);
                     guildConfigRepository.save(config);
+                    FeatureGate.clearCache(config.getGuildId());
                     
                     logger.info("Premium subscription expired for guild ID: {}", config.getGuildId());
                 }
@@ -427,6 +432,7 @@ public class PremiumManager {
                     guildId, guildConfig.getPremiumSlots());
             
             guildConfigRepository.save(guildConfig);
+            FeatureGate.clearCache(guildId);
             return true;
         } catch (Exception e) {
             logger.error("Error adding premium slot for guild ID: {}", guildId, e);
@@ -1,18 +1,38 @@
 package com.deadside.bot.schedulers;
 
+import com.deadside.bot.config.Config;
 import com.deadside.bot.db.models.GameServer;
-import com.deadside.bot.db.models.GuildConfig;
 import com.deadside.bot.db.repositories.GameServerRepository;
 import com.deadside.bot.db.repositories.GuildConfigRepository;
 import com.deadside.bot.parsers.KillfeedParser;
+import com.deadside.bot.utils.GuildIsolationManager;
 import net.dv8tion.jda.api.JDA;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Scheduler for processing killfeed data
+ * Servers are processed concurrently on a bounded worker pool so a slow or
+ * unreachable SFTP host only delays its own killfeed. A server's deadline starts when its
+ * task starts; a server past it is asked to stop after its next saved batch rather than
+ * being interrupted, so no kill is counted twice when the next tick resumes it.
  */
 public class KillfeedScheduler {
     private static final Logger logger = LoggerFactory.getLogger(KillfeedScheduler.class);
@@ -20,9 +40,28 @@ public class KillfeedScheduler {
     private final GuildConfigRepository guildConfigRepository;
     private KillfeedParser killfeedParser;
     
+    // Concurrent pipeline state
+    private final ExecutorService workers;
+    private final int hostConcurrency;
+    private final long serverTimeoutMs;
+    private final Set<String> inFlight = ConcurrentHashMap.newKeySet();
+    private final Map<String, Semaphore> hostPermits = new ConcurrentHashMap<>();
+    private final Map<String, ServerResult> lastResults = new ConcurrentHashMap<>();
+    
     public KillfeedScheduler() {
         this.serverRepository = new GameServerRepository();
         this.guildConfigRepository = new GuildConfigRepository();
+        
+        Config config = Config.getInstance();
+        this.hostConcurrency = config.getKillfeedHostConcurrency();
+        this.serverTimeoutMs = TimeUnit.SECONDS.toMillis(config.getKillfeedServerTimeout());
+        
+        AtomicInteger threadCounter = new AtomicInteger();
+        this.workers = Executors.newFixedThreadPool(config.getKillfeedWorkerThreads(), r -> {
+            Thread thread = new Thread(r, "killfeed-worker-" + threadCounter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
     }
     
     /**
@@ -33,6 +72,44 @@ public class KillfeedScheduler {
         this.killfeedParser = new KillfeedParser(jda);
     }
     
+    /**
+     * Outcome of processing a single server during a killfeed tick
+     */
+    public enum ServerStatus {
+        SUCCESS,
+        SKIPPED_IN_FLIGHT,
+        TIMED_OUT,
+        FAILED
+    }
+    
+    /**
+     * Per-server result of the latest killfeed tick
+     */
+    public static class ServerResult {
+        private final String serverName;
+        private final long guildId;
+        private final ServerStatus status;
+        private final int processed;
+        private final long durationMs;
+        private final String error;
+        
+        public ServerResult(String serverName, long guildId, ServerStatus status, int processed, long durationMs, String error) {
+            this.serverName = serverName;
+            this.guildId = guildId;
+            this.status = status;
+            this.processed = processed;
+            this.durationMs = durationMs;
+            this.error = error;
+        }
+        
+        public String getServerName() { return serverName; }
+        public long getGuildId() { return guildId; }
+        public ServerStatus getStatus() { return status; }
+        public int getProcessed() { return processed; }
+        public long getDurationMs() { return durationMs; }
+        public String getError() { return error; }
+    }
+    
     /**
      * Process killfeed data for all servers
      * @param processHistorical If true, will process all historical files; otherwise just new entries
@@ -45,31 +122,200 @@ public class KillfeedScheduler {
         
         try {
             logger.info("Starting scheduled killfeed processing" + (processHistorical ? " (including historical data)" : ""));
+            long tickStart = System.currentTimeMillis();
             
             // Use isolation-aware method to get servers by guild
             List<GameServer> servers = getServersWithProperIsolation();
-            int totalProcessed = 0;
+            Map<GameServer, ServerTask> pending = new LinkedHashMap<>();
             
             for (GameServer server : servers) {
-                // Check if this guild has premium (if not, killfeed is still allowed)
-                GuildConfig guildConfig = guildConfigRepository.findByGuildId(server.getGuildId());
+                String key = serverKey(server);
                 
-                // Process killfeed for this server
-                int processed = killfeedParser.processServer(server);
-                totalProcessed += processed;
+                // Never start a server while its previous tick is still running
+                if (!inFlight.add(key)) {
+                    logger.info("Killfeed for server {} is still in flight from a previous tick, skipping", server.getName());
+                    recordResult(server, new ServerResult(server.getName(), server.getGuildId(),
+                            ServerStatus.SKIPPED_IN_FLIGHT, 0, 0, null));
+                    continue;
+                }
                 
-                // Save server state with updated progress
-                if (processed > 0) {
-                    serverRepository.save(server);
+                try {
+                    ServerTask task = new ServerTask(key);
+                    task.future = workers.submit(() -> processServerTask(server, processHistorical, task));
+                    pending.put(server, task);
+                } catch (RejectedExecutionException e) {
+                    inFlight.remove(key);
+                    logger.warn("Killfeed worker pool rejected server {}: {}", server.getName(), e.getMessage());
                 }
             }
             
-            logger.info("Completed scheduled killfeed processing, total kills processed: {}", totalProcessed);
+            int totalProcessed = 0;
+            int failures = 0;
+            
+            for (Map.Entry<GameServer, ServerTask> entry : pending.entrySet()) {
+                GameServer server = entry.getKey();
+                ServerTask task = entry.getValue();
+                ServerResult result;
+                
+                try {
+                    result = awaitResult(server, task);
+                } catch (ExecutionException e) {
+                    result = new ServerResult(server.getName(), server.getGuildId(), ServerStatus.FAILED,
+                            0, System.currentTimeMillis() - tickStart, e.getCause() != null ? e.getCause().getMessage() : e.getMessage());
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    logger.warn("Interrupted while waiting for killfeed results");
+                    return;
+                }
+                
+                recordResult(server, result);
+                totalProcessed += result.getProcessed();
+                if (result.getStatus() != ServerStatus.SUCCESS) {
+                    failures++;
+                }
+            }
+            
+            logger.info("Completed scheduled killfeed processing in {}ms, servers: {}, failed/timed out: {}, total kills processed: {}", 
+                    System.currentTimeMillis() - tickStart, pending.size(), failures, totalProcessed);
         } catch (Exception e) {
             logger.error("Error in scheduled killfeed processing", e);
         }
     }
     
+    /**
+     * Wait for a server's result until its deadline, counted from when its task started
+     * A server past its deadline is asked to stop; it keeps its in-flight flag until it has.
+     */
+    private ServerResult awaitResult(GameServer server, ServerTask task) throws ExecutionException, InterruptedException {
+        while (true) {
+            long startedAt = task.startedAt;
+            long wait = startedAt == 0 ? serverTimeoutMs : startedAt + serverTimeoutMs - System.currentTimeMillis();
+            try {
+                return task.future.get(Math.max(1, wait), TimeUnit.MILLISECONDS);
+            } catch (TimeoutException e) {
+                // A task still queued behind other servers has not used any of its time yet
+                if (startedAt != 0) {
+                    break;
+                }
+            }
+        }
+        
+        task.stopRequested.set(true);
+        logger.warn("Killfeed processing for server {} exceeded its {}ms deadline, stopping after its current batch",
+                server.getName(), serverTimeoutMs);
+        return new ServerResult(server.getName(), server.getGuildId(), ServerStatus.TIMED_OUT,
+                0, System.currentTimeMillis() - task.startedAt, "Exceeded deadline of " + serverTimeoutMs + "ms");
+    }
+    
+    /**
+     * Process a single server on a worker thread
+     * Holds the per-host permit for the duration and always clears the in-flight flag
+     */
+    private ServerResult processServerTask(GameServer server, boolean processHistorical, ServerTask task) {
+        long start = System.currentTimeMillis();
+        task.startedAt = start;
+        Semaphore hostPermit = hostPermits.computeIfAbsent(hostKey(server), k -> new Semaphore(hostConcurrency, true));
+        boolean acquired = false;
+        
+        try {
+            acquired = hostPermit.tryAcquire(serverTimeoutMs, TimeUnit.MILLISECONDS);
+            if (!acquired) {
+                return new ServerResult(server.getName(), server.getGuildId(), ServerStatus.TIMED_OUT, 0,
+                        System.currentTimeMillis() - start, "Timed out waiting for host slot");
+            }
+            
+            // Process killfeed for this server with its isolation context bound to this worker
+            GuildIsolationManager.getInstance().setContext(server.getGuildId(), server.getServerId());
+            // The parser saves the killfeed position itself with every batch
+            int processed = killfeedParser.processServer(server, processHistorical, task.stopRequested::get);
+            
+            return new ServerResult(server.getName(), server.getGuildId(), ServerStatus.SUCCESS, processed,
+                    System.currentTimeMillis() - start, null);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return new ServerResult(server.getName(), server.getGuildId(), ServerStatus.TIMED_OUT, 0,
+                    System.currentTimeMillis() - start, "Interrupted");
+        } catch (Exception e) {
+            logger.error("Error processing killfeed for server {}: {}", server.getName(), e.getMessage(), e);
+            return new ServerResult(server.getName(), server.getGuildId(), ServerStatus.FAILED, 0,
+                    System.currentTimeMillis() - start, e.getMessage());
+        } finally {
+            GuildIsolationManager.getInstance().clearContext();
+            if (acquired) {
+                hostPermit.release();
+            }
+            inFlight.remove(task.key);
+        }
+    }
+    
+    /**
+     * A server submitted for one tick
+     */
+    private static class ServerTask {
+        final String key;
+        final AtomicBoolean stopRequested = new AtomicBoolean();
+        volatile long startedAt;
+        Future<ServerResult> future;
+        
+        ServerTask(String key) {
+            this.key = key;
+        }
+    }
+    
+    private void recordResult(GameServer server, ServerResult result) {
+        lastResults.put(serverKey(server), result);
+        if (result.getStatus() == ServerStatus.SUCCESS) {
+            logger.debug("Killfeed for server {} processed {} kills in {}ms", 
+                    result.getServerName(), result.getProcessed(), result.getDurationMs());
+        } else if (result.getStatus() != ServerStatus.SKIPPED_IN_FLIGHT) {
+            logger.warn("Killfeed for server {} finished with status {} after {}ms: {}", 
+                    result.getServerName(), result.getStatus(), result.getDurationMs(), result.getError());
+        }
+    }
+    
+    /**
+     * Get the results of the most recent tick for every server
+     * @return Map of server key (guildId:serverId) to result
+     */
+    public Map<String, ServerResult> getLastResults() {
+        return Collections.unmodifiableMap(lastResults);
+    }
+    
+    /**
+     * Check if a server's killfeed is currently being processed
+     */
+    public boolean isInFlight(GameServer server) {
+        return inFlight.contains(serverKey(server));
+    }
+    
+    /**
+     * Stop the worker pool
+     */
+    public void shutdown() {
+        workers.shutdown();
+        try {
+            if (!workers.awaitTermination(30, TimeUnit.SECONDS)) {
+                workers.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            workers.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+        // Tasks dropped by shutdownNow never ran their own cleanup
+        inFlight.clear();
+    }
+    
+    private static String serverKey(GameServer server) {
+        return server.getGuildId() + ":" + (server.getServerId() != null ? server.getServerId() : server.getName());
+    }
+    
+    private static String hostKey(GameServer server) {
+        if (server.isUseSftpForLogs() && server.getSftpHost() != null && !server.getSftpHost().isEmpty()) {
+            return server.getSftpHost().toLowerCase();
+        }
+        return server.getHost() != null ? server.getHost().toLowerCase() : "unknown";
+    }
+    
     /**
      * Process only new killfeed data (default behavior for scheduled runs)
      */
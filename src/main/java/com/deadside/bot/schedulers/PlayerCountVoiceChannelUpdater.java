@@ -1,29 +1,46 @@
 package com.deadside.bot.schedulers;
 
+import com.deadside.bot.config.Config;
 import com.deadside.bot.db.models.GuildConfig;
 import com.deadside.bot.db.models.GameServer;
 import com.deadside.bot.db.repositories.GuildConfigRepository;
 import com.deadside.bot.db.repositories.GameServerRepository;
+import com.deadside.bot.sessions.OnlineSessionTracker;
 import net.dv8tion.jda.api.JDA;
-import net.dv8tion.jda.api.entities.Guild;
 import net.dv8tion.jda.api.entities.channel.concrete.VoiceChannel;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.HashMap;
 import java.util.List;
-import java.util.ArrayList;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
 
 /**
- * Scheduler to update voice channels with player count information
+ * Keeps voice channels named after the player count of a game server
+ * Counts come from {@link OnlineSessionTracker} as players join and leave. Each change only
+ * records the name a channel should have; renames are applied at most once per rename
+ * interval per channel, always with the latest count, to stay within Discord's rate limit.
+ * The channel configuration is reloaded every few minutes to pick up changes.
  */
 public class PlayerCountVoiceChannelUpdater {
     private static final Logger logger = LoggerFactory.getLogger(PlayerCountVoiceChannelUpdater.class);
+    private static final String OFFLINE_NAME = "Players: Server Offline";
+    
     private final JDA jda;
     private final GuildConfigRepository guildConfigRepository;
     private final GameServerRepository gameServerRepository;
     private final ScheduledExecutorService scheduler;
+    private final OnlineSessionTracker sessionTracker;
+    private final long renameInterval;
+    
+    // Configured channels keyed by guildId:serverId
+    private volatile Map<String, Target> targets = new HashMap<>();
+    // Latest name wanted for each channel, and when each channel was last renamed
+    private final Map<Long, String> pendingNames = new ConcurrentHashMap<>();
+    private final Map<Long, Long> lastRenames = new ConcurrentHashMap<>();
     
     /**
      * Create a new player count voice channel updater
@@ -36,117 +53,145 @@ public class PlayerCountVoiceChannelUpdater {
         this.guildConfigRepository = new GuildConfigRepository();
         this.gameServerRepository = new GameServerRepository();
         this.scheduler = scheduler;
+        this.sessionTracker = OnlineSessionTracker.getInstance();
+        this.renameInterval = Config.getInstance().getPlayerCountRenameInterval();
         
-        // Schedule the updater to run every 5 minutes
+        sessionTracker.addCountListener(this::onCountChanged);
         scheduleUpdates();
     }
     
     /**
-     * Schedule the voice channel updates
+     * Schedule the configuration reload and the rename pass
      */
     private void scheduleUpdates() {
-        int updateInterval = 5; // minutes
+        int refreshInterval = 5; // minutes
         
         scheduler.scheduleAtFixedRate(
-            this::updateAllVoiceChannels,
+            this::refreshTargets,
             1,
-            updateInterval,
+            refreshInterval,
             TimeUnit.MINUTES
         );
+        scheduler.scheduleAtFixedRate(
+            this::applyRenames,
+            30,
+            30,
+            TimeUnit.SECONDS
+        );
         
-        logger.info("Scheduled player count voice channel updates every {} minutes", updateInterval);
+        logger.info("Scheduled player count voice channel updates, at most one rename per channel every {} seconds",
+                TimeUnit.MILLISECONDS.toSeconds(renameInterval));
     }
     
     /**
-     * Update all voice channels
+     * Record the new name for a server's channel when its online count changes
      */
-    private void updateAllVoiceChannels() {
+    private void onCountChanged(long guildId, String serverId, int online) {
+        Target target = targets.get(guildId + ":" + serverId);
+        if (target != null) {
+            pendingNames.put(target.channelId, formatName(online, target.maxPlayers));
+        }
+    }
+    
+    /**
+     * Reload the configured channels and queue each one's current name
+     */
+    private void refreshTargets() {
         try {
-            logger.debug("Starting scheduled player count voice channel updates");
-            
-            // Get all guild configurations using isolation-aware approach
-            List<GuildConfig> configs = new ArrayList<>();
+            Map<String, Target> loaded = new HashMap<>();
+            Map<Long, List<GameServer>> serversByGuild = new HashMap<>();
             
-            // Use JDA to get distinct guild IDs for proper isolation
-            List<Long> distinctGuildIds = jda.getGuilds().stream()
-                .map(guild -> guild.getIdLong())
-                .toList();
-            logger.debug("Found {} distinct guilds for voice channel updates", distinctGuildIds.size());
-            
-            // For each guild, get configs with proper isolation
-            for (Long guildId : distinctGuildIds) {
-                if (guildId > 0) {
-                    // Set isolation context for this guild
-                    com.deadside.bot.utils.GuildIsolationManager.getInstance().setContext(guildId, null);
-                    
-                    try {
-                        // Get config for this guild using isolation-aware method
-                        GuildConfig guildConfig = guildConfigRepository.findByGuildId(guildId);
-                        if (guildConfig != null) {
-                            configs.add(guildConfig);
-                        }
-                    } finally {
-                        // Always clear context
-                        com.deadside.bot.utils.GuildIsolationManager.getInstance().clearContext();
+            for (GuildConfig config : guildConfigRepository.findAllWithPlayerCountChannel()) {
+                // Only guilds this bot is in
+                if (jda.getGuildById(config.getGuildId()) == null) {
+                    continue;
+                }
+                
+                long channelId = config.getPlayerCountVoiceChannelId();
+                // The name is stored as the admin typed it, so match it ignoring case
+                GameServer server = null;
+                for (GameServer s : serversByGuild.computeIfAbsent(config.getGuildId(),
+                        gameServerRepository::findAllByGuildId)) {
+                    if (s.getName().equalsIgnoreCase(config.getPlayerCountServerName())) {
+                        server = s;
+                        break;
                     }
                 }
+                if (server == null || server.getServerId() == null) {
+                    pendingNames.put(channelId, OFFLINE_NAME);
+                    logger.warn("Server not found: {} for guild: {}", 
+                            config.getPlayerCountServerName(), config.getGuildId());
+                    continue;
+                }
+                
+                Target target = new Target(channelId, server.getMaxPlayers());
+                loaded.put(server.getGuildId() + ":" + server.getServerId(), target);
+                
+                // Until the log has shown a join or leave, fall back to the stored count
+                int online = sessionTracker.isTracking(server.getGuildId(), server.getServerId())
+                        ? sessionTracker.getOnlineCount(server.getGuildId(), server.getServerId())
+                        : server.getPlayerCount();
+                pendingNames.put(channelId, formatName(online, target.maxPlayers));
             }
             
-            for (GuildConfig config : configs) {
-                // Only process guilds with a voice channel configured
-                if (config.getPlayerCountVoiceChannelId() <= 0 || config.getPlayerCountServerName() == null) {
+            targets = loaded;
+            logger.debug("Loaded {} player count voice channels", loaded.size());
+        } catch (Exception e) {
+            logger.error("Error loading player count voice channels", e);
+        }
+    }
+    
+    /**
+     * Rename channels whose wanted name changed, skipping any renamed within the rename interval
+     */
+    private void applyRenames() {
+        try {
+            long now = System.currentTimeMillis();
+            
+            for (Map.Entry<Long, String> pending : pendingNames.entrySet()) {
+                long channelId = pending.getKey();
+                String newName = pending.getValue();
+                
+                Long lastRename = lastRenames.get(channelId);
+                if (lastRename != null && now - lastRename < renameInterval) {
                     continue;
                 }
-                
-                // Get the guild
-                Guild guild = jda.getGuildById(config.getGuildId());
-                if (guild == null) {
-                    logger.warn("Guild not found for ID: {}", config.getGuildId());
+                // A newer name queued meanwhile stays pending for the next pass
+                if (!pendingNames.remove(channelId, newName)) {
                     continue;
                 }
                 
-                // Get the voice channel
-                VoiceChannel voiceChannel = guild.getVoiceChannelById(config.getPlayerCountVoiceChannelId());
+                VoiceChannel voiceChannel = jda.getVoiceChannelById(channelId);
                 if (voiceChannel == null) {
-                    logger.warn("Voice channel not found for ID: {} in guild: {}", 
-                            config.getPlayerCountVoiceChannelId(), guild.getName());
+                    logger.warn("Voice channel not found for ID: {}", channelId);
                     continue;
                 }
-                
-                // Find the server by name
-                GameServer server = null;
-                List<GameServer> servers = gameServerRepository.findAllByGuildId(config.getGuildId());
-                for (GameServer s : servers) {
-                    if (s.getName().equalsIgnoreCase(config.getPlayerCountServerName())) {
-                        server = s;
-                        break;
-                    }
-                }
-                
-                if (server == null) {
-                    voiceChannel.getManager().setName("Players: Server Offline").queue();
-                    logger.warn("Server not found: {} for guild: {}", 
-                            config.getPlayerCountServerName(), guild.getName());
+                if (voiceChannel.getName().equals(newName)) {
                     continue;
                 }
                 
-                // Update the voice channel with player count
-                String newName = String.format("Players: %d/%d", 
-                        server.getPlayerCount(), server.getMaxPlayers());
-                
+                lastRenames.put(channelId, now);
                 voiceChannel.getManager().setName(newName).queue(
-                    success -> logger.debug("Updated voice channel: {} to {}", voiceChannel.getId(), newName),
-                    error -> logger.error("Failed to update voice channel: {}", voiceChannel.getId(), error)
+                    success -> logger.debug("Updated voice channel: {} to {}", channelId, newName),
+                    error -> logger.error("Failed to update voice channel: {}", channelId, error)
                 );
-                
-                logger.info("Updated player count voice channel for guild {} to {}", 
-                        guild.getName(), newName);
             }
-            
-            logger.debug("Completed scheduled player count voice channel updates");
-            
         } catch (Exception e) {
             logger.error("Error updating player count voice channels", e);
         }
     }
+    
+    private static String formatName(int online, int maxPlayers) {
+        return String.format("Players: %d/%d", online, maxPlayers);
+    }
+    
+    private static class Target {
+        final long channelId;
+        final int maxPlayers;
+        
+        Target(long channelId, int maxPlayers) {
+            this.channelId = channelId;
+            this.maxPlayers = maxPlayers;
+        }
+    }
 }
\ No newline at end of file
@@ -0,0 +1,140 @@
+package com.deadside.bot.search;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.TreeMap;
+
+/**
+ * Case-folded prefix index over the player names of one server
+ * Each name is indexed under its full folded form and under every later word, so a
+ * query matches "[TAG] Bob" by "[t" as well as by "bo". Not thread-safe; the owning
+ * PlayerNameIndex synchronizes.
+ */
+class NamePrefixIndex {
+    // Separates the indexed term from the player ID so equal names stay distinct keys
+    private static final char KEY_SEPARATOR = '\u0000';
+
+    private final String serverId;
+    private final TreeMap<String, Entry> terms = new TreeMap<>();
+    private final Map<String, Entry> players = new HashMap<>();
+
+    private static class Entry {
+        final String playerId;
+        final String name;
+        final String folded;
+        long lastSeen;
+
+        Entry(String playerId, String name, long lastSeen) {
+            this.playerId = playerId;
+            this.name = name;
+            this.folded = fold(name);
+            this.lastSeen = lastSeen;
+        }
+    }
+
+    NamePrefixIndex(String serverId) {
+        this.serverId = serverId;
+    }
+
+    int size() {
+        return players.size();
+    }
+
+    /**
+     * Add a player or update their name and last-seen time
+     */
+    void put(String playerId, String name, long lastSeen) {
+        if (playerId == null || name == null || name.isEmpty()) {
+            return;
+        }
+
+        Entry existing = players.get(playerId);
+        if (existing != null) {
+            if (existing.name.equals(name)) {
+                existing.lastSeen = Math.max(existing.lastSeen, lastSeen);
+                return;
+            }
+            remove(existing);
+        }
+
+        Entry entry = new Entry(playerId, name, lastSeen);
+        players.put(playerId, entry);
+        for (String term : termsOf(entry.folded)) {
+            terms.put(term + KEY_SEPARATOR + playerId, entry);
+        }
+    }
+
+    /**
+     * The best matches for a prefix, at most limit of them
+     */
+    List<PlayerNameMatch> search(String prefix, int limit) {
+        String folded = fold(prefix);
+
+        // Keep the best matches in a bounded heap whose head is the worst one kept
+        PriorityQueue<PlayerNameMatch> best = new PriorityQueue<>(limit + 1, Comparator.reverseOrder());
+        Map<String, Integer> seen = new HashMap<>();
+        Iterable<Entry> candidates = folded.isEmpty()
+            ? players.values()
+            : terms.subMap(folded, true, folded + Character.MAX_VALUE, true).values();
+
+        for (Entry entry : candidates) {
+            // A name can match through several of its words; rank it by the best one
+            int matchType = matchType(entry, folded);
+            Integer previous = seen.putIfAbsent(entry.playerId, matchType);
+            if (previous != null && previous <= matchType) {
+                continue;
+            }
+            if (previous != null) {
+                seen.put(entry.playerId, matchType);
+                best.removeIf(match -> match.getPlayerId().equals(entry.playerId));
+            }
+
+            best.add(new PlayerNameMatch(entry.playerId, serverId, entry.name, entry.lastSeen, matchType));
+            if (best.size() > limit) {
+                best.poll();
+            }
+        }
+
+        List<PlayerNameMatch> result = new ArrayList<>(best);
+        Collections.sort(result);
+        return result;
+    }
+
+    private void remove(Entry entry) {
+        players.remove(entry.playerId);
+        for (String term : termsOf(entry.folded)) {
+            terms.remove(term + KEY_SEPARATOR + entry.playerId);
+        }
+    }
+
+    private static int matchType(Entry entry, String folded) {
+        if (entry.folded.equals(folded)) {
+            return PlayerNameMatch.EXACT;
+        }
+        return entry.folded.startsWith(folded) ? PlayerNameMatch.NAME_PREFIX : PlayerNameMatch.WORD_PREFIX;
+    }
+
+    /**
+     * The full name plus the suffix starting at each later word
+     */
+    private static List<String> termsOf(String folded) {
+        List<String> result = new ArrayList<>();
+        result.add(folded);
+        for (int i = 1; i < folded.length(); i++) {
+            if (Character.isLetterOrDigit(folded.charAt(i)) && !Character.isLetterOrDigit(folded.charAt(i - 1))) {
+                result.add(folded.substring(i));
+            }
+        }
+        return result;
+    }
+
+    static String fold(String value) {
+        return value.trim().toLowerCase(Locale.ROOT);
+    }
+}
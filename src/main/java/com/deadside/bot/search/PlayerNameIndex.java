@@ -0,0 +1,208 @@
+package com.deadside.bot.search;
+
+import com.deadside.bot.config.Config;
+import com.deadside.bot.db.models.GameServer;
+import com.deadside.bot.db.models.Player;
+import com.deadside.bot.db.repositories.GameServerRepository;
+import com.deadside.bot.db.repositories.PlayerRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * In-memory player name search, one prefix index per guild and server
+ * A server's index is loaded from the players collection on first use and kept current by
+ * killfeed ingestion, so autocomplete and name lookups never run a regex over the database.
+ * Indexes that go unused for the idle timeout are dropped and reloaded when needed again.
+ */
+public class PlayerNameIndex {
+    private static final Logger logger = LoggerFactory.getLogger(PlayerNameIndex.class);
+    private static PlayerNameIndex instance;
+
+    /** Discord allows at most 25 autocomplete choices */
+    public static final int MAX_CHOICES = 25;
+
+    private final Map<String, ServerIndex> indexes = new ConcurrentHashMap<>();
+    private final PlayerRepository playerRepository;
+    private final GameServerRepository gameServerRepository;
+    private final ScheduledExecutorService maintenance;
+    private final long idleTimeout;
+
+    private PlayerNameIndex() {
+        this.playerRepository = new PlayerRepository();
+        this.gameServerRepository = new GameServerRepository();
+        this.idleTimeout = Config.getInstance().getPlayerNameIndexIdleTimeout();
+
+        this.maintenance = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "player-name-index-maintenance");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.maintenance.scheduleAtFixedRate(this::evictIdle, 5, 5, TimeUnit.MINUTES);
+    }
+
+    /**
+     * Get the singleton instance
+     */
+    public static synchronized PlayerNameIndex getInstance() {
+        if (instance == null) {
+            instance = new PlayerNameIndex();
+        }
+        return instance;
+    }
+
+    /**
+     * Find players on one server whose name, or a word in it, starts with the query
+     * @param guildId The guild ID for isolation
+     * @param serverId The server ID for isolation
+     * @param query The typed prefix (case-insensitive)
+     * @param limit Maximum number of matches to return
+     * @return Matches, best first
+     */
+    public List<PlayerNameMatch> search(long guildId, String serverId, String query, int limit) {
+        if (guildId <= 0 || serverId == null || serverId.isEmpty() || query == null) {
+            return Collections.emptyList();
+        }
+        return getIndex(guildId, serverId).search(query, limit);
+    }
+
+    /**
+     * Find players on any of a guild's servers whose name starts with the query
+     * @return Matches across all servers, best first
+     */
+    public List<PlayerNameMatch> searchGuild(long guildId, String query, int limit) {
+        List<PlayerNameMatch> matches = new ArrayList<>();
+        for (String serverId : getServerIds(guildId)) {
+            matches.addAll(search(guildId, serverId, query, limit));
+        }
+        Collections.sort(matches);
+        return matches.size() > limit ? new ArrayList<>(matches.subList(0, limit)) : matches;
+    }
+
+    /**
+     * Resolve a typed name to a player on one server, preferring an exact name match
+     * @return The best matching player, or null if no name matches
+     */
+    public Player findPlayer(long guildId, String serverId, String name) {
+        List<PlayerNameMatch> matches = search(guildId, serverId, name, 1);
+        return matches.isEmpty() ? null : load(guildId, matches.get(0));
+    }
+
+    /**
+     * Resolve a typed name to a player on any of a guild's servers, preferring an exact name match
+     * @return The best matching player, or null if no name matches
+     */
+    public Player findPlayerInGuild(long guildId, String name) {
+        List<PlayerNameMatch> matches = searchGuild(guildId, name, 1);
+        return matches.isEmpty() ? null : load(guildId, matches.get(0));
+    }
+
+    /**
+     * Record players seen by killfeed ingestion
+     * Only servers whose index is already loaded are updated; others pick the players up on load.
+     * @param names Player names keyed by player ID
+     */
+    public void recordPlayers(long guildId, String serverId, Map<String, String> names, long lastSeen) {
+        ServerIndex index = indexes.get(key(guildId, serverId));
+        if (index != null) {
+            index.putAll(names, lastSeen);
+        }
+    }
+
+    /**
+     * Drop a server's index so it is reloaded from the players collection on next use
+     */
+    public void invalidate(long guildId, String serverId) {
+        indexes.remove(key(guildId, serverId));
+    }
+
+    /**
+     * Stop the maintenance task and drop all indexes
+     */
+    public void shutdown() {
+        maintenance.shutdownNow();
+        indexes.clear();
+    }
+
+    private ServerIndex getIndex(long guildId, String serverId) {
+        ServerIndex index = indexes.computeIfAbsent(key(guildId, serverId), k -> new ServerIndex(serverId));
+        index.ensureLoaded(guildId);
+        return index;
+    }
+
+    private List<String> getServerIds(long guildId) {
+        List<String> serverIds = new ArrayList<>();
+        for (GameServer server : gameServerRepository.findAllByGuildId(guildId)) {
+            if (server.getServerId() != null && !server.hasRestrictedIsolation()) {
+                serverIds.add(server.getServerId());
+            }
+        }
+        return serverIds;
+    }
+
+    private Player load(long guildId, PlayerNameMatch match) {
+        return playerRepository.findByPlayerIdAndGuildIdAndServerId(match.getPlayerId(), guildId, match.getServerId());
+    }
+
+    private void evictIdle() {
+        long cutoff = System.currentTimeMillis() - idleTimeout;
+        indexes.entrySet().removeIf(entry -> entry.getValue().lastAccess < cutoff);
+    }
+
+    private static String key(long guildId, String serverId) {
+        return guildId + ":" + serverId;
+    }
+
+    /**
+     * One server's name index, loaded once from the players collection
+     */
+    private class ServerIndex {
+        private final String serverId;
+        private final NamePrefixIndex names;
+        private boolean loaded;
+        private volatile long lastAccess = System.currentTimeMillis();
+
+        ServerIndex(String serverId) {
+            this.serverId = serverId;
+            this.names = new NamePrefixIndex(serverId);
+        }
+
+        synchronized void ensureLoaded(long guildId) {
+            lastAccess = System.currentTimeMillis();
+            if (loaded) {
+                return;
+            }
+
+            long started = System.currentTimeMillis();
+            List<Player> players = playerRepository.findPlayerNames(guildId, serverId);
+            if (players == null) {
+                // Left unloaded so the next lookup retries
+                return;
+            }
+            for (Player player : players) {
+                names.put(player.getPlayerId(), player.getName(), player.getLastUpdated());
+            }
+            loaded = true;
+            logger.debug("Loaded name index for guild {} server {} ({} players) in {} ms",
+                guildId, serverId, names.size(), System.currentTimeMillis() - started);
+        }
+
+        synchronized void putAll(Map<String, String> players, long lastSeen) {
+            for (Map.Entry<String, String> player : players.entrySet()) {
+                names.put(player.getKey(), player.getValue(), lastSeen);
+            }
+        }
+
+        synchronized List<PlayerNameMatch> search(String query, int limit) {
+            return names.search(query, limit);
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package com.deadside.bot.search;
+
+/**
+ * A player returned by a name search, ordered by how well and how recently it matched
+ */
+public class PlayerNameMatch implements Comparable<PlayerNameMatch> {
+    /** The whole name equals the query (ignoring case) */
+    static final int EXACT = 0;
+    /** The name starts with the query */
+    static final int NAME_PREFIX = 1;
+    /** A later word in the name starts with the query, e.g. "bob" in "[TAG] Bob" */
+    static final int WORD_PREFIX = 2;
+
+    private final String playerId;
+    private final String serverId;
+    private final String name;
+    private final long lastSeen;
+    private final int matchType;
+
+    PlayerNameMatch(String playerId, String serverId, String name, long lastSeen, int matchType) {
+        this.playerId = playerId;
+        this.serverId = serverId;
+        this.name = name;
+        this.lastSeen = lastSeen;
+        this.matchType = matchType;
+    }
+
+    /**
+     * Best matches first: exact names, then name prefixes, then word prefixes,
+     * most recently seen first within each group
+     */
+    @Override
+    public int compareTo(PlayerNameMatch other) {
+        if (matchType != other.matchType) {
+            return Integer.compare(matchType, other.matchType);
+        }
+        if (lastSeen != other.lastSeen) {
+            return Long.compare(other.lastSeen, lastSeen);
+        }
+        return name.compareToIgnoreCase(other.name);
+    }
+
+    public String getPlayerId() {
+        return playerId;
+    }
+
+    public String getServerId() {
+        return serverId;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public long getLastSeen() {
+        return lastSeen;
+    }
+
+    public boolean isExact() {
+        return matchType == EXACT;
+    }
+}
@@ -0,0 +1,307 @@
+package com.deadside.bot.sessions;
+
+import com.deadside.bot.config.Config;
+import com.deadside.bot.db.repositories.PlayerRepository;
+import com.deadside.bot.parsers.events.LogEvent;
+import com.deadside.bot.parsers.events.LogEventBus;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tracks who is online on each server from the join and leave events in the server log
+ * Keeps the online players, their session start and the peak count per guild and server in
+ * memory, tells listeners when a server's count changes, and adds the length of finished
+ * sessions to each player's playtime with one bulk write per server and flush interval.
+ */
+public class OnlineSessionTracker {
+    private static final Logger logger = LoggerFactory.getLogger(OnlineSessionTracker.class);
+    private static OnlineSessionTracker instance;
+
+    /** Sessions older than this missed their leave event (e.g. a crash) and are dropped unpaid */
+    private static final long STALE_SESSION_MILLIS = TimeUnit.HOURS.toMillis(24);
+
+    private static final DateTimeFormatter LOG_TIME = DateTimeFormatter.ofPattern("yyyy.MM.dd-HH.mm.ss:SSS");
+    private static final DateTimeFormatter LEGACY_LOG_TIME = DateTimeFormatter.ofPattern("yyyy.MM.dd-HH:mm:ss");
+
+    /**
+     * Notified when the number of players online on a server changes
+     */
+    public interface CountListener {
+        void onCountChanged(long guildId, String serverId, int online);
+    }
+
+    private final Map<String, ServerSessions> servers = new ConcurrentHashMap<>();
+    private final List<CountListener> listeners = new CopyOnWriteArrayList<>();
+    private final PlayerRepository playerRepository;
+    private final ScheduledExecutorService flusher;
+
+    private OnlineSessionTracker() {
+        this.playerRepository = new PlayerRepository();
+
+        LogEventBus bus = LogEventBus.getInstance();
+        bus.subscribe(LogEvent.Type.JOIN, this::onJoin);
+        bus.subscribe(LogEvent.Type.LEAVE, this::onLeave);
+        bus.subscribe(LogEvent.Type.ROTATED, this::onRotated);
+
+        long flushInterval = Config.getInstance().getSessionPlaytimeFlushInterval();
+        this.flusher = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "online-session-flush");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.flusher.scheduleAtFixedRate(this::flush, flushInterval, flushInterval, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Get the singleton instance
+     */
+    public static synchronized OnlineSessionTracker getInstance() {
+        if (instance == null) {
+            instance = new OnlineSessionTracker();
+        }
+        return instance;
+    }
+
+    /**
+     * Listen for changes to any server's online count
+     */
+    public void addCountListener(CountListener listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * Whether a join or leave has been seen for the server since startup
+     * Until then the online count is unknown rather than zero.
+     */
+    public boolean isTracking(long guildId, String serverId) {
+        return servers.containsKey(key(guildId, serverId));
+    }
+
+    /**
+     * Number of players online on a server
+     */
+    public int getOnlineCount(long guildId, String serverId) {
+        ServerSessions sessions = servers.get(key(guildId, serverId));
+        return sessions != null ? sessions.onlineCount() : 0;
+    }
+
+    /**
+     * Highest number of players seen online at once on a server since startup
+     */
+    public int getPeakCount(long guildId, String serverId) {
+        ServerSessions sessions = servers.get(key(guildId, serverId));
+        return sessions != null ? sessions.peak() : 0;
+    }
+
+    /**
+     * Names of the players online on a server
+     */
+    public List<String> getOnlinePlayers(long guildId, String serverId) {
+        ServerSessions sessions = servers.get(key(guildId, serverId));
+        return sessions != null ? sessions.onlinePlayers() : new ArrayList<>();
+    }
+
+    /**
+     * When a player's current session started, as log time in epoch milliseconds
+     * @return The session start, or 0 if the player is not online
+     */
+    public long getOnlineSince(long guildId, String serverId, String playerName) {
+        ServerSessions sessions = servers.get(key(guildId, serverId));
+        return sessions != null ? sessions.onlineSince(playerName) : 0;
+    }
+
+    /**
+     * Write pending playtime and stop the flush task
+     */
+    public void shutdown() {
+        flusher.shutdownNow();
+        flush();
+    }
+
+    private void onJoin(LogEvent event) {
+        ServerSessions sessions = servers.computeIfAbsent(key(event.getGuildId(), event.getServerId()),
+            k -> new ServerSessions(event.getGuildId(), event.getServerId()));
+        int online = sessions.join(event.getSubject(), eventTime(event));
+        if (online >= 0) {
+            notifyListeners(event.getGuildId(), event.getServerId(), online);
+        }
+    }
+
+    private void onLeave(LogEvent event) {
+        ServerSessions sessions = servers.computeIfAbsent(key(event.getGuildId(), event.getServerId()),
+            k -> new ServerSessions(event.getGuildId(), event.getServerId()));
+        int online = sessions.leave(event.getSubject(), eventTime(event));
+        if (online >= 0) {
+            notifyListeners(event.getGuildId(), event.getServerId(), online);
+        }
+    }
+
+    /**
+     * The server restarted, so everyone it had online was disconnected
+     * The log does not say when, so those sessions are dropped unpaid like stale ones.
+     */
+    private void onRotated(LogEvent event) {
+        ServerSessions sessions = servers.get(key(event.getGuildId(), event.getServerId()));
+        if (sessions == null) {
+            return;
+        }
+        int online = sessions.reset();
+        if (online >= 0) {
+            notifyListeners(event.getGuildId(), event.getServerId(), online);
+        }
+    }
+
+    private void notifyListeners(long guildId, String serverId, int online) {
+        for (CountListener listener : listeners) {
+            try {
+                listener.onCountChanged(guildId, serverId, online);
+            } catch (Exception e) {
+                logger.error("Error notifying online count listener (Guild={}, Server={})", guildId, serverId, e);
+            }
+        }
+    }
+
+    /**
+     * Write the playtime of finished sessions, one bulk write per server
+     */
+    private void flush() {
+        long staleBefore = System.currentTimeMillis() - STALE_SESSION_MILLIS;
+        for (ServerSessions sessions : servers.values()) {
+            try {
+                int online = sessions.dropStale(staleBefore);
+                if (online >= 0) {
+                    notifyListeners(sessions.guildId, sessions.serverId, online);
+                }
+
+                Map<String, Long> playTime = sessions.drainPlayTime();
+                if (!playTime.isEmpty() && playerRepository.addPlayTime(sessions.guildId, sessions.serverId, playTime) < 0) {
+                    // Keep it for the next flush
+                    sessions.restorePlayTime(playTime);
+                }
+            } catch (Exception e) {
+                logger.error("Error flushing online sessions (Guild={}, Server={})",
+                    sessions.guildId, sessions.serverId, e);
+            }
+        }
+    }
+
+    /**
+     * The event's log time, or now if the line had no readable timestamp
+     * Read in the default zone, the same as the killfeed timestamps.
+     */
+    private static long eventTime(LogEvent event) {
+        String timestamp = event.getTimestamp();
+        if (timestamp != null) {
+            try {
+                // The older format separates hours and minutes with ':' instead of '.'
+                DateTimeFormatter format = timestamp.length() > 13 && timestamp.charAt(13) == ':' ? LEGACY_LOG_TIME : LOG_TIME;
+                return LocalDateTime.parse(timestamp, format).atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+            } catch (DateTimeParseException e) {
+                logger.debug("Unreadable log timestamp: {}", timestamp);
+            }
+        }
+        return System.currentTimeMillis();
+    }
+
+    private static String key(long guildId, String serverId) {
+        return guildId + ":" + serverId;
+    }
+
+    /**
+     * Online players and unsaved playtime for one server
+     * Count-changing methods return the new online count, or -1 if it did not change.
+     */
+    private static class ServerSessions {
+        final long guildId;
+        final String serverId;
+        private final Map<String, Long> online = new HashMap<>();
+        private final Map<String, Long> pendingSeconds = new HashMap<>();
+        private int peak;
+
+        ServerSessions(long guildId, String serverId) {
+            this.guildId = guildId;
+            this.serverId = serverId;
+        }
+
+        synchronized int join(String playerName, long time) {
+            if (online.putIfAbsent(playerName, time) != null) {
+                return -1;
+            }
+            peak = Math.max(peak, online.size());
+            return online.size();
+        }
+
+        synchronized int leave(String playerName, long time) {
+            Long joinedAt = online.remove(playerName);
+            if (joinedAt == null) {
+                return -1;
+            }
+            long seconds = (time - joinedAt) / 1000;
+            if (seconds > 0) {
+                pendingSeconds.merge(playerName, seconds, Long::sum);
+            }
+            return online.size();
+        }
+
+        synchronized int dropStale(long staleBefore) {
+            int before = online.size();
+            Iterator<Long> joinedAt = online.values().iterator();
+            while (joinedAt.hasNext()) {
+                if (joinedAt.next() < staleBefore) {
+                    joinedAt.remove();
+                }
+            }
+            return online.size() != before ? online.size() : -1;
+        }
+
+        synchronized int reset() {
+            if (online.isEmpty()) {
+                return -1;
+            }
+            online.clear();
+            return 0;
+        }
+
+        synchronized Map<String, Long> drainPlayTime() {
+            Map<String, Long> drained = new HashMap<>(pendingSeconds);
+            pendingSeconds.clear();
+            return drained;
+        }
+
+        synchronized void restorePlayTime(Map<String, Long> playTime) {
+            playTime.forEach((name, seconds) -> pendingSeconds.merge(name, seconds, Long::sum));
+        }
+
+        synchronized int onlineCount() {
+            return online.size();
+        }
+
+        synchronized int peak() {
+            return peak;
+        }
+
+        synchronized List<String> onlinePlayers() {
+            return new ArrayList<>(online.keySet());
+        }
+
+        synchronized long onlineSince(String playerName) {
+            Long joinedAt = online.get(playerName);
+            return joinedAt != null ? joinedAt : 0;
+        }
+    }
+}
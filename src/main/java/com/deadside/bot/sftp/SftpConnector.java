@@ -3,16 +3,18 @@ package com.deadside.bot.sftp;
 import com.deadside.bot.config.Config;
 import com.deadside.bot.db.models.GameServer;
 import com.jcraft.jsch.ChannelSftp;
-import com.jcraft.jsch.JSch;
 import com.jcraft.jsch.JSchException;
 import com.jcraft.jsch.Session;
+import com.jcraft.jsch.SftpATTRS;
 import org.apache.commons.io.IOUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.BufferedReader;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.InputStreamReader;
 import java.nio.charset.StandardCharsets;
 import java.text.SimpleDateFormat;
 import java.util.ArrayList;
@@ -20,7 +22,6 @@ import java.util.Calendar;
 import java.util.Collections;
 import java.util.Date;
 import java.util.List;
-import java.util.Properties;
 import java.util.Vector;
 
 /**
@@ -88,83 +89,79 @@ public class SftpConnector {
      * @return The SFTP connection
      */
     protected SftpConnection connect(GameServer server) {
-        // Simplified implementation for fixing compilation
-        return null;
+        try {
+            return SftpSessionPool.getInstance().borrow(server);
+        } catch (JSchException e) {
+            logger.info("Could not obtain SFTP connection for server {}: {}", 
+                server != null ? server.getName() : "null", e.getMessage());
+            return null;
+        }
     }
     
     /**
      * Disconnect from the SFTP server
+     * Pooled connections are handed back to the session pool
      * 
      * @param connection The SFTP connection
      */
     protected void disconnect(SftpConnection connection) {
-        // Simplified implementation for fixing compilation
+        if (connection != null) {
+            connection.close();
+        }
     }
     
     /**
      * SFTP connection wrapper
+     * Connections borrowed from {@link SftpSessionPool} return to the pool on close
      */
     protected static class SftpConnection implements AutoCloseable {
         Session session;
         ChannelSftp channel;
+        private SftpSessionPool pool;
+        private SftpSessionPool.ServerPool serverPool;
+        private volatile boolean broken;
         
         public SftpConnection(Session session, ChannelSftp channel) {
             this.session = session;
             this.channel = channel;
         }
         
-        @Override
-        public void close() throws Exception {
-            try {
-                if (channel != null && channel.isConnected()) {
-                    channel.disconnect();
-                }
-            } finally {
-                if (session != null && session.isConnected()) {
-                    session.disconnect();
-                }
-            }
+        /**
+         * Bind this connection to the pool it was borrowed from
+         */
+        void attach(SftpSessionPool pool, SftpSessionPool.ServerPool serverPool) {
+            this.pool = pool;
+            this.serverPool = serverPool;
+            this.broken = false;
         }
         
-        public SftpConnection(GameServer server) throws JSchException {
-            // This constructor creates a connection from a server config
-            JSch jsch = new JSch();
+        /**
+         * Mark this connection as unusable so it is closed instead of pooled
+         */
+        void markBroken() {
+            this.broken = true;
+        }
+        
+        boolean isBroken() {
+            return broken;
+        }
+        
+        @Override
+        public void close() {
+            SftpSessionPool owner;
+            SftpSessionPool.ServerPool ownerPool;
+            synchronized (this) {
+                owner = pool;
+                ownerPool = serverPool;
+                pool = null;
+                serverPool = null;
+            }
             
-            // First try with SFTP-specific credentials if available
-            if (server.isUseSftpForLogs() && server.getSftpHost() != null && !server.getSftpHost().isEmpty()) {
-                String sftp_user = server.getSftpUsername() != null && !server.getSftpUsername().isEmpty() ? 
-                    server.getSftpUsername() : server.getUsername();
-                
-                String sftp_password = server.getSftpPassword() != null && !server.getSftpPassword().isEmpty() ? 
-                    server.getSftpPassword() : server.getPassword();
-                    
-                int sftp_port = server.getSftpPort() > 0 ? server.getSftpPort() : 22;
-                
-                this.session = jsch.getSession(sftp_user, server.getSftpHost(), sftp_port);
-                this.session.setPassword(sftp_password);
-                
-                Properties config = new Properties();
-                config.put("StrictHostKeyChecking", "no");
-                this.session.setConfig(config);
-                this.session.setTimeout(30000);
-                
-                this.session.connect();
+            if (owner != null) {
+                owner.release(this, ownerPool);
             } else {
-                // Use regular credentials
-                this.session = jsch.getSession(server.getUsername(), server.getHost(), server.getPort());
-                this.session.setPassword(server.getPassword());
-                
-                Properties config = new Properties();
-                config.put("StrictHostKeyChecking", "no");
-                this.session.setConfig(config);
-                this.session.setTimeout(30000);
-                
-                this.session.connect();
+                disconnect();
             }
-            
-            // Open SFTP channel
-            this.channel = (ChannelSftp) this.session.openChannel("sftp");
-            this.channel.connect();
         }
         
         public Session getSession() {
@@ -279,95 +276,6 @@ public class SftpConnector {
         }
     }
     
-    /**
-     * Connect to an SFTP server using the improved connection method
-     * @param server The server config
-     * @return The SFTP channel and session
-     * @throws JSchException If connection fails
-     */
-    private SftpConnection connectImproved(GameServer server) throws JSchException {
-        JSch jsch = new JSch();
-        Session session = null;
-        ChannelSftp channel = null;
-        
-        try {
-            // First try with SFTP-specific credentials if available
-            if (server.isUseSftpForLogs() && server.getSftpHost() != null && !server.getSftpHost().isEmpty()) {
-                try {
-                    String sftp_user = server.getSftpUsername() != null && !server.getSftpUsername().isEmpty() ? 
-                        server.getSftpUsername() : server.getUsername();
-                    
-                    String sftp_password = server.getSftpPassword() != null && !server.getSftpPassword().isEmpty() ? 
-                        server.getSftpPassword() : server.getPassword();
-                        
-                    int sftp_port = server.getSftpPort() > 0 ? server.getSftpPort() : 22;
-                    
-                    logger.info("Attempting SFTP connection to {} using dedicated SFTP credentials", server.getSftpHost());
-                    
-                    session = jsch.getSession(sftp_user, server.getSftpHost(), sftp_port);
-                    session.setPassword(sftp_password);
-                    
-                    Properties config = new Properties();
-                    config.put("StrictHostKeyChecking", "no");
-                    session.setConfig(config);
-                    session.setTimeout(timeout);
-                    
-                    session.connect();
-                } catch (JSchException e) {
-                    // Log the error and try with fallback credentials
-                    logger.warn("SFTP connection with dedicated credentials failed: {}. Trying fallback credentials.", e.getMessage());
-                    
-                    // Close the session if it was created
-                    if (session != null && session.isConnected()) {
-                        session.disconnect();
-                        session = null;
-                    }
-                    
-                    // Throw if this is a dedicated SFTP configuration without fallback
-                    if (!server.hasSftpConfig()) {
-                        throw e;
-                    }
-                }
-            }
-            
-            // If first attempt failed or no SFTP-specific credentials, try regular credentials
-            if (session == null || !session.isConnected()) {
-                if (server.getUsername() != null && !server.getUsername().isEmpty() && 
-                    server.getHost() != null && !server.getHost().isEmpty()) {
-                    
-                    logger.info("Attempting fallback SFTP connection to {} using regular credentials", server.getHost());
-                    
-                    session = jsch.getSession(server.getUsername(), server.getHost(), server.getPort());
-                    session.setPassword(server.getPassword());
-                    
-                    Properties config = new Properties();
-                    config.put("StrictHostKeyChecking", "no");
-                    session.setConfig(config);
-                    session.setTimeout(timeout);
-                    
-                    session.connect();
-                } else {
-                    throw new JSchException("No valid SFTP configuration available");
-                }
-            }
-            
-            // Open SFTP channel
-            channel = (ChannelSftp) session.openChannel("sftp");
-            channel.connect();
-            
-            return new SftpConnection(session, channel);
-        } catch (JSchException e) {
-            // Make sure to close session if an error occurs
-            if (channel != null) {
-                channel.disconnect();
-            }
-            if (session != null) {
-                session.disconnect();
-            }
-            throw e;
-        }
-    }
-    
     /**
      * Test connection to an SFTP server with a specific path prefix
      * @param server The server config
@@ -406,16 +314,11 @@ public class SftpConnector {
         
         try {
             // Attempt to create a connection using the server credentials
-            SftpConnection connection = connect(server);
+            SftpConnection connection = SftpSessionPool.getInstance().borrow(server);
             if (connection != null) {
                 try {
-                    // Successfully connected, now properly close the connection
-                    if (connection.getChannel() != null && connection.getChannel().isConnected()) {
-                        connection.getChannel().disconnect();
-                    }
-                    if (connection.getSession() != null && connection.getSession().isConnected()) {
-                        connection.getSession().disconnect();
-                    }
+                    // Successfully connected, hand the connection back to the pool
+                    connection.close();
                     
                     logger.info("SFTP connection test successful for server: {}", 
                         server != null ? server.getName() : "unknown");
@@ -498,30 +401,19 @@ public class SftpConnector {
             
             logger.info("Downloading log file: {}", fullPath);
             
-            // Connect to SFTP
-            connection = new SftpConnection(server);
-            
-            // Download file content
-            InputStream inputStream = connection.getChannelSftp().get(fullPath);
-            if (inputStream == null) {
-                logger.warn("Could not open log file: {}", fullPath);
-                return Collections.emptyList();
-            }
-            
-            // Read content
-            ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
-            IOUtils.copy(inputStream, outputStream);
-            inputStream.close();
+            // Borrow a pooled SFTP connection
+            connection = SftpSessionPool.getInstance().borrow(server);
             
-            // Parse content
-            String content = outputStream.toString(StandardCharsets.UTF_8.name());
-            String[] lines = content.split("\\r?\\n");
-            
-            // Convert to list
+            // Read the file line by line straight from the transfer stream
             List<String> logLines = new ArrayList<>();
-            for (String line : lines) {
-                if (line != null && !line.trim().isEmpty()) {
-                    logLines.add(line.trim());
+            try (BufferedReader reader = new BufferedReader(
+                    new InputStreamReader(connection.getChannelSftp().get(fullPath), StandardCharsets.UTF_8))) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    line = line.trim();
+                    if (!line.isEmpty()) {
+                        logLines.add(line);
+                    }
                 }
             }
             
@@ -533,7 +425,7 @@ public class SftpConnector {
             return Collections.emptyList();
         } finally {
             if (connection != null) {
-                connection.disconnect();
+                connection.close();
             }
         }
     }
@@ -902,7 +794,7 @@ public class SftpConnector {
      */
     public String readLogFile(GameServer server, String filename) throws Exception {
         String filePath = server.getLogDirectory() + "/" + filename;
-        return readFile(server, filePath);
+        return readFileV2(server, filePath);
     }
     
     /**
@@ -913,7 +805,7 @@ public class SftpConnector {
      */
     public String readDeathlogFile(GameServer server, String filename) throws Exception {
         String filePath = server.getDeathlogsDirectory() + "/" + filename;
-        return readFile(server, filePath);
+        return readFileV2(server, filePath);
     }
     
     /**
@@ -924,16 +816,13 @@ public class SftpConnector {
      * @return The new lines
      */
     public List<String> readLinesAfter(GameServer server, String filePath, long afterLine) throws Exception {
-        String content = readFile(server, filePath);
-        String[] allLines = content.split("\n");
-        
         List<String> newLines = new ArrayList<>();
-        for (int i = 0; i < allLines.length; i++) {
-            if (i > afterLine) {
-                newLines.add(allLines[i]);
+        long[] lineNumber = {-1};
+        forEachLine(server, filePath, (line, endOffset) -> {
+            if (++lineNumber[0] > afterLine) {
+                newLines.add(line);
             }
-        }
-        
+        });
         return newLines;
     }
     
@@ -988,6 +877,191 @@ public class SftpConnector {
         return readLinesAfter(server, filePath, afterLine);
     }
     
+    /**
+     * Read only the lines appended to a file since a byte offset
+     * Uses an SFTP get with a resume offset so only new bytes are transferred.
+     * If the file is now smaller than the offset it was truncated or rotated and
+     * is read again from the beginning.
+     * 
+     * @param server The server config
+     * @param filePath Path to the file
+     * @param offset Byte offset just past the last complete line already processed
+     * @return The new complete lines and the updated tail position
+     */
+    public SftpTailResult tailFile(GameServer server, String filePath, long offset) throws Exception {
+        if (server == null || server.hasRestrictedIsolation()) {
+            logger.info("Skipping file tail for restricted server: {}", server != null ? server.getName() : "null");
+            return SftpTailResult.unchanged(offset, 0, 0);
+        }
+        
+        // Nothing is handed out until the read completes, so a lost connection can safely be retried
+        return SftpSessionPool.getInstance().execute(server, channel -> {
+            List<String> lines = new ArrayList<>();
+            SftpTailResult result = readLines(channel, server, filePath, offset, false, (line, endOffset) -> lines.add(line));
+            return new SftpTailResult(lines, result.getStartOffset(), result.getEndOffset(), 
+                result.getFileSize(), result.getLastModified(), result.isRotated());
+        });
+    }
+    
+    /**
+     * Stream the lines appended to a file since a byte offset to a handler as they are downloaded
+     * Memory use does not depend on the file size. Like {@link #tailFile}, a trailing partial line
+     * is left for the next read and a file that shrank is read again from the beginning.
+     * 
+     * @param server The server config
+     * @param filePath Path to the file
+     * @param offset Byte offset just past the last complete line already processed
+     * @param handler Receives each complete line
+     * @return The updated tail position (the returned result carries no lines)
+     */
+    public SftpTailResult streamFile(GameServer server, String filePath, long offset, SftpLineHandler handler) throws Exception {
+        return streamFile(server, filePath, offset, false, handler);
+    }
+    
+    /**
+     * Stream every line of a file to a handler, including a final line without a terminator
+     * @param server The server config
+     * @param filePath Path to the file
+     * @param handler Receives each line
+     * @return The position reached (the returned result carries no lines)
+     */
+    public SftpTailResult forEachLine(GameServer server, String filePath, SftpLineHandler handler) throws Exception {
+        return streamFile(server, filePath, 0, true, handler);
+    }
+    
+    private SftpTailResult streamFile(GameServer server, String filePath, long offset, 
+                                      boolean includePartialLine, SftpLineHandler handler) throws Exception {
+        if (server == null || server.hasRestrictedIsolation()) {
+            logger.info("Skipping file stream for restricted server: {}", server != null ? server.getName() : "null");
+            return SftpTailResult.unchanged(offset, 0, 0);
+        }
+        
+        // Lines are handed out while reading, so unlike tailFile a failed read is not retried
+        SftpConnection connection = SftpSessionPool.getInstance().borrow(server);
+        try {
+            return readLines(connection.getChannel(), server, filePath, offset, includePartialLine, handler);
+        } catch (Exception e) {
+            // The transfer was abandoned part way, so don't hand this channel to anyone else
+            connection.markBroken();
+            throw e;
+        } finally {
+            connection.close();
+        }
+    }
+    
+    /**
+     * Read a file from a byte offset, passing each line to the handler as soon as it is complete
+     */
+    private SftpTailResult readLines(ChannelSftp channel, GameServer server, String filePath, long offset,
+                                     boolean includePartialLine, SftpLineHandler handler) throws Exception {
+        SftpATTRS attrs = channel.stat(filePath);
+        long size = attrs.getSize();
+        long modified = attrs.getMTime() * 1000L;
+        
+        long start = Math.max(0, offset);
+        boolean rotated = false;
+        if (size < start) {
+            logger.info("File {} shrank from offset {} to {} bytes for server {}, assuming rotation", 
+                filePath, start, size, server.getName());
+            start = 0;
+            rotated = true;
+            handler.onRotated();
+        }
+        
+        if (size == start) {
+            return new SftpTailResult(Collections.emptyList(), start, start, size, modified, rotated);
+        }
+        
+        long consumed = start;
+        long remaining = size - start;
+        ByteArrayOutputStream lineBuffer = new ByteArrayOutputStream(256);
+        byte[] buffer = new byte[8192];
+        
+        try (InputStream inputStream = channel.get(filePath, null, start)) {
+            int read;
+            while (remaining > 0 && (read = inputStream.read(buffer, 0, (int) Math.min(buffer.length, remaining))) != -1) {
+                remaining -= read;
+                int lineStart = 0;
+                for (int i = 0; i < read; i++) {
+                    if (buffer[i] == '\n') {
+                        lineBuffer.write(buffer, lineStart, i - lineStart);
+                        consumed += lineBuffer.size() + 1;
+                        handler.handleLine(takeLine(lineBuffer), consumed);
+                        lineStart = i + 1;
+                    }
+                }
+                lineBuffer.write(buffer, lineStart, read - lineStart);
+            }
+        }
+        
+        // Any bytes left in the buffer belong to a line that is still being written
+        if (includePartialLine && lineBuffer.size() > 0) {
+            consumed += lineBuffer.size();
+            handler.handleLine(takeLine(lineBuffer), consumed);
+        }
+        
+        return new SftpTailResult(Collections.emptyList(), start, consumed, size, modified, rotated);
+    }
+    
+    /**
+     * Tail a log file from a byte offset
+     * @param server The server config
+     * @param filename Name of the log file
+     * @param offset Byte offset to resume from
+     * @return The new lines and updated tail position
+     */
+    public SftpTailResult tailLogFile(GameServer server, String filename, long offset) throws Exception {
+        String filePath = server.getLogDirectory() + "/" + filename;
+        return tailFile(server, filePath, offset);
+    }
+    
+    /**
+     * Tail a deathlog CSV file from a byte offset
+     * @param server The server config
+     * @param filename Name of the CSV file (including subdirectory path)
+     * @param offset Byte offset to resume from
+     * @return The new lines and updated tail position
+     */
+    public SftpTailResult tailDeathlogFile(GameServer server, String filename, long offset) throws Exception {
+        String filePath = server.getDeathlogsDirectory() + "/" + filename;
+        return tailFile(server, filePath, offset);
+    }
+    
+    /**
+     * Stream a log file from a byte offset
+     * @param server The server config
+     * @param filename Name of the log file
+     * @param offset Byte offset to resume from
+     * @param handler Receives each new complete line
+     * @return The updated tail position
+     */
+    public SftpTailResult streamLogFile(GameServer server, String filename, long offset, SftpLineHandler handler) throws Exception {
+        String filePath = server.getLogDirectory() + "/" + filename;
+        return streamFile(server, filePath, offset, handler);
+    }
+    
+    /**
+     * Stream a deathlog CSV file from a byte offset
+     * @param server The server config
+     * @param filename Name of the CSV file (including subdirectory path)
+     * @param offset Byte offset to resume from
+     * @param handler Receives each new complete line
+     * @return The updated tail position
+     */
+    public SftpTailResult streamDeathlogFile(GameServer server, String filename, long offset, SftpLineHandler handler) throws Exception {
+        String filePath = server.getDeathlogsDirectory() + "/" + filename;
+        return streamFile(server, filePath, offset, handler);
+    }
+    
+    private static String takeLine(ByteArrayOutputStream lineBuffer) {
+        String line = lineBuffer.toString(StandardCharsets.UTF_8);
+        lineBuffer.reset();
+        if (line.endsWith("\r")) {
+            line = line.substring(0, line.length() - 1);
+        }
+        return line;
+    }
+    
     // Using the protected SftpConnection class defined earlier in this file
     // Removed duplicate definition to fix compilation errors
     
@@ -998,198 +1072,78 @@ public class SftpConnector {
      * @return True if the file exists, false otherwise
      */
     public boolean fileExists(GameServer server, String remotePath) {
-        Session session = null;
-        ChannelSftp channelSftp = null;
         try {
-            session = createSession(server);
-            if (session == null) {
+            if (!canOpenSession(server)) {
                 return false;
             }
             
-            channelSftp = (ChannelSftp) session.openChannel("sftp");
-            channelSftp.connect(timeout);
-            
             // Try to get the file's attributes - if it doesn't exist, an exception will be thrown
-            channelSftp.lstat(remotePath);
-            return true;
+            return SftpSessionPool.getInstance().execute(server, channel -> {
+                channel.lstat(remotePath);
+                return true;
+            });
         } catch (Exception e) {
             // If exception is thrown, file doesn't exist or is not accessible
             logger.debug("File does not exist or is not accessible: {}", remotePath);
             return false;
-        } finally {
-            if (channelSftp != null && channelSftp.isConnected()) {
-                channelSftp.disconnect();
-            }
-            if (session != null && session.isConnected()) {
-                session.disconnect();
-            }
         }
     }
     
     /**
-     * Get the content of a file as a string with proper isolation
-     * @param server The game server with proper isolation metadata
-     * @param remotePath The path to the file on the remote server
-     * @return The file content as a string, or null if the file doesn't exist
-     */
-    /**
-     * Create an SFTP session with proper guild isolation
+     * Check whether an SFTP session may be opened for a server with proper guild isolation
      * This method enforces proper data boundaries between Discord servers
      * 
      * @param server The server to connect to
-     * @return The SFTP session, or null if connection failed or server lacks proper isolation
+     * @return True if the server has proper isolation and requires SFTP access
      */
-    private Session createSession(GameServer server) {
-        try {
-            // Verify server has proper isolation fields
-            if (server == null || server.getGuildId() <= 0) {
-                logger.warn("Attempted to create SFTP session without proper guild isolation for server {}", 
-                    server != null ? server.getName() : "null");
-                return null;
-            }
-            
-            // Set isolation context for this operation
-            long guildId = server.getGuildId();
-            String serverId = server.getServerId();
-            
-            // Set isolation context if possible
-            if (guildId > 0) {
-                com.deadside.bot.utils.GuildIsolationManager.getInstance().setContext(guildId, serverId);
-                try {
-                    // Special handling for Default Server or restricted servers
-                    if ("Default Server".equals(server.getName())) {
-                        logger.info("Server Default Server has proper isolation but SFTP connections are not needed (Guild={})", guildId);
-                        return null;
-                    } else if (server.isReadOnly() || "disabled".equalsIgnoreCase(server.getIsolationMode())) {
-                        logger.info("Server {} is in {} mode - SFTP connection skipped intentionally (Guild={})",
-                            server.getName(), 
-                            server.isReadOnly() ? "read-only" : "disabled isolation", 
-                            guildId);
-                        return null;
-                    }
-                    
-                    // First try to connect with dedicated SFTP credentials if available
-                    Session session = null;
-                    if (server.isUseSftpForLogs() && server.getSftpHost() != null && !server.getSftpHost().trim().isEmpty()) {
-                        try {
-                            String sftp_user = server.getSftpUsername() != null && !server.getSftpUsername().trim().isEmpty() ? 
-                                server.getSftpUsername() : server.getUsername();
-                            
-                            String sftp_password = server.getSftpPassword() != null && !server.getSftpPassword().trim().isEmpty() ? 
-                                server.getSftpPassword() : server.getPassword();
-                                
-                            int sftp_port = server.getSftpPort() > 0 ? server.getSftpPort() : 22;
-                            
-                            logger.info("Attempting SFTP connection to {} using dedicated SFTP credentials for server {}", 
-                                server.getSftpHost(), server.getName());
-                            
-                            JSch jsch = new JSch();
-                            session = jsch.getSession(sftp_user, server.getSftpHost(), sftp_port);
-                            session.setPassword(sftp_password);
-                            
-                            Properties config = new Properties();
-                            config.put("StrictHostKeyChecking", "no");
-                            session.setConfig(config);
-                            
-                            session.connect(timeout);
-                            logger.info("Successfully connected to SFTP server {} with dedicated credentials", server.getSftpHost());
-                            
-                            return session;
-                        } catch (Exception e) {
-                            logger.warn("Failed to connect with SFTP-specific credentials: {}. Will try fallback credentials.", e.getMessage());
-                            
-                            // Close session if it was created but not connected
-                            if (session != null && session.isConnected()) {
-                                session.disconnect();
-                                session = null;
-                            }
-                        }
-                    }
-                    
-                    // Fallback to standard credentials if SFTP-specific credentials failed or weren't provided
-                    if (server.getHost() != null && !server.getHost().trim().isEmpty() && 
-                        server.getUsername() != null && !server.getUsername().trim().isEmpty()) {
-                        
-                        try {
-                            logger.info("Attempting fallback SFTP connection to {}:{} with username {} for server {}",
-                                server.getHost(), server.getPort(), server.getUsername(), server.getName());
-                            
-                            JSch jsch = new JSch();
-                            session = jsch.getSession(server.getUsername(), server.getHost(), server.getPort());
-                            
-                            if (server.getPassword() != null && !server.getPassword().isEmpty()) {
-                                session.setPassword(server.getPassword());
-                            }
-                            
-                            Properties config = new Properties();
-                            config.put("StrictHostKeyChecking", "no");
-                            session.setConfig(config);
-                            
-                            session.connect(timeout);
-                            logger.info("Successfully connected to SFTP server {}:{} with fallback credentials", 
-                                server.getHost(), server.getPort());
-                            
-                            return session;
-                        } catch (Exception e) {
-                            logger.error("All SFTP connection attempts failed for server {}: {}", 
-                                server.getName(), e.getMessage());
-                            return null;
-                        }
-                    } else {
-                        logger.warn("No valid SFTP credentials available for server {}", server.getName());
-                        return null;
-                    }
-                } finally {
-                    // Always clear isolation context when done to prevent leaks
-                    com.deadside.bot.utils.GuildIsolationManager.getInstance().clearContext();
-                }
-            } else {
-                logger.error("Cannot create SFTP session for server {} due to missing guild ID", server.getName());
-                return null;
-            }
-        } catch (Exception e) {
-            logger.error("Error creating SFTP session for server {}: {}", 
-                server != null ? server.getName() : "null", e.getMessage());
-            return null;
+    private boolean canOpenSession(GameServer server) {
+        // Verify server has proper isolation fields
+        if (server == null || server.getGuildId() <= 0) {
+            logger.warn("Attempted to create SFTP session without proper guild isolation for server {}", 
+                server != null ? server.getName() : "null");
+            return false;
+        }
+        
+        // Special handling for Default Server or restricted servers
+        if ("Default Server".equals(server.getName())) {
+            logger.info("Server Default Server has proper isolation but SFTP connections are not needed (Guild={})", 
+                server.getGuildId());
+            return false;
+        } else if (server.isReadOnly() || "disabled".equalsIgnoreCase(server.getIsolationMode())) {
+            logger.info("Server {} is in {} mode - SFTP connection skipped intentionally (Guild={})",
+                server.getName(), 
+                server.isReadOnly() ? "read-only" : "disabled isolation", 
+                server.getGuildId());
+            return false;
         }
+        
+        return true;
     }
     
+    /**
+     * Get the content of a file as a string with proper isolation
+     * @param server The game server with proper isolation metadata
+     * @param remotePath The path to the file on the remote server
+     * @return The file content as a string, or null if the file doesn't exist
+     */
     public String getFileContent(GameServer server, String remotePath) {
-        Session session = null;
-        ChannelSftp channelSftp = null;
         try {
-            // Verify server has proper isolation fields
-            if (server.getGuildId() <= 0) {
-                logger.warn("Attempted to access file without proper guild isolation: {} in server {}", 
-                    remotePath, server.getName());
-                return null;
-            }
-            
-            session = createSession(server);
-            if (session == null) {
+            if (!canOpenSession(server)) {
                 return null;
             }
             
-            channelSftp = (ChannelSftp) session.openChannel("sftp");
-            channelSftp.connect(timeout);
-            
-            try (InputStream inputStream = channelSftp.get(remotePath);
-                 ByteArrayOutputStream outputStream = new ByteArrayOutputStream()) {
-                
-                IOUtils.copy(inputStream, outputStream);
-                return outputStream.toString(StandardCharsets.UTF_8.name());
-            }
+            return SftpSessionPool.getInstance().execute(server, channel -> {
+                try (InputStream inputStream = channel.get(remotePath);
+                     ByteArrayOutputStream outputStream = new ByteArrayOutputStream()) {
+                    
+                    IOUtils.copy(inputStream, outputStream);
+                    return outputStream.toString(StandardCharsets.UTF_8.name());
+                }
+            });
         } catch (Exception e) {
             logger.error("Error getting content of file: {} from server {}", 
                 remotePath, server.getName(), e);
             return null;
-        } finally {
-            if (channelSftp != null && channelSftp.isConnected()) {
-                channelSftp.disconnect();
-            }
-            if (session != null && session.isConnected()) {
-                session.disconnect();
-            }
         }
     }
     
@@ -1200,37 +1154,17 @@ public class SftpConnector {
      * @return The file size in bytes, or -1 if the file doesn't exist
      */
     public long getFileSize(GameServer server, String remotePath) {
-        Session session = null;
-        ChannelSftp channelSftp = null;
         try {
-            // Verify server has proper isolation fields
-            if (server.getGuildId() <= 0) {
-                logger.warn("Attempted to access file without proper guild isolation: {} in server {}", 
-                    remotePath, server.getName());
+            if (!canOpenSession(server)) {
                 return -1;
             }
             
-            session = createSession(server);
-            if (session == null) {
-                return -1;
-            }
-            
-            channelSftp = (ChannelSftp) session.openChannel("sftp");
-            channelSftp.connect(timeout);
-            
             // Get file attributes to get the size
-            return channelSftp.lstat(remotePath).getSize();
+            return SftpSessionPool.getInstance().execute(server, channel -> channel.lstat(remotePath).getSize());
         } catch (Exception e) {
             logger.error("Error getting size of file: {} from server {}", 
                 remotePath, server.getName(), e);
             return -1;
-        } finally {
-            if (channelSftp != null && channelSftp.isConnected()) {
-                channelSftp.disconnect();
-            }
-            if (session != null && session.isConnected()) {
-                session.disconnect();
-            }
         }
     }
     
@@ -1241,37 +1175,17 @@ public class SftpConnector {
      * @return The last modified timestamp in milliseconds, or -1 if the file doesn't exist
      */
     public long getLastModified(GameServer server, String remotePath) {
-        Session session = null;
-        ChannelSftp channelSftp = null;
         try {
-            // Verify server has proper isolation fields
-            if (server.getGuildId() <= 0) {
-                logger.warn("Attempted to access file without proper guild isolation: {} in server {}", 
-                    remotePath, server.getName());
+            if (!canOpenSession(server)) {
                 return -1;
             }
             
-            session = createSession(server);
-            if (session == null) {
-                return -1;
-            }
-            
-            channelSftp = (ChannelSftp) session.openChannel("sftp");
-            channelSftp.connect(timeout);
-            
-            // Get file attributes to get the modified time
-            return channelSftp.lstat(remotePath).getMTime() * 1000L; // Convert from seconds to milliseconds
+            // Get file attributes to get the modified time (seconds to milliseconds)
+            return SftpSessionPool.getInstance().execute(server, channel -> channel.lstat(remotePath).getMTime() * 1000L);
         } catch (Exception e) {
             logger.error("Error getting last modified time of file: {} from server {}", 
                 remotePath, server.getName(), e);
             return -1;
-        } finally {
-            if (channelSftp != null && channelSftp.isConnected()) {
-                channelSftp.disconnect();
-            }
-            if (session != null && session.isConnected()) {
-                session.disconnect();
-            }
         }
     }
 }
@@ -0,0 +1,23 @@
+package com.deadside.bot.sftp;
+
+/**
+ * Receives the lines of a remote file one at a time as they are downloaded
+ */
+@FunctionalInterface
+public interface SftpLineHandler {
+
+    /**
+     * Handle one line (without its line terminator)
+     * @param line The line content
+     * @param endOffset Byte offset just past this line; resuming from here continues with the next line
+     * @throws Exception To abort the read
+     */
+    void handleLine(String line, long endOffset) throws Exception;
+
+    /**
+     * Called before the first line when the file shrank since the requested offset
+     * and is being read again from the beginning
+     */
+    default void onRotated() {
+    }
+}
@@ -9,6 +9,7 @@ import java.util.List;
 
 /**
  * Manager for SFTP operations
+ * All operations borrow connections from the shared {@link SftpSessionPool}
  */
 public class SftpManager {
     private static final Logger logger = LoggerFactory.getLogger(SftpManager.class);
@@ -26,6 +27,21 @@ public class SftpManager {
         return this.connector;
     }
     
+    /**
+     * Get the shared SFTP session pool
+     * @return The session pool used for all SFTP operations
+     */
+    public SftpSessionPool getSessionPool() {
+        return SftpSessionPool.getInstance();
+    }
+    
+    /**
+     * Drop pooled connections for a server (e.g. after it was removed or reconfigured)
+     */
+    public void invalidateConnections(GameServer server) {
+        SftpSessionPool.getInstance().invalidate(server);
+    }
+    
     /**
      * Test connection to an SFTP server
      */
@@ -44,7 +60,7 @@ public class SftpManager {
     public List<String> getKillfeedFiles(GameServer server) {
         try {
             // Search all CSV files in the deathlogs directory and subdirectories
-            return connector.findDeathlogFiles(server);
+            return connector.findDeathlogFilesV2(server);
         } catch (Exception e) {
             logger.error("Error listing killfeed files for server: {}", server.getName(), e);
             return new ArrayList<>();
@@ -111,4 +127,54 @@ public class SftpManager {
             return new ArrayList<>();
         }
     }
+    
+    /**
+     * Read only the killfeed lines appended since a byte offset
+     * @return The tail result, or null if the file could not be read
+     */
+    public SftpTailResult tailKillfeedFile(GameServer server, String filename, long offset) {
+        try {
+            return connector.tailDeathlogFile(server, filename, offset);
+        } catch (Exception e) {
+            logger.error("Error tailing killfeed file {} for server: {}", filename, server.getName(), e);
+            return null;
+        }
+    }
+    
+    /**
+     * Read only the log lines appended since a byte offset
+     * @return The tail result, or null if the file could not be read
+     */
+    public SftpTailResult tailLogFile(GameServer server, String filename, long offset) {
+        try {
+            return connector.tailLogFile(server, filename, offset);
+        } catch (Exception e) {
+            logger.error("Error tailing log file {} for server: {}", filename, server.getName(), e);
+            return null;
+        }
+    }
+    
+    /**
+     * Stream the killfeed lines appended since a byte offset to a handler
+     * Lines already handed to the handler stay delivered even if the read later fails.
+     * @return The tail result
+     * @throws Exception If the file could not be read completely or the handler aborted the read
+     */
+    public SftpTailResult streamKillfeedFile(GameServer server, String filename, long offset, SftpLineHandler handler) throws Exception {
+        return connector.streamDeathlogFile(server, filename, offset, handler);
+    }
+    
+    /**
+     * Stream the log lines appended since a byte offset to a handler
+     * Lines already handed to the handler stay delivered even if the read later fails.
+     * @return The tail result, or null if the file could not be read completely
+     */
+    public SftpTailResult streamLogFile(GameServer server, String filename, long offset, SftpLineHandler handler) {
+        try {
+            return connector.streamLogFile(server, filename, offset, handler);
+        } catch (Exception e) {
+            logger.error("Error streaming log file {} for server: {}", filename, server.getName(), e);
+            return null;
+        }
+    }
 }
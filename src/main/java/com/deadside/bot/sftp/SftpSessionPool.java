@@ -0,0 +1,432 @@
+package com.deadside.bot.sftp;
+
+import com.deadside.bot.config.Config;
+import com.deadside.bot.db.models.GameServer;
+import com.jcraft.jsch.ChannelSftp;
+import com.jcraft.jsch.JSch;
+import com.jcraft.jsch.JSchException;
+import com.jcraft.jsch.Session;
+import com.jcraft.jsch.SftpException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Per-server pool of authenticated SFTP sessions
+ * Keeps SSH sessions alive between polls so each killfeed/log tick reuses an
+ * existing handshake instead of opening a new one
+ */
+public class SftpSessionPool {
+    private static final Logger logger = LoggerFactory.getLogger(SftpSessionPool.class);
+    private static SftpSessionPool instance;
+
+    // How long a pooled connection may sit idle before it is re-validated on borrow
+    private static final long VALIDATION_INTERVAL_MS = 30000;
+
+    // How long a caller waits for a free channel slot before giving up
+    private static final long ACQUIRE_TIMEOUT_MS = 60000;
+
+    private final Map<String, ServerPool> pools = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService maintenance;
+    private final int timeout;
+    private final int maxChannels;
+    private final long idleTimeout;
+    private final int keepAliveInterval;
+
+    private final AtomicLong handshakes = new AtomicLong();
+    private final AtomicLong reuses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+
+    private SftpSessionPool() {
+        Config config = Config.getInstance();
+        this.timeout = config.getSftpConnectTimeout();
+        this.maxChannels = config.getSftpPoolMaxChannels();
+        this.idleTimeout = config.getSftpPoolIdleTimeout();
+        this.keepAliveInterval = config.getSftpKeepAliveInterval();
+
+        this.maintenance = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "sftp-pool-maintenance");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.maintenance.scheduleAtFixedRate(this::evictIdle, 30, 30, TimeUnit.SECONDS);
+
+        logger.info("SFTP session pool initialized (max {} channels per server, idle timeout {}ms)",
+            maxChannels, idleTimeout);
+    }
+
+    /**
+     * Get the singleton instance
+     */
+    public static synchronized SftpSessionPool getInstance() {
+        if (instance == null) {
+            instance = new SftpSessionPool();
+        }
+        return instance;
+    }
+
+    /**
+     * Operation executed against a pooled SFTP channel
+     */
+    @FunctionalInterface
+    public interface SftpOperation<T> {
+        T apply(ChannelSftp channel) throws Exception;
+    }
+
+    /**
+     * Run an operation on a pooled channel for the given server
+     * If the pooled connection turns out to be dead, it is discarded and the
+     * operation is retried once on a freshly opened connection
+     *
+     * @param server The game server
+     * @param operation The operation to run
+     * @return The operation result
+     * @throws Exception If the operation fails on a healthy connection or reconnecting fails
+     */
+    public <T> T execute(GameServer server, SftpOperation<T> operation) throws Exception {
+        SftpConnector.SftpConnection connection = borrow(server);
+        try {
+            return operation.apply(connection.getChannel());
+        } catch (Exception e) {
+            if (!isConnectionFailure(e)) {
+                throw e;
+            }
+
+            logger.info("Pooled SFTP connection for server {} was lost ({}), reconnecting",
+                server.getName(), e.getMessage());
+            connection.markBroken();
+            connection.close();
+
+            connection = borrow(server);
+            return operation.apply(connection.getChannel());
+        } finally {
+            connection.close();
+        }
+    }
+
+    /**
+     * Borrow a connected session/channel pair for a server
+     * The caller must close the returned connection, which hands it back to the pool
+     *
+     * @param server The game server
+     * @return A connected SFTP connection
+     * @throws JSchException If no connection could be established
+     */
+    SftpConnector.SftpConnection borrow(GameServer server) throws JSchException {
+        ServerPool pool = poolFor(server);
+
+        try {
+            if (!pool.permits.tryAcquire(ACQUIRE_TIMEOUT_MS, TimeUnit.MILLISECONDS)) {
+                throw new JSchException("Timed out waiting for a free SFTP channel for server " + server.getName());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new JSchException("Interrupted while waiting for an SFTP channel for server " + server.getName());
+        }
+
+        try {
+            PooledEntry entry;
+            while ((entry = pool.idle.pollFirst()) != null) {
+                if (isHealthy(entry)) {
+                    reuses.incrementAndGet();
+                    entry.connection.attach(this, pool);
+                    return entry.connection;
+                }
+                entry.connection.disconnect();
+            }
+
+            SftpConnector.SftpConnection connection = openConnection(server);
+            handshakes.incrementAndGet();
+            connection.attach(this, pool);
+            return connection;
+        } catch (JSchException | RuntimeException e) {
+            pool.permits.release();
+            throw e;
+        }
+    }
+
+    /**
+     * Return a borrowed connection to its pool
+     * Broken connections and connections from a replaced pool are closed instead
+     */
+    void release(SftpConnector.SftpConnection connection, ServerPool pool) {
+        try {
+            boolean reusable = !connection.isBroken()
+                && pools.get(pool.key) == pool
+                && connection.getSession() != null && connection.getSession().isConnected()
+                && connection.getChannel() != null && connection.getChannel().isConnected();
+
+            if (reusable && pool.idle.size() < maxChannels) {
+                pool.idle.offerFirst(new PooledEntry(connection, System.currentTimeMillis()));
+            } else {
+                connection.disconnect();
+            }
+        } finally {
+            pool.permits.release();
+        }
+    }
+
+    /**
+     * Close all pooled connections for a server
+     * Called when a server is removed or its credentials change
+     */
+    public void invalidate(GameServer server) {
+        if (server == null) {
+            return;
+        }
+
+        ServerPool pool = pools.remove(serverKey(server));
+        if (pool != null) {
+            drain(pool);
+            logger.info("Invalidated pooled SFTP connections for server {}", server.getName());
+        }
+    }
+
+    /**
+     * Close every pooled connection and stop the maintenance task
+     */
+    public void shutdown() {
+        maintenance.shutdownNow();
+        for (ServerPool pool : pools.values()) {
+            drain(pool);
+        }
+        pools.clear();
+        logger.info("SFTP session pool shut down ({} handshakes, {} reuses, {} evictions)",
+            handshakes.get(), reuses.get(), evictions.get());
+    }
+
+    /**
+     * Get a short human readable summary of pool usage
+     */
+    public String getStats() {
+        int idleConnections = 0;
+        for (ServerPool pool : pools.values()) {
+            idleConnections += pool.idle.size();
+        }
+        return String.format("servers=%d, idle=%d, handshakes=%d, reuses=%d, evictions=%d",
+            pools.size(), idleConnections, handshakes.get(), reuses.get(), evictions.get());
+    }
+
+    /**
+     * Get the pool for a server, replacing it if the server's credentials changed
+     */
+    private ServerPool poolFor(GameServer server) {
+        String key = serverKey(server);
+        String fingerprint = credentialFingerprint(server);
+
+        ServerPool pool = pools.compute(key, (k, existing) -> {
+            if (existing != null && existing.fingerprint.equals(fingerprint)) {
+                return existing;
+            }
+            if (existing != null) {
+                logger.info("SFTP credentials changed for server {}, discarding pooled sessions", server.getName());
+                drain(existing);
+            }
+            return new ServerPool(k, fingerprint, maxChannels);
+        });
+
+        return pool;
+    }
+
+    /**
+     * Periodically close connections that have been idle for too long
+     */
+    private void evictIdle() {
+        try {
+            long now = System.currentTimeMillis();
+            for (ServerPool pool : pools.values()) {
+                Iterator<PooledEntry> iterator = pool.idle.iterator();
+                while (iterator.hasNext()) {
+                    PooledEntry entry = iterator.next();
+                    boolean expired = now - entry.releasedAt > idleTimeout;
+                    if (expired || !entry.connection.getSession().isConnected()) {
+                        if (pool.idle.removeFirstOccurrence(entry)) {
+                            entry.connection.disconnect();
+                            evictions.incrementAndGet();
+                        }
+                    }
+                }
+            }
+        } catch (Exception e) {
+            logger.warn("Error evicting idle SFTP sessions: {}", e.getMessage());
+        }
+    }
+
+    private void drain(ServerPool pool) {
+        PooledEntry entry;
+        while ((entry = pool.idle.pollFirst()) != null) {
+            entry.connection.disconnect();
+        }
+    }
+
+    /**
+     * Check that a pooled connection is still usable
+     * Connections idle for longer than the validation interval get a cheap stat round trip
+     */
+    private boolean isHealthy(PooledEntry entry) {
+        Session session = entry.connection.getSession();
+        ChannelSftp channel = entry.connection.getChannel();
+        if (session == null || !session.isConnected() || channel == null || !channel.isConnected() || channel.isClosed()) {
+            return false;
+        }
+
+        if (System.currentTimeMillis() - entry.releasedAt > VALIDATION_INTERVAL_MS) {
+            try {
+                channel.stat(".");
+            } catch (Exception e) {
+                logger.debug("Pooled SFTP connection failed validation: {}", e.getMessage());
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Decide whether an exception means the underlying connection is gone
+     * (as opposed to an application error like a missing file)
+     */
+    private boolean isConnectionFailure(Exception e) {
+        if (e instanceof JSchException || e instanceof IOException) {
+            return true;
+        }
+        if (e instanceof SftpException sftpException) {
+            int id = sftpException.id;
+            return id == ChannelSftp.SSH_FX_CONNECTION_LOST
+                || id == ChannelSftp.SSH_FX_NO_CONNECTION
+                || (id == ChannelSftp.SSH_FX_FAILURE && sftpException.getCause() instanceof IOException);
+        }
+        return false;
+    }
+
+    /**
+     * Open a new session and SFTP channel for a server
+     * Tries the dedicated SFTP credentials first and falls back to the regular credentials
+     */
+    private SftpConnector.SftpConnection openConnection(GameServer server) throws JSchException {
+        JSch jsch = new JSch();
+        Session session = null;
+        ChannelSftp channel = null;
+
+        try {
+            // First try with SFTP-specific credentials if available
+            if (server.isUseSftpForLogs() && server.getSftpHost() != null && !server.getSftpHost().isEmpty()) {
+                try {
+                    String sftp_user = server.getSftpUsername() != null && !server.getSftpUsername().isEmpty() ?
+                        server.getSftpUsername() : server.getUsername();
+
+                    String sftp_password = server.getSftpPassword() != null && !server.getSftpPassword().isEmpty() ?
+                        server.getSftpPassword() : server.getPassword();
+
+                    int sftp_port = server.getSftpPort() > 0 ? server.getSftpPort() : 22;
+
+                    logger.info("Opening pooled SFTP session to {} using dedicated SFTP credentials", server.getSftpHost());
+
+                    session = jsch.getSession(sftp_user, server.getSftpHost(), sftp_port);
+                    session.setPassword(sftp_password);
+                    configureSession(session);
+                    session.connect(timeout);
+                } catch (JSchException e) {
+                    logger.warn("SFTP connection with dedicated credentials failed: {}. Trying fallback credentials.", e.getMessage());
+
+                    if (session != null && session.isConnected()) {
+                        session.disconnect();
+                    }
+                    session = null;
+
+                    if (!server.hasSftpConfig()) {
+                        throw e;
+                    }
+                }
+            }
+
+            // If first attempt failed or no SFTP-specific credentials, try regular credentials
+            if (session == null || !session.isConnected()) {
+                if (server.getUsername() != null && !server.getUsername().isEmpty() &&
+                    server.getHost() != null && !server.getHost().isEmpty()) {
+
+                    logger.info("Opening pooled SFTP session to {} using regular credentials", server.getHost());
+
+                    session = jsch.getSession(server.getUsername(), server.getHost(), server.getPort());
+                    if (server.getPassword() != null && !server.getPassword().isEmpty()) {
+                        session.setPassword(server.getPassword());
+                    }
+                    configureSession(session);
+                    session.connect(timeout);
+                } else {
+                    throw new JSchException("No valid SFTP configuration available");
+                }
+            }
+
+            channel = (ChannelSftp) session.openChannel("sftp");
+            channel.connect(timeout);
+
+            return new SftpConnector.SftpConnection(session, channel);
+        } catch (JSchException e) {
+            if (channel != null) {
+                channel.disconnect();
+            }
+            if (session != null) {
+                session.disconnect();
+            }
+            throw e;
+        }
+    }
+
+    private void configureSession(Session session) throws JSchException {
+        Properties config = new Properties();
+        config.put("StrictHostKeyChecking", "no");
+        session.setConfig(config);
+        session.setTimeout(timeout);
+        session.setServerAliveInterval(keepAliveInterval);
+        session.setServerAliveCountMax(3);
+    }
+
+    private static String serverKey(GameServer server) {
+        return server.getGuildId() + ":" + (server.getServerId() != null ? server.getServerId() : server.getName());
+    }
+
+    private static String credentialFingerprint(GameServer server) {
+        return server.isUseSftpForLogs() + "|" + server.getSftpHost() + "|" + server.getSftpPort() + "|"
+            + server.getSftpUsername() + "|" + Integer.toHexString(String.valueOf(server.getSftpPassword()).hashCode()) + "|"
+            + server.getHost() + "|" + server.getPort() + "|" + server.getUsername() + "|"
+            + Integer.toHexString(String.valueOf(server.getPassword()).hashCode());
+    }
+
+    /**
+     * Pooled connections and channel permits for a single game server
+     */
+    static class ServerPool {
+        final String key;
+        final String fingerprint;
+        final Deque<PooledEntry> idle = new ConcurrentLinkedDeque<>();
+        final Semaphore permits;
+
+        ServerPool(String key, String fingerprint, int maxChannels) {
+            this.key = key;
+            this.fingerprint = fingerprint;
+            this.permits = new Semaphore(maxChannels, true);
+        }
+    }
+
+    private static class PooledEntry {
+        final SftpConnector.SftpConnection connection;
+        final long releasedAt;
+
+        PooledEntry(SftpConnector.SftpConnection connection, long releasedAt) {
+            this.connection = connection;
+            this.releasedAt = releasedAt;
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package com.deadside.bot.sftp;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Result of reading the bytes appended to a remote file since a known offset
+ */
+public class SftpTailResult {
+    private final List<String> lines;
+    private final long startOffset;
+    private final long endOffset;
+    private final long fileSize;
+    private final long lastModified;
+    private final boolean rotated;
+
+    public SftpTailResult(List<String> lines, long startOffset, long endOffset,
+                          long fileSize, long lastModified, boolean rotated) {
+        this.lines = lines;
+        this.startOffset = startOffset;
+        this.endOffset = endOffset;
+        this.fileSize = fileSize;
+        this.lastModified = lastModified;
+        this.rotated = rotated;
+    }
+
+    /**
+     * Create an empty result that leaves the tail position unchanged
+     */
+    public static SftpTailResult unchanged(long offset, long fileSize, long lastModified) {
+        return new SftpTailResult(Collections.emptyList(), offset, offset, fileSize, lastModified, false);
+    }
+
+    /**
+     * Complete lines appended since the previous offset (a trailing partial line is not included)
+     */
+    public List<String> getLines() {
+        return lines;
+    }
+
+    /**
+     * Offset the read started at (0 if the file was rotated)
+     */
+    public long getStartOffset() {
+        return startOffset;
+    }
+
+    /**
+     * Offset just past the last complete line read; the next tail should start here
+     */
+    public long getEndOffset() {
+        return endOffset;
+    }
+
+    /**
+     * Remote file size at the time of the read
+     */
+    public long getFileSize() {
+        return fileSize;
+    }
+
+    /**
+     * Remote modification time in milliseconds at the time of the read
+     */
+    public long getLastModified() {
+        return lastModified;
+    }
+
+    /**
+     * Whether the file shrank since the previous read (truncated or rotated)
+     */
+    public boolean isRotated() {
+        return rotated;
+    }
+}
@@ -1,5 +1,6 @@
 package com.deadside.bot.utils;
 
+import com.deadside.bot.db.models.Isolated;
 import net.dv8tion.jda.api.entities.Guild;
 import net.dv8tion.jda.api.events.interaction.command.CommandAutoCompleteInteractionEvent;
 import net.dv8tion.jda.api.events.interaction.command.SlashCommandInteractionEvent;
@@ -9,6 +10,11 @@ import net.dv8tion.jda.api.events.message.MessageReceivedEvent;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.Collection;
+
 /**
  * Manages guild isolation context to ensure data operations are always scoped
  * properly to the correct guild and game server
@@ -22,6 +28,25 @@ public class GuildIsolationManager {
     // Thread local context to store isolation information for the current operation
     private static final ThreadLocal<FilterContext> currentContext = new ThreadLocal<>();
     
+    /**
+     * Getters of models that do not implement {@link Isolated}, looked up once per class
+     */
+    private static final ClassValue<IsolationAccessors> ISOLATION_ACCESSORS = new ClassValue<IsolationAccessors>() {
+        @Override
+        protected IsolationAccessors computeValue(Class<?> type) {
+            try {
+                MethodHandles.Lookup lookup = MethodHandles.publicLookup();
+                MethodHandle guildId = lookup.unreflect(type.getMethod("getGuildId"));
+                MethodHandle serverId = lookup.unreflect(type.getMethod("getServerId"));
+                return new IsolationAccessors(
+                    guildId.asType(MethodType.methodType(long.class, Object.class)),
+                    serverId.asType(MethodType.methodType(String.class, Object.class)));
+            } catch (ReflectiveOperationException | RuntimeException e) {
+                return null;
+            }
+        }
+    };
+    
     /**
      * Get the singleton instance
      */
@@ -277,24 +302,65 @@ public class GuildIsolationManager {
         if (model == null) {
             return false;
         }
+        return belongsTo(model, guildId, serverId);
+    }
+    
+    /**
+     * Verify that every model in a list belongs to the specified guild and server
+     * @param models The model objects to verify
+     * @param guildId The expected guild ID
+     * @param serverId The expected server ID
+     * @return True if all models belong to the specified context
+     */
+    public boolean verifyModelIsolation(Collection<?> models, long guildId, String serverId) {
+        if (models == null) {
+            return false;
+        }
+        for (Object model : models) {
+            if (model == null || !belongsTo(model, guildId, serverId)) {
+                return false;
+            }
+        }
+        return true;
+    }
+    
+    /**
+     * Check a model's guild and server, reading them directly from {@link Isolated} models
+     */
+    private static boolean belongsTo(Object model, long guildId, String serverId) {
+        if (model instanceof Isolated) {
+            Isolated isolated = (Isolated) model;
+            return isolated.getGuildId() == guildId &&
+                   isolated.getServerId() != null && isolated.getServerId().equals(serverId);
+        }
         
+        IsolationAccessors accessors = ISOLATION_ACCESSORS.get(model.getClass());
+        if (accessors == null) {
+            logger.error("Failed to verify model isolation for {}: no getGuildId and getServerId methods",
+                model.getClass().getSimpleName());
+            return false;
+        }
         try {
-            // Use reflection to check for getGuildId and getServerId methods
-            java.lang.reflect.Method getGuildIdMethod = model.getClass().getMethod("getGuildId");
-            java.lang.reflect.Method getServerIdMethod = model.getClass().getMethod("getServerId");
-            
-            Long modelGuildId = (Long) getGuildIdMethod.invoke(model);
-            String modelServerId = (String) getServerIdMethod.invoke(model);
-            
-            return modelGuildId != null && modelGuildId == guildId && 
+            String modelServerId = (String) accessors.serverId.invoke(model);
+            return (long) accessors.guildId.invoke(model) == guildId &&
                    modelServerId != null && modelServerId.equals(serverId);
-        } catch (Exception e) {
-            logger.error("Failed to verify model isolation for {}: {}", 
+        } catch (Throwable e) {
+            logger.error("Failed to verify model isolation for {}: {}",
                 model.getClass().getSimpleName(), e.getMessage());
             return false;
         }
     }
     
+    private static class IsolationAccessors {
+        final MethodHandle guildId;
+        final MethodHandle serverId;
+        
+        IsolationAccessors(MethodHandle guildId, MethodHandle serverId) {
+            this.guildId = guildId;
+            this.serverId = serverId;
+        }
+    }
+    
     /**
      * Filter context class that stores the current guild and server ID
      * for data isolation purposes
@@ -423,22 +489,7 @@ public class GuildIsolationManager {
             if (model == null || !isComplete()) {
                 return false;
             }
-            
-            try {
-                // Use reflection to check for getGuildId and getServerId methods
-                java.lang.reflect.Method getGuildIdMethod = model.getClass().getMethod("getGuildId");
-                java.lang.reflect.Method getServerIdMethod = model.getClass().getMethod("getServerId");
-                
-                Long modelGuildId = (Long) getGuildIdMethod.invoke(model);
-                String modelServerId = (String) getServerIdMethod.invoke(model);
-                
-                return verifyBoundaries(modelGuildId, modelServerId);
-            } catch (Exception e) {
-                Logger logger = LoggerFactory.getLogger(FilterContext.class);
-                logger.error("Failed to verify model boundaries for {}: {}", 
-                    model.getClass().getSimpleName(), e.getMessage());
-                return false;
-            }
+            return belongsTo(model, guildId, serverId);
         }
     }
 }
\ No newline at end of file
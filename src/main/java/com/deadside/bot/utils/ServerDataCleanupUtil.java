@@ -4,6 +4,9 @@ import com.deadside.bot.db.models.GameServer;
 import com.deadside.bot.db.repositories.KillRecordRepository;
 import com.deadside.bot.db.repositories.PlayerRepository;
 import com.deadside.bot.db.repositories.FactionRepository;
+import com.deadside.bot.leaderboard.LeaderboardStore;
+import com.deadside.bot.leaderboard.WeaponStatsService;
+import com.deadside.bot.search.PlayerNameIndex;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -34,6 +37,9 @@ public class ServerDataCleanupUtil {
             long playerRecordsDeleted = playerRepository.deleteAllByGuildIdAndServerId(
                     server.getGuildId(), server.getName());
             summary.setPlayerRecordsDeleted((int)playerRecordsDeleted); // Safe cast - unlikely to exceed Integer.MAX_VALUE
+            LeaderboardStore.getInstance().rebuild(server.getGuildId(), server.getServerId());
+            WeaponStatsService.getInstance().invalidate(server.getGuildId(), server.getServerId());
+            PlayerNameIndex.getInstance().invalidate(server.getGuildId(), server.getServerId());
             
             // 3. Handle factions - Delete factions associated with this server
             // Currently factions are guild-specific, so we only delete if this is the primary server